@@ -0,0 +1,163 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+
+import hudson.FilePath;
+import hudson.util.ArgumentListBuilder;
+
+/**
+ * Benchmarks reading and merging the analysis properties, and turning them into escaped CLI arguments or an argument file.
+ * <p>
+ * The <code>cc.sources</code> property lists <code>sourceCount</code> source folders with spaces in their names, which is
+ * the worst case for the escaping loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@SuppressWarnings("nls")
+public class AnalysisPropertiesBenchmark
+{
+	/** The number of source folders in <code>cc.sources</code>. */
+	@Param({ "10", "1000" })
+	public int sourceCount;
+
+	private File m_workspace;
+	private String m_analysisProperties;
+	private Properties m_mergedProperties;
+	private CodeCoverageScanner m_scanner;
+	private PrintStream m_logger;
+
+	/**
+	 * Writes the analysis properties file.
+	 *
+	 * @throws IOException
+	 *             if the file cannot be written
+	 * @throws InterruptedException
+	 *             if reading the properties is interrupted
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException, InterruptedException
+	{
+		m_workspace = Files.createTempDirectory("ccbenchmark").toFile();
+		StringBuilder sources = new StringBuilder();
+		for (int i = 0; i < sourceCount; i++)
+		{
+			sources.append(i == 0 ? "" : ",").append("C:\\\\Source Folders\\\\Application ").append(i).append("\\\\COBOL");
+		}
+
+		try (Writer writer = Files.newBufferedWriter(new File(m_workspace, "ccanalysis.properties").toPath(),
+				StandardCharsets.UTF_8))
+		{
+			writer.write("cc.sources=" + sources + "\n");
+			writer.write("cc.repos=USER.CC.REPOSIT\n");
+			writer.write("cc.system=SYSTEM1\n");
+			writer.write("cc.test=TEST1\n");
+			writer.write("cc.ddio.overrides=USER.DDIO.FILE1,USER.DDIO.FILE2\n");
+		}
+		m_analysisProperties = "cc.test=TEST2\ncc.system=SYSTEM2";
+
+		m_scanner = new CodeCoverageScanner(new CodeCoverageBuilder("connection", "credentials", "", m_analysisProperties));
+		// discard the log, so logging cost is measured without I/O
+		m_logger = new PrintStream(NullOutputStream.NULL_OUTPUT_STREAM, false, StandardCharsets.UTF_8.name());
+		m_mergedProperties = m_scanner.buildAnalysisProperties("", m_analysisProperties, new FilePath(m_workspace), m_logger);
+	}
+
+	/**
+	 * Deletes the workspace.
+	 *
+	 * @throws IOException
+	 *             if the workspace cannot be deleted
+	 * @throws InterruptedException
+	 *             if the deletion is interrupted
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException, InterruptedException
+	{
+		new FilePath(m_workspace).deleteRecursive();
+	}
+
+	/**
+	 * Reads the properties file and merges the analysis properties string over it.
+	 *
+	 * @return the merged properties
+	 *
+	 * @throws IOException
+	 *             if the properties cannot be read
+	 * @throws InterruptedException
+	 *             if reading the properties is interrupted
+	 */
+	@Benchmark
+	public Properties buildAnalysisProperties() throws IOException, InterruptedException
+	{
+		return m_scanner.buildAnalysisProperties("", m_analysisProperties, new FilePath(m_workspace), m_logger);
+	}
+
+	/**
+	 * Escapes the merged properties into CLI arguments.
+	 *
+	 * @return the arguments
+	 */
+	@Benchmark
+	public ArgumentListBuilder addAnalysisProperties()
+	{
+		ArgumentListBuilder args = new ArgumentListBuilder();
+		CodeCoverageScanner.addAnalysisProperties(args, m_mergedProperties, m_logger);
+		return args;
+	}
+
+	/**
+	 * Writes the merged properties to an argument file, as is done when they are too long for the command line.
+	 *
+	 * @return the arguments
+	 *
+	 * @throws IOException
+	 *             if the argument file cannot be written
+	 * @throws InterruptedException
+	 *             if writing the file is interrupted
+	 */
+	@Benchmark
+	public ArgumentListBuilder addAnalysisPropertiesFile() throws IOException, InterruptedException
+	{
+		ArgumentListBuilder args = new ArgumentListBuilder();
+		CodeCoverageScanner.addAnalysisPropertiesFile(args, m_mergedProperties,
+				new FilePath(m_workspace).child(CodeCoverageConstants.ARGUMENT_FILE_NAME), m_logger);
+		return args;
+	}
+}
@@ -0,0 +1,75 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+
+import org.junit.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of the <code>benchmark</code> profile:
+ *
+ * <pre>
+ * mvn -P benchmark test
+ * </pre>
+ *
+ * Throughput is reported with the allocation rate of the GC profiler. Results are written to
+ * <code>target/jmh-result.json</code>. The following system properties narrow a run:
+ * <ul>
+ * <li><code>benchmark.include</code>: a regular expression of the benchmarks to run; all by default</li>
+ * <li><code>benchmark.sizeMB</code>: comma-separated report sizes for {@link CoverageReportBenchmark} and
+ * {@link CoverageStoreBenchmark}</li>
+ * <li><code>benchmark.forks</code>, <code>benchmark.warmupIterations</code>,
+ * <code>benchmark.measurementIterations</code>: the JMH run settings</li>
+ * </ul>
+ */
+@SuppressWarnings("nls")
+public class BenchmarkRunner
+{
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @throws Exception
+	 *             if a benchmark fails
+	 */
+	@Test
+	public void runBenchmarks() throws Exception
+	{
+		ChainedOptionsBuilder options = new OptionsBuilder()
+				.include(System.getProperty("benchmark.include", BenchmarkRunner.class.getPackage().getName() + ".*Benchmark"))
+				.forks(Integer.getInteger("benchmark.forks", 1))
+				.warmupIterations(Integer.getInteger("benchmark.warmupIterations", 3))
+				.measurementIterations(Integer.getInteger("benchmark.measurementIterations", 5))
+				.addProfiler(GCProfiler.class)
+				.shouldFailOnError(true)
+				.resultFormat(ResultFormatType.JSON)
+				.result(new File("target", "jmh-result.json").getPath());
+
+		String sizes = System.getProperty("benchmark.sizeMB");
+		if (sizes != null)
+		{
+			options.param("sizeMB", sizes.split(","));
+		}
+
+		new Runner(options.build()).run();
+	}
+}
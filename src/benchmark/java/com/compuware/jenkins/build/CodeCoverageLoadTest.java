@@ -0,0 +1,227 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.kohsuke.stapler.Stapler;
+
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.cloudbees.plugins.credentials.impl.UsernamePasswordCredentialsImpl;
+import com.compuware.jenkins.build.CodeCoverageBuilder.CodeCoverageDescriptorImpl;
+import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
+
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.Result;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Drives concurrent builds of the {@link CodeCoverageBuilder} against the {@link FakeCodeCoverageCli}, to give a repeatable
+ * capacity baseline without a host:
+ *
+ * <pre>
+ * mvn -P benchmark test -Dbenchmark.test=CodeCoverageLoadTest
+ * </pre>
+ *
+ * Every build is a job of its own, so builds run as far apart as the executors allow and no two share an extraction. The
+ * throughput, the 50th and 99th percentile step latency, the build failures and the controller heap use are printed and
+ * written to <code>target/loadtest-result.json</code>. The following system properties shape a run:
+ * <ul>
+ * <li><code>loadtest.builds</code>: the number of builds; 40 by default</li>
+ * <li><code>loadtest.concurrency</code>: the number of executors, and so of builds running at once; 8 by default</li>
+ * <li><code>loadtest.sizeMB</code>: the size of the report of each build; 1 by default</li>
+ * <li><code>loadtest.latencyMillis</code>, <code>loadtest.jitterMillis</code>: the simulated host latency of each CLI run;
+ * 2000 and 1000 by default</li>
+ * <li><code>loadtest.failureRate</code>: the share of CLI runs that fail; 0.05 by default</li>
+ * <li><code>loadtest.maxRetries</code>: the 'Maximum retries' of each build, which retries the simulated failures; 0 by
+ * default</li>
+ * </ul>
+ */
+@SuppressWarnings("nls")
+public class CodeCoverageLoadTest
+{
+	// Constants
+	private static final String CONNECTION_ID = "loadtest";
+	private static final String CREDENTIALS_ID = "loadtest";
+	private static final String CLI_VERSION = "20.4.1";
+
+	// Member Variables
+	@Rule
+	public JenkinsRule m_jenkinsRule = new JenkinsRule();
+
+	/**
+	 * Runs the builds and reports their throughput, latency and heap use.
+	 *
+	 * @throws Exception
+	 *             if the fake CLI cannot be installed or a build cannot be run
+	 */
+	@Test
+	public void runLoadTest() throws Exception
+	{
+		int builds = Integer.getInteger("loadtest.builds", 40);
+		int concurrency = Integer.getInteger("loadtest.concurrency", 8);
+		int maxRetries = Integer.getInteger("loadtest.maxRetries", 0);
+
+		File cliDirectory = new File(m_jenkinsRule.jenkins.getRootDir(), "fakeCLI");
+		FakeCodeCoverageCli.install(cliDirectory, CLI_VERSION,
+				new FakeCodeCoverageCli.Settings(CoverageReportGenerator.report(Integer.getInteger("loadtest.sizeMB", 1)))
+						.latency(Long.getLong("loadtest.latencyMillis", 2000), Long.getLong("loadtest.jitterMillis", 1000))
+						.failureRate(Double.parseDouble(System.getProperty("loadtest.failureRate", "0.05"))));
+		configure(cliDirectory);
+		m_jenkinsRule.jenkins.setNumExecutors(concurrency);
+
+		List<FreeStyleProject> projects = new ArrayList<>();
+		for (int i = 0; i < builds; i++)
+		{
+			FreeStyleProject project = m_jenkinsRule.createFreeStyleProject("load" + i);
+			CodeCoverageBuilder builder = new CodeCoverageBuilder(CONNECTION_ID, CREDENTIALS_ID, "",
+					"cc.sources=src\ncc.repos=LOAD.REPOS\ncc.system=LOAD\ncc.test=LOAD" + i + "\ncc.ddio.overrides=");
+			builder.setUseResultCache(false);
+			builder.setMaxRetries(maxRetries);
+			project.getBuildersList().add(builder);
+			projects.add(project);
+		}
+
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		System.gc();
+		long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+		AtomicLong peakHeap = new AtomicLong(baselineHeap);
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max), 0, 100,
+				TimeUnit.MILLISECONDS);
+
+		long start = System.nanoTime();
+		List<Future<FreeStyleBuild>> futures = new ArrayList<>();
+		for (FreeStyleProject project : projects)
+		{
+			futures.add(project.scheduleBuild2(0));
+		}
+
+		List<Long> latencies = new ArrayList<>();
+		int failures = 0;
+		for (Future<FreeStyleBuild> future : futures)
+		{
+			FreeStyleBuild build = future.get();
+			if (build.getResult() != Result.SUCCESS)
+			{
+				failures++;
+			}
+			latencies.add(stepMillis(build));
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		sampler.shutdownNow();
+		System.gc();
+		long retainedHeap = memory.getHeapMemoryUsage().getUsed();
+
+		Collections.sort(latencies);
+		double throughput = builds * 60000.0 / Math.max(1, elapsedMillis);
+		String result = String.format("{\"builds\":%d,\"concurrency\":%d,\"failures\":%d,\"elapsedMillis\":%d,"
+				+ "\"buildsPerMinute\":%.2f,\"p50Millis\":%d,\"p99Millis\":%d,\"peakHeapMB\":%d,\"retainedHeapMB\":%d}", builds,
+				concurrency, failures, elapsedMillis, throughput, percentile(latencies, 50), percentile(latencies, 99),
+				(peakHeap.get() - baselineHeap) >> 20, (retainedHeap - baselineHeap) >> 20);
+		System.out.println("Load test: " + result);
+		try (PrintWriter out = new PrintWriter(new File("target", "loadtest-result.json"), "UTF-8"))
+		{
+			out.println(result);
+		}
+
+		assertThat("Expected every build to complete.", latencies.size(), is(builds));
+	}
+
+	/**
+	 * Configures the host connection, the credentials and the fake CLI as the Topaz CLI location.
+	 */
+	private void configure(File cliDirectory) throws Exception
+	{
+		JSONObject hostConnection = new JSONObject();
+		hostConnection.put("description", "LoadTestConnection");
+		hostConnection.put("hostPort", "loadtest:30947");
+		hostConnection.put("protocol", "None");
+		hostConnection.put("codePage", "1047");
+		hostConnection.put("timeout", "0");
+		hostConnection.put("connectionId", CONNECTION_ID);
+		hostConnection.put("cesUrl", "");
+
+		JSONArray hostConnections = new JSONArray();
+		hostConnections.add(hostConnection);
+
+		JSONObject json = new JSONObject();
+		json.put("hostConn", hostConnections);
+		json.put("topazCLILocationLinux", cliDirectory.getPath());
+		json.put("topazCLILocationWindows", cliDirectory.getPath());
+		CpwrGlobalConfiguration.get().configure(Stapler.getCurrentRequest(), json);
+
+		SystemCredentialsProvider.getInstance().getCredentials()
+				.add(new UsernamePasswordCredentialsImpl(CredentialsScope.GLOBAL, CREDENTIALS_ID, null, "loaduser", "loadpass"));
+		SystemCredentialsProvider.getInstance().save();
+
+		// the simulated failures are retried when the builds have retries
+		m_jenkinsRule.jenkins.getDescriptorByType(CodeCoverageDescriptorImpl.class)
+				.setRetryablePatterns(FakeCodeCoverageCli.FAILURE_MESSAGE);
+	}
+
+	/**
+	 * Gets the time the Code Coverage step of a build took, or the build duration if it recorded no timing.
+	 */
+	private static long stepMillis(FreeStyleBuild build)
+	{
+		CodeCoverageTimingAction timing = build.getAction(CodeCoverageTimingAction.class);
+		if (timing != null)
+		{
+			for (CodeCoverageTimingAction.Phase phase : timing.getPhases())
+			{
+				if (phase.getName().equals("Total"))
+				{
+					return phase.getMillis();
+				}
+			}
+		}
+
+		return build.getDuration();
+	}
+
+	private static long percentile(List<Long> sorted, int percent)
+	{
+		if (sorted.isEmpty())
+		{
+			return 0;
+		}
+
+		int index = (int) Math.ceil(percent / 100.0 * sorted.size()) - 1;
+		return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.compuware.jenkins.build.utils.CoverageSummary;
+
+/**
+ * Benchmarks streaming a <code>CodeCoverage.xml</code> report into a {@link CoverageSummary}, as done on the agent after
+ * every extraction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CoverageReportBenchmark
+{
+	/** The size of the synthetic report in megabytes. */
+	@Param({ "1", "16", "128", "1024" })
+	public int sizeMB;
+
+	private File m_report;
+
+	/**
+	 * Counts the bytes read, so the results include a bytes-per-second rate next to the reports-per-second rate.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Bytes
+	{
+		/** The number of report bytes read. */
+		public long bytes;
+	}
+
+	/**
+	 * Generates the report, unless it was generated by an earlier run.
+	 *
+	 * @throws IOException
+	 *             if the report cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		m_report = CoverageReportGenerator.report(sizeMB);
+	}
+
+	/**
+	 * Summarizes the report.
+	 *
+	 * @param bytes
+	 *            the byte counter
+	 *
+	 * @return the summary, so the work is not optimized away
+	 *
+	 * @throws IOException
+	 *             if the report cannot be read
+	 */
+	@Benchmark
+	public CoverageSummary summarize(Bytes bytes) throws IOException
+	{
+		CoverageSummary summary = new CoverageSummaryReader().invoke(m_report, null);
+		bytes.bytes += m_report.length();
+		return summary;
+	}
+}
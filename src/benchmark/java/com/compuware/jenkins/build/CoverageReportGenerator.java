@@ -0,0 +1,155 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Random;
+
+import com.compuware.jenkins.build.utils.CoverageXmlWriter;
+import com.compuware.jenkins.build.utils.ProgramCoverage;
+
+/**
+ * Generates synthetic <code>CodeCoverage.xml</code> reports of a given size for the benchmarks.
+ * <p>
+ * Reports are generated from a fixed seed, so the same size always gives the same report, and are kept under
+ * <code>target/benchmark-data</code> so large reports are only generated once.
+ */
+@SuppressWarnings("nls")
+public final class CoverageReportGenerator
+{
+	// Constants
+	private static final int LINES_PER_PROGRAM = 2000;
+	private static final File DATA_DIRECTORY = new File("target", "benchmark-data");
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods should be accessed statically.
+	 */
+	private CoverageReportGenerator()
+	{
+	}
+
+	/**
+	 * Gets a synthetic report of at least the given size, generating it if it does not exist yet.
+	 *
+	 * @param sizeMB
+	 *            the minimum report size in megabytes
+	 *
+	 * @return the report file
+	 *
+	 * @throws IOException
+	 *             if the report cannot be written
+	 */
+	public static File report(int sizeMB) throws IOException
+	{
+		File report = new File(DATA_DIRECTORY, "CodeCoverage-" + sizeMB + "MB.xml");
+		if (!report.isFile())
+		{
+			Files.createDirectories(DATA_DIRECTORY.toPath());
+			File temp = new File(DATA_DIRECTORY, report.getName() + ".tmp");
+			generate(temp, (long) sizeMB * 1024 * 1024);
+			Files.move(temp.toPath(), report.toPath());
+		}
+
+		return report;
+	}
+
+	/**
+	 * Writes a synthetic report of at least the given size.
+	 *
+	 * @param report
+	 *            the file to write
+	 * @param minimumSize
+	 *            the minimum size in bytes
+	 *
+	 * @throws IOException
+	 *             if the report cannot be written
+	 */
+	public static void generate(File report, long minimumSize) throws IOException
+	{
+		Random random = new Random(minimumSize);
+		ProgramCoverage program = new ProgramCoverage();
+		try (CountingOutputStream out = new CountingOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(report.toPath()), 1 << 16));
+				CoverageXmlWriter writer = new CoverageXmlWriter(out))
+		{
+			for (int p = 0; out.m_count < minimumSize; p++)
+			{
+				program.reset("COBOL/PGM" + p + ".cbl");
+				for (int line = 1; line <= LINES_PER_PROGRAM; line++)
+				{
+					// roughly one line in ten has branches
+					int branches = random.nextInt(10) == 0 ? 2 + random.nextInt(3) : 0;
+					program.addLine(line * 2, random.nextInt(4) != 0, branches,
+							branches > 0 ? random.nextInt(branches + 1) : 0);
+				}
+				writer.write(program);
+			}
+		}
+	}
+
+	/**
+	 * Generates reports of the given sizes in megabytes ahead of a benchmark run.
+	 *
+	 * @param args
+	 *            the report sizes in megabytes
+	 *
+	 * @throws IOException
+	 *             if a report cannot be written
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		for (String size : args)
+		{
+			File report = report(Integer.parseInt(size));
+			System.out.println(report + ": " + report.length() + " bytes");
+		}
+	}
+
+	/**
+	 * Counts the bytes written so generation can stop at the requested size.
+	 */
+	private static final class CountingOutputStream extends FilterOutputStream
+	{
+		private long m_count;
+
+		CountingOutputStream(OutputStream out)
+		{
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException
+		{
+			out.write(b);
+			m_count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException
+		{
+			out.write(b, off, len);
+			m_count += len;
+		}
+	}
+}
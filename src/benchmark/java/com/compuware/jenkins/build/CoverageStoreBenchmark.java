@@ -0,0 +1,109 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.compuware.jenkins.build.utils.CoverageStore;
+import com.compuware.jenkins.build.utils.CoverageStoreWriter;
+import com.compuware.jenkins.build.utils.CoverageXmlReader;
+import com.compuware.jenkins.build.utils.ProgramCoverage;
+
+/**
+ * Benchmarks looking up the line coverage of one program in a {@link CoverageStore}, which should take the same time
+ * whatever the size of the report the store was written from.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CoverageStoreBenchmark
+{
+	/** The size of the synthetic report in megabytes. */
+	@Param({ "1", "16", "128", "1024" })
+	public int sizeMB;
+
+	private CoverageStore m_store;
+	private String[] m_paths;
+
+	/**
+	 * Writes the store of the report, unless it was written by an earlier run, and opens it.
+	 *
+	 * @throws IOException
+	 *             if the store cannot be written or opened
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		File report = CoverageReportGenerator.report(sizeMB);
+		File file = new File(report.getParentFile(), report.getName().replace(".xml", ".ccs")); //$NON-NLS-1$ //$NON-NLS-2$
+		if (!file.isFile())
+		{
+			ProgramCoverage program = new ProgramCoverage();
+			try (CoverageXmlReader reader = new CoverageXmlReader(new FileInputStream(report));
+					CoverageStoreWriter writer = new CoverageStoreWriter(file))
+			{
+				while (reader.next(program))
+				{
+					writer.add(program);
+				}
+			}
+		}
+
+		m_store = CoverageStore.open(file);
+		m_paths = new String[m_store.getProgramCount()];
+		for (int i = 0; i < m_paths.length; i++)
+		{
+			m_paths[i] = m_store.getPath(i);
+		}
+	}
+
+	/**
+	 * Releases the store.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		m_store.close();
+	}
+
+	/**
+	 * Finds a random program by path and reads its covered line count and one of its lines.
+	 *
+	 * @return the result, so the work is not optimized away
+	 */
+	@Benchmark
+	public int lookup()
+	{
+		int program = m_store.indexOf(m_paths[ThreadLocalRandom.current().nextInt(m_paths.length)]);
+		return m_store.getCoveredCount(program) + (m_store.isCovered(program, 100) ? 1 : 0);
+	}
+}
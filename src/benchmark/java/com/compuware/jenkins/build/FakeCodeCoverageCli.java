@@ -0,0 +1,209 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+import com.compuware.jenkins.common.utils.CommonConstants;
+
+/**
+ * A stand-in for the Code Coverage CLI, so the plugin can be driven at scale without a host.
+ * <p>
+ * {@link #install(File, String, Settings)} writes <code>CodeCoverageCLI.sh</code>, <code>CodeCoverageCLI.bat</code> and a
+ * version file to a directory used as the Topaz CLI location. The scripts run {@link #main(String[])} in a new JVM, which
+ * waits for the simulated host latency, fails some of its runs, and otherwise copies a prepared report to the
+ * <code>Coverage</code> folder of its target folder, as the CLI writes it. Only classes of the JDK are loaded by the fake
+ * itself, so its classpath is the folder of this class.
+ */
+@SuppressWarnings("nls")
+public final class FakeCodeCoverageCli
+{
+	// Constants
+	static final String FAILURE_MESSAGE = "Simulated host failure";
+	private static final String PREFIX = "fakecli.";
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods should be accessed statically.
+	 */
+	private FakeCodeCoverageCli()
+	{
+	}
+
+	/**
+	 * Installs the fake CLI.
+	 *
+	 * @param directory
+	 *            the directory to use as the Topaz CLI location; created if it does not exist
+	 * @param version
+	 *            the CLI version to report
+	 * @param settings
+	 *            the behavior of the fake
+	 *
+	 * @throws IOException
+	 *             if the fake cannot be written
+	 */
+	public static void install(File directory, String version, Settings settings) throws IOException
+	{
+		Files.createDirectories(directory.toPath());
+		Files.write(new File(directory, CommonConstants.VERSION_FILE).toPath(), version.getBytes(StandardCharsets.UTF_8));
+
+		String java = new File(new File(System.getProperty("java.home"), "bin"), "java").getPath();
+		String classpath;
+		try
+		{
+			classpath = new File(FakeCodeCoverageCli.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+		}
+		catch (URISyntaxException e)
+		{
+			throw new IOException(e);
+		}
+
+		String properties = "-D" + PREFIX + "report=" + settings.m_report.getAbsolutePath() //
+				+ "' '-D" + PREFIX + "latencyMillis=" + settings.m_latencyMillis //
+				+ "' '-D" + PREFIX + "jitterMillis=" + settings.m_jitterMillis //
+				+ "' '-D" + PREFIX + "failureRate=" + settings.m_failureRate //
+				+ "' '-D" + PREFIX + "targetFolderParm=" + CommonConstants.TARGET_FOLDER_PARM;
+
+		File shell = new File(directory, CodeCoverageConstants.CODE_COVERAGE_CLI_SH);
+		try (PrintWriter out = new PrintWriter(shell, "UTF-8"))
+		{
+			out.print("#!/bin/sh\n");
+			out.print("exec '" + java + "' -cp '" + classpath + "' '" + properties + "' " + FakeCodeCoverageCli.class.getName()
+					+ " \"$@\"\n");
+		}
+		if (!shell.setExecutable(true))
+		{
+			throw new IOException("Unable to make " + shell + " executable");
+		}
+
+		try (PrintWriter out = new PrintWriter(new File(directory, CodeCoverageConstants.CODE_COVERAGE_CLI_BAT), "UTF-8"))
+		{
+			out.print("@echo off\r\n");
+			out.print("\"" + java + "\" -cp \"" + classpath + "\" \"" + properties.replace("' '", "\" \"") + "\" "
+					+ FakeCodeCoverageCli.class.getName() + " %*\r\n");
+			out.print("exit /b %ERRORLEVEL%\r\n");
+		}
+	}
+
+	/**
+	 * Runs the fake CLI.
+	 *
+	 * @param args
+	 *            the CLI arguments; only the target folder is used
+	 *
+	 * @throws Exception
+	 *             if the report cannot be written
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		String targetFolderParm = System.getProperty(PREFIX + "targetFolderParm");
+		File targetFolder = null;
+		for (int i = 0; i < args.length - 1; i++)
+		{
+			if (args[i].equals(targetFolderParm))
+			{
+				targetFolder = new File(args[i + 1]);
+			}
+		}
+		if (targetFolder == null)
+		{
+			System.out.println("No " + targetFolderParm + " argument");
+			System.exit(2);
+		}
+
+		Random random = new Random();
+		long latency = Long.getLong(PREFIX + "latencyMillis", 0);
+		long jitter = Long.getLong(PREFIX + "jitterMillis", 0);
+		System.out.println("Connecting to the simulated host");
+		Thread.sleep(latency + (jitter > 0 ? (long) (random.nextDouble() * jitter) : 0));
+
+		if (random.nextDouble() < Double.parseDouble(System.getProperty(PREFIX + "failureRate", "0")))
+		{
+			System.out.println(FAILURE_MESSAGE);
+			System.exit(1);
+		}
+
+		File coverage = new File(targetFolder, "Coverage");
+		Files.createDirectories(coverage.toPath());
+		Files.copy(new File(System.getProperty(PREFIX + "report")).toPath(), new File(coverage, "CodeCoverage.xml").toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+		System.out.println("Code Coverage report written to " + coverage);
+	}
+
+	/**
+	 * How the fake CLI behaves.
+	 */
+	public static final class Settings
+	{
+		private final File m_report;
+		private long m_latencyMillis;
+		private long m_jitterMillis;
+		private double m_failureRate;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param report
+		 *            the report each successful run writes
+		 */
+		public Settings(File report)
+		{
+			m_report = report;
+		}
+
+		/**
+		 * Sets the simulated host latency of each run.
+		 *
+		 * @param latencyMillis
+		 *            the fixed latency in milliseconds
+		 * @param jitterMillis
+		 *            the most added at random to the fixed latency, in milliseconds
+		 *
+		 * @return this <code>Settings</code>
+		 */
+		public Settings latency(long latencyMillis, long jitterMillis)
+		{
+			m_latencyMillis = latencyMillis;
+			m_jitterMillis = jitterMillis;
+			return this;
+		}
+
+		/**
+		 * Sets the share of runs that fail with {@link FakeCodeCoverageCli#FAILURE_MESSAGE} and exit value 1.
+		 *
+		 * @param failureRate
+		 *            the failure rate, from 0 to 1
+		 *
+		 * @return this <code>Settings</code>
+		 */
+		public Settings failureRate(double failureRate)
+		{
+			m_failureRate = failureRate;
+			return this;
+		}
+	}
+}
@@ -0,0 +1,241 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Properties;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+import com.compuware.jenkins.common.utils.ArgumentUtils;
+
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Reads the analysis properties file on the agent and merges the analysis properties string over it.
+ * <p>
+ * The file is parsed as a stream where it lives, so only the merged key/value map is sent back to the controller.
+ */
+public class AnalysisPropertiesReader extends MasterToSlaveFileCallable<HashMap<String, String>>
+{
+	private static final long serialVersionUID = 2190478525328137015L;
+
+	// Member Variables
+	private final String m_analysisPropertiesPath;
+	private final String m_analysisProperties;
+	private final TaskListener m_listener;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param analysisPropertiesPath
+	 *            the path of the analysis properties file, absolute or relative to the workspace; can be blank
+	 * @param analysisProperties
+	 *            the analysis properties string, which takes precedence over the file; can be blank
+	 * @param listener
+	 *            the build listener
+	 */
+	public AnalysisPropertiesReader(String analysisPropertiesPath, String analysisProperties, TaskListener listener)
+	{
+		m_analysisPropertiesPath = analysisPropertiesPath;
+		m_analysisProperties = analysisProperties;
+		m_listener = listener;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+	 */
+	@Override
+	public HashMap<String, String> invoke(File workspace, VirtualChannel channel)
+	{
+		PrintStream logger = m_listener.getLogger();
+		Properties analysisProperties = new Properties();
+
+		// get properties from the file
+		Path filePath = null;
+
+		boolean filePathSpecified = StringUtils.isNotBlank(m_analysisPropertiesPath);
+		if (filePathSpecified)
+		{
+			// the path specified can be absolute or relative to the workspace
+			filePath = Paths.get(m_analysisPropertiesPath);
+			if (!filePath.isAbsolute())
+			{
+				filePath = workspace.toPath().resolve(m_analysisPropertiesPath);
+			}
+		}
+		else
+		{
+			// the user did not specify a file path, so use the default file path
+			filePath = workspace.toPath().resolve(CodeCoverageConstants.DEFAULT_ANALYSIS_PROPERTIES_FILE_NAME);
+		}
+
+		logger.println("Analysis properties file path: " + filePath.toAbsolutePath()); //$NON-NLS-1$
+		if (filePathSpecified || Files.exists(filePath))
+		{
+			// unlike Files.newBufferedReader, an InputStreamReader replaces bytes that are not UTF-8 instead of failing
+			try (Reader reader = new LiteralBackslashReader(
+					new InputStreamReader(Files.newInputStream(filePath), StandardCharsets.UTF_8)))
+			{
+				analysisProperties.load(reader);
+				logger.println("Analysis properties read from file: " + analysisProperties.size()); //$NON-NLS-1$
+			}
+			catch (IOException e)
+			{
+				// An error should be displayed only if an analysis file was specified in the configuration.
+				logger.println("An IOException occurred while obtaining analysis properties from the file: " + e.toString()); //$NON-NLS-1$
+				e.printStackTrace(logger);
+			}
+		}
+
+		// get properties from the string (these take precedence, so load them after the file properties)
+		if (StringUtils.isNotBlank(m_analysisProperties))
+		{
+			try
+			{
+				logger.println("Analysis properties string from UI: " + m_analysisProperties); //$NON-NLS-1$
+				analysisProperties.putAll(ArgumentUtils.convertStringToProperties(m_analysisProperties));
+			}
+			catch (IOException e)
+			{
+				logger.println("An IOException occurred while obtaining analysis properties from the UI: " + e.toString()); //$NON-NLS-1$
+				e.printStackTrace(logger);
+			}
+		}
+
+		HashMap<String, String> merged = new HashMap<>();
+		for (String key : analysisProperties.stringPropertyNames())
+		{
+			merged.put(key, analysisProperties.getProperty(key));
+		}
+
+		return merged;
+	}
+
+	/**
+	 * A reader that doubles every backslash, so backslashes in the file are taken literally and Windows paths survive
+	 * {@link Properties#load(Reader)} the same way they do for the analysis properties string.
+	 */
+	static final class LiteralBackslashReader extends FilterReader
+	{
+		private boolean m_pendingBackslash;
+		private char[] m_chunk = new char[0];
+
+		LiteralBackslashReader(Reader in)
+		{
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException
+		{
+			if (m_pendingBackslash)
+			{
+				m_pendingBackslash = false;
+				return '\\';
+			}
+
+			int c = super.read();
+			if (c == '\\')
+			{
+				m_pendingBackslash = true;
+			}
+
+			return c;
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException
+		{
+			if (len == 0)
+			{
+				return 0;
+			}
+
+			int count = 0;
+			if (m_pendingBackslash)
+			{
+				m_pendingBackslash = false;
+				cbuf[off + count++] = '\\';
+			}
+
+			int room = len - count;
+			if (room == 0)
+			{
+				return count;
+			}
+
+			// read at most half the room left so every backslash can be doubled in place
+			int want = Math.max(1, room / 2);
+			if (m_chunk.length < want)
+			{
+				m_chunk = new char[want];
+			}
+
+			int n = in.read(m_chunk, 0, want);
+			if (n == -1)
+			{
+				return count == 0 ? -1 : count;
+			}
+
+			for (int i = 0; i < n; i++)
+			{
+				char c = m_chunk[i];
+				cbuf[off + count++] = c;
+				if (c == '\\')
+				{
+					if (count < len)
+					{
+						cbuf[off + count++] = '\\';
+					}
+					else
+					{
+						m_pendingBackslash = true;
+					}
+				}
+			}
+
+			return count;
+		}
+
+		@Override
+		public boolean markSupported()
+		{
+			return false;
+		}
+
+		@Override
+		public long skip(long n) throws IOException
+		{
+			throw new IOException("skip not supported"); //$NON-NLS-1$
+		}
+	}
+}
@@ -18,37 +18,29 @@
 package com.compuware.jenkins.build;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 import org.apache.commons.lang.StringUtils;
 import org.kohsuke.stapler.AncestorInPath;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest;
-import com.cloudbees.plugins.credentials.CredentialsProvider;
-import com.cloudbees.plugins.credentials.common.StandardCredentials;
-import com.cloudbees.plugins.credentials.domains.DomainRequirement;
-import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
-import com.compuware.jenkins.common.configuration.HostConnection;
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
 
-import hudson.AbortException;
 import hudson.Extension;
 import hudson.FilePath;
 import hudson.Launcher;
-import hudson.Util;
 import hudson.model.AbstractProject;
 import hudson.model.Item;
 import hudson.model.Run;
 import hudson.model.TaskListener;
-import hudson.security.ACL;
 import hudson.tasks.BuildStepDescriptor;
 import hudson.tasks.Builder;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
-import hudson.util.ListBoxModel.Option;
 import jenkins.model.Jenkins;
 import jenkins.tasks.SimpleBuildStep;
 import net.sf.json.JSONObject;
@@ -58,13 +50,12 @@ import net.sf.json.JSONObject;
  */
 public class CodeCoverageBuilder extends Builder implements SimpleBuildStep
 {
-	private static final Logger LOGGER = Logger.getLogger("hudson.CodeCoverageBuilder"); //$NON-NLS-1$
-
 	// Member Variables
 	private final String m_connectionId;
 	private final String m_credentialsId;
 	private final String m_analysisPropertiesPath;
 	private final String m_analysisProperties;
+	private CodeCoverageOptions m_options = new CodeCoverageOptions();
 
 	/**
 	 * Constructor.
@@ -88,6 +79,42 @@ public class CodeCoverageBuilder extends Builder implements SimpleBuildStep
 		m_analysisProperties = StringUtils.trimToEmpty(analysisProperties);
 	}
 
+	/**
+	 * Constructor for a build step that runs with the given optional settings, such as those of a {@link CodeCoverageStep}.
+	 * 
+	 * @param connectionId
+	 *            a unique host connection identifier
+	 * @param credentialsId
+	 *            unique id of the selected credential
+	 * @param analysisPropertiesPath
+	 *            the path of Code Coverage analysis properties file
+	 * @param analysisProperties
+	 *            the Code Coverage analysis properties
+	 * @param options
+	 *            the optional settings, which are shared rather than copied
+	 */
+	CodeCoverageBuilder(String connectionId, String credentialsId, String analysisPropertiesPath, String analysisProperties,
+			CodeCoverageOptions options)
+	{
+		this(connectionId, credentialsId, analysisPropertiesPath, analysisProperties);
+		m_options = options;
+	}
+
+	/**
+	 * Gives a build step saved before it had optional settings the default ones.
+	 * 
+	 * @return this build step
+	 */
+	protected Object readResolve()
+	{
+		if (m_options == null)
+		{
+			m_options = new CodeCoverageOptions();
+		}
+
+		return this;
+	}
+
 	/**
 	 * Gets the unique identifier of the 'Host connection'.
 	 * 
@@ -127,6 +154,328 @@ public class CodeCoverageBuilder extends Builder implements SimpleBuildStep
 	{
 		return m_analysisProperties;
 	}
+
+	/**
+	 * Gets the value of the 'Maximum parallel extractions'.
+	 * 
+	 * @return <code>int</code> value of the option
+	 * @see CodeCoverageOptions#getMaxParallelExtractions()
+	 */
+	public int getMaxParallelExtractions()
+	{
+		return m_options.getMaxParallelExtractions();
+	}
+
+	/**
+	 * Sets the value of the 'Maximum parallel extractions'.
+	 * 
+	 * @param maxParallelExtractions
+	 *            the number of CLI processes to run at the same time; values less than 1 use the default
+	 */
+	@DataBoundSetter
+	public void setMaxParallelExtractions(int maxParallelExtractions)
+	{
+		m_options.setMaxParallelExtractions(maxParallelExtractions);
+	}
+
+	/**
+	 * Gets the value of the 'Use result cache'.
+	 * 
+	 * @return <code>boolean</code> value of the option
+	 * @see CodeCoverageOptions#isUseResultCache()
+	 */
+	public boolean isUseResultCache()
+	{
+		return m_options.isUseResultCache();
+	}
+
+	/**
+	 * Sets the value of the 'Use result cache'.
+	 * 
+	 * @param useResultCache
+	 *            whether to use the result cache
+	 */
+	@DataBoundSetter
+	public void setUseResultCache(boolean useResultCache)
+	{
+		m_options.setUseResultCache(useResultCache);
+	}
+
+	/**
+	 * Gets the value of the 'Result cache fingerprint'.
+	 * 
+	 * @return <code>String</code> value of the option
+	 * @see CodeCoverageOptions#getResultCacheFingerprint()
+	 */
+	public String getResultCacheFingerprint()
+	{
+		return m_options.getResultCacheFingerprint();
+	}
+
+	/**
+	 * Sets the value of the 'Result cache fingerprint'.
+	 * 
+	 * @param resultCacheFingerprint
+	 *            a value included in the result cache key, such as a test run identifier; can be blank
+	 */
+	@DataBoundSetter
+	public void setResultCacheFingerprint(String resultCacheFingerprint)
+	{
+		m_options.setResultCacheFingerprint(resultCacheFingerprint);
+	}
+
+	/**
+	 * Gets the value of the 'CLI daemon command'.
+	 * 
+	 * @return <code>String</code> value of the option
+	 * @see CodeCoverageOptions#getDaemonCommand()
+	 */
+	public String getDaemonCommand()
+	{
+		return m_options.getDaemonCommand();
+	}
+
+	/**
+	 * Sets the value of the 'CLI daemon command'.
+	 * 
+	 * @param daemonCommand
+	 *            the command that starts the CLI daemon; blank to start the CLI script for every extraction
+	 */
+	@DataBoundSetter
+	public void setDaemonCommand(String daemonCommand)
+	{
+		m_options.setDaemonCommand(daemonCommand);
+	}
+
+	/**
+	 * Gets the value of the 'CLI daemon idle minutes'.
+	 * 
+	 * @return <code>int</code> value of the option
+	 * @see CodeCoverageOptions#getDaemonIdleMinutes()
+	 */
+	public int getDaemonIdleMinutes()
+	{
+		return m_options.getDaemonIdleMinutes();
+	}
+
+	/**
+	 * Sets the value of the 'CLI daemon idle minutes'.
+	 * 
+	 * @param daemonIdleMinutes
+	 *            the minutes a daemon may stay idle before it is stopped; values less than 1 use the default
+	 */
+	@DataBoundSetter
+	public void setDaemonIdleMinutes(int daemonIdleMinutes)
+	{
+		m_options.setDaemonIdleMinutes(daemonIdleMinutes);
+	}
+
+	/**
+	 * Gets the value of the 'Timeout minutes'.
+	 * 
+	 * @return <code>int</code> value of the option
+	 * @see CodeCoverageOptions#getTimeoutMinutes()
+	 */
+	public int getTimeoutMinutes()
+	{
+		return m_options.getTimeoutMinutes();
+	}
+
+	/**
+	 * Sets the value of the 'Timeout minutes'.
+	 * 
+	 * @param timeoutMinutes
+	 *            the minutes the CLI of an extraction may run before it is stopped; values less than 1 mean no limit
+	 */
+	@DataBoundSetter
+	public void setTimeoutMinutes(int timeoutMinutes)
+	{
+		m_options.setTimeoutMinutes(timeoutMinutes);
+	}
+
+	/**
+	 * Gets the value of the 'Retries'.
+	 * 
+	 * @return <code>int</code> value of the option
+	 * @see CodeCoverageOptions#getMaxRetries()
+	 */
+	public int getMaxRetries()
+	{
+		return m_options.getMaxRetries();
+	}
+
+	/**
+	 * Sets the value of the 'Retries'.
+	 * 
+	 * @param maxRetries
+	 *            the number of times a CLI run that failed in a retryable way is run again; values less than 1 mean none
+	 */
+	@DataBoundSetter
+	public void setMaxRetries(int maxRetries)
+	{
+		m_options.setMaxRetries(maxRetries);
+	}
+
+	/**
+	 * Gets the value of the 'Merge with existing report'.
+	 * 
+	 * @return <code>boolean</code> value of the option
+	 * @see CodeCoverageOptions#isMergeWithExistingReport()
+	 */
+	public boolean isMergeWithExistingReport()
+	{
+		return m_options.isMergeWithExistingReport();
+	}
+
+	/**
+	 * Sets the value of the 'Merge with existing report'.
+	 * 
+	 * @param mergeWithExistingReport
+	 *            whether to merge with the report of an earlier coverage step
+	 */
+	@DataBoundSetter
+	public void setMergeWithExistingReport(boolean mergeWithExistingReport)
+	{
+		m_options.setMergeWithExistingReport(mergeWithExistingReport);
+	}
+
+	/**
+	 * Gets the value of the 'Incremental extraction'.
+	 * 
+	 * @return <code>boolean</code> value of the option
+	 * @see CodeCoverageOptions#isIncrementalExtraction()
+	 */
+	public boolean isIncrementalExtraction()
+	{
+		return m_options.isIncrementalExtraction();
+	}
+
+	/**
+	 * Sets the value of the 'Incremental extraction'.
+	 * 
+	 * @param incrementalExtraction
+	 *            whether to extract only changed programs
+	 */
+	@DataBoundSetter
+	public void setIncrementalExtraction(boolean incrementalExtraction)
+	{
+		m_options.setIncrementalExtraction(incrementalExtraction);
+	}
+
+	/**
+	 * Gets the value of the 'Compare with build'.
+	 * 
+	 * @return <code>String</code> value of the option
+	 * @see CodeCoverageOptions#getCompareWithBuild()
+	 */
+	public String getCompareWithBuild()
+	{
+		return m_options.getCompareWithBuild();
+	}
+
+	/**
+	 * Sets the value of the 'Compare with build'.
+	 * 
+	 * @param compareWithBuild
+	 *            a build number or a permalink such as <code>lastSuccessfulBuild</code>; can be blank
+	 */
+	@DataBoundSetter
+	public void setCompareWithBuild(String compareWithBuild)
+	{
+		m_options.setCompareWithBuild(compareWithBuild);
+	}
+
+	/**
+	 * Gets the value of the 'Shards'.
+	 * 
+	 * @return <code>int</code> value of the option
+	 * @see CodeCoverageOptions#getShardCount()
+	 */
+	public int getShardCount()
+	{
+		return m_options.getShardCount();
+	}
+
+	/**
+	 * Sets the value of the 'Shards'.
+	 * 
+	 * @param shardCount
+	 *            the number of shards to split the source folders into; 0 or 1 to extract all the source folders
+	 */
+	@DataBoundSetter
+	public void setShardCount(int shardCount)
+	{
+		m_options.setShardCount(shardCount);
+	}
+
+	/**
+	 * Gets the value of the 'Shard index'.
+	 * 
+	 * @return <code>int</code> value of the option
+	 * @see CodeCoverageOptions#getShardIndex()
+	 */
+	public int getShardIndex()
+	{
+		return m_options.getShardIndex();
+	}
+
+	/**
+	 * Sets the value of the 'Shard index'.
+	 * 
+	 * @param shardIndex
+	 *            the index of the shard to extract, from 0 to one less than the number of shards
+	 */
+	@DataBoundSetter
+	public void setShardIndex(int shardIndex)
+	{
+		m_options.setShardIndex(shardIndex);
+	}
+
+	/**
+	 * Gets the value of the 'Archive report'.
+	 * 
+	 * @return <code>boolean</code> value of the option
+	 * @see CodeCoverageOptions#isArchiveReport()
+	 */
+	public boolean isArchiveReport()
+	{
+		return m_options.isArchiveReport();
+	}
+
+	/**
+	 * Sets the value of the 'Archive report'.
+	 * 
+	 * @param archiveReport
+	 *            whether to keep a compressed copy of the report with the build
+	 */
+	@DataBoundSetter
+	public void setArchiveReport(boolean archiveReport)
+	{
+		m_options.setArchiveReport(archiveReport);
+	}
+
+	/**
+	 * Gets the value of the 'Use argument file'.
+	 * 
+	 * @return <code>boolean</code> value of the option
+	 * @see CodeCoverageOptions#isUseArgumentFile()
+	 */
+	public boolean isUseArgumentFile()
+	{
+		return m_options.isUseArgumentFile();
+	}
+
+	/**
+	 * Sets the value of the 'Use argument file'.
+	 * 
+	 * @param useArgumentFile
+	 *            whether to pass the analysis properties in an argument file
+	 */
+	@DataBoundSetter
+	public void setUseArgumentFile(boolean useArgumentFile)
+	{
+		m_options.setUseArgumentFile(useArgumentFile);
+	}
     
     /*
 	 * (non-Javadoc)
@@ -145,6 +494,11 @@ public class CodeCoverageBuilder extends Builder implements SimpleBuildStep
 	@Extension
 	public static final class CodeCoverageDescriptorImpl extends BuildStepDescriptor<Builder>
 	{
+		// Member Variables
+		private List<ConnectionThrottle> m_connectionThrottles = new ArrayList<>();
+		private String m_retryableExitValues = StringUtils.EMPTY;
+		private String m_retryablePatterns = CodeCoverageConstants.DEFAULT_RETRYABLE_OUTPUT_PATTERNS;
+
 		/**
 		 * Constructor.
 		 * <p>
@@ -185,10 +539,98 @@ public class CodeCoverageBuilder extends Builder implements SimpleBuildStep
 		@Override
 		public boolean configure(StaplerRequest req, JSONObject formData) throws FormException
 		{
+			setConnectionThrottles(req.bindJSONToList(ConnectionThrottle.class, formData.get("connectionThrottles"))); //$NON-NLS-1$
+			setRetryableExitValues(formData.optString("retryableExitValues")); //$NON-NLS-1$
+			setRetryablePatterns(formData.optString("retryablePatterns")); //$NON-NLS-1$
 			save();
 			return super.configure(req, formData);
 		}
 
+		/**
+		 * Gets the 'Host connection limits'.
+		 * 
+		 * @return the configured limits; never null
+		 */
+		public List<ConnectionThrottle> getConnectionThrottles()
+		{
+			return m_connectionThrottles != null ? Collections.unmodifiableList(m_connectionThrottles)
+					: Collections.<ConnectionThrottle> emptyList();
+		}
+
+		/**
+		 * Sets the 'Host connection limits'.
+		 * 
+		 * @param connectionThrottles
+		 *            the limits; can be null
+		 */
+		public void setConnectionThrottles(List<ConnectionThrottle> connectionThrottles)
+		{
+			m_connectionThrottles = connectionThrottles != null ? new ArrayList<>(connectionThrottles) : new ArrayList<>();
+		}
+
+		/**
+		 * Gets the maximum number of extractions that may run at the same time against a host connection.
+		 * 
+		 * @param connectionId
+		 *            the host connection identifier
+		 * 
+		 * @return the configured limit, or 0 if the connection is not limited
+		 */
+		public int getMaxConcurrentExtractions(String connectionId)
+		{
+			for (ConnectionThrottle throttle : getConnectionThrottles())
+			{
+				if (throttle.getConnectionId().equals(connectionId))
+				{
+					return throttle.getMaxConcurrentExtractions();
+				}
+			}
+
+			return 0;
+		}
+
+		/**
+		 * Gets the 'Retryable CLI exit values'.
+		 * 
+		 * @return the exit values, separated by commas or white space; never null
+		 */
+		public String getRetryableExitValues()
+		{
+			return StringUtils.defaultString(m_retryableExitValues);
+		}
+
+		/**
+		 * Sets the 'Retryable CLI exit values'.
+		 * 
+		 * @param retryableExitValues
+		 *            the exit values of CLI runs to retry, separated by commas or white space; can be null
+		 */
+		public void setRetryableExitValues(String retryableExitValues)
+		{
+			m_retryableExitValues = StringUtils.trimToEmpty(retryableExitValues);
+		}
+
+		/**
+		 * Gets the 'Retryable CLI output patterns'.
+		 * 
+		 * @return the patterns, one per line; never null
+		 */
+		public String getRetryablePatterns()
+		{
+			return m_retryablePatterns != null ? m_retryablePatterns : CodeCoverageConstants.DEFAULT_RETRYABLE_OUTPUT_PATTERNS;
+		}
+
+		/**
+		 * Sets the 'Retryable CLI output patterns'.
+		 * 
+		 * @param retryablePatterns
+		 *            the regular expressions, one per line, that mark a line of CLI output as a retryable failure; can be null
+		 */
+		public void setRetryablePatterns(String retryablePatterns)
+		{
+			m_retryablePatterns = StringUtils.trimToEmpty(retryablePatterns);
+		}
+
 		/**
 		 * Get the default value for 'Analysis properties'
 		 * 
@@ -258,25 +700,7 @@ public class CodeCoverageBuilder extends Builder implements SimpleBuildStep
 				project.checkPermission(Item.CONFIGURE);
 			}
 
-			CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
-			HostConnection[] hostConnections = globalConfig.getHostConnections();
-
-			ListBoxModel model = new ListBoxModel();
-			model.add(new Option(StringUtils.EMPTY, StringUtils.EMPTY, false));
-
-			for (HostConnection connection : hostConnections)
-			{
-				boolean isSelected = false;
-				if (connectionId != null)
-				{
-					isSelected = connectionId.matches(connection.getConnectionId());
-				}
-
-				model.add(new Option(connection.getDescription() + " [" + connection.getHostPort() + ']', //$NON-NLS-1$
-						connection.getConnectionId(), isSelected));
-			}
-
-			return model;
+			return CodeCoverageOptionCache.connections(connectionId);
 		}
 
 		/**
@@ -300,31 +724,7 @@ public class CodeCoverageBuilder extends Builder implements SimpleBuildStep
 				project.checkPermission(Item.CONFIGURE);
 			}
 
-			List<StandardCredentials> creds = CredentialsProvider.lookupCredentials(
-					StandardCredentials.class, project, ACL.SYSTEM,
-					Collections.<DomainRequirement> emptyList());
-
-			ListBoxModel model = new ListBoxModel();
-			model.add(new Option(StringUtils.EMPTY, StringUtils.EMPTY, false));
-
-			for (StandardCredentials c : creds)
-			{
-				boolean isSelected = false;
-				if (credentialsId != null)
-				{
-					isSelected = credentialsId.matches(c.getId());
-				}
-
-				String description = Util.fixEmptyAndTrim(c.getDescription());
-				try {
-					model.add(new Option(CpwrGlobalConfiguration.get().getCredentialsUser(c)
-							+ (description != null ? (" (" + description + ')') : StringUtils.EMPTY), c.getId(), isSelected)); //$NON-NLS-1$
-				} catch (AbortException e) {
-					LOGGER.log(Level.WARNING, e.getMessage());
-				}
-			}
-
-			return model;
+			return CodeCoverageOptionCache.credentials(project, credentialsId);
 		}
 	}
 
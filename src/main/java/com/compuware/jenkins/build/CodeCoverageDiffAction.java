@@ -0,0 +1,256 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.kohsuke.stapler.AncestorInPath;
+import org.kohsuke.stapler.StaplerResponse;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+import com.compuware.jenkins.build.utils.CoverageDiff;
+
+import hudson.model.Action;
+import hudson.model.Run;
+
+/**
+ * Attaches the lines that became covered or uncovered since a baseline build to a build.
+ * <p>
+ * Only the totals and the programs that changed most are kept with the build. The full diff is written to
+ * <code>CodeCoverageDiff.json</code> in the build directory and served from <code>codeCoverageDiff</code>.
+ */
+public class CodeCoverageDiffAction implements Action
+{
+	// Member Variables
+	private final int m_baselineNumber;
+	private final String m_baselineName;
+	private final long m_newlyCovered;
+	private final long m_newlyUncovered;
+	private final int m_changedPrograms;
+	private final List<ProgramChange> m_programs;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param baseline
+	 *            the build the coverage was compared with
+	 * @param diff
+	 *            the result of the comparison
+	 */
+	public CodeCoverageDiffAction(Run<?, ?> baseline, CoverageDiff diff)
+	{
+		m_baselineNumber = baseline.getNumber();
+		m_baselineName = baseline.getDisplayName();
+		m_newlyCovered = diff.getNewlyCovered();
+		m_newlyUncovered = diff.getNewlyUncovered();
+		m_changedPrograms = diff.getPrograms().size();
+
+		List<ProgramChange> programs = new ArrayList<>(m_changedPrograms);
+		for (CoverageDiff.ProgramDiff program : diff.getPrograms())
+		{
+			programs.add(new ProgramChange(program));
+		}
+		programs.sort(Comparator.comparingInt(ProgramChange::getNewlyUncovered).reversed()
+				.thenComparing(Comparator.comparingInt(ProgramChange::getNewlyCovered).reversed()));
+		m_programs = new ArrayList<>(
+				programs.subList(0, Math.min(programs.size(), CodeCoverageConstants.DIFF_ACTION_MAX_PROGRAMS)));
+	}
+
+	/**
+	 * Gets the number of the build the coverage was compared with.
+	 *
+	 * @return <code>int</code> value of m_baselineNumber
+	 */
+	public int getBaselineNumber()
+	{
+		return m_baselineNumber;
+	}
+
+	/**
+	 * Gets the display name of the build the coverage was compared with.
+	 *
+	 * @return <code>String</code> value of m_baselineName
+	 */
+	public String getBaselineName()
+	{
+		return m_baselineName;
+	}
+
+	/**
+	 * Gets the number of lines newly covered.
+	 *
+	 * @return <code>long</code> value of m_newlyCovered
+	 */
+	public long getNewlyCovered()
+	{
+		return m_newlyCovered;
+	}
+
+	/**
+	 * Gets the number of lines newly uncovered.
+	 *
+	 * @return <code>long</code> value of m_newlyUncovered
+	 */
+	public long getNewlyUncovered()
+	{
+		return m_newlyUncovered;
+	}
+
+	/**
+	 * Gets the number of programs that were added, removed or changed.
+	 *
+	 * @return <code>int</code> value of m_changedPrograms
+	 */
+	public int getChangedPrograms()
+	{
+		return m_changedPrograms;
+	}
+
+	/**
+	 * Gets the programs that changed most, those that lost the most coverage first.
+	 *
+	 * @return at most {@link CodeCoverageConstants#DIFF_ACTION_MAX_PROGRAMS} programs
+	 */
+	public List<ProgramChange> getPrograms()
+	{
+		return m_programs != null ? Collections.unmodifiableList(m_programs) : Collections.<ProgramChange> emptyList();
+	}
+
+	/**
+	 * Serves the full diff written to the build directory.
+	 *
+	 * @param run
+	 *            the build the action is attached to
+	 * @param rsp
+	 *            the response
+	 *
+	 * @throws IOException
+	 *             if the diff cannot be read or the response cannot be written
+	 */
+	public void doIndex(@AncestorInPath Run<?, ?> run, StaplerResponse rsp) throws IOException
+	{
+		File file = new File(run.getRootDir(), CodeCoverageConstants.DIFF_FILE_NAME);
+		if (!file.isFile())
+		{
+			rsp.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		rsp.setContentType("application/json;charset=UTF-8"); //$NON-NLS-1$
+		Files.copy(file.toPath(), rsp.getOutputStream());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getIconFileName()
+	 */
+	@Override
+	public String getIconFileName()
+	{
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getDisplayName()
+	 */
+	@Override
+	public String getDisplayName()
+	{
+		return Messages.diffActionDisplayName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getUrlName()
+	 */
+	@Override
+	public String getUrlName()
+	{
+		return "codeCoverageDiff"; //$NON-NLS-1$
+	}
+
+	/**
+	 * How one program differs from the baseline build.
+	 */
+	public static final class ProgramChange
+	{
+		// Member Variables
+		private final String m_path;
+		private final String m_status;
+		private final int m_newlyCovered;
+		private final int m_newlyUncovered;
+
+		ProgramChange(CoverageDiff.ProgramDiff program)
+		{
+			m_path = program.getPath();
+			m_status = program.getStatus().name().toLowerCase(Locale.ROOT);
+			m_newlyCovered = program.getNewlyCoveredCount();
+			m_newlyUncovered = program.getNewlyUncoveredCount();
+		}
+
+		/**
+		 * Gets the source path of the program.
+		 *
+		 * @return <code>String</code> value of m_path
+		 */
+		public String getPath()
+		{
+			return m_path;
+		}
+
+		/**
+		 * Gets how the program differs from the baseline build: <code>added</code>, <code>removed</code> or
+		 * <code>changed</code>.
+		 *
+		 * @return <code>String</code> value of m_status
+		 */
+		public String getStatus()
+		{
+			return m_status;
+		}
+
+		/**
+		 * Gets the number of lines newly covered.
+		 *
+		 * @return <code>int</code> value of m_newlyCovered
+		 */
+		public int getNewlyCovered()
+		{
+			return m_newlyCovered;
+		}
+
+		/**
+		 * Gets the number of lines newly uncovered.
+		 *
+		 * @return <code>int</code> value of m_newlyUncovered
+		 */
+		public int getNewlyUncovered()
+		{
+			return m_newlyUncovered;
+		}
+	}
+}
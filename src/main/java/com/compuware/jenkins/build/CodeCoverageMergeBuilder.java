@@ -0,0 +1,192 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.StringUtils;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+import com.compuware.jenkins.build.utils.CoverageSummary;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.AbstractProject;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.tasks.BuildStepDescriptor;
+import hudson.tasks.Builder;
+import hudson.util.FormValidation;
+import jenkins.tasks.SimpleBuildStep;
+
+/**
+ * Captures the configuration information for a build step that merges several Code Coverage reports into one.
+ * <p>
+ * The reports are merged as a stream on the node that holds the workspace. A line is covered in the merged report if it is
+ * covered in any of the merged reports.
+ */
+public class CodeCoverageMergeBuilder extends Builder implements SimpleBuildStep
+{
+	// Member Variables
+	private final String m_reports;
+	private final String m_output;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param reports
+	 *            comma-separated Ant-style patterns of the reports to merge, relative to the workspace
+	 * @param output
+	 *            the path of the merged report, relative to the workspace; blank for <code>Coverage/CodeCoverage.xml</code>
+	 */
+	@DataBoundConstructor
+	public CodeCoverageMergeBuilder(String reports, String output)
+	{
+		m_reports = StringUtils.trimToEmpty(reports);
+		m_output = StringUtils.trimToEmpty(output);
+	}
+
+	/**
+	 * Gets the value of the 'Reports to merge'.
+	 * 
+	 * @return <code>String</code> value of m_reports
+	 */
+	public String getReports()
+	{
+		return m_reports;
+	}
+
+	/**
+	 * Gets the value of the 'Merged report'.
+	 * 
+	 * @return <code>String</code> value of m_output
+	 */
+	public String getOutput()
+	{
+		return m_output;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.tasks.Builder#getDescriptor()
+	 */
+	@Override
+	public CodeCoverageMergeDescriptorImpl getDescriptor()
+	{
+		return (CodeCoverageMergeDescriptorImpl) super.getDescriptor();
+	}
+
+	/**
+	 * DescriptorImpl is used to create instances of <code>CodeCoverageMergeBuilder</code>.
+	 */
+	@Extension
+	public static final class CodeCoverageMergeDescriptorImpl extends BuildStepDescriptor<Builder>
+	{
+		/**
+		 * Constructor.
+		 */
+		public CodeCoverageMergeDescriptorImpl()
+		{
+			super(CodeCoverageMergeBuilder.class);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see hudson.tasks.BuildStepDescriptor#isApplicable(java.lang.Class)
+		 */
+		@Override
+		@SuppressWarnings("rawtypes")
+		public boolean isApplicable(Class<? extends AbstractProject> aClass)
+		{
+			return true;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see hudson.model.Descriptor#getDisplayName()
+		 */
+		@Override
+		public String getDisplayName()
+		{
+			return Messages.mergeDescriptorDisplayName();
+		}
+
+		/**
+		 * Validator for the 'Reports to merge' field.
+		 * 
+		 * @param reports
+		 *            the patterns passed from the config.jelly "reports" field
+		 * 
+		 * @return validation message
+		 */
+		public FormValidation doCheckReports(@QueryParameter String reports)
+		{
+			if (StringUtils.isBlank(reports))
+			{
+				return FormValidation.error(Messages.checkMergeReportsError());
+			}
+
+			return FormValidation.ok();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see jenkins.tasks.SimpleBuildStep#perform(hudson.model.Run, hudson.FilePath, hudson.Launcher, hudson.model.TaskListener)
+	 */
+	@Override
+	public void perform(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener)
+			throws InterruptedException, IOException
+	{
+		PrintStream logger = listener.getLogger();
+		List<String> patterns = new ArrayList<>();
+		for (String pattern : m_reports.split(",")) //$NON-NLS-1$
+		{
+			if (StringUtils.isNotBlank(pattern))
+			{
+				patterns.add(pattern.trim());
+			}
+		}
+		if (patterns.isEmpty())
+		{
+			throw new AbortException(Messages.checkMergeReportsError());
+		}
+
+		String output = StringUtils.isNotBlank(m_output) ? m_output
+				: CodeCoverageConstants.COVERAGE_FOLDER + '/' + CodeCoverageConstants.COVERAGE_FILE_NAME;
+		// a pattern that matches nothing fails the step rather than leaving an empty or partial report
+		int programs = workspace.act(new RemoteCoverageMerge(patterns, output, true));
+		logger.println("Merged coverage reports matching " + patterns + " into " + output + " (" + programs + " programs)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+		// the merged report supersedes the summaries of the individual steps
+		FilePath report = workspace.child(output);
+		CoverageSummary summary = report.act(new CoverageSummaryReader(CodeCoverageConstants.COVERAGE_STORE_FILE_NAME));
+		if (summary != null)
+		{
+			CodeCoverageSummaryAction.keepStore(run, report, logger);
+			CodeCoverageTrendAction.record(run, summary, logger);
+			run.replaceAction(new CodeCoverageSummaryAction(summary));
+		}
+	}
+}
@@ -0,0 +1,216 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.cloudbees.plugins.credentials.CredentialsProvider;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.cloudbees.plugins.credentials.common.StandardCredentials;
+import com.cloudbees.plugins.credentials.domains.DomainRequirement;
+import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
+import com.compuware.jenkins.common.configuration.HostConnection;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Saveable;
+import hudson.model.User;
+import hudson.model.listeners.SaveableListener;
+import hudson.security.ACL;
+import hudson.util.ListBoxModel;
+import hudson.util.ListBoxModel.Option;
+
+/**
+ * Caches the options of the 'Host connection' and 'Login credentials' selection boxes.
+ * <p>
+ * Looking up every credential and its user on each configuration page is slow on controllers with many credentials, so the
+ * options are built once per item and reused until the host connections or the credentials are saved. Options that cannot
+ * be seen to change, such as those of an external credentials provider, are also rebuilt after
+ * <code>com.compuware.jenkins.build.CodeCoverageOptionCache.maxAgeMinutes</code> (5 by default). The caller checks
+ * permissions before asking for the options.
+ */
+public final class CodeCoverageOptionCache
+{
+	private static final Logger LOGGER = Logger.getLogger(CodeCoverageOptionCache.class.getName());
+
+	private static final long MAX_AGE_NANOS = TimeUnit.MINUTES
+			.toNanos(Long.getLong(CodeCoverageOptionCache.class.getName() + ".maxAgeMinutes", 5)); //$NON-NLS-1$
+	private static final int MAX_ITEMS = 1000;
+
+	private static volatile Options s_connections;
+	private static final Map<String, Options> s_credentials = new ConcurrentHashMap<>();
+
+	private CodeCoverageOptionCache()
+	{
+	}
+
+	/**
+	 * Gets the host connection options.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier to select; can be null
+	 *
+	 * @return a new <code>ListBoxModel</code> of the host connections, led by an empty option
+	 */
+	public static ListBoxModel connections(String connectionId)
+	{
+		Options options = s_connections;
+		if (options == null || options.isExpired())
+		{
+			options = new Options();
+			for (HostConnection connection : CpwrGlobalConfiguration.get().getHostConnections())
+			{
+				options.add(connection.getDescription() + " [" + connection.getHostPort() + ']', connection.getConnectionId()); //$NON-NLS-1$
+			}
+			s_connections = options;
+		}
+
+		return options.toModel(connectionId);
+	}
+
+	/**
+	 * Gets the login credentials options available to an item.
+	 *
+	 * @param project
+	 *            the item; <code>null</code> for the global configuration
+	 * @param credentialsId
+	 *            the credentials identifier to select; can be null
+	 *
+	 * @return a new <code>ListBoxModel</code> of the credentials, led by an empty option
+	 */
+	public static ListBoxModel credentials(Item project, String credentialsId)
+	{
+		String key = project != null ? project.getFullName() : StringUtils.EMPTY;
+		Options options = s_credentials.get(key);
+		if (options == null || options.isExpired())
+		{
+			options = new Options();
+			CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
+			List<StandardCredentials> creds = CredentialsProvider.lookupCredentials(StandardCredentials.class, project,
+					ACL.SYSTEM, Collections.<DomainRequirement> emptyList());
+			for (StandardCredentials c : creds)
+			{
+				String description = Util.fixEmptyAndTrim(c.getDescription());
+				try
+				{
+					options.add(globalConfig.getCredentialsUser(c)
+							+ (description != null ? (" (" + description + ')') : StringUtils.EMPTY), c.getId()); //$NON-NLS-1$
+				}
+				catch (AbortException e)
+				{
+					LOGGER.log(Level.WARNING, e.getMessage());
+				}
+			}
+
+			if (s_credentials.size() >= MAX_ITEMS)
+			{
+				s_credentials.clear();
+			}
+			s_credentials.put(key, options);
+		}
+
+		return options.toModel(credentialsId);
+	}
+
+	/**
+	 * Discards all cached options. Called when Jenkins starts, so options cached by an earlier instance in the same JVM are
+	 * not reused.
+	 */
+	@Initializer(after = InitMilestone.JOB_LOADED)
+	public static void invalidate()
+	{
+		s_connections = null;
+		s_credentials.clear();
+	}
+
+	/**
+	 * The options of one selection box, with their values indexed so the selected option is found without a scan.
+	 */
+	private static final class Options
+	{
+		private final long m_created = System.nanoTime();
+		private final List<String> m_names = new ArrayList<>();
+		private final List<String> m_values = new ArrayList<>();
+		private final Map<String, Integer> m_index = new HashMap<>();
+
+		void add(String name, String value)
+		{
+			m_index.putIfAbsent(value, m_values.size());
+			m_names.add(name);
+			m_values.add(value);
+		}
+
+		boolean isExpired()
+		{
+			return System.nanoTime() - m_created > MAX_AGE_NANOS;
+		}
+
+		ListBoxModel toModel(String selectedValue)
+		{
+			Integer selected = selectedValue != null ? m_index.get(selectedValue) : null;
+			ListBoxModel model = new ListBoxModel(m_values.size() + 1);
+			model.add(new Option(StringUtils.EMPTY, StringUtils.EMPTY, false));
+			for (int i = 0; i < m_values.size(); i++)
+			{
+				model.add(new Option(m_names.get(i), m_values.get(i), selected != null && selected == i));
+			}
+
+			return model;
+		}
+	}
+
+	/**
+	 * Discards the cached options when the host connections or a credentials store are saved.
+	 */
+	@Extension
+	public static class Listener extends SaveableListener
+	{
+		/*
+		 * (non-Javadoc)
+		 * @see hudson.model.listeners.SaveableListener#onChange(hudson.model.Saveable, hudson.XmlFile)
+		 */
+		@Override
+		public void onChange(Saveable o, XmlFile file)
+		{
+			if (o instanceof CpwrGlobalConfiguration)
+			{
+				s_connections = null;
+			}
+			// credentials are kept by the system provider, folders and users
+			else if (o instanceof SystemCredentialsProvider || o instanceof ItemGroup || o instanceof User)
+			{
+				s_credentials.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,376 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+
+/**
+ * The optional settings of a Code Coverage scan, shared by the {@link CodeCoverageBuilder} and the {@link CodeCoverageStep}
+ * so the scanner reads them from one place.
+ */
+public class CodeCoverageOptions implements Serializable
+{
+	private static final long serialVersionUID = 2871640532941783317L;
+
+	// Member Variables
+	private int m_maxParallelExtractions = CodeCoverageConstants.DEFAULT_MAX_PARALLEL_EXTRACTIONS;
+	private boolean m_useResultCache;
+	private String m_resultCacheFingerprint = StringUtils.EMPTY;
+	private String m_daemonCommand = StringUtils.EMPTY;
+	private int m_daemonIdleMinutes = CodeCoverageConstants.DEFAULT_DAEMON_IDLE_MINUTES;
+	private int m_timeoutMinutes;
+	private int m_maxRetries;
+	private boolean m_mergeWithExistingReport;
+	private boolean m_incrementalExtraction;
+	private String m_compareWithBuild = StringUtils.EMPTY;
+	private int m_shardCount;
+	private int m_shardIndex;
+	private boolean m_archiveReport;
+	private boolean m_useArgumentFile;
+
+	/**
+	 * Gets the value of the 'Maximum parallel extractions'.
+	 * <p>
+	 * This is the number of CLI processes run at the same time when the analysis properties list several repositories,
+	 * systems or test IDs.
+	 * 
+	 * @return <code>int</code> value of m_maxParallelExtractions
+	 */
+	public int getMaxParallelExtractions()
+	{
+		return m_maxParallelExtractions > 0 ? m_maxParallelExtractions : CodeCoverageConstants.DEFAULT_MAX_PARALLEL_EXTRACTIONS;
+	}
+
+	/**
+	 * Sets the value of the 'Maximum parallel extractions'.
+	 * 
+	 * @param maxParallelExtractions
+	 *            the number of CLI processes to run at the same time; values less than 1 use the default
+	 */
+	public void setMaxParallelExtractions(int maxParallelExtractions)
+	{
+		m_maxParallelExtractions = maxParallelExtractions;
+	}
+
+	/**
+	 * Gets the value of the 'Use result cache'.
+	 * <p>
+	 * When set, a fresh cached report of an identical extraction is restored instead of running the CLI. The cache is only
+	 * used when a result cache fingerprint is also set.
+	 * 
+	 * @return <code>boolean</code> value of m_useResultCache
+	 */
+	public boolean isUseResultCache()
+	{
+		return m_useResultCache;
+	}
+
+	/**
+	 * Sets the value of the 'Use result cache'.
+	 * 
+	 * @param useResultCache
+	 *            whether to use the result cache
+	 */
+	public void setUseResultCache(boolean useResultCache)
+	{
+		m_useResultCache = useResultCache;
+	}
+
+	/**
+	 * Gets the value of the 'Result cache fingerprint'.
+	 * 
+	 * @return <code>String</code> value of m_resultCacheFingerprint
+	 */
+	public String getResultCacheFingerprint()
+	{
+		return StringUtils.trimToEmpty(m_resultCacheFingerprint);
+	}
+
+	/**
+	 * Sets the value of the 'Result cache fingerprint'.
+	 * 
+	 * @param resultCacheFingerprint
+	 *            a value included in the result cache key, such as a test run identifier; can be blank
+	 */
+	public void setResultCacheFingerprint(String resultCacheFingerprint)
+	{
+		m_resultCacheFingerprint = StringUtils.trimToEmpty(resultCacheFingerprint);
+	}
+
+	/**
+	 * Gets the value of the 'CLI daemon command'.
+	 * <p>
+	 * When set, extractions are sent to a long-lived daemon started with this command on the agent instead of starting the CLI
+	 * script for every extraction.
+	 * 
+	 * @return <code>String</code> value of m_daemonCommand
+	 */
+	public String getDaemonCommand()
+	{
+		return StringUtils.trimToEmpty(m_daemonCommand);
+	}
+
+	/**
+	 * Sets the value of the 'CLI daemon command'.
+	 * 
+	 * @param daemonCommand
+	 *            the command that starts the CLI daemon; blank to start the CLI script for every extraction
+	 */
+	public void setDaemonCommand(String daemonCommand)
+	{
+		m_daemonCommand = StringUtils.trimToEmpty(daemonCommand);
+	}
+
+	/**
+	 * Gets the value of the 'CLI daemon idle minutes'.
+	 * 
+	 * @return <code>int</code> value of m_daemonIdleMinutes
+	 */
+	public int getDaemonIdleMinutes()
+	{
+		return m_daemonIdleMinutes > 0 ? m_daemonIdleMinutes : CodeCoverageConstants.DEFAULT_DAEMON_IDLE_MINUTES;
+	}
+
+	/**
+	 * Sets the value of the 'CLI daemon idle minutes'.
+	 * 
+	 * @param daemonIdleMinutes
+	 *            the minutes a daemon may stay idle before it is stopped; values less than 1 use the default
+	 */
+	public void setDaemonIdleMinutes(int daemonIdleMinutes)
+	{
+		m_daemonIdleMinutes = daemonIdleMinutes;
+	}
+
+	/**
+	 * Gets the value of the 'Timeout minutes'.
+	 * <p>
+	 * When set, the CLI process tree of an extraction that runs longer is asked to terminate and then killed, and the programs
+	 * it wrote in full are kept as a partial report.
+	 * 
+	 * @return <code>int</code> value of m_timeoutMinutes; 0 if the extraction may take any time
+	 */
+	public int getTimeoutMinutes()
+	{
+		return Math.max(0, m_timeoutMinutes);
+	}
+
+	/**
+	 * Sets the value of the 'Timeout minutes'.
+	 * 
+	 * @param timeoutMinutes
+	 *            the minutes the CLI of an extraction may run before it is stopped; values less than 1 mean no limit
+	 */
+	public void setTimeoutMinutes(int timeoutMinutes)
+	{
+		m_timeoutMinutes = timeoutMinutes;
+	}
+
+	/**
+	 * Gets the value of the 'Retries'.
+	 * <p>
+	 * A CLI run that fails with a retryable exit value or output, as configured globally, is run again in the same CLI
+	 * workspace after a growing delay, up to this many times.
+	 * 
+	 * @return <code>int</code> value of m_maxRetries
+	 */
+	public int getMaxRetries()
+	{
+		return Math.max(0, m_maxRetries);
+	}
+
+	/**
+	 * Sets the value of the 'Retries'.
+	 * 
+	 * @param maxRetries
+	 *            the number of times a CLI run that failed in a retryable way is run again; values less than 1 mean none
+	 */
+	public void setMaxRetries(int maxRetries)
+	{
+		m_maxRetries = maxRetries;
+	}
+
+	/**
+	 * Gets the value of the 'Merge with existing report'.
+	 * <p>
+	 * When set, a <code>CodeCoverage.xml</code> left in the workspace by an earlier coverage step is merged with the one
+	 * extracted by this step instead of being overwritten.
+	 * 
+	 * @return <code>boolean</code> value of m_mergeWithExistingReport
+	 */
+	public boolean isMergeWithExistingReport()
+	{
+		return m_mergeWithExistingReport;
+	}
+
+	/**
+	 * Sets the value of the 'Merge with existing report'.
+	 * 
+	 * @param mergeWithExistingReport
+	 *            whether to merge with the report of an earlier coverage step
+	 */
+	public void setMergeWithExistingReport(boolean mergeWithExistingReport)
+	{
+		m_mergeWithExistingReport = mergeWithExistingReport;
+	}
+
+	/**
+	 * Gets the value of the 'Incremental extraction'.
+	 * <p>
+	 * When set, only the source folders holding programs changed since the last successful build are extracted, and the
+	 * coverage of the other programs is copied forward from that build's report.
+	 * 
+	 * @return <code>boolean</code> value of m_incrementalExtraction
+	 */
+	public boolean isIncrementalExtraction()
+	{
+		return m_incrementalExtraction;
+	}
+
+	/**
+	 * Sets the value of the 'Incremental extraction'.
+	 * 
+	 * @param incrementalExtraction
+	 *            whether to extract only changed programs
+	 */
+	public void setIncrementalExtraction(boolean incrementalExtraction)
+	{
+		m_incrementalExtraction = incrementalExtraction;
+	}
+
+	/**
+	 * Gets the value of the 'Compare with build'.
+	 * <p>
+	 * When set, the coverage of the build is compared line by line with the coverage of that build of the job, and the
+	 * newly covered and newly uncovered lines are attached to the build.
+	 * 
+	 * @return <code>String</code> value of m_compareWithBuild
+	 */
+	public String getCompareWithBuild()
+	{
+		return StringUtils.trimToEmpty(m_compareWithBuild);
+	}
+
+	/**
+	 * Sets the value of the 'Compare with build'.
+	 * 
+	 * @param compareWithBuild
+	 *            a build number or a permalink such as <code>lastSuccessfulBuild</code>; can be blank
+	 */
+	public void setCompareWithBuild(String compareWithBuild)
+	{
+		m_compareWithBuild = StringUtils.trimToEmpty(compareWithBuild);
+	}
+
+	/**
+	 * Gets the value of the 'Shards'.
+	 * <p>
+	 * When more than 1, the source folders of each extraction are split into this many shards, and only the shard at the
+	 * 'Shard index' is extracted. Each shard is meant to run in its own Pipeline branch on an agent with the sources checked
+	 * out, and the shard reports to be merged afterwards.
+	 * 
+	 * @return <code>int</code> value of m_shardCount; 0 or 1 to extract all the source folders
+	 */
+	public int getShardCount()
+	{
+		return Math.max(0, m_shardCount);
+	}
+
+	/**
+	 * Sets the value of the 'Shards'.
+	 * 
+	 * @param shardCount
+	 *            the number of shards to split the source folders into; 0 or 1 to extract all the source folders
+	 */
+	public void setShardCount(int shardCount)
+	{
+		m_shardCount = shardCount;
+	}
+
+	/**
+	 * Gets the value of the 'Shard index'.
+	 * 
+	 * @return <code>int</code> value of m_shardIndex, from 0
+	 */
+	public int getShardIndex()
+	{
+		return Math.max(0, m_shardIndex);
+	}
+
+	/**
+	 * Sets the value of the 'Shard index'.
+	 * 
+	 * @param shardIndex
+	 *            the index of the shard to extract, from 0 to one less than the number of shards
+	 */
+	public void setShardIndex(int shardIndex)
+	{
+		m_shardIndex = shardIndex;
+	}
+
+	/**
+	 * Gets the value of the 'Archive report'.
+	 * <p>
+	 * When set, the report is compressed on the agent as it is sent to the controller and kept with the build as
+	 * <code>CodeCoverage.xml.gz</code>.
+	 * 
+	 * @return <code>boolean</code> value of m_archiveReport
+	 */
+	public boolean isArchiveReport()
+	{
+		return m_archiveReport;
+	}
+
+	/**
+	 * Sets the value of the 'Archive report'.
+	 * 
+	 * @param archiveReport
+	 *            whether to keep a compressed copy of the report with the build
+	 */
+	public void setArchiveReport(boolean archiveReport)
+	{
+		m_archiveReport = archiveReport;
+	}
+
+	/**
+	 * Gets the value of the 'Use argument file'.
+	 * <p>
+	 * When set, and the CLI is recent enough to read one, the analysis properties are passed in an argument file instead of
+	 * on the command line.
+	 * 
+	 * @return <code>boolean</code> value of m_useArgumentFile
+	 */
+	public boolean isUseArgumentFile()
+	{
+		return m_useArgumentFile;
+	}
+
+	/**
+	 * Sets the value of the 'Use argument file'.
+	 * 
+	 * @param useArgumentFile
+	 *            whether to pass the analysis properties in an argument file
+	 */
+	public void setUseArgumentFile(boolean useArgumentFile)
+	{
+		m_useArgumentFile = useArgumentFile;
+	}
+}
@@ -0,0 +1,166 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
+import org.kohsuke.stapler.AncestorInPath;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+import com.compuware.jenkins.build.utils.CoverageReportMerger;
+
+import hudson.model.Action;
+import hudson.model.Run;
+
+/**
+ * Attaches the compressed copy of a build's <code>CodeCoverage.xml</code> to the build.
+ * <p>
+ * The report is kept as <code>CodeCoverage.xml.gz</code> in the build directory and served from
+ * <code>codeCoverageReport</code>: as is to clients that accept gzip, and decompressed on the fly to the others.
+ */
+public class CodeCoverageReportAction implements Action
+{
+	// Member Variables
+	private final long m_size;
+	private final long m_compressedSize;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param size
+	 *            the size of the report in bytes
+	 * @param compressedSize
+	 *            the size of the compressed report kept with the build in bytes
+	 */
+	public CodeCoverageReportAction(long size, long compressedSize)
+	{
+		m_size = size;
+		m_compressedSize = compressedSize;
+	}
+
+	/**
+	 * Gets the size of the report.
+	 *
+	 * @return <code>long</code> value of m_size
+	 */
+	public long getSize()
+	{
+		return m_size;
+	}
+
+	/**
+	 * Gets the size of the compressed report kept with the build.
+	 *
+	 * @return <code>long</code> value of m_compressedSize
+	 */
+	public long getCompressedSize()
+	{
+		return m_compressedSize;
+	}
+
+	/**
+	 * Serves the report kept with the build.
+	 *
+	 * @param run
+	 *            the build the action is attached to
+	 * @param req
+	 *            the request
+	 * @param rsp
+	 *            the response
+	 *
+	 * @throws IOException
+	 *             if the report cannot be read or the response cannot be written
+	 */
+	public void doIndex(@AncestorInPath Run<?, ?> run, StaplerRequest req, StaplerResponse rsp) throws IOException
+	{
+		File file = new File(run.getRootDir(), CodeCoverageConstants.ARCHIVED_REPORT_FILE_NAME);
+		if (!file.isFile())
+		{
+			rsp.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+
+		rsp.setContentType("application/xml;charset=UTF-8"); //$NON-NLS-1$
+		if (StringUtils.contains(req.getHeader("Accept-Encoding"), "gzip")) //$NON-NLS-1$ //$NON-NLS-2$
+		{
+			rsp.setHeader("Content-Encoding", "gzip"); //$NON-NLS-1$ //$NON-NLS-2$
+			Files.copy(file.toPath(), rsp.getOutputStream());
+			return;
+		}
+
+		try (InputStream in = CoverageReportMerger.open(file))
+		{
+			IOUtils.copy(in, rsp.getOutputStream());
+		}
+	}
+
+	/**
+	 * Opens the report kept for a build, decompressing it as it is read.
+	 *
+	 * @param run
+	 *            the build
+	 *
+	 * @return a stream of the report's XML, or <code>null</code> if the build kept no report
+	 *
+	 * @throws IOException
+	 *             if the report cannot be opened
+	 */
+	public static InputStream openReport(Run<?, ?> run) throws IOException
+	{
+		File file = new File(run.getRootDir(), CodeCoverageConstants.ARCHIVED_REPORT_FILE_NAME);
+		return file.isFile() ? CoverageReportMerger.open(file) : null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getIconFileName()
+	 */
+	@Override
+	public String getIconFileName()
+	{
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getDisplayName()
+	 */
+	@Override
+	public String getDisplayName()
+	{
+		return Messages.reportActionDisplayName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getUrlName()
+	 */
+	@Override
+	public String getUrlName()
+	{
+		return "codeCoverageReport"; //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,311 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+
+import hudson.FilePath;
+import hudson.Util;
+import jenkins.model.Jenkins;
+
+/**
+ * A controller-side cache of extracted <code>CodeCoverage.xml</code> reports, keyed by a hash of everything that determines
+ * the extraction.
+ * <p>
+ * The key covers the host connection, the credentials, the merged analysis properties and a user-supplied fingerprint. The
+ * CLI offers no cheap way to ask the host whether a repository has changed, so the scanner only uses the cache when a
+ * fingerprint is set, and entries also expire after a maximum age; pipelines change the fingerprint when new tests were run
+ * to force a fresh extraction.
+ * <p>
+ * Each entry is a directory named by its key. The report's modification time records when it was stored and the
+ * directory's records when it was last used. The cache is bounded in size and evicts the least recently used entries
+ * first.
+ */
+public final class CodeCoverageResultCache
+{
+	// Constants
+	private static final String CACHE_FOLDER = "xpediter-code-coverage-cache"; //$NON-NLS-1$
+	private static final long MAX_AGE_MILLIS = TimeUnit.MINUTES
+			.toMillis(Long.getLong(CodeCoverageResultCache.class.getName() + ".maxAgeMinutes", 60)); //$NON-NLS-1$
+	private static final long MAX_SIZE_BYTES = Long.getLong(CodeCoverageResultCache.class.getName() + ".maxSizeMB", 1024) //$NON-NLS-1$
+			* 1024 * 1024;
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods should be accessed statically.
+	 */
+	private CodeCoverageResultCache()
+	{
+	}
+
+	/**
+	 * Computes the cache key of an extraction.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 * @param credentialsId
+	 *            the login credentials identifier
+	 * @param analysisProperties
+	 *            the merged analysis properties
+	 * @param fingerprint
+	 *            the user-supplied fingerprint; can be blank
+	 *
+	 * @return the hex-encoded key
+	 */
+	public static String key(String connectionId, String credentialsId, Properties analysisProperties, String fingerprint)
+	{
+		Map<String, String> sorted = new TreeMap<>();
+		for (String name : analysisProperties.stringPropertyNames())
+		{
+			sorted.put(name, analysisProperties.getProperty(name).trim());
+		}
+
+		try
+		{
+			MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			update(digest, connectionId);
+			update(digest, credentialsId);
+			update(digest, fingerprint);
+			for (Map.Entry<String, String> entry : sorted.entrySet())
+			{
+				update(digest, entry.getKey());
+				update(digest, entry.getValue());
+			}
+
+			return Util.toHexString(digest.digest());
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void update(MessageDigest digest, String value)
+	{
+		digest.update(StringUtils.defaultString(value).getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	/**
+	 * Restores a cached report, if there is a fresh one for the given key.
+	 *
+	 * @param key
+	 *            the cache key
+	 * @param report
+	 *            the report file to write
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 *
+	 * @return <code>true</code> if the report was restored
+	 *
+	 * @throws IOException
+	 *             if the report cannot be written
+	 * @throws InterruptedException
+	 *             if the copy is interrupted
+	 */
+	public static boolean restore(String key, FilePath report, PrintStream logger) throws IOException, InterruptedException
+	{
+		return restore(cacheDirectory(), MAX_AGE_MILLIS, key, report, logger);
+	}
+
+	/**
+	 * Restores a report cached in the given directory, if there is one for the given key no older than the given age.
+	 * <p>
+	 * An entry evicted by another build while it is being restored is a miss, and no partial report is left.
+	 *
+	 * @param cacheDirectory
+	 *            the directory of the cache
+	 * @param maxAgeMillis
+	 *            the maximum age of a cached report
+	 * @param key
+	 *            the cache key
+	 * @param report
+	 *            the report file to write
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 *
+	 * @return <code>true</code> if the report was restored
+	 *
+	 * @throws IOException
+	 *             if the report cannot be written
+	 * @throws InterruptedException
+	 *             if the copy is interrupted
+	 */
+	static boolean restore(File cacheDirectory, long maxAgeMillis, String key, FilePath report, PrintStream logger)
+			throws IOException, InterruptedException
+	{
+		File entry = entryFile(cacheDirectory, key);
+		long stored = entry.lastModified();
+		long now = System.currentTimeMillis();
+		if (stored == 0 || now - stored > maxAgeMillis)
+		{
+			logger.println("Result cache miss: " + key); //$NON-NLS-1$
+			return false;
+		}
+
+		// mark the entry as recently used
+		entry.getParentFile().setLastModified(now);
+
+		FilePath parent = report.getParent();
+		if (parent != null)
+		{
+			parent.mkdirs();
+		}
+		try (InputStream in = Files.newInputStream(entry.toPath()))
+		{
+			report.copyFrom(in);
+		}
+		catch (NoSuchFileException | FileNotFoundException e)
+		{
+			// the entry was evicted since it was checked
+			report.delete();
+			logger.println("Result cache miss: " + key + " was evicted"); //$NON-NLS-1$ //$NON-NLS-2$
+			return false;
+		}
+
+		logger.println("Result cache hit: " + key + ", restored " + report.getRemote()); //$NON-NLS-1$ //$NON-NLS-2$
+		return true;
+	}
+
+	/**
+	 * Stores a report under the given key, then evicts the least recently used entries while the cache is over its size
+	 * limit.
+	 *
+	 * @param key
+	 *            the cache key
+	 * @param report
+	 *            the extracted report
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 *
+	 * @throws IOException
+	 *             if the report cannot be stored
+	 * @throws InterruptedException
+	 *             if the copy is interrupted
+	 */
+	public static void store(String key, FilePath report, PrintStream logger) throws IOException, InterruptedException
+	{
+		store(cacheDirectory(), MAX_SIZE_BYTES, key, report, logger);
+	}
+
+	/**
+	 * Stores a report under the given key in the given directory, then evicts the least recently used entries while the cache
+	 * is over the given size.
+	 *
+	 * @param cacheDirectory
+	 *            the directory of the cache
+	 * @param maxSizeBytes
+	 *            the maximum total size of the cached reports
+	 * @param key
+	 *            the cache key
+	 * @param report
+	 *            the extracted report
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 *
+	 * @throws IOException
+	 *             if the report cannot be stored
+	 * @throws InterruptedException
+	 *             if the copy is interrupted
+	 */
+	static void store(File cacheDirectory, long maxSizeBytes, String key, FilePath report, PrintStream logger)
+			throws IOException, InterruptedException
+	{
+		File entry = entryFile(cacheDirectory, key);
+		File directory = entry.getParentFile();
+		Files.createDirectories(directory.toPath());
+
+		File temp = File.createTempFile(CodeCoverageConstants.COVERAGE_FILE_NAME, ".tmp", directory); //$NON-NLS-1$
+		try
+		{
+			report.copyTo(new FilePath(temp));
+			Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally
+		{
+			Files.deleteIfExists(temp.toPath());
+		}
+		directory.setLastModified(System.currentTimeMillis());
+		logger.println("Result cache stored: " + key); //$NON-NLS-1$
+
+		evict(cacheDirectory, maxSizeBytes);
+	}
+
+	/**
+	 * Deletes the least recently used entries until the cache fits its size limit.
+	 */
+	private static synchronized void evict(File cacheDirectory, long maxSizeBytes)
+	{
+		File[] entries = cacheDirectory.listFiles(File::isDirectory);
+		if (entries == null)
+		{
+			return;
+		}
+
+		long size = 0;
+		for (File entry : entries)
+		{
+			size += new File(entry, CodeCoverageConstants.COVERAGE_FILE_NAME).length();
+		}
+
+		Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+		for (int i = 0; i < entries.length && size > maxSizeBytes; i++)
+		{
+			long length = new File(entries[i], CodeCoverageConstants.COVERAGE_FILE_NAME).length();
+			try
+			{
+				Util.deleteRecursive(entries[i]);
+				size -= length;
+			}
+			catch (IOException e)
+			{
+				// the entry may be in use by a concurrent restore; try again on the next store
+			}
+		}
+	}
+
+	private static File cacheDirectory()
+	{
+		return new File(Jenkins.get().getRootDir(), CACHE_FOLDER);
+	}
+
+	private static File entryFile(File cacheDirectory, String key)
+	{
+		return new File(new File(cacheDirectory, key), CodeCoverageConstants.COVERAGE_FILE_NAME);
+	}
+}
@@ -17,17 +17,50 @@
  */
 package com.compuware.jenkins.build;
 
+import java.io.File;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.apache.commons.lang.StringUtils;
 
 import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+import com.compuware.jenkins.build.utils.CoverageDiff;
+import com.compuware.jenkins.build.utils.CoverageStore;
+import com.compuware.jenkins.build.utils.CoverageSummary;
+import com.compuware.jenkins.build.utils.ExtractionFanOut;
+import com.compuware.jenkins.build.utils.ExtractionThrottle;
+import com.compuware.jenkins.build.utils.IncrementalSources;
+import com.compuware.jenkins.build.utils.PhaseTimer;
+import com.compuware.jenkins.build.utils.RetryPolicy;
+import com.compuware.jenkins.build.utils.TestImpactIndex;
 import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
 import com.compuware.jenkins.common.utils.ArgumentUtils;
 import com.compuware.jenkins.common.utils.CLIVersionUtils;
@@ -37,18 +70,66 @@ import hudson.AbortException;
 import hudson.EnvVars;
 import hudson.FilePath;
 import hudson.Launcher;
+import hudson.Proc;
+import hudson.console.LineTransformationOutputStream;
+import hudson.model.Job;
+import hudson.model.PermalinkProjectAction;
+import hudson.model.Result;
 import hudson.model.Run;
 import hudson.model.TaskListener;
+import hudson.remoting.Channel;
+import hudson.remoting.RemoteOutputStream;
 import hudson.remoting.VirtualChannel;
+import hudson.scm.ChangeLogSet;
+import hudson.scm.EditType;
 import hudson.util.ArgumentListBuilder;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import hudson.util.QuotedStringTokenizer;
+import hudson.util.StreamTaskListener;
+import jenkins.scm.RunWithSCM;
+import jenkins.util.Timer;
 
 /**
  * Class used to initiate a Code Coverage scan. This class will utilize the Topaz command line interface to do the scan.
  */
 public class CodeCoverageScanner
 {
+	private static final Logger LOGGER = Logger.getLogger(CodeCoverageScanner.class.getName());
+
+	// Constants
+	private static final String PHASE_CLI_VERSION = "CLI version check"; //$NON-NLS-1$
+	private static final String PHASE_ANALYSIS_PROPERTIES = "Analysis properties merge"; //$NON-NLS-1$
+	private static final String PHASE_REMOTING = "Agent round-trip"; //$NON-NLS-1$
+	private static final String PHASE_RESULT_CACHE = "Result cache"; //$NON-NLS-1$
+	private static final String PHASE_SINGLE_FLIGHT = "Identical extraction wait"; //$NON-NLS-1$
+	private static final String PHASE_THROTTLE = "Host connection queue"; //$NON-NLS-1$
+	private static final String PHASE_CLI_STARTUP = "CLI startup"; //$NON-NLS-1$
+	private static final String PHASE_CLI_RUN = "CLI extraction"; //$NON-NLS-1$
+	private static final String PHASE_RETRY_BACKOFF = "Retry backoff"; //$NON-NLS-1$
+	private static final String PHASE_MERGE = "Report merge"; //$NON-NLS-1$
+	private static final String PHASE_SUMMARY = "Report summary"; //$NON-NLS-1$
+	private static final String PHASE_DIFF = "Coverage comparison"; //$NON-NLS-1$
+	private static final String PHASE_TEST_INDEX = "Test impact index"; //$NON-NLS-1$
+	private static final String PHASE_ARCHIVE = "Report archive"; //$NON-NLS-1$
+	private static final String PHASE_TOTAL = "Total"; //$NON-NLS-1$
+	private static final long RETRY_BASE_DELAY_MILLIS = Long.getLong(CodeCoverageScanner.class.getName()
+			+ ".retryBaseDelayMillis", CodeCoverageConstants.DEFAULT_RETRY_BASE_DELAY_MILLIS).longValue(); //$NON-NLS-1$
+	private static final long RETRY_MAX_DELAY_MILLIS = Long.getLong(CodeCoverageScanner.class.getName()
+			+ ".retryMaxDelayMillis", CodeCoverageConstants.DEFAULT_RETRY_MAX_DELAY_MILLIS).longValue(); //$NON-NLS-1$
+
 	// Member Variables
 	private CodeCoverageBuilder m_ccBuilder;
+	private final PhaseTimer m_timer = new PhaseTimer();
+	private CoverageSummary m_summary;
+	private PhaseTimer.Phase m_total;
+	private File m_baseline;
+	private String m_baselineName;
+	private final Set<String> m_droppedPrograms = new HashSet<>();
+	private final HashMap<String, ArrayList<String>> m_testReports = new HashMap<>();
+	private boolean m_partial;
+	private Preparation m_preparation;
+	private long m_followingNanos;
 
 	/**
 	 * Constructor.
@@ -63,6 +144,9 @@ public class CodeCoverageScanner
 
 	/**
 	 * Performs the Code Coverage scan.
+	 * <p>
+	 * The time spent in each phase of the scan is logged and attached to the build as a {@link CodeCoverageTimingAction},
+	 * whether or not the scan succeeds.
 	 * 
 	 * @param run
 	 *            the current running Jenkins build
@@ -79,164 +163,2403 @@ public class CodeCoverageScanner
 	 *             if the user cancels the scan
 	 */
 	public void perform(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener)
-			throws IOException, InterruptedException {
-		// obtain argument values to pass to the CLI
-		PrintStream logger = listener.getLogger();
-		CpwrGlobalConfiguration globalConfig = CpwrGlobalConfiguration.get();
-		VirtualChannel vChannel = launcher.getChannel();
-		if (vChannel == null) {
-			throw new IllegalStateException("Could not get virtual channel from launcher."); //$NON-NLS-1$
+			throws IOException, InterruptedException
+	{
+		m_total = m_timer.start(PHASE_TOTAL);
+		try
+		{
+			scan(run, workspace, launcher, listener);
 		}
+		finally
+		{
+			recordTiming(run, listener);
+		}
+	}
 
-		// Check CLI compatibility
-		FilePath cliDirectory = new FilePath(vChannel, globalConfig.getTopazCLILocation(launcher));
-		String cliVersion = CLIVersionUtils.getCLIVersion(cliDirectory, CodeCoverageConstants.CC_MINIMUM_CLI_VERSION);
-		CLIVersionUtils.checkCLICompatibility(cliVersion, CodeCoverageConstants.CC_MINIMUM_CLI_VERSION);
-
-		Properties remoteProperties = vChannel.call(new RemoteSystemProperties());
-		String remoteFileSeparator = remoteProperties.getProperty(CommonConstants.FILE_SEPARATOR_PROPERTY_KEY);
-		boolean isShell = launcher.isUnix();
-		String osFile = isShell ? CodeCoverageConstants.CODE_COVERAGE_CLI_SH : CodeCoverageConstants.CODE_COVERAGE_CLI_BAT;
+	/**
+	 * Starts the Code Coverage scan without running the CLI of its extraction, so the caller can run the CLI runs of its
+	 * {@link Part}s asynchronously and then call {@link #finish(Run, VirtualChannel, Extraction, TaskListener)}.
+	 * <p>
+	 * Scans that need no CLI run of their own, such as one restored from the result cache, are completed here. If an
+	 * identical extraction is already running, a following extraction is returned instead; the caller then calls
+	 * {@link #resume(Run, TaskListener, Extraction)} once {@link Extraction#leaderLanded()} is completed.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param workspace
+	 *            the Jenkins job workspace directory
+	 * @param launcher
+	 *            the way to start a process
+	 * @param listener
+	 *            the build listener
+	 * 
+	 * @return the extraction whose CLI runs are left to run, a following extraction, or <code>null</code> if the scan is
+	 *         complete
+	 * 
+	 * @throws IOException
+	 *             if an error occurs performing the scan
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	public Extraction start(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener)
+			throws IOException, InterruptedException
+	{
+		m_total = m_timer.start(PHASE_TOTAL);
+		Extraction extraction = null;
+		try
+		{
+			extraction = prepare(run, workspace, launcher, listener);
+			return extraction;
+		}
+		finally
+		{
+			if (extraction == null)
+			{
+				recordTiming(run, listener);
+			}
+		}
+	}
 
-		String cliScriptFile = globalConfig.getTopazCLILocation(launcher) + remoteFileSeparator + osFile;
-		logger.println("cliScriptFile: " + cliScriptFile); //$NON-NLS-1$
-		String cliScriptFileRemote = new FilePath(vChannel, cliScriptFile).getRemote();
-		logger.println("cliScriptFileRemote: " + cliScriptFileRemote); //$NON-NLS-1$
-		String targetFolder = ArgumentUtils.escapeForScript(workspace.getRemote());
-		String topazCliWorkspace = workspace.getRemote() + remoteFileSeparator + CommonConstants.TOPAZ_CLI_WORKSPACE;
-		logger.println("topazCliWorkspace: " + topazCliWorkspace); //$NON-NLS-1$
-		String analysisPropertiesPath = m_ccBuilder.getAnalysisPropertiesPath();
-		String analysisPropertiesStr = m_ccBuilder.getAnalysisProperties();
-		Properties analysisProperties = buildAnalysisProperties(analysisPropertiesPath, analysisPropertiesStr, workspace, logger);
-
-		// build the list of arguments to pass to the CLI
-		ArgumentListBuilder args = globalConfig.getArgumentBuilder(cliScriptFileRemote, cliVersion, run.getParent(), m_ccBuilder.getCredentialsId(),
-				m_ccBuilder.getConnectionId());
-		args.add(CommonConstants.TARGET_FOLDER_PARM, targetFolder);
-		args.add(CommonConstants.DATA_PARM, topazCliWorkspace);
+	/**
+	 * Resumes a Code Coverage scan begun with {@link #start(Run, FilePath, Launcher, TaskListener)} that followed an identical
+	 * extraction, once the leader of that extraction has finished. See {@link #follow(Run, TaskListener, Extraction)}.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param listener
+	 *            the build listener
+	 * @param following
+	 *            the following extraction returned by <code>start</code> or an earlier call
+	 * 
+	 * @return the extraction whose CLI runs are left to run, another following extraction, or <code>null</code> if the scan
+	 *         is complete
+	 * 
+	 * @throws IOException
+	 *             if an error occurs performing the scan
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	public Extraction resume(Run<?, ?> run, TaskListener listener, Extraction following)
+			throws IOException, InterruptedException
+	{
+		Extraction extraction = null;
+		try
+		{
+			extraction = follow(run, listener, following);
+			return extraction;
+		}
+		finally
+		{
+			if (extraction == null)
+			{
+				recordTiming(run, listener);
+			}
+		}
+	}
 
-		logger.print("Analysis properties after parsing/merging: "); //$NON-NLS-1$
-		for (Map.Entry<?, ?> entry : analysisProperties.entrySet()) {
-			String key = (String) entry.getKey();
-			String value = (String) entry.getValue();
-			logger.print(key + '=' + value + ' ');
+	/**
+	 * Finishes a Code Coverage scan begun with {@link #start(Run, FilePath, Launcher, TaskListener)} once the CLI runs of its
+	 * extraction have ended, and their outcomes have been recorded in its {@link Part}s.
+	 * <p>
+	 * The scanner can be a new one, as it is after a controller restart; the time spent before the restart is then not
+	 * recorded.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param channel
+	 *            the channel to the agent the CLI ran on
+	 * @param extraction
+	 *            the extraction returned by <code>start</code>
+	 * @param listener
+	 *            the build listener
+	 * 
+	 * @throws IOException
+	 *             if the CLI failed or the report cannot be finished
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	public void finish(Run<?, ?> run, VirtualChannel channel, Extraction extraction, TaskListener listener)
+			throws IOException, InterruptedException
+	{
+		if (m_total == null)
+		{
+			m_total = m_timer.start(PHASE_TOTAL);
+		}
 
-			// don't add properties that don't have values
-			if (StringUtils.isNotBlank(value)) {
-				if (key.equals(CodeCoverageConstants.SOURCES_PARM)) {
-					value = ArgumentUtils.escapeCommaDelimitedPathsForScript(value);
-				} else {
-					value = ArgumentUtils.escapeForScript(value);
+		try
+		{
+			long launchedMillis = 0;
+			for (Part part : extraction.getParts())
+			{
+				if (part.getLaunchedMillis() > 0 && (launchedMillis == 0 || part.getLaunchedMillis() < launchedMillis))
+				{
+					launchedMillis = part.getLaunchedMillis();
 				}
-				key = ArgumentUtils.prefixWithDash((String) key);
+			}
+			if (launchedMillis > 0)
+			{
+				m_timer.add(PHASE_CLI_RUN,
+						TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis() - launchedMillis)));
+			}
 
-				args.add(key, value);
+			PrintStream logger = listener.getLogger();
+			boolean succeeded = false;
+			try
+			{
+				checkOutcome(run, channel, extraction, logger);
+				succeeded = true;
+			}
+			finally
+			{
+				if (!succeeded)
+				{
+					extraction.abandon();
+				}
 			}
+
+			complete(run, channel, extraction, logger);
 		}
-		logger.println();
+		finally
+		{
+			recordTiming(run, listener);
+		}
+	}
 
-		// create the CLI workspace (in case it doesn't already exist)
-		EnvVars env = run.getEnvironment(listener);
-		FilePath workDir = new FilePath(vChannel, workspace.getRemote());
-		workDir.mkdirs();
+	/**
+	 * Logs the time spent in each phase of the scan and attaches it to the build as a {@link CodeCoverageTimingAction}.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param listener
+	 *            the build listener
+	 */
+	private void recordTiming(Run<?, ?> run, TaskListener listener)
+	{
+		m_total.close();
+		CodeCoverageTimingAction.record(run, m_timer, m_summary);
 
-		// invoke the CLI (execute the batch/shell script)
-		int exitValue = launcher.launch().cmds(args).envs(env).stdout(logger).pwd(workDir).join();
-		if (exitValue != 0) {
-			throw new AbortException("Call " + osFile + " exited with value = " + exitValue); //$NON-NLS-1$ //$NON-NLS-2$
-		} else {
-			logger.println("Call " + osFile + " exited with value = " + exitValue); //$NON-NLS-1$ //$NON-NLS-2$
+		StringBuilder timing = new StringBuilder("Code coverage timing (ms):"); //$NON-NLS-1$
+		String[] names = m_timer.getNames();
+		long[] nanos = m_timer.getNanos();
+		for (int i = 0; i < names.length; i++)
+		{
+			timing.append(' ').append(names[i]).append('=').append(TimeUnit.NANOSECONDS.toMillis(nanos[i]));
 		}
+		listener.getLogger().println(timing);
 	}
 
 	/**
-	 * Builds and returns a list of properties using the given analysis file path and string.
-	 * <p>
-	 * Properties in the given string take precedence over properties in the file located at the given path.
+	 * Runs the steps of the Code Coverage scan.
 	 * 
-	 * @param analysisPropertiesFilePath
-	 *            the <code>String</code> path of a file containing analysis properties
-	 * @param analysisPropertiesStr
-	 *            the <code>String</code> containing analysis properties
+	 * @param run
+	 *            the current running Jenkins build
 	 * @param workspace
-	 *            the workspace directory
-	 * @param logger
-	 *            the <code>PrintStream</code> to use for capturing log statements
+	 *            the Jenkins job workspace directory
+	 * @param launcher
+	 *            the way to start a process
+	 * @param listener
+	 *            the build listener
 	 * 
-	 * @return the built <code>Properties</code>
+	 * @throws IOException
+	 *             if an error occurs performing the scan
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
 	 */
-	protected Properties buildAnalysisProperties(String analysisPropertiesFilePath, String analysisPropertiesStr,
-			FilePath workspace, PrintStream logger)
+	protected void scan(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener)
+			throws IOException, InterruptedException
 	{
-		Properties analysisProperties = new Properties();
+		Extraction extraction = prepare(run, workspace, launcher, listener);
+		while (extraction != null && extraction.isFollowing())
+		{
+			extraction = follow(run, listener, extraction);
+		}
 
-		// get properties from the file
-		Path filePath = null;
+		if (extraction == null)
+		{
+			return;
+		}
 
-		boolean filePathSpecified = StringUtils.isNotBlank(analysisPropertiesFilePath);
-		if (filePathSpecified)
+		VirtualChannel vChannel = launcher.getChannel();
+		PrintStream logger = listener.getLogger();
+		boolean succeeded = false;
+		try
 		{
-			// the path specified can be absolute or relative to the workspace
-			filePath = Paths.get(analysisPropertiesFilePath);
-			if (!filePath.isAbsolute())
+			if (extraction.isFanOut())
+			{
+				performFanOut(launcher, extraction, logger);
+			}
+			else
 			{
-				filePath = Paths.get(workspace.getRemote(), analysisPropertiesFilePath);
+				// invoke the CLI (execute the batch/shell script)
+				Part part = extraction.getParts().get(0);
+				try
+				{
+					part.setExitValue(runCliWithRetries(launcher, part.getArguments(), extraction.getEnvironment(),
+							new FilePath(vChannel, extraction.getWorkDir()), logger));
+				}
+				catch (ExtractionTimeoutException e)
+				{
+					part.markTimedOut();
+				}
+				catch (InterruptedException e)
+				{
+					salvageAborted(vChannel, extraction, logger);
+					throw e;
+				}
 			}
+
+			checkOutcome(run, vChannel, extraction, logger);
+			succeeded = true;
 		}
-		else
+		finally
 		{
-			// the user did not specify a file path, so use the default file path
-			filePath = Paths.get(workspace.getRemote(), CodeCoverageConstants.DEFAULT_ANALYSIS_PROPERTIES_FILE_NAME);
+			if (!succeeded)
+			{
+				extraction.abandon();
+			}
 		}
 
-		byte[] bytes = null;
-		try
+		complete(run, vChannel, extraction, logger);
+	}
+
+	/**
+	 * Runs the steps of the Code Coverage scan up to the CLI runs of its extraction.
+	 * <p>
+	 * The steps end early when no CLI run of its own is needed: the report is restored from the result cache or copied from
+	 * the baseline of an incremental extraction. If an identical extraction is already running, a following extraction is
+	 * returned, see {@link #follow(Run, TaskListener, Extraction)}.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param workspace
+	 *            the Jenkins job workspace directory
+	 * @param launcher
+	 *            the way to start a process
+	 * @param listener
+	 *            the build listener
+	 * 
+	 * @return the extraction whose CLI runs are left to run, a following extraction, or <code>null</code> if the scan is
+	 *         complete
+	 * 
+	 * @throws IOException
+	 *             if an error occurs performing the scan
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected Extraction prepare(Run<?, ?> run, FilePath workspace, Launcher launcher, TaskListener listener)
+			throws IOException, InterruptedException {
+		// obtain argument values to pass to the CLI
+		PrintStream logger = listener.getLogger();
+		boolean isShell = launcher.isUnix();
+		String osFile = isShell ? CodeCoverageConstants.CODE_COVERAGE_CLI_SH : CodeCoverageConstants.CODE_COVERAGE_CLI_BAT;
+
+		// gather everything needed from the agent in one round-trip, then check CLI compatibility
+		long preflightStart = System.nanoTime();
+		RemotePreflight.Result preflight = preflight(workspace, launcher, listener);
+		long preflightNanos = System.nanoTime() - preflightStart;
+		VirtualChannel vChannel = launcher.getChannel(); // checked by the preflight
+		m_timer.add(PHASE_CLI_VERSION, preflight.getCliVersionNanos());
+		m_timer.add(PHASE_ANALYSIS_PROPERTIES, preflight.getAnalysisPropertiesNanos());
+		m_timer.add(PHASE_REMOTING,
+				Math.max(0, preflightNanos - preflight.getCliVersionNanos() - preflight.getAnalysisPropertiesNanos()));
+		String cliVersion = preflight.getCliVersion();
+		CLIVersionUtils.checkCLICompatibility(cliVersion, CodeCoverageConstants.CC_MINIMUM_CLI_VERSION);
+
+		logger.println("cliScriptFileRemote: " + preflight.getCliScriptFile()); //$NON-NLS-1$
+		String targetFolder = ArgumentUtils.escapeForScript(preflight.getWorkspace());
+		String topazCliWorkspace = preflight.getTopazCliWorkspace();
+		Properties analysisProperties = new Properties();
+		analysisProperties.putAll(preflight.getAnalysisProperties());
+
+		// the CLI workspace was created by the preflight
+		EnvVars env = run.getEnvironment(listener);
+		FilePath workDir = new FilePath(vChannel, preflight.getWorkspace());
+
+		// reuse the report of an identical extraction if the result cache has a fresh one
+		FilePath report = workDir.child(CodeCoverageConstants.COVERAGE_FOLDER).child(CodeCoverageConstants.COVERAGE_FILE_NAME);
+
+		// a shard extracts only its share of the source folders, so it is identified, and kept as a baseline, by that share
+		boolean extract = true;
+		if (m_ccBuilder.getShardCount() > 1)
 		{
-			logger.println("Analysis properties file path: " + filePath.toAbsolutePath()); //$NON-NLS-1$
-			bytes = Files.readAllBytes(filePath);
+			extract = selectShard(analysisProperties, logger);
 		}
-		catch (IOException e)
+
+		// narrow an incremental extraction to the changed programs before the extraction is identified
+		if (extract && m_ccBuilder.isIncrementalExtraction())
 		{
-			// An error should be displayed only if an analysis file was specified in the configuration.
-			if (filePathSpecified)
-			{
-				logger.println("An IOException occurred while obtaining analysis properties from the file: " + e.toString()); //$NON-NLS-1$
-				e.printStackTrace(logger);
-			}
+			m_baselineName = CodeCoverageResultCache.key(m_ccBuilder.getConnectionId(), m_ccBuilder.getCredentialsId(),
+					analysisProperties, m_ccBuilder.getResultCacheFingerprint()) + ".xml"; //$NON-NLS-1$
+			extract = narrowToChanges(run, workDir, !isShell, analysisProperties, logger);
 		}
 
-		if (bytes != null)
+		// set aside the report of an earlier coverage step of this build so it can be merged with this one; reports left
+		// by earlier builds are ignored, as the build records the reports it finished
+		FilePath previousReport = null;
+		if (m_ccBuilder.isMergeWithExistingReport())
 		{
-			try
+			previousReport = workDir.child(CodeCoverageConstants.PREVIOUS_COVERAGE_FILE_NAME);
+			if (CodeCoverageWorkspaceReports.contains(run, report) && report.exists())
 			{
-				String filePropertiesStr = new String(bytes, CommonConstants.UTF_8);
-				logger.println("Analysis properties string from file: " + filePropertiesStr); //$NON-NLS-1$
-				Properties fileProperties = ArgumentUtils.convertStringToProperties(filePropertiesStr);
-				analysisProperties.putAll(fileProperties);
+				previousReport.delete();
+				report.renameTo(previousReport);
+				CodeCoverageWorkspaceReports.add(run, previousReport);
 			}
-			catch (IOException e)
+			else if (!CodeCoverageWorkspaceReports.contains(run, previousReport))
 			{
-				logger.println("An IOException occurred while parsing analysis properties from the file: " + e.toString()); //$NON-NLS-1$
-				e.printStackTrace(logger);
+				previousReport.delete();
 			}
 		}
 
-		// get properties from the string (these take precedence, so load them after the file properties)
-		if (StringUtils.isNotBlank(analysisPropertiesStr))
+		if (!extract)
 		{
-			try
+			report.delete();
+			if (m_baseline == null)
 			{
-				logger.println("Analysis properties string from UI: " + analysisPropertiesStr); //$NON-NLS-1$
-				Properties strProperties = ArgumentUtils.convertStringToProperties(analysisPropertiesStr);
-				analysisProperties.putAll(strProperties);
+				// an empty shard still leaves a report, so a merge of every shard's report finds one
+				workDir.act(new RemoteCoverageMerge(Collections.<String> emptyList(),
+						CodeCoverageConstants.COVERAGE_FOLDER + '/' + CodeCoverageConstants.COVERAGE_FILE_NAME, true));
 			}
-			catch (IOException e)
+			finishReport(run, workDir, previousReport, logger);
+			return null;
+		}
+
+		// a report restored or copied below is indexed for its test ID only if the extraction has a single one
+		m_testReports.clear();
+		m_testReports.putAll(testReports(Collections.singletonList(analysisProperties)));
+
+		String extractionKey = CodeCoverageResultCache.key(m_ccBuilder.getConnectionId(), m_ccBuilder.getCredentialsId(),
+				analysisProperties, m_ccBuilder.getResultCacheFingerprint());
+		String cacheKey = null;
+		if (m_ccBuilder.isUseResultCache() && m_ccBuilder.getResultCacheFingerprint().isEmpty())
+		{
+			// without a fingerprint nothing tells a cached report from one taken before new coverage was collected
+			logger.println("Result cache not used: no result cache fingerprint is set"); //$NON-NLS-1$
+		}
+		else if (m_ccBuilder.isUseResultCache())
+		{
+			cacheKey = extractionKey;
+			boolean restored;
+			try (PhaseTimer.Phase phase = m_timer.start(PHASE_RESULT_CACHE))
+			{
+				restored = CodeCoverageResultCache.restore(cacheKey, report, logger);
+			}
+			if (restored)
 			{
-				logger.println("An IOException occurred while obtaining analysis properties from the UI: " + e.toString()); //$NON-NLS-1$
-				e.printStackTrace(logger);
+				finishReport(run, workDir, previousReport, logger);
+				return null;
 			}
 		}
 
-		return analysisProperties;
+		m_preparation = new Preparation(preflight, env, workDir, report, previousReport, analysisProperties, osFile,
+				targetFolder, topazCliWorkspace, extractionKey, cacheKey);
+		return lead(run, listener);
+	}
+
+	/**
+	 * Continues a scan that followed an identical extraction, once the leader of that extraction has finished. The leader's
+	 * report is copied if it succeeded; otherwise this scan runs the extraction itself, or follows a new leader.
+	 * <p>
+	 * A scan that waits for the leader without holding a thread, as the Pipeline step does, calls this through
+	 * {@link #resume(Run, TaskListener, Extraction)} once {@link Extraction#leaderLanded()} is completed; otherwise it waits
+	 * here.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param listener
+	 *            the build listener
+	 * @param following
+	 *            the following extraction returned by <code>start</code> or an earlier call
+	 * 
+	 * @return the extraction whose CLI is left to run, another following extraction, or <code>null</code> if the scan is
+	 *         complete
+	 * 
+	 * @throws IOException
+	 *             if an error occurs performing the scan
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected Extraction follow(Run<?, ?> run, TaskListener listener, Extraction following)
+			throws IOException, InterruptedException
+	{
+		PrintStream logger = listener.getLogger();
+		Preparation preparation = m_preparation;
+		boolean copied;
+		try
+		{
+			copied = following.copyLeaderReport(preparation.m_report);
+		}
+		finally
+		{
+			m_timer.add(PHASE_SINGLE_FLIGHT, System.nanoTime() - m_followingNanos);
+		}
+
+		if (copied)
+		{
+			logger.println("Copied the coverage report of the identical extraction to " + preparation.m_report.getRemote()); //$NON-NLS-1$
+			finishReport(run, preparation.m_workDir, preparation.m_previousReport, logger);
+			return null;
+		}
+
+		logger.println("The identical extraction did not complete; running this extraction"); //$NON-NLS-1$
+		return lead(run, listener);
+	}
+
+	/**
+	 * Joins identical extractions running at the same time, and prepares the CLI runs of the extraction if this scan leads
+	 * it.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param listener
+	 *            the build listener
+	 * 
+	 * @return the extraction whose CLI runs are left to run, or a following extraction if an identical one is running
+	 * 
+	 * @throws IOException
+	 *             if the CLI arguments cannot be built
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	private Extraction lead(Run<?, ?> run, TaskListener listener) throws IOException, InterruptedException
+	{
+		PrintStream logger = listener.getLogger();
+		Preparation preparation = m_preparation;
+		FilePath workDir = preparation.m_workDir;
+		String previousReport = preparation.m_previousReport != null ? preparation.m_previousReport.getRemote() : null;
+
+		// wait for an identical extraction that is already running rather than starting another one
+		CodeCoverageSingleFlight.Ticket ticket = CodeCoverageSingleFlight.join(preparation.m_extractionKey,
+				run.getFullDisplayName());
+		if (!ticket.isLeader())
+		{
+			logger.println("Waiting for the identical extraction running for " + ticket.getLeader()); //$NON-NLS-1$
+			m_followingNanos = System.nanoTime();
+			return new Extraction(workDir.getRemote(), preparation.m_osFile, preparation.m_cacheKey, previousReport,
+					m_baseline, m_baselineName, m_droppedPrograms, m_testReports, ticket);
+		}
+
+		List<Properties> extractions = ExtractionFanOut.expand(preparation.m_analysisProperties);
+		if (extractions.size() > 1)
+		{
+			m_testReports.clear();
+			m_testReports.putAll(testReports(extractions));
+		}
+
+		Extraction extraction = new Extraction(workDir.getRemote(), preparation.m_osFile, preparation.m_cacheKey,
+				previousReport, m_baseline, m_baselineName, m_droppedPrograms, m_testReports, ticket);
+		boolean prepared = false;
+		try
+		{
+			if (extractions.size() > 1)
+			{
+				prepareFanOut(run, preparation.m_preflight, workDir, extraction, extractions, logger);
+			}
+			else
+			{
+				// a report left by an earlier build must not be salvaged as this one's if the extraction is stopped early
+				preparation.m_report.delete();
+
+				// build the list of arguments to pass to the CLI
+				ArgumentListBuilder args = buildArguments(preparation.m_preflight, run, workDir.getChannel(),
+						preparation.m_targetFolder, preparation.m_topazCliWorkspace, preparation.m_analysisProperties, logger);
+				extraction.addPart(new Part(null,
+						CodeCoverageConstants.COVERAGE_FOLDER + '/' + CodeCoverageConstants.COVERAGE_FILE_NAME, args));
+			}
+
+			extraction.setEnvironment(preparation.m_env);
+			prepared = true;
+			return extraction;
+		}
+		finally
+		{
+			if (!prepared)
+			{
+				extraction.abandon();
+			}
+		}
+	}
+
+	/**
+	 * Checks how the CLI runs of an extraction ended. The report of an extraction stopped by the timeout is salvaged, and the
+	 * build is marked unstable; otherwise the scan fails if the CLI did not exit successfully. The reports of a fan-out are
+	 * merged, see {@link #mergeParts(Run, FilePath, Extraction, PrintStream)}.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param channel
+	 *            the channel to the agent the CLI ran on
+	 * @param extraction
+	 *            the extraction whose CLI runs ended
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws IOException
+	 *             if the CLI failed, or timed out before writing any program in full
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected void checkOutcome(Run<?, ?> run, VirtualChannel channel, Extraction extraction, PrintStream logger)
+			throws IOException, InterruptedException
+	{
+		if (extraction.isFanOut())
+		{
+			mergeParts(run, new FilePath(channel, extraction.getWorkDir()), extraction, logger);
+			return;
+		}
+
+		Part part = extraction.getParts().get(0);
+		if (!part.isTimedOut())
+		{
+			checkExitValue(extraction, part.getExitValue(), logger);
+			return;
+		}
+
+		ExtractionTimeoutException timeout = new ExtractionTimeoutException(m_ccBuilder.getTimeoutMinutes());
+		logger.println(timeout.getMessage());
+		if (salvage(channel, extraction, logger) == 0)
+		{
+			throw timeout;
+		}
+
+		m_partial = true;
+		run.setResult(Result.UNSTABLE);
+	}
+
+	/**
+	 * Replaces the report of an extraction that was stopped with the programs it wrote in full, marked as partial.
+	 * 
+	 * @param channel
+	 *            the channel to the agent the CLI ran on
+	 * @param extraction
+	 *            the stopped extraction
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @return the number of programs salvaged
+	 * 
+	 * @throws IOException
+	 *             if the report cannot be salvaged
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected int salvage(VirtualChannel channel, Extraction extraction, PrintStream logger)
+			throws IOException, InterruptedException
+	{
+		String report = CodeCoverageConstants.COVERAGE_FOLDER + '/' + CodeCoverageConstants.COVERAGE_FILE_NAME;
+		int programs = new FilePath(channel, extraction.getWorkDir()).act(new RemoteCoverageSalvage(report));
+		logger.println("Salvaged " + programs + " programs written in full to " + report + " as a partial report"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return programs;
+	}
+
+	/**
+	 * Salvages the report of an extraction whose build was aborted. The build is ending anyway, so a report that cannot be
+	 * salvaged is logged rather than failing it again. The part reports of a fan-out are not merged, so nothing is salvaged.
+	 * 
+	 * @param channel
+	 *            the channel to the agent the CLI ran on
+	 * @param extraction
+	 *            the aborted extraction
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 */
+	public void salvageAborted(VirtualChannel channel, Extraction extraction, PrintStream logger)
+	{
+		if (extraction.isFanOut())
+		{
+			return;
+		}
+
+		try
+		{
+			salvage(channel, extraction, logger);
+		}
+		catch (IOException e)
+		{
+			logger.println("An IOException occurred while salvaging the coverage report: " + e.toString()); //$NON-NLS-1$
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Fails the scan if the CLI of an extraction did not exit successfully.
+	 * 
+	 * @param extraction
+	 *            the extraction whose CLI exited
+	 * @param exitValue
+	 *            the CLI exit value
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws AbortException
+	 *             if the exit value is not 0
+	 */
+	protected void checkExitValue(Extraction extraction, int exitValue, PrintStream logger) throws AbortException
+	{
+		String osFile = extraction.getOsFile();
+		if (exitValue != 0) {
+			throw new AbortException("Call " + osFile + " exited with value = " + exitValue); //$NON-NLS-1$ //$NON-NLS-2$
+		} else {
+			logger.println("Call " + osFile + " exited with value = " + exitValue); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Completes an extraction whose report was written: hands the report to identical extractions waiting for it, stores it
+	 * in the result cache, and finishes and summarizes it.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param channel
+	 *            the channel to the agent the report was written on
+	 * @param extraction
+	 *            the extraction
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws IOException
+	 *             if the report cannot be finished
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected void complete(Run<?, ?> run, VirtualChannel channel, Extraction extraction, PrintStream logger)
+			throws IOException, InterruptedException
+	{
+		// an extraction finished by a new scanner after a controller restart brings the incremental state with it
+		m_baseline = extraction.getBaseline();
+		m_baselineName = extraction.getBaselineName();
+		m_droppedPrograms.clear();
+		m_droppedPrograms.addAll(extraction.getDroppedPrograms());
+		m_testReports.clear();
+		m_testReports.putAll(extraction.getTestReports());
+
+		FilePath workDir = new FilePath(channel, extraction.getWorkDir());
+		FilePath report = workDir.child(CodeCoverageConstants.COVERAGE_FOLDER).child(CodeCoverageConstants.COVERAGE_FILE_NAME);
+		try
+		{
+			// identical extractions waiting for a partial report run their own instead
+			if (!m_partial)
+			{
+				extraction.completeTicket(report, logger);
+			}
+		}
+		finally
+		{
+			extraction.abandon();
+		}
+
+		String cacheKey = extraction.getCacheKey();
+		if (cacheKey != null && !m_partial)
+		{
+			try (PhaseTimer.Phase phase = m_timer.start(PHASE_RESULT_CACHE))
+			{
+				CodeCoverageResultCache.store(cacheKey, report, logger);
+			}
+			catch (IOException e)
+			{
+				logger.println("An IOException occurred while storing the coverage report in the result cache: " + e.toString()); //$NON-NLS-1$
+			}
+		}
+
+		FilePath previousReport = extraction.getPreviousReport() != null
+				? new FilePath(channel, extraction.getPreviousReport()) : null;
+		finishReport(run, workDir, previousReport, logger);
+	}
+
+	/**
+	 * Builds the list of arguments to pass to the CLI for one extraction.
+	 * <p>
+	 * The analysis properties are passed on the command line unless an argument file is used, see
+	 * {@link #addAnalysisPropertiesArguments(ArgumentListBuilder, FilePath, Properties, PrintStream)}.
+	 * 
+	 * @param preflight
+	 *            the values gathered from the agent
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param channel
+	 *            the channel to the agent the CLI runs on
+	 * @param targetFolder
+	 *            the escaped folder the CLI writes the <code>Coverage</code> folder to
+	 * @param topazCliWorkspace
+	 *            the CLI data directory
+	 * @param analysisProperties
+	 *            the analysis properties of the extraction
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @return the CLI arguments
+	 * 
+	 * @throws IOException
+	 *             if the arguments cannot be built
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected ArgumentListBuilder buildArguments(RemotePreflight.Result preflight, Run<?, ?> run, VirtualChannel channel,
+			String targetFolder, String topazCliWorkspace, Properties analysisProperties, PrintStream logger)
+			throws IOException, InterruptedException
+	{
+		ArgumentListBuilder args = CpwrGlobalConfiguration.get().getArgumentBuilder(preflight.getCliScriptFile(),
+				preflight.getCliVersion(), run.getParent(), m_ccBuilder.getCredentialsId(), m_ccBuilder.getConnectionId());
+		args.add(CommonConstants.TARGET_FOLDER_PARM, targetFolder);
+		args.add(CommonConstants.DATA_PARM, topazCliWorkspace);
+		addAnalysisPropertiesArguments(args,
+				new FilePath(channel, topazCliWorkspace).child(CodeCoverageConstants.ARGUMENT_FILE_NAME), analysisProperties,
+				logger);
+
+		return args;
+	}
+
+	/**
+	 * Adds the analysis properties to the CLI arguments.
+	 * <p>
+	 * They are passed on the command line, escaped for the CLI script, unless 'Use argument file' is set; then they are written
+	 * to the argument file and its path passed with <code>cc.argfile</code>, which the CLI must support.
+	 * 
+	 * @param args
+	 *            the CLI arguments to add to
+	 * @param argumentFile
+	 *            the argument file to write if one is used
+	 * @param analysisProperties
+	 *            the analysis properties of the extraction
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws IOException
+	 *             if the argument file cannot be written
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected void addAnalysisPropertiesArguments(ArgumentListBuilder args, FilePath argumentFile,
+			Properties analysisProperties, PrintStream logger) throws IOException, InterruptedException
+	{
+		if (m_ccBuilder.isUseArgumentFile())
+		{
+			addAnalysisPropertiesFile(args, analysisProperties, argumentFile, logger);
+		}
+		else
+		{
+			addAnalysisProperties(args, analysisProperties, logger);
+		}
+	}
+
+	/**
+	 * Writes the analysis properties that have values to an argument file and adds its path to the CLI arguments.
+	 * <p>
+	 * The values are written in properties file format, so they need no escaping for the CLI script and the command line
+	 * stays short however many source folders are listed. The file is overwritten by each extraction.
+	 * 
+	 * @param args
+	 *            the CLI arguments to add to
+	 * @param analysisProperties
+	 *            the analysis properties of the extraction
+	 * @param argumentFile
+	 *            the argument file to write
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws IOException
+	 *             if the argument file cannot be written
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected static void addAnalysisPropertiesFile(ArgumentListBuilder args, Properties analysisProperties,
+			FilePath argumentFile, PrintStream logger) throws IOException, InterruptedException
+	{
+		Properties fileProperties = new Properties();
+		for (String key : analysisProperties.stringPropertyNames())
+		{
+			String value = analysisProperties.getProperty(key);
+			if (StringUtils.isNotBlank(value))
+			{
+				fileProperties.setProperty(key, value);
+			}
+		}
+
+		FilePath parent = argumentFile.getParent();
+		if (parent != null)
+		{
+			parent.mkdirs();
+		}
+		try (OutputStream out = argumentFile.write())
+		{
+			fileProperties.store(out, null);
+		}
+
+		logger.println("Analysis properties written to " + argumentFile.getRemote() + ": " + fileProperties.size()); //$NON-NLS-1$ //$NON-NLS-2$
+		args.add(ArgumentUtils.prefixWithDash(CodeCoverageConstants.ARGUMENT_FILE_PARM),
+				ArgumentUtils.escapeForScript(argumentFile.getRemote()));
+	}
+
+	/**
+	 * Adds the analysis properties that have values to the CLI arguments, escaped for the CLI script.
+	 * 
+	 * @param args
+	 *            the CLI arguments to add to
+	 * @param analysisProperties
+	 *            the analysis properties of the extraction
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 */
+	protected static void addAnalysisProperties(ArgumentListBuilder args, Properties analysisProperties, PrintStream logger)
+	{
+		logger.print("Analysis properties after parsing/merging: "); //$NON-NLS-1$
+		for (Map.Entry<?, ?> entry : analysisProperties.entrySet()) {
+			String key = (String) entry.getKey();
+			String value = (String) entry.getValue();
+			logger.print(key + '=' + value + ' ');
+
+			// don't add properties that don't have values
+			if (StringUtils.isNotBlank(value)) {
+				if (key.equals(CodeCoverageConstants.SOURCES_PARM)) {
+					value = ArgumentUtils.escapeCommaDelimitedPathsForScript(value);
+				} else {
+					value = ArgumentUtils.escapeForScript(value);
+				}
+				key = ArgumentUtils.prefixWithDash((String) key);
+
+				args.add(key, value);
+			}
+		}
+		logger.println();
+	}
+
+	/**
+	 * Runs the CLI for one extraction, running it again in the same CLI workspace while it fails in a retryable way and
+	 * retries are left.
+	 * <p>
+	 * Each retry waits for a delay that grows exponentially with a random part, during which the host connection slot is
+	 * free for other extractions. The attempts and delays are logged.
+	 * 
+	 * @param launcher
+	 *            the way to start a process
+	 * @param args
+	 *            the CLI arguments
+	 * @param env
+	 *            the build environment
+	 * @param workDir
+	 *            the workspace directory
+	 * @param out
+	 *            the stream to write the CLI output to
+	 * 
+	 * @return the CLI exit value of the last attempt
+	 * 
+	 * @throws IOException
+	 *             if the CLI cannot be run
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected int runCliWithRetries(Launcher launcher, ArgumentListBuilder args, EnvVars env, FilePath workDir,
+			OutputStream out) throws IOException, InterruptedException
+	{
+		RetryPolicy policy = getRetryPolicy();
+		PrintStream logger = out instanceof PrintStream ? (PrintStream) out
+				: new PrintStream(out, true, StandardCharsets.UTF_8.name());
+		for (int attempt = 1;; attempt++)
+		{
+			int exitValue;
+			try (RetryableOutputStream watched = new RetryableOutputStream(out, policy))
+			{
+				exitValue = runCli(launcher, args, env, workDir, watched);
+				watched.forceEol();
+				if (!policy.shouldRetry(attempt, exitValue, watched.isRetryableOutput()))
+				{
+					if (attempt > 1)
+					{
+						logger.println("Attempt " + attempt + " of " + (policy.getMaxRetries() + 1) + " exited with value = " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+								+ exitValue);
+					}
+					return exitValue;
+				}
+			}
+
+			long delay = retryDelay(policy, attempt, exitValue, logger);
+			try (PhaseTimer.Phase phase = m_timer.start(PHASE_RETRY_BACKOFF))
+			{
+				Thread.sleep(delay);
+			}
+		}
+	}
+
+	/**
+	 * Gets the policy that decides which failed CLI runs of this step are retried.
+	 * 
+	 * @return the retry policy, from the step's retries and the globally configured retryable exit values and output patterns
+	 */
+	public RetryPolicy getRetryPolicy()
+	{
+		CodeCoverageBuilder.CodeCoverageDescriptorImpl descriptor = m_ccBuilder.getDescriptor();
+		return new RetryPolicy(m_ccBuilder.getMaxRetries(), descriptor.getRetryableExitValues(),
+				descriptor.getRetryablePatterns(), RETRY_BASE_DELAY_MILLIS, RETRY_MAX_DELAY_MILLIS);
+	}
+
+	/**
+	 * Chooses the delay before retrying a failed CLI run, and logs the retry.
+	 * 
+	 * @param policy
+	 *            the retry policy
+	 * @param attempt
+	 *            the number of the attempt that failed, starting at 1
+	 * @param exitValue
+	 *            the CLI exit value of the attempt
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @return the delay in milliseconds
+	 */
+	public long retryDelay(RetryPolicy policy, int attempt, int exitValue, PrintStream logger)
+	{
+		long delay = policy.delayMillis(attempt, ThreadLocalRandom.current());
+		logger.println("Attempt " + attempt + " of " + (policy.getMaxRetries() + 1) + " exited with value = " + exitValue //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ ", which is retryable; retrying in " + delay + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		return delay;
+	}
+
+	/**
+	 * Runs the CLI for one extraction.
+	 * <p>
+	 * The extraction first waits until the host connection's limit on concurrent extractions allows it. If a CLI daemon
+	 * command is configured, the extraction is then sent to the agent's daemon for the host connection; otherwise the CLI
+	 * script is started.
+	 * 
+	 * @param launcher
+	 *            the way to start a process
+	 * @param args
+	 *            the CLI arguments
+	 * @param env
+	 *            the build environment
+	 * @param workDir
+	 *            the workspace directory
+	 * @param out
+	 *            the stream to write the CLI output to
+	 * 
+	 * @return the CLI exit value
+	 * 
+	 * @throws IOException
+	 *             if the CLI cannot be run
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected int runCli(Launcher launcher, ArgumentListBuilder args, EnvVars env, FilePath workDir, OutputStream out)
+			throws IOException, InterruptedException
+	{
+		// wait for a free slot on the host connection before starting anything
+		PrintStream logger = out instanceof PrintStream ? (PrintStream) out
+				: new PrintStream(out, true, StandardCharsets.UTF_8.name());
+		try (ExtractionThrottle.Permit permit = acquirePermit(logger))
+		{
+			// the CLI's first output marks the end of its startup
+			long launched = System.nanoTime();
+			FirstWriteOutputStream cliOut = new FirstWriteOutputStream(out);
+			try
+			{
+				String daemonCommand = m_ccBuilder.getDaemonCommand();
+				int timeoutMinutes = m_ccBuilder.getTimeoutMinutes();
+				if (StringUtils.isBlank(daemonCommand))
+				{
+					Proc proc = launcher.launch().cmds(args).envs(env).stdout(cliOut).pwd(workDir).start();
+					return join(proc, timeoutMinutes);
+				}
+
+				return workDir.getChannel().call(daemonExtraction(args, env, cliOut));
+			}
+			finally
+			{
+				long ended = System.nanoTime();
+				long firstWrite = cliOut.getFirstWriteNanos(ended);
+				m_timer.add(PHASE_CLI_STARTUP, firstWrite - launched);
+				m_timer.add(PHASE_CLI_RUN, ended - firstWrite);
+			}
+		}
+	}
+
+	/**
+	 * Creates the call that sends an extraction to the agent's CLI daemon for the host connection, see
+	 * {@link RemoteDaemonExtraction}.
+	 * 
+	 * @param args
+	 *            the CLI arguments
+	 * @param env
+	 *            the build environment, with which the daemon command is expanded
+	 * @param out
+	 *            the stream to write the CLI output to
+	 * 
+	 * @return the call to make on the agent's channel
+	 */
+	public RemoteDaemonExtraction daemonExtraction(ArgumentListBuilder args, EnvVars env, OutputStream out)
+	{
+		List<String> command = Arrays.asList(QuotedStringTokenizer.tokenize(env.expand(m_ccBuilder.getDaemonCommand())));
+		return new RemoteDaemonExtraction(m_ccBuilder.getConnectionId(), command, m_ccBuilder.getDaemonIdleMinutes(),
+				m_ccBuilder.getTimeoutMinutes(), args.toList(), new RemoteOutputStream(out));
+	}
+
+	/**
+	 * Waits for a CLI process to exit. A process still running when the timeout elapses is stopped along with the processes
+	 * it started: they are asked to terminate and then killed.
+	 * 
+	 * @param proc
+	 *            the CLI process
+	 * @param timeoutMinutes
+	 *            the minutes the process may run; 0 for no limit
+	 * 
+	 * @return the CLI exit value
+	 * 
+	 * @throws IOException
+	 *             if the process cannot be waited for, or was stopped by the timeout
+	 * @throws InterruptedException
+	 *             if the user cancels the scan; the process is stopped
+	 */
+	protected static int join(Proc proc, int timeoutMinutes) throws IOException, InterruptedException
+	{
+		if (timeoutMinutes <= 0)
+		{
+			return proc.join();
+		}
+
+		AtomicBoolean timedOut = new AtomicBoolean();
+		ScheduledFuture<?> timeout = Timer.get().schedule(() -> {
+			timedOut.set(true);
+			try
+			{
+				proc.kill();
+			}
+			catch (IOException | InterruptedException e)
+			{
+				LOGGER.log(Level.WARNING, "Unable to stop the Code Coverage CLI after " + timeoutMinutes + " minutes", e); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}, timeoutMinutes, TimeUnit.MINUTES);
+		try
+		{
+			int exitValue = proc.join();
+			if (timedOut.get())
+			{
+				throw new ExtractionTimeoutException(timeoutMinutes);
+			}
+
+			return exitValue;
+		}
+		finally
+		{
+			timeout.cancel(false);
+		}
+	}
+
+	/**
+	 * Waits until the host connection's limit on concurrent extractions allows another one to start.
+	 * 
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @return the permit to close when the extraction ends
+	 * 
+	 * @throws InterruptedException
+	 *             if the user cancels the scan while it waits
+	 */
+	protected ExtractionThrottle.Permit acquirePermit(PrintStream logger) throws InterruptedException
+	{
+		String connectionId = m_ccBuilder.getConnectionId();
+		int maxConcurrent = m_ccBuilder.getDescriptor().getMaxConcurrentExtractions(connectionId);
+		try (PhaseTimer.Phase queued = m_timer.start(PHASE_THROTTLE))
+		{
+			return ExtractionThrottle.acquire(connectionId, maxConcurrent, logger);
+		}
+	}
+
+	/**
+	 * Asks for a permit to start an extraction within the host connection's limit on concurrent extractions, without waiting
+	 * for it. The request is withdrawn with {@link ExtractionThrottle#withdraw(CompletableFuture)} if it is no longer needed.
+	 * 
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @return the permit to close when the extraction ends, once it is granted
+	 */
+	public CompletableFuture<ExtractionThrottle.Permit> requestPermit(PrintStream logger)
+	{
+		String connectionId = m_ccBuilder.getConnectionId();
+		int maxConcurrent = m_ccBuilder.getDescriptor().getMaxConcurrentExtractions(connectionId);
+		PhaseTimer.Phase queued = m_timer.start(PHASE_THROTTLE);
+		CompletableFuture<ExtractionThrottle.Permit> request = ExtractionThrottle.request(connectionId, maxConcurrent, logger);
+		request.whenComplete((permit, failure) -> queued.close());
+		return request;
+	}
+
+	/**
+	 * Prepares several extractions to run concurrently, one {@link Part} each, whose reports are merged into the workspace's
+	 * <code>CodeCoverage.xml</code> by {@link #mergeParts(Run, FilePath, Extraction, PrintStream)}.
+	 * <p>
+	 * Each extraction writes to its own target folder and CLI data directory under <code>CoverageParts</code>. At most
+	 * {@link CodeCoverageBuilder#getMaxParallelExtractions()} CLI processes run at the same time.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param preflight
+	 *            the values gathered from the agent
+	 * @param workDir
+	 *            the workspace directory
+	 * @param extraction
+	 *            the extraction to add the parts to
+	 * @param extractions
+	 *            the analysis properties of each extraction
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws IOException
+	 *             if the CLI arguments cannot be built
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected void prepareFanOut(Run<?, ?> run, RemotePreflight.Result preflight, FilePath workDir, Extraction extraction,
+			List<Properties> extractions, PrintStream logger) throws IOException, InterruptedException
+	{
+		String separator = preflight.getFileSeparator();
+		String partsFolder = preflight.getWorkspace() + separator + CodeCoverageConstants.COVERAGE_PARTS_FOLDER;
+		workDir.child(CodeCoverageConstants.COVERAGE_PARTS_FOLDER).deleteRecursive();
+
+		int parallelism = Math.min(getMaxParallelExtractions(), extractions.size());
+		logger.println("Running " + extractions.size() + " extractions, " + parallelism + " at a time"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		for (int i = 0; i < extractions.size(); i++)
+		{
+			Properties properties = extractions.get(i);
+			String report = CodeCoverageConstants.COVERAGE_PARTS_FOLDER + '/' + i + '/' + CodeCoverageConstants.COVERAGE_FOLDER
+					+ '/' + CodeCoverageConstants.COVERAGE_FILE_NAME;
+			String partFolder = partsFolder + separator + i;
+			ArgumentListBuilder args = buildArguments(preflight, run, workDir.getChannel(),
+					ArgumentUtils.escapeForScript(partFolder), partFolder + separator + CommonConstants.TOPAZ_CLI_WORKSPACE,
+					properties, logger);
+			extraction.addPart(new Part(ExtractionFanOut.describe(properties), report, args));
+		}
+	}
+
+	/**
+	 * Gets the number of CLI runs of a fan-out that may run at the same time.
+	 * 
+	 * @return the maximum number of parallel extractions
+	 */
+	public int getMaxParallelExtractions()
+	{
+		return m_ccBuilder.getMaxParallelExtractions();
+	}
+
+	/**
+	 * Runs the CLI runs of a fan-out, at most {@link #getMaxParallelExtractions()} at a time, and records how each ended in
+	 * its {@link Part}.
+	 * 
+	 * @param launcher
+	 *            the way to start a process
+	 * @param extraction
+	 *            the fan-out extraction
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws InterruptedException
+	 *             if the user cancels the scan; the CLI runs still running are stopped
+	 */
+	protected void performFanOut(Launcher launcher, Extraction extraction, PrintStream logger) throws InterruptedException
+	{
+		List<Part> parts = extraction.getParts();
+		FilePath workDir = new FilePath(launcher.getChannel(), extraction.getWorkDir());
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(getMaxParallelExtractions(), parts.size()),
+				new NamingThreadFactory(new DaemonThreadFactory(), "CodeCoverageScanner.fanOut")); //$NON-NLS-1$
+		try
+		{
+			List<Future<Integer>> exitValues = new ArrayList<>();
+			for (Part part : parts)
+			{
+				exitValues.add(executor.submit(() -> {
+					part.markLaunched();
+					try (OutputStream out = new PrefixedOutputStream(logger, part.getPrefix()))
+					{
+						return runCliWithRetries(launcher, part.getArguments(), extraction.getEnvironment(), workDir, out);
+					}
+				}));
+			}
+
+			for (int i = 0; i < parts.size(); i++)
+			{
+				Part part = parts.get(i);
+				try
+				{
+					part.setExitValue(exitValues.get(i).get());
+				}
+				catch (ExecutionException e)
+				{
+					if (e.getCause() instanceof ExtractionTimeoutException)
+					{
+						part.markTimedOut();
+					}
+					else
+					{
+						part.setFailure(e.getCause());
+					}
+				}
+			}
+		}
+		finally
+		{
+			// interrupts any extraction still running, which stops its CLI process
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Merges the reports of the CLI runs of a fan-out into the workspace's <code>CodeCoverage.xml</code>. A CLI run stopped by
+	 * the timeout keeps the programs it wrote in full, as a single extraction does, and the build is marked unstable with a
+	 * partial report.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param workDir
+	 *            the workspace directory
+	 * @param extraction
+	 *            the fan-out extraction whose CLI runs ended
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws IOException
+	 *             if a CLI run failed, or every CLI run timed out before writing any program in full
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected void mergeParts(Run<?, ?> run, FilePath workDir, Extraction extraction, PrintStream logger)
+			throws IOException, InterruptedException
+	{
+		String osFile = extraction.getOsFile();
+		List<String> reports = new ArrayList<>();
+		List<String> failures = new ArrayList<>();
+		boolean timedOut = false;
+		for (Part part : extraction.getParts())
+		{
+			reports.add(part.getReport());
+			String description = part.getDescription();
+			if (part.isTimedOut())
+			{
+				// the programs the extraction wrote in full are merged with the reports of the others
+				timedOut = true;
+				logger.println("Call " + osFile + " for " + description + " stopped: " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ new ExtractionTimeoutException(m_ccBuilder.getTimeoutMinutes()).getMessage());
+				salvagePart(workDir, part.getReport(), part.getPrefix(), logger);
+			}
+			else if (part.getFailure() != null)
+			{
+				logger.println("Call " + osFile + " for " + description + " failed: " + part.getFailure()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				failures.add(description);
+			}
+			else
+			{
+				int exitValue = part.getExitValue();
+				logger.println("Call " + osFile + " for " + description + " exited with value = " + exitValue); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				if (exitValue != 0)
+				{
+					failures.add(description);
+				}
+			}
+		}
+
+		if (!failures.isEmpty())
+		{
+			throw new AbortException("Call " + osFile + " failed for " + failures); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		String merged = CodeCoverageConstants.COVERAGE_FOLDER + '/' + CodeCoverageConstants.COVERAGE_FILE_NAME;
+		int programs;
+		try (PhaseTimer.Phase phase = m_timer.start(PHASE_MERGE))
+		{
+			// every extraction exited successfully or was salvaged, so a missing report would silently drop its programs
+			programs = workDir.act(new RemoteCoverageMerge(reports, merged, true));
+		}
+		logger.println("Merged " + reports.size() + " coverage reports into " + merged + " (" + programs + " programs)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+		if (timedOut)
+		{
+			// as for a single extraction, a partial report marks the build unstable unless nothing could be salvaged
+			if (programs == 0)
+			{
+				throw new ExtractionTimeoutException(m_ccBuilder.getTimeoutMinutes());
+			}
+
+			m_partial = true;
+			run.setResult(Result.UNSTABLE);
+		}
+	}
+
+	/**
+	 * Salvages the programs an extraction of a fan-out wrote in full before its timeout, so they are merged with the reports of
+	 * the other extractions. A report that cannot be salvaged is logged and left to fail the merge.
+	 * 
+	 * @param dir
+	 *            the directory the report path is relative to
+	 * @param report
+	 *            the path of the part report
+	 * @param prefix
+	 *            the prefix that identifies the extraction in the log
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	private static void salvagePart(FilePath dir, String report, String prefix, PrintStream logger)
+			throws InterruptedException
+	{
+		try
+		{
+			int programs = dir.act(new RemoteCoverageSalvage(report));
+			logger.println(prefix + "Salvaged " + programs + " programs written in full as a partial report"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		catch (IOException e)
+		{
+			logger.println(prefix + "Unable to salvage the coverage report: " + e.toString()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Indexes the coverage of the extraction by test ID, then merges the report of an earlier coverage step, if one was set
+	 * aside, into the workspace's <code>CodeCoverage.xml</code> and summarizes the result.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param workDir
+	 *            the workspace directory
+	 * @param previousReport
+	 *            the report set aside before the extraction; <code>null</code> if reports are not merged
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws IOException
+	 *             if the reports cannot be merged
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected void finishReport(Run<?, ?> run, FilePath workDir, FilePath previousReport, PrintStream logger)
+			throws IOException, InterruptedException
+	{
+		// the extraction's own reports are indexed before other coverage is overlaid or merged into them
+		if (!m_testReports.isEmpty() && !m_partial)
+		{
+			indexTests(run, workDir, logger);
+		}
+
+		if (m_baseline != null)
+		{
+			overlayBaseline(workDir, logger);
+		}
+		if (m_baselineName != null && !m_partial)
+		{
+			storeBaseline(run, workDir, logger);
+		}
+
+		if (previousReport != null && previousReport.exists())
+		{
+			String merged = CodeCoverageConstants.COVERAGE_FOLDER + '/' + CodeCoverageConstants.COVERAGE_FILE_NAME;
+			int programs;
+			try (PhaseTimer.Phase phase = m_timer.start(PHASE_MERGE))
+			{
+				programs = workDir.act(
+						new RemoteCoverageMerge(Arrays.asList(merged, CodeCoverageConstants.PREVIOUS_COVERAGE_FILE_NAME), merged));
+			}
+			previousReport.delete();
+			logger.println("Merged the coverage report of the earlier step into " + merged + " (" + programs + " programs)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		CodeCoverageWorkspaceReports.add(run,
+				workDir.child(CodeCoverageConstants.COVERAGE_FOLDER).child(CodeCoverageConstants.COVERAGE_FILE_NAME));
+
+		summarizeCoverage(run, workDir, logger);
+		if (m_ccBuilder.isArchiveReport())
+		{
+			archiveReport(run, workDir, logger);
+		}
+		if (m_summary != null && !m_ccBuilder.getCompareWithBuild().isEmpty())
+		{
+			compareCoverage(run, logger);
+		}
+	}
+
+	/**
+	 * Narrows the <code>cc.sources</code> of the extraction to the folders of the configured shard. The folders are dealt to
+	 * the shards in turn, so each Pipeline branch running one shard, on an agent with the sources checked out, extracts a
+	 * different share of them.
+	 * 
+	 * @param analysisProperties
+	 *            the analysis properties, whose <code>cc.sources</code> is narrowed
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @return <code>false</code> if the shard has no source folders, so there is nothing to extract
+	 * 
+	 * @throws AbortException
+	 *             if the shard index is not less than the number of shards
+	 */
+	protected boolean selectShard(Properties analysisProperties, PrintStream logger) throws AbortException
+	{
+		int shardCount = m_ccBuilder.getShardCount();
+		int shardIndex = m_ccBuilder.getShardIndex();
+		if (shardIndex >= shardCount)
+		{
+			throw new AbortException("The shard index " + shardIndex + " must be less than the number of shards " + shardCount); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		String sources = ExtractionFanOut.shardSources(
+				analysisProperties.getProperty(CodeCoverageConstants.SOURCES_PARM, StringUtils.EMPTY), shardCount, shardIndex);
+		if (sources == null)
+		{
+			logger.println("Shard " + shardIndex + " of " + shardCount + " has no source folders; writing an empty report"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			return false;
+		}
+
+		logger.println("Shard " + shardIndex + " of " + shardCount + ": " + CodeCoverageConstants.SOURCES_PARM + '=' + sources); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		analysisProperties.setProperty(CodeCoverageConstants.SOURCES_PARM, sources);
+		return true;
+	}
+
+	/**
+	 * Narrows an incremental extraction to the source folders holding programs changed since the last successful build.
+	 * <p>
+	 * The changed programs are taken from the change sets of this build and of every build since the last successful one,
+	 * which must have kept a baseline report for the same extraction. All programs are extracted if there is no baseline or a
+	 * build has no change sets. No baseline is kept when narrowing cannot apply: no <code>cc.sources</code> are configured,
+	 * none of them has a subfolder, or this build has no change sets at all.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param workDir
+	 *            the workspace the change set paths are relative to
+	 * @param ignoreCase
+	 *            whether paths on the agent are compared without regard to case
+	 * @param analysisProperties
+	 *            the analysis properties, whose <code>cc.sources</code> is narrowed
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @return <code>false</code> if no changed program is in the source folders, so the baseline is copied forward without an
+	 *         extraction
+	 */
+	protected boolean narrowToChanges(Run<?, ?> run, FilePath workDir, boolean ignoreCase, Properties analysisProperties,
+			PrintStream logger) throws IOException, InterruptedException
+	{
+		String sources = analysisProperties.getProperty(CodeCoverageConstants.SOURCES_PARM);
+		if (StringUtils.isBlank(sources))
+		{
+			return cannotNarrow("no " + CodeCoverageConstants.SOURCES_PARM + " configured", logger); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (!(run instanceof RunWithSCM) || ((RunWithSCM<?, ?>) run).getChangeSets().isEmpty())
+		{
+			return cannotNarrow(run.getFullDisplayName() + " has no change sets", logger); //$NON-NLS-1$
+		}
+		if (!workDir.act(new RemoteSourceFolders(sources)))
+		{
+			// the CLI takes folders, so an extraction can only be narrowed to subfolders of the source folders
+			return cannotNarrow("no " + CodeCoverageConstants.SOURCES_PARM + " folder has subfolders", logger); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		Run<?, ?> lastSuccessful = run.getParent().getLastSuccessfulBuild();
+		File baseline = lastSuccessful != null
+				? new File(new File(lastSuccessful.getRootDir(), CodeCoverageConstants.BASELINE_FOLDER), m_baselineName) : null;
+		if (baseline == null || !baseline.isFile())
+		{
+			logger.println("Incremental extraction: the last successful build has no baseline report; extracting all programs"); //$NON-NLS-1$
+			return true;
+		}
+
+		Set<String> changedPaths = new LinkedHashSet<>();
+		Set<String> deletedPrograms = new HashSet<>();
+		int lastSuccessfulNumber = lastSuccessful.getNumber();
+		for (Run<?, ?> build = run; build != null && build.getNumber() > lastSuccessfulNumber; build = build.getPreviousBuild())
+		{
+			List<ChangeLogSet<? extends ChangeLogSet.Entry>> changeSets = build instanceof RunWithSCM
+					? ((RunWithSCM<?, ?>) build).getChangeSets()
+					: Collections.<ChangeLogSet<? extends ChangeLogSet.Entry>> emptyList();
+			if (changeSets.isEmpty())
+			{
+				logger.println("Incremental extraction: " + build.getFullDisplayName() + " has no change sets; extracting all programs"); //$NON-NLS-1$ //$NON-NLS-2$
+				return true;
+			}
+
+			for (ChangeLogSet<? extends ChangeLogSet.Entry> changeSet : changeSets)
+			{
+				for (ChangeLogSet.Entry entry : changeSet)
+				{
+					for (ChangeLogSet.AffectedFile file : entry.getAffectedFiles())
+					{
+						// builds are visited newest first, so a program deleted and then added again is kept
+						if (file.getEditType() == EditType.DELETE && !changedPaths.contains(file.getPath()))
+						{
+							deletedPrograms.add(file.getPath());
+						}
+						else
+						{
+							changedPaths.add(file.getPath());
+						}
+					}
+				}
+			}
+		}
+
+		m_baseline = baseline;
+		m_droppedPrograms.addAll(deletedPrograms);
+		String narrowed = IncrementalSources.narrow(sources, changedPaths, workDir.getRemote(), ignoreCase);
+		logger.println("Incremental extraction: " + changedPaths.size() + " changed and " + deletedPrograms.size() //$NON-NLS-1$ //$NON-NLS-2$
+				+ " deleted files since " + lastSuccessful.getFullDisplayName()); //$NON-NLS-1$
+		if (narrowed.isEmpty())
+		{
+			logger.println("Incremental extraction: no changed programs in the source folders; copying forward the baseline report"); //$NON-NLS-1$
+			return false;
+		}
+
+		logger.println("Incremental extraction: " + CodeCoverageConstants.SOURCES_PARM + " narrowed to " + narrowed); //$NON-NLS-1$ //$NON-NLS-2$
+		analysisProperties.setProperty(CodeCoverageConstants.SOURCES_PARM, narrowed);
+		return true;
+	}
+
+	/**
+	 * Turns off incremental extraction for this build, so all programs are extracted and no baseline report is kept.
+	 */
+	private boolean cannotNarrow(String reason, PrintStream logger)
+	{
+		logger.println("Incremental extraction: " + reason + "; extracting all programs without keeping a baseline report"); //$NON-NLS-1$ //$NON-NLS-2$
+		m_baselineName = null;
+		return true;
+	}
+
+	/**
+	 * Overlays the report of an incremental extraction on the baseline report of the last successful build, so the coverage
+	 * of unchanged programs is copied forward.
+	 * 
+	 * @param workDir
+	 *            the workspace directory
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws IOException
+	 *             if the reports cannot be overlaid
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected void overlayBaseline(FilePath workDir, PrintStream logger) throws IOException, InterruptedException
+	{
+		FilePath baselineCopy = workDir.child(CodeCoverageConstants.BASELINE_COVERAGE_FILE_NAME);
+		String report = CodeCoverageConstants.COVERAGE_FOLDER + '/' + CodeCoverageConstants.COVERAGE_FILE_NAME;
+		int programs;
+		try (PhaseTimer.Phase phase = m_timer.start(PHASE_MERGE))
+		{
+			baselineCopy.copyFrom(new FilePath(m_baseline));
+			programs = workDir.act(
+					new RemoteCoverageOverlay(report, CodeCoverageConstants.BASELINE_COVERAGE_FILE_NAME, m_droppedPrograms));
+		}
+		finally
+		{
+			baselineCopy.delete();
+		}
+		logger.println("Overlaid the coverage report on the baseline report (" + programs + " programs)"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Keeps a copy of the report in the build directory, to serve as the baseline of the next incremental extraction.
+	 * <p>
+	 * The extraction has already succeeded at this point, so a copy that cannot be kept is logged rather than failing the
+	 * build.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param workDir
+	 *            the workspace directory
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected void storeBaseline(Run<?, ?> run, FilePath workDir, PrintStream logger) throws InterruptedException
+	{
+		FilePath report = workDir.child(CodeCoverageConstants.COVERAGE_FOLDER).child(CodeCoverageConstants.COVERAGE_FILE_NAME);
+		File baselineFolder = new File(run.getRootDir(), CodeCoverageConstants.BASELINE_FOLDER);
+		FilePath baseline = new FilePath(new File(baselineFolder, m_baselineName));
+		try
+		{
+			baseline.getParent().mkdirs();
+			report.copyTo(baseline);
+		}
+		catch (IOException e)
+		{
+			logger.println("An IOException occurred while keeping the baseline coverage report: " + e.toString()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Summarizes the extracted <code>CodeCoverage.xml</code> on the node where it was written and attaches the summary to the
+	 * build.
+	 * <p>
+	 * The extraction has already succeeded at this point, so a report that cannot be read is logged rather than failing the
+	 * build.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param workDir
+	 *            the directory the CLI wrote the report to
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected void summarizeCoverage(Run<?, ?> run, FilePath workDir, PrintStream logger) throws InterruptedException
+	{
+		FilePath coverageFile = workDir.child(CodeCoverageConstants.COVERAGE_FOLDER)
+				.child(CodeCoverageConstants.COVERAGE_FILE_NAME);
+		try (PhaseTimer.Phase phase = m_timer.start(PHASE_SUMMARY))
+		{
+			CoverageSummary summary = coverageFile
+					.act(new CoverageSummaryReader(CodeCoverageConstants.COVERAGE_STORE_FILE_NAME));
+			m_summary = summary;
+			if (summary != null)
+			{
+				summary.setPartial(m_partial);
+				CodeCoverageSummaryAction.keepStore(run, coverageFile, logger);
+				CodeCoverageTrendAction.record(run, summary, logger);
+				run.replaceAction(new CodeCoverageSummaryAction(summary));
+				logger.println("Coverage summary: " + summary.getCoveredLines() + " of " + summary.getTotalLines() //$NON-NLS-1$ //$NON-NLS-2$
+						+ " lines covered in " + summary.getProgramCount() + " programs"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		catch (IOException e)
+		{
+			logger.println("An IOException occurred while summarizing the coverage report: " + e.toString()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Keeps a gzip compressed copy of the workspace's <code>CodeCoverage.xml</code> in the build directory and attaches it to
+	 * the build.
+	 * <p>
+	 * The report is compressed on the agent as it is streamed, so only the compressed bytes cross the channel. It is written
+	 * to a temporary file first, so a failed transfer never replaces the copy of an earlier step of the same build. A report
+	 * that cannot be archived is logged rather than failing the build.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param workDir
+	 *            the workspace directory
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected void archiveReport(Run<?, ?> run, FilePath workDir, PrintStream logger) throws InterruptedException
+	{
+		FilePath report = workDir.child(CodeCoverageConstants.COVERAGE_FOLDER).child(CodeCoverageConstants.COVERAGE_FILE_NAME);
+		File archive = new File(run.getRootDir(), CodeCoverageConstants.ARCHIVED_REPORT_FILE_NAME);
+		File temp = null;
+		try (PhaseTimer.Phase phase = m_timer.start(PHASE_ARCHIVE))
+		{
+			if (!report.exists())
+			{
+				logger.println("Coverage report not archived: " + report.getRemote() + " does not exist"); //$NON-NLS-1$ //$NON-NLS-2$
+				return;
+			}
+
+			temp = File.createTempFile(CodeCoverageConstants.ARCHIVED_REPORT_FILE_NAME, ".tmp", run.getRootDir()); //$NON-NLS-1$
+			long size;
+			try (OutputStream out = Files.newOutputStream(temp.toPath()))
+			{
+				size = report.act(new RemoteReportArchive(new RemoteOutputStream(out)));
+
+				// the compressed bytes are written asynchronously; wait for all of them before closing the file
+				VirtualChannel channel = workDir.getChannel();
+				if (channel instanceof Channel)
+				{
+					((Channel) channel).syncLocalIO();
+				}
+			}
+
+			Files.move(temp.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			long compressedSize = archive.length();
+			run.replaceAction(new CodeCoverageReportAction(size, compressedSize));
+			logger.println("Archived " + CodeCoverageConstants.COVERAGE_FOLDER + '/' + CodeCoverageConstants.COVERAGE_FILE_NAME //$NON-NLS-1$
+					+ " (" + size + " bytes) as " + archive.getName() + " (" + compressedSize + " bytes)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+		catch (IOException e)
+		{
+			logger.println("An IOException occurred while archiving the coverage report: " + e.toString()); //$NON-NLS-1$
+			if (temp != null && !temp.delete() && temp.exists())
+			{
+				logger.println("Unable to delete " + temp); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Compares the coverage of the build with the build selected by 'Compare with build', writes the full diff to the build
+	 * directory and attaches its totals to the build.
+	 * <p>
+	 * Both builds are read from their coverage stores, so the comparison does not read either report. A baseline that cannot
+	 * be found or read is logged rather than failing the build.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 */
+	protected void compareCoverage(Run<?, ?> run, PrintStream logger)
+	{
+		String id = m_ccBuilder.getCompareWithBuild();
+		Job<?, ?> job = run.getParent();
+		PermalinkProjectAction.Permalink permalink = job.getPermalinks().get(id);
+		Run<?, ?> baseline = permalink != null ? permalink.resolve(job) : job.getBuild(id);
+		if (baseline == null || baseline == run)
+		{
+			logger.println("Coverage not compared: there is no build " + id + " to compare with"); //$NON-NLS-1$ //$NON-NLS-2$
+			return;
+		}
+
+		try (PhaseTimer.Phase phase = m_timer.start(PHASE_DIFF);
+				CoverageStore current = CodeCoverageSummaryAction.openStore(run);
+				CoverageStore previous = CodeCoverageSummaryAction.openStore(baseline))
+		{
+			if (current == null || previous == null)
+			{
+				logger.println("Coverage not compared: " + (current == null ? run : baseline).getFullDisplayName() //$NON-NLS-1$
+						+ " has no line coverage kept"); //$NON-NLS-1$
+				return;
+			}
+
+			CoverageDiff diff = CoverageDiff.compare(current, previous);
+			File file = new File(run.getRootDir(), CodeCoverageConstants.DIFF_FILE_NAME);
+			try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))
+			{
+				diff.write(out);
+			}
+
+			run.replaceAction(new CodeCoverageDiffAction(baseline, diff));
+			logger.println("Coverage compared with " + baseline.getFullDisplayName() + ": " + diff.getNewlyCovered() //$NON-NLS-1$ //$NON-NLS-2$
+					+ " lines newly covered, " + diff.getNewlyUncovered() + " lines newly uncovered in " //$NON-NLS-1$ //$NON-NLS-2$
+					+ diff.getPrograms().size() + " programs"); //$NON-NLS-1$
+		}
+		catch (IOException e)
+		{
+			logger.println("An IOException occurred while comparing coverage: " + e.toString()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Gets the reports the coverage of each test ID is read from.
+	 * <p>
+	 * An extraction fanned out over several test IDs writes a part report per test, so each test's coverage is its own.
+	 * Otherwise the report is attributed to the test ID of the extraction if it has exactly one.
+	 * 
+	 * @param extractions
+	 *            the analysis properties of each extraction
+	 * 
+	 * @return the workspace-relative reports of each test ID; empty if the coverage cannot be attributed
+	 */
+	protected static HashMap<String, ArrayList<String>> testReports(List<Properties> extractions)
+	{
+		HashMap<String, ArrayList<String>> reports = new HashMap<>();
+		for (int i = 0; i < extractions.size(); i++)
+		{
+			String testId = StringUtils.trimToEmpty(extractions.get(i).getProperty(CodeCoverageConstants.TEST_PARM));
+			if (testId.isEmpty() || testId.contains(CodeCoverageConstants.LIST_SEPARATOR))
+			{
+				continue;
+			}
+
+			String report = CodeCoverageConstants.COVERAGE_FOLDER + '/' + CodeCoverageConstants.COVERAGE_FILE_NAME;
+			if (extractions.size() > 1)
+			{
+				report = CodeCoverageConstants.COVERAGE_PARTS_FOLDER + '/' + i + '/' + report;
+			}
+			reports.computeIfAbsent(testId, id -> new ArrayList<>()).add(report);
+		}
+
+		return reports;
+	}
+
+	/**
+	 * Adds the coverage of each test ID of the extraction to the job's test impact index, which maps the lines of each program
+	 * to the test IDs that covered them.
+	 * <p>
+	 * A store of each report is written on the agent and copied to the controller, so the index is updated without reading
+	 * any report there. The extraction has already succeeded at this point, so an index that cannot be updated is logged
+	 * rather than failing the build.
+	 * 
+	 * @param run
+	 *            the current running Jenkins build
+	 * @param workDir
+	 *            the workspace directory
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected void indexTests(Run<?, ?> run, FilePath workDir, PrintStream logger) throws InterruptedException
+	{
+		File index = new File(run.getParent().getRootDir(), CodeCoverageConstants.TEST_INDEX_FILE_NAME);
+		Map<String, List<CoverageStore>> coverage = new HashMap<>();
+		try (PhaseTimer.Phase phase = m_timer.start(PHASE_TEST_INDEX))
+		{
+			for (Map.Entry<String, ArrayList<String>> test : m_testReports.entrySet())
+			{
+				for (String path : test.getValue())
+				{
+					FilePath report = workDir.child(path);
+					if (report.act(new CoverageSummaryReader(CodeCoverageConstants.TEST_STORE_FILE_NAME)) == null)
+					{
+						continue;
+					}
+
+					FilePath store = report.sibling(CodeCoverageConstants.TEST_STORE_FILE_NAME);
+					File copy = File.createTempFile(CodeCoverageConstants.TEST_STORE_FILE_NAME, ".tmp", run.getRootDir()); //$NON-NLS-1$
+					try
+					{
+						store.copyTo(new FilePath(copy));
+						store.delete();
+						// read onto the heap rather than mapped, so the copy can be deleted at once on every platform
+						coverage.computeIfAbsent(test.getKey(), id -> new ArrayList<>()).add(CoverageStore.read(copy));
+					}
+					finally
+					{
+						if (!copy.delete() && copy.exists())
+						{
+							logger.println("Could not delete the temporary coverage store " + copy); //$NON-NLS-1$
+						}
+					}
+				}
+			}
+
+			if (!coverage.isEmpty())
+			{
+				TestImpactIndex.update(index, coverage);
+				logger.println("Indexed the coverage of " + coverage.size() + " test IDs in " + index.getName()); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		catch (IOException e)
+		{
+			logger.println("An IOException occurred while indexing the coverage of test IDs: " + e.toString()); //$NON-NLS-1$
+		}
+		finally
+		{
+			for (List<CoverageStore> stores : coverage.values())
+			{
+				for (CoverageStore store : stores)
+				{
+					store.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gathers the CLI version, paths and merged analysis properties from the agent in a single remoting call.
+	 * 
+	 * @param workspace
+	 *            the Jenkins job workspace directory
+	 * @param launcher
+	 *            the way to start a process
+	 * @param listener
+	 *            the build listener
+	 * 
+	 * @return the <code>RemotePreflight.Result</code> obtained from the agent
+	 * 
+	 * @throws IOException
+	 *             if an error occurs on the agent
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected RemotePreflight.Result preflight(FilePath workspace, Launcher launcher, TaskListener listener)
+			throws IOException, InterruptedException
+	{
+		VirtualChannel vChannel = launcher.getChannel();
+		if (vChannel == null)
+		{
+			throw new IllegalStateException("Could not get virtual channel from launcher."); //$NON-NLS-1$
+		}
+
+		String cliLocation = CpwrGlobalConfiguration.get().getTopazCLILocation(launcher);
+		String osFile = launcher.isUnix() ? CodeCoverageConstants.CODE_COVERAGE_CLI_SH : CodeCoverageConstants.CODE_COVERAGE_CLI_BAT;
+
+		return vChannel.call(new RemotePreflight(cliLocation, osFile, workspace.getRemote(),
+				m_ccBuilder.getAnalysisPropertiesPath(), m_ccBuilder.getAnalysisProperties(), listener));
+	}
+
+	/**
+	 * Builds and returns a list of properties using the given analysis file path and string.
+	 * <p>
+	 * Properties in the given string take precedence over properties in the file located at the given path. The file is read
+	 * and parsed on the node that owns the workspace.
+	 * 
+	 * @param analysisPropertiesFilePath
+	 *            the <code>String</code> path of a file containing analysis properties
+	 * @param analysisPropertiesStr
+	 *            the <code>String</code> containing analysis properties
+	 * @param workspace
+	 *            the workspace directory
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 * 
+	 * @return the built <code>Properties</code>
+	 * 
+	 * @throws IOException
+	 *             if an error occurs communicating with the node
+	 * @throws InterruptedException
+	 *             if the user cancels the scan
+	 */
+	protected Properties buildAnalysisProperties(String analysisPropertiesFilePath, String analysisPropertiesStr,
+			FilePath workspace, PrintStream logger) throws IOException, InterruptedException
+	{
+		Properties analysisProperties = new Properties();
+		analysisProperties.putAll(workspace.act(new AnalysisPropertiesReader(analysisPropertiesFilePath,
+				analysisPropertiesStr, new StreamTaskListener(logger))));
+		return analysisProperties;
+	}
+
+	/**
+	 * What the scanner gathered while preparing an extraction that is still needed to run it, or to follow an identical one.
+	 */
+	private static final class Preparation
+	{
+		private final RemotePreflight.Result m_preflight;
+		private final EnvVars m_env;
+		private final FilePath m_workDir;
+		private final FilePath m_report;
+		private final FilePath m_previousReport;
+		private final Properties m_analysisProperties;
+		private final String m_osFile;
+		private final String m_targetFolder;
+		private final String m_topazCliWorkspace;
+		private final String m_extractionKey;
+		private final String m_cacheKey;
+
+		Preparation(RemotePreflight.Result preflight, EnvVars env, FilePath workDir, FilePath report, FilePath previousReport,
+				Properties analysisProperties, String osFile, String targetFolder, String topazCliWorkspace,
+				String extractionKey, String cacheKey)
+		{
+			m_preflight = preflight;
+			m_env = env;
+			m_workDir = workDir;
+			m_report = report;
+			m_previousReport = previousReport;
+			m_analysisProperties = analysisProperties;
+			m_osFile = osFile;
+			m_targetFolder = targetFolder;
+			m_topazCliWorkspace = topazCliWorkspace;
+			m_extractionKey = extractionKey;
+			m_cacheKey = cacheKey;
+		}
+	}
+
+	/**
+	 * An extraction prepared by the scanner whose CLI runs are left to run: one {@link Part}, or one per extraction of a
+	 * fan-out. An extraction that follows an identical one running for another build has no parts; see
+	 * {@link #isFollowing()}.
+	 * <p>
+	 * Only what is needed to complete the extraction after its CLI runs end is serialized, so an asynchronous extraction can
+	 * be completed after a controller restart. The CLI arguments and environment, which can hold secrets, are not.
+	 */
+	public static final class Extraction implements Serializable
+	{
+		private static final long serialVersionUID = 5169468127540593380L;
+
+		// Member Variables
+		private final String m_workDir;
+		private final String m_osFile;
+		private final String m_cacheKey;
+		private final String m_previousReport;
+		private final File m_baseline;
+		private final String m_baselineName;
+		private final HashSet<String> m_droppedPrograms;
+		private final HashMap<String, ArrayList<String>> m_testReports;
+		private final ArrayList<Part> m_parts = new ArrayList<>();
+		private transient CodeCoverageSingleFlight.Ticket m_ticket;
+		private transient EnvVars m_environment;
+
+		Extraction(String workDir, String osFile, String cacheKey, String previousReport, File baseline, String baselineName,
+				Set<String> droppedPrograms, Map<String, ArrayList<String>> testReports, CodeCoverageSingleFlight.Ticket ticket)
+		{
+			m_workDir = workDir;
+			m_osFile = osFile;
+			m_cacheKey = cacheKey;
+			m_previousReport = previousReport;
+			m_baseline = baseline;
+			m_baselineName = baselineName;
+			m_droppedPrograms = new HashSet<>(droppedPrograms);
+			m_testReports = new HashMap<>(testReports);
+			m_ticket = ticket;
+		}
+
+		void addPart(Part part)
+		{
+			m_parts.add(part);
+		}
+
+		void setEnvironment(EnvVars environment)
+		{
+			m_environment = environment;
+		}
+
+		/**
+		 * Gets the CLI runs of the extraction.
+		 *
+		 * @return <code>List</code> value of m_parts
+		 */
+		public List<Part> getParts()
+		{
+			return Collections.unmodifiableList(m_parts);
+		}
+
+		/**
+		 * Gets whether the extraction fans out to several CLI runs whose reports are merged.
+		 *
+		 * @return <code>true</code> if the extraction has more than one part
+		 */
+		public boolean isFanOut()
+		{
+			return m_parts.size() > 1;
+		}
+
+		/**
+		 * Gets whether the extraction waits for an identical one running for another build rather than running the CLI.
+		 *
+		 * @return <code>true</code> if the extraction follows an identical one
+		 */
+		public boolean isFollowing()
+		{
+			return m_ticket != null && !m_ticket.isLeader();
+		}
+
+		/**
+		 * Gets a future completed once the identical extraction this one follows has finished, whether or not it succeeded.
+		 *
+		 * @return the future; already completed if the extraction does not follow another one
+		 */
+		public CompletableFuture<Void> leaderLanded()
+		{
+			return isFollowing() ? m_ticket.landed() : CompletableFuture.<Void> completedFuture(null);
+		}
+
+		/**
+		 * Gets the environment to run the CLI with; <code>null</code> once the extraction has been deserialized.
+		 *
+		 * @return <code>EnvVars</code> value of m_environment
+		 */
+		public EnvVars getEnvironment()
+		{
+			return m_environment;
+		}
+
+		/**
+		 * Gets the remote path of the workspace directory the CLI runs in.
+		 *
+		 * @return <code>String</code> value of m_workDir
+		 */
+		public String getWorkDir()
+		{
+			return m_workDir;
+		}
+
+		/**
+		 * Gets the name of the CLI script.
+		 *
+		 * @return <code>String</code> value of m_osFile
+		 */
+		public String getOsFile()
+		{
+			return m_osFile;
+		}
+
+		/**
+		 * Lets identical extractions waiting for this one go, so they run their own; or stops following an identical
+		 * extraction. Does nothing once the extraction was completed or deserialized.
+		 */
+		public void abandon()
+		{
+			if (m_ticket == null)
+			{
+				return;
+			}
+
+			if (m_ticket.isLeader())
+			{
+				m_ticket.abandon();
+			}
+			else
+			{
+				m_ticket.leave();
+			}
+		}
+
+		boolean copyLeaderReport(FilePath report) throws IOException, InterruptedException
+		{
+			return m_ticket.await(report);
+		}
+
+		void completeTicket(FilePath report, PrintStream logger) throws InterruptedException
+		{
+			if (m_ticket != null)
+			{
+				m_ticket.complete(report, logger);
+			}
+		}
+
+		String getCacheKey()
+		{
+			return m_cacheKey;
+		}
+
+		String getPreviousReport()
+		{
+			return m_previousReport;
+		}
+
+		File getBaseline()
+		{
+			return m_baseline;
+		}
+
+		String getBaselineName()
+		{
+			return m_baselineName;
+		}
+
+		Set<String> getDroppedPrograms()
+		{
+			return m_droppedPrograms;
+		}
+
+		Map<String, ArrayList<String>> getTestReports()
+		{
+			return m_testReports != null ? m_testReports : Collections.<String, ArrayList<String>> emptyMap();
+		}
+	}
+
+	/**
+	 * One CLI run of an {@link Extraction}, and how it ended.
+	 * <p>
+	 * The CLI arguments, which can hold secrets, are not serialized.
+	 */
+	public static final class Part implements Serializable
+	{
+		private static final long serialVersionUID = -2307655436457124128L;
+
+		// Member Variables
+		private final String m_description;
+		private final String m_report;
+		private long m_launchedMillis;
+		private boolean m_timedOut;
+		private Integer m_exitValue;
+		private String m_failure;
+		private transient ArgumentListBuilder m_arguments;
+
+		Part(String description, String report, ArgumentListBuilder arguments)
+		{
+			m_description = description;
+			m_report = report;
+			m_arguments = arguments;
+		}
+
+		/**
+		 * Gets the CLI arguments; <code>null</code> once the part has been deserialized.
+		 *
+		 * @return <code>ArgumentListBuilder</code> value of m_arguments
+		 */
+		public ArgumentListBuilder getArguments()
+		{
+			return m_arguments;
+		}
+
+		/**
+		 * Gets what the CLI run of a fan-out extracts, such as its test ID.
+		 *
+		 * @return <code>String</code> value of m_description; <code>null</code> for the only part of an extraction
+		 */
+		public String getDescription()
+		{
+			return m_description;
+		}
+
+		/**
+		 * Gets the prefix that tells the output of the CLI run apart from that of the other parts in the build log.
+		 *
+		 * @return the prefix; empty for the only part of an extraction
+		 */
+		public String getPrefix()
+		{
+			return m_description != null ? '[' + m_description + "] " : StringUtils.EMPTY; //$NON-NLS-1$
+		}
+
+		/**
+		 * Gets the path of the report the CLI run writes, relative to the workspace.
+		 *
+		 * @return <code>String</code> value of m_report
+		 */
+		public String getReport()
+		{
+			return m_report;
+		}
+
+		/**
+		 * Records that the CLI was started, so its run time can be measured across a controller restart.
+		 */
+		public void markLaunched()
+		{
+			m_launchedMillis = System.currentTimeMillis();
+		}
+
+		/**
+		 * Gets when the CLI was first started.
+		 *
+		 * @return the start time in milliseconds; 0 if not recorded
+		 */
+		public long getLaunchedMillis()
+		{
+			return m_launchedMillis;
+		}
+
+		/**
+		 * Records that the CLI was stopped because it ran longer than the timeout, so its report is salvaged.
+		 */
+		public void markTimedOut()
+		{
+			m_timedOut = true;
+		}
+
+		/**
+		 * Gets whether the CLI was stopped because it ran longer than the timeout.
+		 *
+		 * @return <code>boolean</code> value of m_timedOut
+		 */
+		public boolean isTimedOut()
+		{
+			return m_timedOut;
+		}
+
+		/**
+		 * Records the exit value of the last attempt of the CLI run.
+		 *
+		 * @param exitValue
+		 *            the CLI exit value
+		 */
+		public void setExitValue(int exitValue)
+		{
+			m_exitValue = Integer.valueOf(exitValue);
+		}
+
+		/**
+		 * Gets the exit value of the last attempt of the CLI run.
+		 *
+		 * @return the CLI exit value; -1 if it did not exit, having timed out or failed to run
+		 */
+		public int getExitValue()
+		{
+			return m_exitValue != null ? m_exitValue.intValue() : -1;
+		}
+
+		/**
+		 * Records that the CLI could not be run.
+		 *
+		 * @param failure
+		 *            the cause
+		 */
+		public void setFailure(Throwable failure)
+		{
+			m_failure = failure.toString();
+		}
+
+		/**
+		 * Gets why the CLI could not be run.
+		 *
+		 * @return <code>String</code> value of m_failure; <code>null</code> if it ran
+		 */
+		public String getFailure()
+		{
+			return m_failure;
+		}
+
+		/**
+		 * Gets whether the CLI run has ended and how is recorded.
+		 *
+		 * @return <code>true</code> if an exit value, timeout or failure is recorded
+		 */
+		public boolean isEnded()
+		{
+			return m_exitValue != null || m_timedOut || m_failure != null;
+		}
+	}
+
+	/**
+	 * Records when the first byte is written, without closing the caller's stream.
+	 */
+	private static final class FirstWriteOutputStream extends FilterOutputStream
+	{
+		private volatile long m_firstWriteNanos;
+		private volatile boolean m_written;
+
+		FirstWriteOutputStream(OutputStream out)
+		{
+			super(out);
+		}
+
+		long getFirstWriteNanos(long defaultNanos)
+		{
+			return m_written ? m_firstWriteNanos : defaultNanos;
+		}
+
+		private void mark()
+		{
+			if (!m_written)
+			{
+				m_firstWriteNanos = System.nanoTime();
+				m_written = true;
+			}
+		}
+
+		@Override
+		public void write(int b) throws IOException
+		{
+			mark();
+			out.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException
+		{
+			mark();
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			// the underlying stream belongs to the caller
+			flush();
+		}
+	}
+
+	/**
+	 * Prefixes each line written by a concurrent extraction, so its output can be told apart in the build log.
+	 */
+	static final class PrefixedOutputStream extends LineTransformationOutputStream
+	{
+		private final PrintStream m_logger;
+		private final byte[] m_prefix;
+
+		PrefixedOutputStream(PrintStream logger, String prefix)
+		{
+			m_logger = logger;
+			m_prefix = prefix.getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override
+		protected void eol(byte[] b, int len) throws IOException
+		{
+			synchronized (m_logger)
+			{
+				m_logger.write(m_prefix);
+				m_logger.write(b, 0, len);
+			}
+		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,361 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+
+import hudson.FilePath;
+
+/**
+ * Lets identical extractions that run at the same time share one CLI run.
+ * <p>
+ * The first build to ask for an extraction becomes its leader and runs the CLI. Builds asking for the same extraction while
+ * it runs follow it: they wait for the leader to finish and copy a controller-side snapshot of its report into their own
+ * workspaces. The snapshot is only taken if the extraction has followers when it ends. If the leader fails, its followers
+ * run the extraction themselves.
+ */
+public final class CodeCoverageSingleFlight
+{
+	// Constants
+	private static final Map<String, Flight> FLIGHTS = new HashMap<>();
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods should be accessed statically.
+	 */
+	private CodeCoverageSingleFlight()
+	{
+	}
+
+	/**
+	 * Joins the extraction with the given key, becoming its leader if none is running.
+	 *
+	 * @param key
+	 *            the extraction key, as computed by {@link CodeCoverageResultCache#key}
+	 * @param owner
+	 *            a description of the caller, such as the build's display name
+	 *
+	 * @return the caller's ticket for the extraction
+	 */
+	public static Ticket join(String key, String owner)
+	{
+		synchronized (FLIGHTS)
+		{
+			Flight flight = FLIGHTS.get(key);
+			if (flight != null)
+			{
+				flight.addFollower();
+				return new Ticket(key, flight, false);
+			}
+
+			flight = new Flight(owner);
+			FLIGHTS.put(key, flight);
+			return new Ticket(key, flight, true);
+		}
+	}
+
+	/**
+	 * Stops the extraction with the given key from taking new followers, so a build asking for it from now on leads a new
+	 * one.
+	 *
+	 * @return the number of followers waiting for the extraction
+	 */
+	private static int close(String key, Flight flight)
+	{
+		synchronized (FLIGHTS)
+		{
+			if (FLIGHTS.get(key) == flight)
+			{
+				FLIGHTS.remove(key);
+			}
+			return flight.getFollowers();
+		}
+	}
+
+	/**
+	 * One running extraction and the builds waiting for it.
+	 */
+	private static final class Flight
+	{
+		private final String m_leader;
+		private final CompletableFuture<Void> m_landed = new CompletableFuture<>();
+		private File m_snapshot;
+		private int m_followers;
+
+		Flight(String leader)
+		{
+			m_leader = leader;
+		}
+
+		synchronized void addFollower()
+		{
+			m_followers++;
+		}
+
+		synchronized int getFollowers()
+		{
+			return m_followers;
+		}
+
+		synchronized void land(File snapshot)
+		{
+			m_snapshot = snapshot;
+			m_landed.complete(null);
+			deleteSnapshotIfUnused();
+		}
+
+		File await() throws InterruptedException
+		{
+			try
+			{
+				m_landed.get();
+			}
+			catch (ExecutionException e)
+			{
+				// the flight only ever lands normally
+				throw new IllegalStateException(e);
+			}
+
+			synchronized (this)
+			{
+				return m_snapshot;
+			}
+		}
+
+		synchronized void removeFollower()
+		{
+			m_followers--;
+			deleteSnapshotIfUnused();
+		}
+
+		private void deleteSnapshotIfUnused()
+		{
+			if (m_followers == 0 && m_snapshot != null && m_landed.isDone())
+			{
+				try
+				{
+					Files.deleteIfExists(m_snapshot.toPath());
+				}
+				catch (IOException e)
+				{
+					m_snapshot.deleteOnExit();
+				}
+				m_snapshot = null;
+			}
+		}
+	}
+
+	/**
+	 * A build's part in an extraction: either the leader that runs it or a follower that waits for it.
+	 */
+	public static final class Ticket
+	{
+		private final String m_key;
+		private final Flight m_flight;
+		private final boolean m_leader;
+		private boolean m_done;
+
+		Ticket(String key, Flight flight, boolean leader)
+		{
+			m_key = key;
+			m_flight = flight;
+			m_leader = leader;
+		}
+
+		/**
+		 * Gets whether this ticket leads the extraction.
+		 *
+		 * @return <code>true</code> if the caller must run the extraction
+		 */
+		public boolean isLeader()
+		{
+			return m_leader;
+		}
+
+		/**
+		 * Gets a description of the leader of the extraction.
+		 *
+		 * @return the owner given by the leader
+		 */
+		public String getLeader()
+		{
+			return m_flight.m_leader;
+		}
+
+		/**
+		 * Ends the extraction successfully, sharing its report with the followers.
+		 * <p>
+		 * The report is only snapshotted if followers are waiting. If it cannot be snapshotted, the followers run the
+		 * extraction themselves.
+		 *
+		 * @param report
+		 *            the extracted report
+		 * @param logger
+		 *            the <code>PrintStream</code> to use for capturing log statements
+		 *
+		 * @throws InterruptedException
+		 *             if the copy is interrupted; the followers are released
+		 */
+		public void complete(FilePath report, PrintStream logger) throws InterruptedException
+		{
+			checkLeader();
+			m_done = true;
+			if (close(m_key, m_flight) == 0)
+			{
+				m_flight.land(null);
+				return;
+			}
+
+			File snapshot = null;
+			try
+			{
+				snapshot = File.createTempFile(CodeCoverageConstants.COVERAGE_FILE_NAME, ".tmp"); //$NON-NLS-1$
+				report.copyTo(new FilePath(snapshot));
+			}
+			catch (IOException e)
+			{
+				logger.println("Unable to share the coverage report with identical extractions: " + e.toString()); //$NON-NLS-1$
+				deleteQuietly(snapshot);
+				snapshot = null;
+			}
+			catch (InterruptedException e)
+			{
+				deleteQuietly(snapshot);
+				m_flight.land(null);
+				throw e;
+			}
+
+			m_flight.land(snapshot);
+		}
+
+		/**
+		 * Ends the extraction without a report, so its followers run the extraction themselves. Does nothing if the
+		 * extraction has already ended.
+		 */
+		public void abandon()
+		{
+			checkLeader();
+			if (!m_done)
+			{
+				m_done = true;
+				close(m_key, m_flight);
+				m_flight.land(null);
+			}
+		}
+
+		/**
+		 * Gets a future that is completed when the leader has finished, so a follower can wait for it without holding a
+		 * thread and then call {@link #await(FilePath)}, which no longer blocks.
+		 *
+		 * @return the future, completed with <code>null</code> whether or not the leader succeeded
+		 */
+		public CompletableFuture<Void> landed()
+		{
+			return m_flight.m_landed;
+		}
+
+		/**
+		 * Stops following the extraction without copying its report. Does nothing if the follower already copied the report
+		 * or stopped following.
+		 */
+		public void leave()
+		{
+			if (m_leader)
+			{
+				throw new IllegalStateException("The leader cannot leave its own extraction"); //$NON-NLS-1$
+			}
+
+			synchronized (this)
+			{
+				if (m_done)
+				{
+					return;
+				}
+				m_done = true;
+			}
+			m_flight.removeFollower();
+		}
+
+		/**
+		 * Waits for the leader to finish and copies its report.
+		 *
+		 * @param report
+		 *            the report file to write
+		 *
+		 * @return <code>true</code> if the report was copied, <code>false</code> if the leader failed
+		 *
+		 * @throws IOException
+		 *             if the report cannot be written
+		 * @throws InterruptedException
+		 *             if the wait is interrupted
+		 */
+		public boolean await(FilePath report) throws IOException, InterruptedException
+		{
+			if (m_leader)
+			{
+				throw new IllegalStateException("The leader cannot wait for itself"); //$NON-NLS-1$
+			}
+
+			try
+			{
+				File snapshot = m_flight.await();
+				if (snapshot == null)
+				{
+					return false;
+				}
+
+				FilePath parent = report.getParent();
+				if (parent != null)
+				{
+					parent.mkdirs();
+				}
+				report.copyFrom(new FilePath(snapshot));
+				return true;
+			}
+			finally
+			{
+				leave();
+			}
+		}
+
+		private void checkLeader()
+		{
+			if (!m_leader)
+			{
+				throw new IllegalStateException("Only the leader can end an extraction"); //$NON-NLS-1$
+			}
+		}
+
+		private static void deleteQuietly(File file)
+		{
+			if (file != null && !file.delete())
+			{
+				file.deleteOnExit();
+			}
+		}
+	}
+}
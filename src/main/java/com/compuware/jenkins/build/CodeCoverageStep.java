@@ -0,0 +1,584 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.kohsuke.stapler.AncestorInPath;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+
+import com.compuware.jenkins.build.CodeCoverageBuilder.CodeCoverageDescriptorImpl;
+
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Item;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import jenkins.model.Jenkins;
+
+/**
+ * A Pipeline step that retrieves Code Coverage statistics with the same options as the {@link CodeCoverageBuilder}, without
+ * holding a thread while the CLI runs.
+ * <p>
+ * The CLI of the extraction runs as a durable task on the agent, which is polled until it exits, so the step carries on
+ * after a controller restart.
+ */
+public class CodeCoverageStep extends Step implements Serializable
+{
+	private static final long serialVersionUID = -6613593706286546263L;
+
+	// Member Variables
+	private final String m_connectionId;
+	private final String m_credentialsId;
+	private final String m_analysisPropertiesPath;
+	private final String m_analysisProperties;
+	private final CodeCoverageOptions m_options = new CodeCoverageOptions();
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param connectionId
+	 *            a unique host connection identifier
+	 * @param credentialsId
+	 *            unique id of the selected credential
+	 * @param analysisPropertiesPath
+	 *            the path of Code Coverage analysis properties file
+	 * @param analysisProperties
+	 *            the Code Coverage analysis properties
+	 */
+	@DataBoundConstructor
+	public CodeCoverageStep(String connectionId, String credentialsId, String analysisPropertiesPath, String analysisProperties)
+	{
+		m_connectionId = StringUtils.trimToEmpty(connectionId);
+		m_credentialsId = StringUtils.trimToEmpty(credentialsId);
+		m_analysisPropertiesPath = StringUtils.trimToEmpty(analysisPropertiesPath);
+		m_analysisProperties = StringUtils.trimToEmpty(analysisProperties);
+	}
+
+	/**
+	 * Gets the unique identifier of the 'Host connection'.
+	 * 
+	 * @return <code>String</code> value of m_connectionId
+	 */
+	public String getConnectionId()
+	{
+		return m_connectionId;
+	}
+
+	/**
+	 * Gets the value of the 'Login credentials'.
+	 * 
+	 * @return <code>String</code> value of m_credentialsId
+	 */
+	public String getCredentialsId()
+	{
+		return m_credentialsId;
+	}
+
+	/**
+	 * Gets the value of the 'Path to analysis properties'.
+	 * 
+	 * @return <code>String</code> value of m_analysisPropertiesPath
+	 */
+	public String getAnalysisPropertiesPath()
+	{
+		return m_analysisPropertiesPath;
+	}
+
+	/**
+	 * Gets the value of the 'Analysis properties'.
+	 * 
+	 * @return <code>String</code> value of m_analysisProperties
+	 */
+	public String getAnalysisProperties()
+	{
+		return m_analysisProperties;
+	}
+
+	/**
+	 * Gets the value of the 'Maximum parallel extractions'.
+	 * 
+	 * @return <code>int</code> value of the option
+	 * @see CodeCoverageOptions#getMaxParallelExtractions()
+	 */
+	public int getMaxParallelExtractions()
+	{
+		return m_options.getMaxParallelExtractions();
+	}
+
+	/**
+	 * Sets the value of the 'Maximum parallel extractions'.
+	 * 
+	 * @param maxParallelExtractions
+	 *            the number of CLI processes to run at the same time; values less than 1 use the default
+	 */
+	@DataBoundSetter
+	public void setMaxParallelExtractions(int maxParallelExtractions)
+	{
+		m_options.setMaxParallelExtractions(maxParallelExtractions);
+	}
+
+	/**
+	 * Gets the value of the 'Use result cache'.
+	 * 
+	 * @return <code>boolean</code> value of the option
+	 * @see CodeCoverageOptions#isUseResultCache()
+	 */
+	public boolean isUseResultCache()
+	{
+		return m_options.isUseResultCache();
+	}
+
+	/**
+	 * Sets the value of the 'Use result cache'.
+	 * 
+	 * @param useResultCache
+	 *            whether to use the result cache
+	 */
+	@DataBoundSetter
+	public void setUseResultCache(boolean useResultCache)
+	{
+		m_options.setUseResultCache(useResultCache);
+	}
+
+	/**
+	 * Gets the value of the 'Result cache fingerprint'.
+	 * 
+	 * @return <code>String</code> value of the option
+	 * @see CodeCoverageOptions#getResultCacheFingerprint()
+	 */
+	public String getResultCacheFingerprint()
+	{
+		return m_options.getResultCacheFingerprint();
+	}
+
+	/**
+	 * Sets the value of the 'Result cache fingerprint'.
+	 * 
+	 * @param resultCacheFingerprint
+	 *            a value included in the result cache key, such as a test run identifier; can be blank
+	 */
+	@DataBoundSetter
+	public void setResultCacheFingerprint(String resultCacheFingerprint)
+	{
+		m_options.setResultCacheFingerprint(resultCacheFingerprint);
+	}
+
+	/**
+	 * Gets the value of the 'CLI daemon command'.
+	 * 
+	 * @return <code>String</code> value of the option
+	 * @see CodeCoverageOptions#getDaemonCommand()
+	 */
+	public String getDaemonCommand()
+	{
+		return m_options.getDaemonCommand();
+	}
+
+	/**
+	 * Sets the value of the 'CLI daemon command'.
+	 * 
+	 * @param daemonCommand
+	 *            the command that starts the CLI daemon; blank to start the CLI script for every extraction
+	 */
+	@DataBoundSetter
+	public void setDaemonCommand(String daemonCommand)
+	{
+		m_options.setDaemonCommand(daemonCommand);
+	}
+
+	/**
+	 * Gets the value of the 'CLI daemon idle minutes'.
+	 * 
+	 * @return <code>int</code> value of the option
+	 * @see CodeCoverageOptions#getDaemonIdleMinutes()
+	 */
+	public int getDaemonIdleMinutes()
+	{
+		return m_options.getDaemonIdleMinutes();
+	}
+
+	/**
+	 * Sets the value of the 'CLI daemon idle minutes'.
+	 * 
+	 * @param daemonIdleMinutes
+	 *            the minutes a daemon may stay idle before it is stopped; values less than 1 use the default
+	 */
+	@DataBoundSetter
+	public void setDaemonIdleMinutes(int daemonIdleMinutes)
+	{
+		m_options.setDaemonIdleMinutes(daemonIdleMinutes);
+	}
+
+	/**
+	 * Gets the value of the 'Timeout minutes'.
+	 * 
+	 * @return <code>int</code> value of the option
+	 * @see CodeCoverageOptions#getTimeoutMinutes()
+	 */
+	public int getTimeoutMinutes()
+	{
+		return m_options.getTimeoutMinutes();
+	}
+
+	/**
+	 * Sets the value of the 'Timeout minutes'.
+	 * 
+	 * @param timeoutMinutes
+	 *            the minutes the CLI of an extraction may run before it is stopped; values less than 1 mean no limit
+	 */
+	@DataBoundSetter
+	public void setTimeoutMinutes(int timeoutMinutes)
+	{
+		m_options.setTimeoutMinutes(timeoutMinutes);
+	}
+
+	/**
+	 * Gets the value of the 'Retries'.
+	 * 
+	 * @return <code>int</code> value of the option
+	 * @see CodeCoverageOptions#getMaxRetries()
+	 */
+	public int getMaxRetries()
+	{
+		return m_options.getMaxRetries();
+	}
+
+	/**
+	 * Sets the value of the 'Retries'.
+	 * 
+	 * @param maxRetries
+	 *            the number of times a CLI run that failed in a retryable way is run again; values less than 1 mean none
+	 */
+	@DataBoundSetter
+	public void setMaxRetries(int maxRetries)
+	{
+		m_options.setMaxRetries(maxRetries);
+	}
+
+	/**
+	 * Gets the value of the 'Merge with existing report'.
+	 * 
+	 * @return <code>boolean</code> value of the option
+	 * @see CodeCoverageOptions#isMergeWithExistingReport()
+	 */
+	public boolean isMergeWithExistingReport()
+	{
+		return m_options.isMergeWithExistingReport();
+	}
+
+	/**
+	 * Sets the value of the 'Merge with existing report'.
+	 * 
+	 * @param mergeWithExistingReport
+	 *            whether to merge with the report of an earlier coverage step
+	 */
+	@DataBoundSetter
+	public void setMergeWithExistingReport(boolean mergeWithExistingReport)
+	{
+		m_options.setMergeWithExistingReport(mergeWithExistingReport);
+	}
+
+	/**
+	 * Gets the value of the 'Incremental extraction'.
+	 * 
+	 * @return <code>boolean</code> value of the option
+	 * @see CodeCoverageOptions#isIncrementalExtraction()
+	 */
+	public boolean isIncrementalExtraction()
+	{
+		return m_options.isIncrementalExtraction();
+	}
+
+	/**
+	 * Sets the value of the 'Incremental extraction'.
+	 * 
+	 * @param incrementalExtraction
+	 *            whether to extract only changed programs
+	 */
+	@DataBoundSetter
+	public void setIncrementalExtraction(boolean incrementalExtraction)
+	{
+		m_options.setIncrementalExtraction(incrementalExtraction);
+	}
+
+	/**
+	 * Gets the value of the 'Compare with build'.
+	 * 
+	 * @return <code>String</code> value of the option
+	 * @see CodeCoverageOptions#getCompareWithBuild()
+	 */
+	public String getCompareWithBuild()
+	{
+		return m_options.getCompareWithBuild();
+	}
+
+	/**
+	 * Sets the value of the 'Compare with build'.
+	 * 
+	 * @param compareWithBuild
+	 *            a build number or a permalink such as <code>lastSuccessfulBuild</code>; can be blank
+	 */
+	@DataBoundSetter
+	public void setCompareWithBuild(String compareWithBuild)
+	{
+		m_options.setCompareWithBuild(compareWithBuild);
+	}
+
+	/**
+	 * Gets the value of the 'Shards'.
+	 * 
+	 * @return <code>int</code> value of the option
+	 * @see CodeCoverageOptions#getShardCount()
+	 */
+	public int getShardCount()
+	{
+		return m_options.getShardCount();
+	}
+
+	/**
+	 * Sets the value of the 'Shards'.
+	 * 
+	 * @param shardCount
+	 *            the number of shards to split the source folders into; 0 or 1 to extract all the source folders
+	 */
+	@DataBoundSetter
+	public void setShardCount(int shardCount)
+	{
+		m_options.setShardCount(shardCount);
+	}
+
+	/**
+	 * Gets the value of the 'Shard index'.
+	 * 
+	 * @return <code>int</code> value of the option
+	 * @see CodeCoverageOptions#getShardIndex()
+	 */
+	public int getShardIndex()
+	{
+		return m_options.getShardIndex();
+	}
+
+	/**
+	 * Sets the value of the 'Shard index'.
+	 * 
+	 * @param shardIndex
+	 *            the index of the shard to extract, from 0 to one less than the number of shards
+	 */
+	@DataBoundSetter
+	public void setShardIndex(int shardIndex)
+	{
+		m_options.setShardIndex(shardIndex);
+	}
+
+	/**
+	 * Gets the value of the 'Archive report'.
+	 * 
+	 * @return <code>boolean</code> value of the option
+	 * @see CodeCoverageOptions#isArchiveReport()
+	 */
+	public boolean isArchiveReport()
+	{
+		return m_options.isArchiveReport();
+	}
+
+	/**
+	 * Sets the value of the 'Archive report'.
+	 * 
+	 * @param archiveReport
+	 *            whether to keep a compressed copy of the report with the build
+	 */
+	@DataBoundSetter
+	public void setArchiveReport(boolean archiveReport)
+	{
+		m_options.setArchiveReport(archiveReport);
+	}
+
+	/**
+	 * Gets the value of the 'Use argument file'.
+	 * 
+	 * @return <code>boolean</code> value of the option
+	 * @see CodeCoverageOptions#isUseArgumentFile()
+	 */
+	public boolean isUseArgumentFile()
+	{
+		return m_options.isUseArgumentFile();
+	}
+
+	/**
+	 * Sets the value of the 'Use argument file'.
+	 * 
+	 * @param useArgumentFile
+	 *            whether to pass the analysis properties in an argument file
+	 */
+	@DataBoundSetter
+	public void setUseArgumentFile(boolean useArgumentFile)
+	{
+		m_options.setUseArgumentFile(useArgumentFile);
+	}
+
+	/**
+	 * Creates the build step configuration the {@link CodeCoverageScanner} runs with.
+	 * 
+	 * @return a <code>CodeCoverageBuilder</code> that shares the options of this step
+	 */
+	public CodeCoverageBuilder toBuilder()
+	{
+		return new CodeCoverageBuilder(m_connectionId, m_credentialsId, m_analysisPropertiesPath, m_analysisProperties,
+				m_options);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.jenkinsci.plugins.workflow.steps.Step#start(org.jenkinsci.plugins.workflow.steps.StepContext)
+	 */
+	@Override
+	public StepExecution start(StepContext context) throws Exception
+	{
+		return new CodeCoverageStepExecution(this, context);
+	}
+
+	/**
+	 * DescriptorImpl is used to create instances of <code>CodeCoverageStep</code>. The field options are the same as those of
+	 * the {@link CodeCoverageBuilder}.
+	 */
+	@Extension
+	public static final class CodeCoverageStepDescriptorImpl extends StepDescriptor
+	{
+		/*
+		 * (non-Javadoc)
+		 * @see org.jenkinsci.plugins.workflow.steps.StepDescriptor#getFunctionName()
+		 */
+		@Override
+		public String getFunctionName()
+		{
+			return "retrieveCodeCoverage"; //$NON-NLS-1$
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see hudson.model.Descriptor#getDisplayName()
+		 */
+		@Override
+		public String getDisplayName()
+		{
+			return Messages.stepDescriptorDisplayName();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.jenkinsci.plugins.workflow.steps.StepDescriptor#getRequiredContext()
+		 */
+		@Override
+		public Set<? extends Class<?>> getRequiredContext()
+		{
+			return Collections.unmodifiableSet(
+					new HashSet<>(Arrays.asList(Run.class, FilePath.class, Launcher.class, TaskListener.class)));
+		}
+
+		/**
+		 * Get the default value for 'Analysis properties'.
+		 * 
+		 * @return the default value
+		 */
+		public String getDefaultAnalysisProperties()
+		{
+			return Messages.defaultAnalysisProperties();
+		}
+
+		/**
+		 * Validator for the 'Host connection' field.
+		 * 
+		 * @param connectionId
+		 *            unique identifier for the host connection passed from the config.jelly "connectionId" field
+		 * 
+		 * @return validation message
+		 */
+		public FormValidation doCheckConnectionId(@QueryParameter String connectionId)
+		{
+			return builderDescriptor().doCheckConnectionId(connectionId);
+		}
+
+		/**
+		 * Validator for the 'Login credentials' field.
+		 * 
+		 * @param credentialsId
+		 *            login credentials passed from the config.jelly "credentialsId" field
+		 * 
+		 * @return validation message
+		 */
+		public FormValidation doCheckCredentialsId(@QueryParameter String credentialsId)
+		{
+			return builderDescriptor().doCheckCredentialsId(credentialsId);
+		}
+
+		/**
+		 * Fills in the Host Connection selection box with the same connections offered by the build step.
+		 * 
+		 * @param context
+		 *            filter for host connections
+		 * @param connectionId
+		 *            an existing host connection identifier; can be null
+		 * @param project
+		 *            the Jenkins project
+		 * 
+		 * @return host connection selections
+		 */
+		public ListBoxModel doFillConnectionIdItems(@AncestorInPath Jenkins context, @QueryParameter String connectionId,
+				@AncestorInPath Item project)
+		{
+			return builderDescriptor().doFillConnectionIdItems(context, connectionId, project);
+		}
+
+		/**
+		 * Fills in the Login Credentials selection box with the same credentials offered by the build step.
+		 * 
+		 * @param context
+		 *            filter for login credentials
+		 * @param credentialsId
+		 *            existing login credentials; can be null
+		 * @param project
+		 *            the Jenkins project
+		 * 
+		 * @return login credentials selection
+		 */
+		public ListBoxModel doFillCredentialsIdItems(@AncestorInPath Jenkins context, @QueryParameter String credentialsId,
+				@AncestorInPath Item project)
+		{
+			return builderDescriptor().doFillCredentialsIdItems(context, credentialsId, project);
+		}
+
+		private static CodeCoverageDescriptorImpl builderDescriptor()
+		{
+			return Jenkins.get().getDescriptorByType(CodeCoverageDescriptorImpl.class);
+		}
+	}
+}
@@ -0,0 +1,925 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.durabletask.BourneShellScript;
+import org.jenkinsci.plugins.durabletask.Controller;
+import org.jenkinsci.plugins.durabletask.DurableTask;
+import org.jenkinsci.plugins.durabletask.WindowsBatchScript;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+
+import com.compuware.jenkins.build.utils.ExtractionThrottle;
+import com.compuware.jenkins.build.utils.RetryPolicy;
+
+import hudson.EnvVars;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.ArgumentListBuilder;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.util.Timer;
+
+/**
+ * Runs a {@link CodeCoverageStep} without holding a thread while it waits.
+ * <p>
+ * The scan is prepared on a background thread by the {@link CodeCoverageScanner}. An identical extraction already running
+ * for another build, and a free slot on the host connection, are waited for with callbacks. Each CLI run of the extraction,
+ * one per extraction of a fan-out, is then launched as a durable task on the agent, or sent to the agent's CLI daemon as an
+ * asynchronous call, and polled with a growing interval until it exits. The scanner finishes the report on a background
+ * thread once every CLI run has ended.
+ * <p>
+ * The durable tasks and the extraction are saved with the Pipeline, so polling resumes after a controller restart. A scan
+ * that was restarted before each of its CLI runs was launched as a durable task is prepared again, as the CLI arguments are
+ * not saved.
+ */
+public class CodeCoverageStepExecution extends StepExecution
+{
+	private static final long serialVersionUID = 3186906187224914471L;
+	private static final Logger LOGGER = Logger.getLogger(CodeCoverageStepExecution.class.getName());
+
+	// Constants
+	private static final long MIN_POLL_MILLIS = 250;
+	private static final long MAX_POLL_MILLIS = TimeUnit.SECONDS.toMillis(15);
+	private static final String SECRET_VARIABLE_PREFIX = "CC_SECRET_"; //$NON-NLS-1$
+
+	// prepares, launches and finishes scans, which make several short remote calls
+	private static final ExecutorService EXECUTOR = Executors
+			.newCachedThreadPool(new NamingThreadFactory(new DaemonThreadFactory(), "CodeCoverageStepExecution")); //$NON-NLS-1$
+
+	// Member Variables
+	private final CodeCoverageStep m_step;
+	private CodeCoverageScanner.Extraction m_extraction;
+	private ArrayList<CliRun> m_runs = new ArrayList<>();
+	private volatile boolean m_stopped;
+	private transient CodeCoverageScanner m_scanner;
+	private transient volatile CodeCoverageScanner.Extraction m_following;
+	private transient volatile Future<?> m_task;
+	private transient boolean m_finishing;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param step
+	 *            the step to run
+	 * @param context
+	 *            the step context
+	 */
+	public CodeCoverageStepExecution(CodeCoverageStep step, StepContext context)
+	{
+		super(context);
+		m_step = step;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.jenkinsci.plugins.workflow.steps.StepExecution#start()
+	 */
+	@Override
+	public boolean start() throws Exception
+	{
+		m_scanner = new CodeCoverageScanner(m_step.toBuilder());
+		m_task = EXECUTOR.submit(this::prepare);
+		return false;
+	}
+
+	/**
+	 * Prepares the scan, and goes on with the extraction it returns.
+	 */
+	private void prepare()
+	{
+		StepContext context = getContext();
+		CodeCoverageScanner.Extraction extraction = null;
+		try
+		{
+			extraction = m_scanner.start(context.get(Run.class), context.get(FilePath.class), context.get(Launcher.class),
+					context.get(TaskListener.class));
+			proceed(extraction);
+		}
+		catch (Throwable t)
+		{
+			if (extraction != null)
+			{
+				extraction.abandon();
+			}
+			context.onFailure(t);
+		}
+	}
+
+	/**
+	 * Goes on with the scan once the identical extraction it followed has finished.
+	 */
+	private void follow()
+	{
+		StepContext context = getContext();
+		CodeCoverageScanner.Extraction following = m_following;
+		CodeCoverageScanner.Extraction extraction = null;
+		try
+		{
+			m_following = null;
+			extraction = m_scanner.resume(context.get(Run.class), context.get(TaskListener.class), following);
+			proceed(extraction);
+		}
+		catch (Throwable t)
+		{
+			if (extraction != null)
+			{
+				extraction.abandon();
+			}
+			context.onFailure(t);
+		}
+	}
+
+	/**
+	 * Completes the step if the scan is complete, waits for the identical extraction it follows, or launches the CLI runs of
+	 * its extraction.
+	 */
+	private void proceed(CodeCoverageScanner.Extraction extraction)
+	{
+		if (extraction == null)
+		{
+			getContext().onSuccess(null);
+		}
+		else if (extraction.isFollowing())
+		{
+			m_following = extraction;
+			extraction.leaderLanded().whenComplete((landed, failure) -> {
+				if (!m_stopped)
+				{
+					m_task = EXECUTOR.submit(this::follow);
+				}
+			});
+		}
+		else
+		{
+			ArrayList<CliRun> runs = new ArrayList<>();
+			for (int i = 0; i < extraction.getParts().size(); i++)
+			{
+				runs.add(new CliRun(i));
+			}
+
+			synchronized (this)
+			{
+				m_runs = runs;
+				m_extraction = extraction;
+			}
+			launchNext();
+		}
+	}
+
+	/**
+	 * Asks for a host connection slot for the CLI runs not started yet, while fewer than the maximum number of parallel
+	 * extractions are running.
+	 */
+	private void launchNext()
+	{
+		List<CliRun> starting = new ArrayList<>();
+		synchronized (this)
+		{
+			int running = 0;
+			for (CliRun run : m_runs)
+			{
+				if (run.m_started && !part(run).isEnded())
+				{
+					running++;
+				}
+			}
+
+			int maxParallel = m_runs.size() > 1 ? scanner().getMaxParallelExtractions() : 1;
+			for (CliRun run : m_runs)
+			{
+				if (running >= maxParallel)
+				{
+					break;
+				}
+				if (!run.m_started)
+				{
+					run.m_started = true;
+					running++;
+					starting.add(run);
+				}
+			}
+		}
+
+		for (CliRun run : starting)
+		{
+			requestPermit(run);
+		}
+	}
+
+	/**
+	 * Asks for a host connection slot for a CLI run, which is launched once the slot is free.
+	 */
+	private void requestPermit(CliRun run)
+	{
+		try
+		{
+			CompletableFuture<ExtractionThrottle.Permit> permit = scanner().requestPermit(logger(run));
+			run.m_permit = permit;
+			permit.thenRun(() -> EXECUTOR.submit(() -> launch(run)));
+		}
+		catch (Throwable t)
+		{
+			failed(run, t);
+		}
+	}
+
+	/**
+	 * Launches a CLI run as a durable task, or sends it to the agent's CLI daemon, and starts polling it.
+	 */
+	private void launch(CliRun run)
+	{
+		StepContext context = getContext();
+		try
+		{
+			FilePath workspace = context.get(FilePath.class);
+			Launcher launcher = context.get(Launcher.class);
+			TaskListener listener = context.get(TaskListener.class);
+			CodeCoverageScanner.Part part = part(run);
+			PrintStream logger = logger(run);
+			RetryableOutputStream output = new RetryableOutputStream(logger, scanner().getRetryPolicy());
+			EnvVars env = new EnvVars(m_extraction.getEnvironment());
+			synchronized (this)
+			{
+				// a step stopped while this waited for its turn has withdrawn the permit
+				if (m_stopped)
+				{
+					releasePermit(run);
+					return;
+				}
+
+				run.m_output = output;
+				part.markLaunched();
+				if (!m_step.getDaemonCommand().isEmpty())
+				{
+					run.m_daemon = workspace.getChannel().callAsync(scanner().daemonExtraction(part.getArguments(), env, output));
+				}
+				else
+				{
+					String script = script(part.getArguments(), launcher.isUnix(), env);
+					DurableTask task = launcher.isUnix() ? new BourneShellScript(script) : new WindowsBatchScript(script);
+					run.m_controller = task.launch(env, workspace, launcher, listener);
+				}
+			}
+			poll(run, MIN_POLL_MILLIS);
+		}
+		catch (Throwable t)
+		{
+			failed(run, t);
+		}
+	}
+
+	/**
+	 * Schedules the next check of a CLI run.
+	 */
+	private void poll(CliRun run, long delayMillis)
+	{
+		run.m_pollMillis = delayMillis;
+		if (!m_stopped)
+		{
+			Timer.get().schedule(() -> check(run), delayMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Copies the new output of a CLI run to the build log, and goes on once it has ended.
+	 */
+	private void check(CliRun run)
+	{
+		if (m_stopped)
+		{
+			return;
+		}
+
+		StepContext context = getContext();
+		try
+		{
+			FilePath workspace = context.get(FilePath.class);
+			Launcher launcher = context.get(Launcher.class);
+			TaskListener listener = context.get(TaskListener.class);
+			if (workspace == null || workspace.getChannel() == null)
+			{
+				// the agent has not reconnected yet
+				poll(run, MAX_POLL_MILLIS);
+				return;
+			}
+
+			Future<Integer> daemon = run.m_daemon;
+			if (daemon != null)
+			{
+				checkDaemon(run, daemon);
+				return;
+			}
+
+			// the output is checked for retryable failures until a controller restart, which cannot retry anyway
+			Controller controller = run.m_controller;
+			OutputStream output = run.m_output != null ? run.m_output : logger(run);
+			boolean wrote = controller.writeLog(workspace, output);
+			Integer exitValue = controller.exitStatus(workspace, launcher, listener);
+			if (exitValue == null)
+			{
+				stopIfTimedOut(run, workspace, launcher);
+
+				// poll quickly while the CLI is writing, and back off while it waits on the host
+				poll(run, wrote ? MIN_POLL_MILLIS : Math.min(MAX_POLL_MILLIS, run.m_pollMillis * 2));
+				return;
+			}
+
+			controller.writeLog(workspace, output);
+			controller.cleanup(workspace);
+			exited(run, exitValue.intValue());
+		}
+		catch (IOException e)
+		{
+			LOGGER.log(Level.FINE, "Unable to check the Code Coverage CLI; will retry", e); //$NON-NLS-1$
+			poll(run, MAX_POLL_MILLIS);
+		}
+		catch (Throwable t)
+		{
+			failed(run, t);
+		}
+	}
+
+	/**
+	 * Goes on once the CLI daemon has run an extraction. The daemon stops an extraction that runs longer than the step's
+	 * timeout itself.
+	 */
+	private void checkDaemon(CliRun run, Future<Integer> daemon) throws IOException, InterruptedException
+	{
+		if (!daemon.isDone())
+		{
+			poll(run, Math.min(MAX_POLL_MILLIS, run.m_pollMillis * 2));
+			return;
+		}
+
+		int exitValue;
+		try
+		{
+			exitValue = daemon.get().intValue();
+		}
+		catch (ExecutionException e)
+		{
+			run.m_daemon = null;
+			if (!(e.getCause() instanceof ExtractionTimeoutException))
+			{
+				failed(run, e.getCause());
+				return;
+			}
+
+			releasePermit(run);
+			part(run).markTimedOut();
+			ended();
+			return;
+		}
+
+		run.m_daemon = null;
+		exited(run, exitValue);
+	}
+
+	/**
+	 * Records how a CLI run exited, unless it failed in a retryable way and is run again.
+	 */
+	private void exited(CliRun run, int exitValue) throws IOException, InterruptedException
+	{
+		releasePermit(run);
+		if (retry(run, exitValue))
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			run.m_controller = null;
+			part(run).setExitValue(exitValue);
+		}
+		ended();
+	}
+
+	/**
+	 * Launches the next CLI runs, or finishes the scan once every CLI run has ended.
+	 */
+	private void ended()
+	{
+		boolean finishing;
+		synchronized (this)
+		{
+			if (m_finishing)
+			{
+				return;
+			}
+
+			finishing = m_runs.stream().allMatch(run -> part(run).isEnded());
+			m_finishing = finishing;
+		}
+
+		if (finishing)
+		{
+			m_task = EXECUTOR.submit(this::complete);
+		}
+		else
+		{
+			launchNext();
+		}
+	}
+
+	/**
+	 * Records that a CLI run of a fan-out could not be run, so the others go on and the scan fails once they have ended, as
+	 * it does when a CLI run fails; any other CLI run that cannot be run fails the step.
+	 */
+	private void failed(CliRun run, Throwable cause)
+	{
+		releasePermit(run);
+		if (m_extraction.isFanOut() && !m_stopped)
+		{
+			synchronized (this)
+			{
+				run.m_controller = null;
+				part(run).setFailure(cause);
+			}
+			ended();
+			return;
+		}
+
+		try
+		{
+			halt(cause, false);
+		}
+		catch (IOException | InterruptedException e)
+		{
+			LOGGER.log(Level.WARNING, "Unable to stop the Code Coverage CLI", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Schedules a CLI run to be launched again if it failed in a retryable way and retries are left.
+	 * 
+	 * @return <code>true</code> if a retry was scheduled
+	 */
+	private boolean retry(CliRun run, int exitValue) throws IOException, InterruptedException
+	{
+		RetryableOutputStream output = run.m_output;
+		CodeCoverageScanner.Part part = part(run);
+		if (output == null || part.isTimedOut() || part.getArguments() == null)
+		{
+			return false;
+		}
+
+		output.forceEol();
+		PrintStream logger = logger(run);
+		RetryPolicy policy = scanner().getRetryPolicy();
+		if (!policy.shouldRetry(run.m_attempt, exitValue, output.isRetryableOutput()))
+		{
+			if (run.m_attempt > 1)
+			{
+				logger.println("Attempt " + run.m_attempt + " of " + (policy.getMaxRetries() + 1) + " exited with value = " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ exitValue);
+			}
+			return false;
+		}
+
+		long delay = scanner().retryDelay(policy, run.m_attempt, exitValue, logger);
+		synchronized (this)
+		{
+			run.m_attempt++;
+			run.m_controller = null;
+			run.m_output = null;
+		}
+		Timer.get().schedule(() -> {
+			if (!m_stopped)
+			{
+				requestPermit(run);
+			}
+		}, delay, TimeUnit.MILLISECONDS);
+		return true;
+	}
+
+	/**
+	 * Stops a CLI run once it has run longer than the step's timeout. The exit status it leaves is then picked up by the
+	 * next check, and the scan salvages its report.
+	 */
+	private void stopIfTimedOut(CliRun run, FilePath workspace, Launcher launcher) throws IOException, InterruptedException
+	{
+		int timeoutMinutes = m_step.getTimeoutMinutes();
+		CodeCoverageScanner.Part part = part(run);
+		if (timeoutMinutes <= 0 || part.isTimedOut()
+				|| System.currentTimeMillis() - part.getLaunchedMillis() < TimeUnit.MINUTES.toMillis(timeoutMinutes))
+		{
+			return;
+		}
+
+		logger(run).println("Stopping the Code Coverage CLI after " + timeoutMinutes + " minutes"); //$NON-NLS-1$ //$NON-NLS-2$
+		part.markTimedOut();
+		run.m_controller.stop(workspace, launcher);
+	}
+
+	/**
+	 * Finishes the scan after every CLI run has ended.
+	 */
+	private void complete()
+	{
+		StepContext context = getContext();
+		try
+		{
+			Run<?, ?> run = context.get(Run.class);
+			Launcher launcher = context.get(Launcher.class);
+			TaskListener listener = context.get(TaskListener.class);
+			if (launcher == null || launcher.getChannel() == null)
+			{
+				// the agent has not reconnected yet
+				Timer.get().schedule(() -> {
+					m_task = EXECUTOR.submit(this::complete);
+				}, MAX_POLL_MILLIS, TimeUnit.MILLISECONDS);
+				return;
+			}
+
+			scanner().finish(run, launcher.getChannel(), m_extraction, listener);
+			context.onSuccess(null);
+		}
+		catch (Throwable t)
+		{
+			context.onFailure(t);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.jenkinsci.plugins.workflow.steps.StepExecution#stop(java.lang.Throwable)
+	 */
+	@Override
+	public void stop(Throwable cause) throws Exception
+	{
+		Future<?> task = m_task;
+		if (task != null)
+		{
+			// interrupts a scan being prepared or finished
+			task.cancel(true);
+		}
+
+		halt(cause, true);
+	}
+
+	/**
+	 * Fails the step with the given cause, stopping anything it waits for: the identical extraction it follows, host
+	 * connection slots, and the CLI runs still running.
+	 * 
+	 * @param salvage
+	 *            <code>true</code> to keep the programs a stopped CLI run wrote in full, as when the build is aborted
+	 */
+	private void halt(Throwable cause, boolean salvage) throws IOException, InterruptedException
+	{
+		List<CliRun> runs;
+		synchronized (this)
+		{
+			if (m_stopped)
+			{
+				return;
+			}
+
+			m_stopped = true;
+			runs = new ArrayList<>(m_runs);
+		}
+
+		try
+		{
+			boolean stopped = false;
+			for (CliRun run : runs)
+			{
+				releasePermit(run);
+				Future<Integer> daemon = run.m_daemon;
+				if (daemon != null)
+				{
+					// interrupts the call on the agent, which stops the daemon's extraction
+					daemon.cancel(true);
+					stopped = true;
+				}
+			}
+
+			FilePath workspace = getContext().get(FilePath.class);
+			if (workspace != null && workspace.getChannel() != null)
+			{
+				for (CliRun run : runs)
+				{
+					if (run.m_controller != null)
+					{
+						run.m_controller.stop(workspace, getContext().get(Launcher.class));
+						stopped = true;
+					}
+				}
+
+				// keep the programs the CLI wrote in full before it was stopped
+				if (salvage && stopped && m_extraction != null)
+				{
+					scanner().salvageAborted(workspace.getChannel(), m_extraction,
+							getContext().get(TaskListener.class).getLogger());
+				}
+			}
+		}
+		finally
+		{
+			CodeCoverageScanner.Extraction following = m_following;
+			if (following != null)
+			{
+				following.abandon();
+			}
+			if (m_extraction != null)
+			{
+				m_extraction.abandon();
+			}
+			getContext().onFailure(cause);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.jenkinsci.plugins.workflow.steps.StepExecution#onResume()
+	 */
+	@Override
+	public void onResume()
+	{
+		List<CliRun> polled = new ArrayList<>();
+		boolean resumable;
+		synchronized (this)
+		{
+			// the CLI arguments are not saved, so only CLI runs launched as durable tasks can be picked up again
+			resumable = m_extraction != null && !m_runs.isEmpty();
+			for (CliRun run : m_runs)
+			{
+				if (!part(run).isEnded())
+				{
+					resumable &= run.m_controller != null;
+					polled.add(run);
+				}
+			}
+		}
+
+		if (!resumable)
+		{
+			m_task = EXECUTOR.submit(this::restart);
+		}
+		else if (polled.isEmpty())
+		{
+			m_task = EXECUTOR.submit(this::complete);
+		}
+		else
+		{
+			for (CliRun run : polled)
+			{
+				poll(run, MIN_POLL_MILLIS);
+			}
+		}
+	}
+
+	/**
+	 * Prepares the scan again after a controller restart that came before each of its CLI runs was launched as a durable
+	 * task. The CLI runs that were launched are stopped first, once the agent has reconnected.
+	 */
+	private void restart()
+	{
+		if (m_stopped)
+		{
+			return;
+		}
+
+		StepContext context = getContext();
+		try
+		{
+			FilePath workspace = context.get(FilePath.class);
+			if (workspace == null || workspace.getChannel() == null)
+			{
+				// the agent has not reconnected yet
+				Timer.get().schedule(() -> {
+					m_task = EXECUTOR.submit(this::restart);
+				}, MAX_POLL_MILLIS, TimeUnit.MILLISECONDS);
+				return;
+			}
+
+			context.get(TaskListener.class).getLogger().println(
+					"Jenkins restarted before every Code Coverage CLI run was launched; preparing the extraction again"); //$NON-NLS-1$
+			List<CliRun> runs;
+			synchronized (this)
+			{
+				runs = m_runs;
+				m_runs = new ArrayList<>();
+				m_extraction = null;
+			}
+			for (CliRun run : runs)
+			{
+				if (run.m_controller != null)
+				{
+					run.m_controller.stop(workspace, context.get(Launcher.class));
+				}
+			}
+
+			m_scanner = new CodeCoverageScanner(m_step.toBuilder());
+			prepare();
+		}
+		catch (Throwable t)
+		{
+			context.onFailure(t);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.jenkinsci.plugins.workflow.steps.StepExecution#getStatus()
+	 */
+	@Override
+	public synchronized String getStatus()
+	{
+		if (m_following != null)
+		{
+			return "waiting for the identical Code Coverage extraction running for another build"; //$NON-NLS-1$
+		}
+		if (m_extraction == null)
+		{
+			return "preparing the Code Coverage extraction"; //$NON-NLS-1$
+		}
+
+		StringBuilder status = new StringBuilder();
+		for (CliRun run : m_runs)
+		{
+			CodeCoverageScanner.Part part = part(run);
+			if (part.isEnded())
+			{
+				continue;
+			}
+
+			status.append(status.length() > 0 ? "; " : StringUtils.EMPTY).append(part.getPrefix()); //$NON-NLS-1$
+			if (run.m_controller != null)
+			{
+				status.append("waiting for the Code Coverage CLI: ").append(run.m_controller); //$NON-NLS-1$
+			}
+			else if (run.m_daemon != null)
+			{
+				status.append("waiting for the Code Coverage CLI daemon"); //$NON-NLS-1$
+			}
+			else if (run.m_permit != null && !run.m_permit.isDone())
+			{
+				status.append("waiting for a free slot on the host connection"); //$NON-NLS-1$
+			}
+			else if (run.m_started)
+			{
+				status.append("launching the Code Coverage CLI"); //$NON-NLS-1$
+			}
+			else
+			{
+				status.append("waiting for another extraction to end"); //$NON-NLS-1$
+			}
+		}
+
+		return status.length() > 0 ? status.toString() : "finishing the Code Coverage report"; //$NON-NLS-1$
+	}
+
+	/**
+	 * Gets the scanner, which is a new one after a controller restart.
+	 */
+	private synchronized CodeCoverageScanner scanner()
+	{
+		if (m_scanner == null)
+		{
+			m_scanner = new CodeCoverageScanner(m_step.toBuilder());
+		}
+		return m_scanner;
+	}
+
+	private CodeCoverageScanner.Part part(CliRun run)
+	{
+		return m_extraction.getParts().get(run.m_part);
+	}
+
+	/**
+	 * Gets the stream a CLI run logs to. The output of each CLI run of a fan-out is prefixed, so it can be told apart.
+	 */
+	private PrintStream logger(CliRun run) throws IOException, InterruptedException
+	{
+		if (run.m_logger == null)
+		{
+			PrintStream logger = getContext().get(TaskListener.class).getLogger();
+			run.m_logger = m_extraction.isFanOut()
+					? new PrintStream(new CodeCoverageScanner.PrefixedOutputStream(logger, part(run).getPrefix()), true,
+							StandardCharsets.UTF_8.name())
+					: logger;
+		}
+		return run.m_logger;
+	}
+
+	private static void releasePermit(CliRun run)
+	{
+		CompletableFuture<ExtractionThrottle.Permit> permit = run.m_permit;
+		run.m_permit = null;
+		if (permit != null)
+		{
+			ExtractionThrottle.withdraw(permit);
+		}
+	}
+
+	/**
+	 * The state of one CLI run of the extraction, for a {@link CodeCoverageScanner.Part}. Only a CLI run launched as a durable
+	 * task is saved with the Pipeline in a state it can be picked up from again.
+	 */
+	private static final class CliRun implements Serializable
+	{
+		private static final long serialVersionUID = -4417563289140271856L;
+
+		// Member Variables
+		private final int m_part;
+		private boolean m_started;
+		private int m_attempt = 1;
+		private volatile Controller m_controller;
+		private transient volatile CompletableFuture<ExtractionThrottle.Permit> m_permit;
+		private transient volatile Future<Integer> m_daemon;
+		private transient volatile RetryableOutputStream m_output;
+		private transient PrintStream m_logger;
+		private transient long m_pollMillis;
+
+		CliRun(int part)
+		{
+			m_part = part;
+		}
+	}
+
+	/**
+	 * Writes the script that runs the CLI with the given arguments.
+	 * <p>
+	 * Masked arguments, such as the password, are not written to the script, which is saved in the workspace; they are passed
+	 * in environment variables that the script refers to instead.
+	 * 
+	 * @param args
+	 *            the CLI arguments
+	 * @param unix
+	 *            <code>true</code> for a shell script, <code>false</code> for a batch file
+	 * @param env
+	 *            the environment the script runs with; the masked arguments are added to it
+	 * 
+	 * @return the script
+	 */
+	static String script(ArgumentListBuilder args, boolean unix, Map<String, String> env)
+	{
+		List<String> arguments = args.toList();
+		boolean[] masks = args.toMaskArray();
+		StringBuilder script = new StringBuilder(unix ? "#!/bin/sh\n" : "@echo off\r\ncall"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (int i = 0; i < arguments.size(); i++)
+		{
+			String argument = arguments.get(i);
+			if (i > 0 || !unix)
+			{
+				script.append(' ');
+			}
+
+			if (masks[i])
+			{
+				String variable = SECRET_VARIABLE_PREFIX + i;
+				env.put(variable, argument);
+				script.append(unix ? "\"$" + variable + '"' : "\"%" + variable + "%\""); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			else if (unix)
+			{
+				script.append('\'').append(argument.replace("'", "'\\''")).append('\''); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			else
+			{
+				String escaped = argument.replace("%", "%%"); //$NON-NLS-1$ //$NON-NLS-2$
+				boolean quoted = escaped.length() > 1 && escaped.startsWith("\"") && escaped.endsWith("\""); //$NON-NLS-1$ //$NON-NLS-2$
+				boolean needsQuotes = escaped.isEmpty() || escaped.matches(".*[\\s&|<>^,;=()].*"); //$NON-NLS-1$
+				script.append(!quoted && needsQuotes ? '"' + escaped + '"' : escaped);
+			}
+		}
+
+		script.append(unix ? "\n" : "\r\nexit /b %ERRORLEVEL%\r\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		return script.toString();
+	}
+}
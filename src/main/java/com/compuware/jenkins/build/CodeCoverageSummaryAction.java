@@ -0,0 +1,216 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.BitSet;
+import java.util.Locale;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.kohsuke.stapler.AncestorInPath;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerResponse;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+import com.compuware.jenkins.build.utils.CoverageStore;
+import com.compuware.jenkins.build.utils.CoverageSummary;
+
+import hudson.FilePath;
+import hudson.model.Action;
+import hudson.model.Run;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Attaches the per-program line counts of an extracted Code Coverage report to a build.
+ * <p>
+ * The line-level coverage of the build is kept in a {@link CoverageStore} in the build directory and served from
+ * <code>codeCoverage/program?path=...</code> as JSON.
+ */
+public class CodeCoverageSummaryAction implements Action
+{
+	// Member Variables
+	private final CoverageSummary m_summary;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param summary
+	 *            the summary of the extracted report
+	 */
+	public CodeCoverageSummaryAction(CoverageSummary summary)
+	{
+		m_summary = summary;
+	}
+
+	/**
+	 * Gets the summary of the extracted report.
+	 *
+	 * @return <code>CoverageSummary</code> value of m_summary
+	 */
+	public CoverageSummary getSummary()
+	{
+		return m_summary;
+	}
+
+	/**
+	 * Gets the line coverage percentage formatted for display.
+	 *
+	 * @return the formatted percentage
+	 */
+	public String getPercentage()
+	{
+		return String.format(Locale.ROOT, "%.1f", m_summary.getPercentage()); //$NON-NLS-1$
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getIconFileName()
+	 */
+	@Override
+	public String getIconFileName()
+	{
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getDisplayName()
+	 */
+	@Override
+	public String getDisplayName()
+	{
+		return Messages.summaryActionDisplayName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getUrlName()
+	 */
+	@Override
+	public String getUrlName()
+	{
+		return "codeCoverage"; //$NON-NLS-1$
+	}
+
+	/**
+	 * Serves the line coverage of one program of the build as JSON.
+	 *
+	 * @param run
+	 *            the build the action is attached to
+	 * @param path
+	 *            the source path of the program, as written in the report
+	 * @param rsp
+	 *            the response
+	 *
+	 * @throws IOException
+	 *             if the store cannot be read or the response cannot be written
+	 */
+	public void doProgram(@AncestorInPath Run<?, ?> run, @QueryParameter String path, StaplerResponse rsp) throws IOException
+	{
+		try (CoverageStore store = openStore(run))
+		{
+			int program = store != null && path != null ? store.indexOf(path) : -1;
+			if (program < 0)
+			{
+				rsp.sendError(HttpServletResponse.SC_NOT_FOUND);
+				return;
+			}
+
+			BitSet lines = store.getLines(program);
+			BitSet covered = store.getCoveredLines(program);
+			lines.andNot(covered);
+
+			JSONObject json = new JSONObject();
+			json.put("path", path); //$NON-NLS-1$
+			json.put("totalLines", store.getLineCount(program)); //$NON-NLS-1$
+			json.put("coveredLines", store.getCoveredCount(program)); //$NON-NLS-1$
+			json.put("branchesToCover", store.getBranchesToCover(program)); //$NON-NLS-1$
+			json.put("coveredBranches", store.getCoveredBranches(program)); //$NON-NLS-1$
+			json.put("covered", toJson(covered)); //$NON-NLS-1$
+			json.put("uncovered", toJson(lines)); //$NON-NLS-1$
+
+			rsp.setContentType("application/json;charset=UTF-8"); //$NON-NLS-1$
+			rsp.getWriter().print(json);
+		}
+	}
+
+	private static JSONArray toJson(BitSet lines)
+	{
+		JSONArray json = new JSONArray();
+		for (int line = lines.nextSetBit(0); line >= 0; line = lines.nextSetBit(line + 1))
+		{
+			json.add(line);
+		}
+
+		return json;
+	}
+
+	/**
+	 * Opens the coverage store kept for a build.
+	 * <p>
+	 * The store is read onto the heap rather than mapped, so a later step can replace it and the build can be deleted on
+	 * every platform.
+	 *
+	 * @param run
+	 *            the build
+	 *
+	 * @return the <code>CoverageStore</code> of the build, or <code>null</code> if the build has none
+	 *
+	 * @throws IOException
+	 *             if the store cannot be opened
+	 */
+	public static CoverageStore openStore(Run<?, ?> run) throws IOException
+	{
+		File file = new File(run.getRootDir(), CodeCoverageConstants.COVERAGE_STORE_FILE_NAME);
+		return file.isFile() ? CoverageStore.read(file) : null;
+	}
+
+	/**
+	 * Moves the coverage store written next to a report by {@link CoverageSummaryReader} into the build directory, replacing
+	 * the store of an earlier report of the same build.
+	 *
+	 * @param run
+	 *            the build
+	 * @param report
+	 *            the report the store was written for
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 *
+	 * @throws InterruptedException
+	 *             if the user cancels the build
+	 */
+	static void keepStore(Run<?, ?> run, FilePath report, PrintStream logger) throws InterruptedException
+	{
+		FilePath store = report.sibling(CodeCoverageConstants.COVERAGE_STORE_FILE_NAME);
+		try
+		{
+			if (store.exists())
+			{
+				store.copyTo(new FilePath(new File(run.getRootDir(), CodeCoverageConstants.COVERAGE_STORE_FILE_NAME)));
+				store.delete();
+			}
+		}
+		catch (IOException e)
+		{
+			logger.println("An IOException occurred while keeping the coverage store: " + e.toString()); //$NON-NLS-1$
+		}
+	}
+}
@@ -0,0 +1,252 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+import com.compuware.jenkins.build.utils.TestImpactIndex;
+
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.scm.ChangeLogSet;
+import jenkins.scm.RunWithSCM;
+
+/**
+ * A Pipeline step that returns the smallest set of test IDs (<code>cc.test</code>) found to cover a change set, read from the
+ * test impact index kept by the Code Coverage scans of the job.
+ * <p>
+ * The change set is given as source paths with optional line ranges; by default it is the files changed by the build's
+ * change sets. Changes no indexed test covered are logged, as the selected tests do not exercise them; with 'Run all if
+ * uncovered' every indexed test ID is returned instead.
+ */
+public class CodeCoverageTestSelectionStep extends Step implements Serializable
+{
+	private static final long serialVersionUID = 3402671953508427154L;
+
+	// Member Variables
+	private String m_changes = StringUtils.EMPTY;
+	private boolean m_runAllIfUncovered;
+
+	/**
+	 * Constructor.
+	 */
+	@DataBoundConstructor
+	public CodeCoverageTestSelectionStep()
+	{
+	}
+
+	/**
+	 * Gets the value of the 'Changes'.
+	 * 
+	 * @return <code>String</code> value of m_changes
+	 */
+	public String getChanges()
+	{
+		return m_changes != null ? m_changes : StringUtils.EMPTY;
+	}
+
+	/**
+	 * Sets the value of the 'Changes'.
+	 * 
+	 * @param changes
+	 *            the changed source paths, each optionally followed by <code>:</code> and line ranges; blank for the files
+	 *            changed by the build's change sets
+	 */
+	@DataBoundSetter
+	public void setChanges(String changes)
+	{
+		m_changes = StringUtils.trimToEmpty(changes);
+	}
+
+	/**
+	 * Gets the value of the 'Run all if uncovered'.
+	 * 
+	 * @return <code>boolean</code> value of m_runAllIfUncovered
+	 */
+	public boolean isRunAllIfUncovered()
+	{
+		return m_runAllIfUncovered;
+	}
+
+	/**
+	 * Sets the value of the 'Run all if uncovered'.
+	 * 
+	 * @param runAllIfUncovered
+	 *            whether to return every indexed test ID when a change is not covered by any of them
+	 */
+	@DataBoundSetter
+	public void setRunAllIfUncovered(boolean runAllIfUncovered)
+	{
+		m_runAllIfUncovered = runAllIfUncovered;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.jenkinsci.plugins.workflow.steps.Step#start(org.jenkinsci.plugins.workflow.steps.StepContext)
+	 */
+	@Override
+	public StepExecution start(StepContext context) throws Exception
+	{
+		return new Execution(getChanges(), m_runAllIfUncovered, context);
+	}
+
+	/**
+	 * Selects the tests on a background thread. The index is memory-mapped, so the query reads only the programs changed.
+	 */
+	private static final class Execution extends SynchronousNonBlockingStepExecution<List<String>>
+	{
+		private static final long serialVersionUID = -1856040457120340725L;
+
+		// Member Variables
+		private final String m_changes;
+		private final boolean m_runAllIfUncovered;
+
+		Execution(String changes, boolean runAllIfUncovered, StepContext context)
+		{
+			super(context);
+			m_changes = changes;
+			m_runAllIfUncovered = runAllIfUncovered;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution#run()
+		 */
+		@Override
+		protected List<String> run() throws Exception
+		{
+			Run<?, ?> run = getContext().get(Run.class);
+			PrintStream logger = getContext().get(TaskListener.class).getLogger();
+
+			File indexFile = new File(run.getParent().getRootDir(), CodeCoverageConstants.TEST_INDEX_FILE_NAME);
+			if (!indexFile.isFile())
+			{
+				logger.println("No tests selected: no Code Coverage scan of this job has indexed the coverage of a test ID"); //$NON-NLS-1$
+				return new ArrayList<>();
+			}
+
+			Map<String, BitSet> changes = m_changes.isEmpty() ? changedFiles(run) : TestImpactIndex.parseChanges(m_changes);
+			try (TestImpactIndex index = TestImpactIndex.open(indexFile))
+			{
+				TestImpactIndex.Selection selection = index.select(changes);
+				List<String> tests = new ArrayList<>(selection.getTests());
+				logger.println("Selected " + tests.size() + " of " + index.getTestCount() + " test IDs covering " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ changes.size() + " changed files: " + tests); //$NON-NLS-1$
+				if (selection.isComplete())
+				{
+					return tests;
+				}
+
+				// an empty or short selection must not be read as no other test being needed
+				logger.println("No indexed test covers these changes: " //$NON-NLS-1$
+						+ TestImpactIndex.formatChanges(selection.getUncovered()));
+				if (m_runAllIfUncovered)
+				{
+					tests.clear();
+					for (int test = 0; test < index.getTestCount(); test++)
+					{
+						tests.add(index.getTestId(test));
+					}
+					logger.println("Selected all " + tests.size() + " indexed test IDs, as some changes are not covered"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				return tests;
+			}
+		}
+
+		/**
+		 * Gets the files changed by the change sets of a build, each standing for its whole program.
+		 */
+		private static Map<String, BitSet> changedFiles(Run<?, ?> run)
+		{
+			Map<String, BitSet> changes = new LinkedHashMap<>();
+			if (run instanceof RunWithSCM)
+			{
+				for (ChangeLogSet<? extends ChangeLogSet.Entry> changeSet : ((RunWithSCM<?, ?>) run).getChangeSets())
+				{
+					for (ChangeLogSet.Entry entry : changeSet)
+					{
+						for (ChangeLogSet.AffectedFile file : entry.getAffectedFiles())
+						{
+							changes.put(file.getPath(), null);
+						}
+					}
+				}
+			}
+
+			return changes;
+		}
+	}
+
+	/**
+	 * DescriptorImpl is used to create instances of <code>CodeCoverageTestSelectionStep</code>.
+	 */
+	@Extension
+	public static final class CodeCoverageTestSelectionStepDescriptorImpl extends StepDescriptor
+	{
+		/*
+		 * (non-Javadoc)
+		 * @see org.jenkinsci.plugins.workflow.steps.StepDescriptor#getFunctionName()
+		 */
+		@Override
+		public String getFunctionName()
+		{
+			return "selectCodeCoverageTests"; //$NON-NLS-1$
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see hudson.model.Descriptor#getDisplayName()
+		 */
+		@Override
+		public String getDisplayName()
+		{
+			return Messages.testSelectionStepDisplayName();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.jenkinsci.plugins.workflow.steps.StepDescriptor#getRequiredContext()
+		 */
+		@Override
+		public Set<? extends Class<?>> getRequiredContext()
+		{
+			return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(Run.class, TaskListener.class)));
+		}
+	}
+}
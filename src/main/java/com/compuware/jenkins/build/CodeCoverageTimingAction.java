@@ -0,0 +1,231 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.compuware.jenkins.build.utils.CoverageSummary;
+import com.compuware.jenkins.build.utils.PhaseTimer;
+
+import hudson.model.Action;
+import hudson.model.Run;
+import org.kohsuke.stapler.export.Exported;
+import org.kohsuke.stapler.export.ExportedBean;
+
+/**
+ * Attaches the time spent in each phase of a Code Coverage scan, and the size of the extracted report, to a build.
+ * <p>
+ * The values are shown on the build page and exported through the remote API, for example
+ * <code>.../api/json?tree=actions[phases[name,millis],reportSize,lineCount,programCount]</code>. A build with several
+ * Code Coverage scans has a single action, holding the time of each phase added up over the scans and the report of the
+ * last scan that read one.
+ */
+@ExportedBean
+public class CodeCoverageTimingAction implements Action
+{
+	// Constants
+	private static final Object LOCK = new Object();
+
+	// Member Variables
+	private final String[] m_phaseNames;
+	private final long[] m_phaseNanos;
+	private final long m_reportSize;
+	private final long m_lineCount;
+	private final int m_programCount;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param timer
+	 *            the phase times of the scan
+	 * @param summary
+	 *            the summary of the extracted report; <code>null</code> if no report was read
+	 */
+	public CodeCoverageTimingAction(PhaseTimer timer, CoverageSummary summary)
+	{
+		m_phaseNames = timer.getNames();
+		m_phaseNanos = timer.getNanos();
+		m_reportSize = summary != null ? summary.getReportSize() : -1;
+		m_lineCount = summary != null ? summary.getTotalLines() : -1;
+		m_programCount = summary != null ? summary.getProgramCount() : -1;
+	}
+
+	private CodeCoverageTimingAction(PhaseTimer timer, CodeCoverageTimingAction report)
+	{
+		m_phaseNames = timer.getNames();
+		m_phaseNanos = timer.getNanos();
+		m_reportSize = report.m_reportSize;
+		m_lineCount = report.m_lineCount;
+		m_programCount = report.m_programCount;
+	}
+
+	/**
+	 * Attaches the phase times of a scan to a build, adding them to those of the build's earlier scans.
+	 *
+	 * @param run
+	 *            the build
+	 * @param timer
+	 *            the phase times of the scan
+	 * @param summary
+	 *            the summary of the extracted report; <code>null</code> if no report was read
+	 */
+	static void record(Run<?, ?> run, PhaseTimer timer, CoverageSummary summary)
+	{
+		CodeCoverageTimingAction action = new CodeCoverageTimingAction(timer, summary);
+
+		// scans running in parallel branches of a pipeline may record at the same time
+		synchronized (LOCK)
+		{
+			CodeCoverageTimingAction earlier = run.getAction(CodeCoverageTimingAction.class);
+			if (earlier != null)
+			{
+				PhaseTimer total = new PhaseTimer();
+				for (int i = 0; i < earlier.m_phaseNames.length; i++)
+				{
+					total.add(earlier.m_phaseNames[i], earlier.m_phaseNanos[i]);
+				}
+				for (int i = 0; i < action.m_phaseNames.length; i++)
+				{
+					total.add(action.m_phaseNames[i], action.m_phaseNanos[i]);
+				}
+				action = new CodeCoverageTimingAction(total, summary != null ? action : earlier);
+			}
+
+			run.replaceAction(action);
+		}
+	}
+
+	/**
+	 * Gets the phases of the scan.
+	 *
+	 * @return the phases, in the order they were first entered
+	 */
+	@Exported(inline = true)
+	public List<Phase> getPhases()
+	{
+		List<Phase> phases = new ArrayList<>(m_phaseNames.length);
+		for (int i = 0; i < m_phaseNames.length; i++)
+		{
+			phases.add(new Phase(m_phaseNames[i], m_phaseNanos[i]));
+		}
+
+		return phases;
+	}
+
+	/**
+	 * Gets the size of the extracted <code>CodeCoverage.xml</code>.
+	 *
+	 * @return the size in bytes, or -1 if no report was read
+	 */
+	@Exported
+	public long getReportSize()
+	{
+		return m_reportSize;
+	}
+
+	/**
+	 * Gets the number of lines to cover in the extracted report.
+	 *
+	 * @return the line count, or -1 if no report was read
+	 */
+	@Exported
+	public long getLineCount()
+	{
+		return m_lineCount;
+	}
+
+	/**
+	 * Gets the number of programs in the extracted report.
+	 *
+	 * @return the program count, or -1 if no report was read
+	 */
+	@Exported
+	public int getProgramCount()
+	{
+		return m_programCount;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getIconFileName()
+	 */
+	@Override
+	public String getIconFileName()
+	{
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getDisplayName()
+	 */
+	@Override
+	public String getDisplayName()
+	{
+		return Messages.timingActionDisplayName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getUrlName()
+	 */
+	@Override
+	public String getUrlName()
+	{
+		return null;
+	}
+
+	/**
+	 * The elapsed time of one phase.
+	 */
+	@ExportedBean(defaultVisibility = 2)
+	public static final class Phase
+	{
+		private final String m_name;
+		private final long m_nanos;
+
+		Phase(String name, long nanos)
+		{
+			m_name = name;
+			m_nanos = nanos;
+		}
+
+		/**
+		 * Gets the phase name.
+		 *
+		 * @return <code>String</code> value of m_name
+		 */
+		@Exported
+		public String getName()
+		{
+			return m_name;
+		}
+
+		/**
+		 * Gets the elapsed time of the phase.
+		 *
+		 * @return the elapsed time in milliseconds
+		 */
+		@Exported
+		public long getMillis()
+		{
+			return TimeUnit.NANOSECONDS.toMillis(m_nanos);
+		}
+	}
+}
@@ -0,0 +1,243 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+import com.compuware.jenkins.build.utils.CoverageSummary;
+import com.compuware.jenkins.build.utils.CoverageTrendIndex;
+
+import hudson.Extension;
+import hudson.model.Action;
+import hudson.model.Job;
+import hudson.model.Run;
+import jenkins.model.TransientActionFactory;
+
+/**
+ * Shows the line coverage trend of a job on its page.
+ * <p>
+ * The trend is drawn from the job's {@link CoverageTrendIndex}, which gets one small record per build when its coverage is
+ * summarized. No build or report is loaded, and long histories are sampled, so the page costs the same however many
+ * builds the job has.
+ */
+public class CodeCoverageTrendAction implements Action
+{
+	// Constants (the size of the graph in floatingBox.jelly)
+	static final int GRAPH_WIDTH = 500;
+	static final int GRAPH_HEIGHT = 200;
+
+	private static final Logger LOGGER = Logger.getLogger(CodeCoverageTrendAction.class.getName());
+
+	// Member Variables
+	private final Job<?, ?> m_job;
+	private List<CoverageTrendIndex.Entry> m_points;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param job
+	 *            the job whose trend is shown
+	 */
+	public CodeCoverageTrendAction(Job<?, ?> job)
+	{
+		m_job = job;
+	}
+
+	/**
+	 * Gets the job whose trend is shown.
+	 *
+	 * @return <code>Job</code> value of m_job
+	 */
+	public Job<?, ?> getJob()
+	{
+		return m_job;
+	}
+
+	/**
+	 * Gets the builds drawn in the trend, read from the index the first time they are needed.
+	 *
+	 * @return the sampled builds, sorted by build number
+	 */
+	public synchronized List<CoverageTrendIndex.Entry> getPoints()
+	{
+		if (m_points == null)
+		{
+			try
+			{
+				m_points = CoverageTrendIndex.read(getIndexFile(m_job), CodeCoverageConstants.TREND_MAX_POINTS);
+			}
+			catch (IOException e)
+			{
+				LOGGER.log(Level.WARNING, "Unable to read the coverage trend of " + m_job.getFullName(), e); //$NON-NLS-1$
+				m_points = Collections.emptyList();
+			}
+		}
+
+		return m_points;
+	}
+
+	/**
+	 * Gets the points of the trend line in the coordinates of the graph, with builds along the x axis and the 0 to 100
+	 * percentage along the y axis.
+	 *
+	 * @return the value of the <code>points</code> attribute of an SVG <code>polyline</code>
+	 */
+	public String getPolyline()
+	{
+		List<CoverageTrendIndex.Entry> points = getPoints();
+		if (points.isEmpty())
+		{
+			return ""; //$NON-NLS-1$
+		}
+
+		int first = points.get(0).getBuildNumber();
+		int span = Math.max(1, points.get(points.size() - 1).getBuildNumber() - first);
+		StringBuilder polyline = new StringBuilder();
+		for (CoverageTrendIndex.Entry point : points)
+		{
+			if (polyline.length() > 0)
+			{
+				polyline.append(' ');
+			}
+
+			double x = (point.getBuildNumber() - first) * (double) GRAPH_WIDTH / span;
+			double y = GRAPH_HEIGHT - point.getPercentage() * GRAPH_HEIGHT / 100;
+			polyline.append(String.format(Locale.ROOT, "%.1f,%.1f", x, y)); //$NON-NLS-1$
+		}
+
+		return polyline.toString();
+	}
+
+	/**
+	 * Gets the line coverage percentage of the last build in the trend, formatted for display.
+	 *
+	 * @return the formatted percentage
+	 */
+	public String getLastPercentage()
+	{
+		List<CoverageTrendIndex.Entry> points = getPoints();
+		return points.isEmpty() ? "" //$NON-NLS-1$
+				: String.format(Locale.ROOT, "%.1f", points.get(points.size() - 1).getPercentage()); //$NON-NLS-1$
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getIconFileName()
+	 */
+	@Override
+	public String getIconFileName()
+	{
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getDisplayName()
+	 */
+	@Override
+	public String getDisplayName()
+	{
+		return Messages.trendActionDisplayName();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.model.Action#getUrlName()
+	 */
+	@Override
+	public String getUrlName()
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the trend index file of a job.
+	 *
+	 * @param job
+	 *            the job
+	 *
+	 * @return the index file, which may not exist yet
+	 */
+	public static File getIndexFile(Job<?, ?> job)
+	{
+		return new File(job.getRootDir(), CodeCoverageConstants.TREND_INDEX_FILE_NAME);
+	}
+
+	/**
+	 * Adds the coverage summary of a build to its job's trend.
+	 * <p>
+	 * The coverage has already been extracted at this point, so an index that cannot be written is logged rather than
+	 * failing the build.
+	 *
+	 * @param run
+	 *            the build
+	 * @param summary
+	 *            the summary of the build's report
+	 * @param logger
+	 *            the <code>PrintStream</code> to use for capturing log statements
+	 */
+	static void record(Run<?, ?> run, CoverageSummary summary, PrintStream logger)
+	{
+		try
+		{
+			CoverageTrendIndex.append(getIndexFile(run.getParent()),
+					new CoverageTrendIndex.Entry(run.getNumber(), run.getTimeInMillis(), summary.getTotalLines(),
+							summary.getCoveredLines(), summary.getProgramCount(), summary.isPartial()));
+		}
+		catch (IOException e)
+		{
+			logger.println("An IOException occurred while recording the coverage trend: " + e.toString()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Adds a {@link CodeCoverageTrendAction} to every job that has recorded coverage.
+	 */
+	@Extension
+	public static class Factory extends TransientActionFactory<Job>
+	{
+		/*
+		 * (non-Javadoc)
+		 * @see jenkins.model.TransientActionFactory#type()
+		 */
+		@Override
+		public Class<Job> type()
+		{
+			return Job.class;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see jenkins.model.TransientActionFactory#createFor(java.lang.Object)
+		 */
+		@Override
+		public Collection<? extends Action> createFor(Job target)
+		{
+			return getIndexFile(target).isFile() ? Collections.singleton(new CodeCoverageTrendAction(target))
+					: Collections.<Action> emptySet();
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import hudson.FilePath;
+import hudson.model.Computer;
+import hudson.model.InvisibleAction;
+import hudson.model.Run;
+
+/**
+ * Records the workspace <code>CodeCoverage.xml</code> reports a build has finished, so a later coverage step of the same
+ * build can tell its reports from those left by earlier builds.
+ * <p>
+ * A report is identified by the node and the remote path it was written to, so the check does not depend on the clocks of
+ * the controller and the agent agreeing.
+ */
+public class CodeCoverageWorkspaceReports extends InvisibleAction
+{
+	// Constants
+	private static final Object LOCK = new Object();
+
+	// Member Variables
+	private final Set<String> m_reports = new HashSet<>();
+
+	/**
+	 * Records that the given build wrote the given report.
+	 *
+	 * @param run
+	 *            the build
+	 * @param report
+	 *            the report
+	 */
+	static void add(Run<?, ?> run, FilePath report)
+	{
+		synchronized (LOCK)
+		{
+			CodeCoverageWorkspaceReports reports = run.getAction(CodeCoverageWorkspaceReports.class);
+			if (reports == null)
+			{
+				reports = new CodeCoverageWorkspaceReports();
+				run.addAction(reports);
+			}
+			reports.m_reports.add(id(report));
+		}
+	}
+
+	/**
+	 * Gets whether the given build wrote the given report.
+	 *
+	 * @param run
+	 *            the build
+	 * @param report
+	 *            the report
+	 *
+	 * @return <code>true</code> if the report was recorded for the build
+	 */
+	static boolean contains(Run<?, ?> run, FilePath report)
+	{
+		synchronized (LOCK)
+		{
+			CodeCoverageWorkspaceReports reports = run.getAction(CodeCoverageWorkspaceReports.class);
+			return reports != null && reports.m_reports.contains(id(report));
+		}
+	}
+
+	private static String id(FilePath report)
+	{
+		Computer computer = report.toComputer();
+		return (computer != null ? computer.getName() : "") + ':' + report.getRemote(); //$NON-NLS-1$
+	}
+}
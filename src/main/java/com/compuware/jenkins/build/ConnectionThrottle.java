@@ -0,0 +1,128 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import org.apache.commons.lang.StringUtils;
+import org.kohsuke.stapler.AncestorInPath;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import com.compuware.jenkins.build.CodeCoverageBuilder.CodeCoverageDescriptorImpl;
+
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import jenkins.model.Jenkins;
+
+/**
+ * The maximum number of Code Coverage extractions that may run at the same time against one host connection, across all
+ * builds on the controller.
+ */
+public class ConnectionThrottle extends AbstractDescribableImpl<ConnectionThrottle>
+{
+	// Member Variables
+	private final String m_connectionId;
+	private final int m_maxConcurrentExtractions;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param connectionId
+	 *            a unique host connection identifier
+	 * @param maxConcurrentExtractions
+	 *            the maximum number of extractions at the same time
+	 */
+	@DataBoundConstructor
+	public ConnectionThrottle(String connectionId, int maxConcurrentExtractions)
+	{
+		m_connectionId = StringUtils.trimToEmpty(connectionId);
+		m_maxConcurrentExtractions = maxConcurrentExtractions;
+	}
+
+	/**
+	 * Gets the unique identifier of the 'Host connection'.
+	 * 
+	 * @return <code>String</code> value of m_connectionId
+	 */
+	public String getConnectionId()
+	{
+		return m_connectionId;
+	}
+
+	/**
+	 * Gets the value of the 'Maximum concurrent extractions'.
+	 * 
+	 * @return <code>int</code> value of m_maxConcurrentExtractions
+	 */
+	public int getMaxConcurrentExtractions()
+	{
+		return m_maxConcurrentExtractions;
+	}
+
+	/**
+	 * DescriptorImpl is used to create instances of <code>ConnectionThrottle</code>.
+	 */
+	@Extension
+	public static final class ConnectionThrottleDescriptorImpl extends Descriptor<ConnectionThrottle>
+	{
+		/*
+		 * (non-Javadoc)
+		 * @see hudson.model.Descriptor#getDisplayName()
+		 */
+		@Override
+		public String getDisplayName()
+		{
+			return Messages.connectionThrottleDisplayName();
+		}
+
+		/**
+		 * Validator for the 'Maximum concurrent extractions' field.
+		 * 
+		 * @param maxConcurrentExtractions
+		 *            the value passed from the config.jelly "maxConcurrentExtractions" field
+		 * 
+		 * @return validation message
+		 */
+		public FormValidation doCheckMaxConcurrentExtractions(@QueryParameter int maxConcurrentExtractions)
+		{
+			if (maxConcurrentExtractions < 1)
+			{
+				return FormValidation.error(Messages.checkMaxConcurrentExtractionsError());
+			}
+
+			return FormValidation.ok();
+		}
+
+		/**
+		 * Fills in the Host Connection selection box with the same connections offered by the build step.
+		 * 
+		 * @param context
+		 *            filter for host connections
+		 * @param connectionId
+		 *            an existing host connection identifier; can be null
+		 * 
+		 * @return host connection selections
+		 */
+		public ListBoxModel doFillConnectionIdItems(@AncestorInPath Jenkins context, @QueryParameter String connectionId)
+		{
+			CodeCoverageDescriptorImpl builderDescriptor = Jenkins.get().getDescriptorByType(CodeCoverageDescriptorImpl.class);
+			return builderDescriptor.doFillConnectionIdItems(context, connectionId, null);
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import com.compuware.jenkins.build.utils.CoverageStore;
+import com.compuware.jenkins.build.utils.CoverageStoreWriter;
+import com.compuware.jenkins.build.utils.CoverageSummary;
+import com.compuware.jenkins.build.utils.CoverageXmlReader;
+import com.compuware.jenkins.build.utils.ProgramCoverage;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Summarizes a <code>CodeCoverage.xml</code> report on the node where it was written.
+ * <p>
+ * The report is streamed with a pull parser, so only the per-program line counts are held in memory and sent back. The
+ * same pass can also write a {@link CoverageStore} next to the report.
+ */
+public class CoverageSummaryReader extends MasterToSlaveFileCallable<CoverageSummary>
+{
+	private static final long serialVersionUID = -3059307957216916371L;
+
+	// Member Variables
+	private final String m_storeName;
+
+	/**
+	 * Constructor for a reader that only summarizes the report.
+	 */
+	public CoverageSummaryReader()
+	{
+		this(null);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param storeName
+	 *            the file name of the <code>CoverageStore</code> to write in the report's directory; <code>null</code> to
+	 *            write none
+	 */
+	public CoverageSummaryReader(String storeName)
+	{
+		m_storeName = storeName;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+	 */
+	@Override
+	public CoverageSummary invoke(File report, VirtualChannel channel) throws IOException
+	{
+		if (!report.isFile())
+		{
+			return null;
+		}
+
+		CoverageSummary summary = new CoverageSummary();
+		ProgramCoverage program = new ProgramCoverage();
+		CoverageStoreWriter store = m_storeName != null
+				? new CoverageStoreWriter(new File(report.getAbsoluteFile().getParentFile(), m_storeName)) : null;
+		try (CoverageXmlReader reader = new CoverageXmlReader(new FileInputStream(report)))
+		{
+			while (reader.next(program))
+			{
+				summary.add(program.getProgramName(), program.getCoveredCount(), program.getLineCount());
+				if (store != null)
+				{
+					store.add(program);
+				}
+			}
+
+			if (store != null)
+			{
+				store.close();
+				store = null;
+			}
+		}
+		finally
+		{
+			// a report that cannot be read leaves no store behind
+			if (store != null)
+			{
+				store.abandon();
+			}
+		}
+
+		summary.trim();
+		summary.setReportSize(report.length());
+		return summary;
+	}
+}
@@ -0,0 +1,38 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import hudson.AbortException;
+
+/**
+ * Signals that the CLI of an extraction did not finish within the configured timeout and was stopped.
+ */
+public class ExtractionTimeoutException extends AbortException
+{
+	private static final long serialVersionUID = -3047160419371127561L;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param timeoutMinutes
+	 *            the timeout that elapsed, in minutes
+	 */
+	public ExtractionTimeoutException(int timeoutMinutes)
+	{
+		super("The Code Coverage extraction did not finish within " + timeoutMinutes + " minutes and was stopped"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
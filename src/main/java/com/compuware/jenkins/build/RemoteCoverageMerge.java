@@ -0,0 +1,117 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.compuware.jenkins.build.utils.CoverageReportMerger;
+
+import hudson.AbortException;
+import hudson.Util;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Merges several <code>CodeCoverage.xml</code> reports into one on the node where they were written.
+ * <p>
+ * Inputs are Ant-style patterns, so a plain relative path names a single report. Reports that do not exist are skipped
+ * unless every input is required, and the output is never read as an input unless it is named by a plain path.
+ */
+public class RemoteCoverageMerge extends MasterToSlaveFileCallable<Integer>
+{
+	private static final long serialVersionUID = 6360880939813946458L;
+
+	// Member Variables
+	private final ArrayList<String> m_inputs;
+	private final String m_output;
+	private final boolean m_required;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param inputs
+	 *            the paths or Ant-style patterns of the reports to merge, relative to the directory acted on
+	 * @param output
+	 *            the path of the merged report, relative to the directory acted on
+	 */
+	public RemoteCoverageMerge(List<String> inputs, String output)
+	{
+		this(inputs, output, false);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param inputs
+	 *            the paths or Ant-style patterns of the reports to merge, relative to the directory acted on
+	 * @param output
+	 *            the path of the merged report, relative to the directory acted on
+	 * @param required
+	 *            whether the merge fails with an <code>AbortException</code> if an input matches no report, rather than
+	 *            skipping it
+	 */
+	public RemoteCoverageMerge(List<String> inputs, String output, boolean required)
+	{
+		m_inputs = new ArrayList<>(inputs);
+		m_output = output;
+		m_required = required;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+	 */
+	@Override
+	public Integer invoke(File dir, VirtualChannel channel) throws IOException
+	{
+		File output = new File(dir, m_output);
+		Set<File> inputs = new LinkedHashSet<>();
+		List<String> missing = new ArrayList<>();
+		for (String input : m_inputs)
+		{
+			File file = new File(dir, input);
+			if (file.isFile())
+			{
+				inputs.add(file);
+				continue;
+			}
+
+			String[] matches = dir.isDirectory()
+					? Util.createFileSet(dir, input, m_output).getDirectoryScanner().getIncludedFiles() : new String[0];
+			for (String match : matches)
+			{
+				inputs.add(new File(dir, match));
+			}
+			if (matches.length == 0)
+			{
+				missing.add(input);
+			}
+		}
+
+		if (m_required && !missing.isEmpty())
+		{
+			throw new AbortException("Missing coverage reports to merge: " + missing); //$NON-NLS-1$
+		}
+
+		return CoverageReportMerger.merge(new ArrayList<>(inputs), output);
+	}
+}
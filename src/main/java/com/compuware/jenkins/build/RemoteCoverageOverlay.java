@@ -0,0 +1,84 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.compuware.jenkins.build.utils.CoverageReportMerger;
+import com.compuware.jenkins.build.utils.CoverageXmlWriter;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Overlays the <code>CodeCoverage.xml</code> report of an incremental extraction on a baseline report, on the node where they
+ * were written.
+ * <p>
+ * Programs in the report replace those with the same source path in the baseline, and the other programs of the baseline are
+ * copied forward unless they were deleted. A missing report is taken as empty, so the baseline alone is copied forward.
+ */
+public class RemoteCoverageOverlay extends MasterToSlaveFileCallable<Integer>
+{
+	private static final long serialVersionUID = -3894920125514906171L;
+
+	// Member Variables
+	private final String m_report;
+	private final String m_baseline;
+	private final HashSet<String> m_droppedPrograms;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param report
+	 *            the path of the report, relative to the directory acted on; it is replaced by the overlaid report
+	 * @param baseline
+	 *            the path of the baseline report, relative to the directory acted on
+	 * @param droppedPrograms
+	 *            the workspace-relative source paths of baseline programs to leave out
+	 */
+	public RemoteCoverageOverlay(String report, String baseline, Set<String> droppedPrograms)
+	{
+		m_report = report;
+		m_baseline = baseline;
+		m_droppedPrograms = new HashSet<>(droppedPrograms);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+	 */
+	@Override
+	public Integer invoke(File dir, VirtualChannel channel) throws IOException
+	{
+		File report = new File(dir, m_report);
+		if (!report.isFile())
+		{
+			File parent = report.getParentFile();
+			if (!parent.isDirectory() && !parent.mkdirs())
+			{
+				throw new IOException("Unable to create directory " + parent); //$NON-NLS-1$
+			}
+			new CoverageXmlWriter(new FileOutputStream(report)).close();
+		}
+
+		return CoverageReportMerger.overlay(report, new File(dir, m_baseline), m_droppedPrograms, report);
+	}
+}
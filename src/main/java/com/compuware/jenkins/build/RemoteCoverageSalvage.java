@@ -0,0 +1,62 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.compuware.jenkins.build.utils.CoverageReportMerger;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Salvages the programs written in full to a <code>CodeCoverage.xml</code> report that was cut short by a stopped extraction,
+ * on the node where it was written.
+ * <p>
+ * The report is replaced by a valid report, marked as partial, that holds only those programs. A missing report is replaced
+ * by an empty one.
+ */
+public class RemoteCoverageSalvage extends MasterToSlaveFileCallable<Integer>
+{
+	private static final long serialVersionUID = 7204517380941723364L;
+
+	// Member Variables
+	private final String m_report;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param report
+	 *            the path of the report, relative to the directory acted on; it is replaced by the salvaged report
+	 */
+	public RemoteCoverageSalvage(String report)
+	{
+		m_report = report;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+	 */
+	@Override
+	public Integer invoke(File dir, VirtualChannel channel) throws IOException
+	{
+		File report = new File(dir, m_report);
+		return CoverageReportMerger.salvage(report, report);
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.compuware.jenkins.build.utils.CliDaemonPool;
+
+import jenkins.security.MasterToSlaveCallable;
+
+/**
+ * Runs one extraction on the agent's CLI daemon for a host connection.
+ *
+ * @see CliDaemonPool
+ */
+public class RemoteDaemonExtraction extends MasterToSlaveCallable<Integer, IOException>
+{
+	private static final long serialVersionUID = -6183505843227045919L;
+
+	// Member Variables
+	private final String m_key;
+	private final ArrayList<String> m_command;
+	private final int m_idleMinutes;
+	private final int m_timeoutMinutes;
+	private final ArrayList<String> m_args;
+	private final OutputStream m_out;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param key
+	 *            the key of the daemon, normally the host connection ID
+	 * @param command
+	 *            the command that starts the daemon
+	 * @param idleMinutes
+	 *            the minutes the daemon may stay idle after this extraction
+	 * @param timeoutMinutes
+	 *            the minutes the extraction may take, including waiting for the daemon to be free; 0 for no limit
+	 * @param args
+	 *            the CLI arguments of the extraction
+	 * @param out
+	 *            the stream to copy the daemon's output to; must be remotable, such as a
+	 *            <code>hudson.remoting.RemoteOutputStream</code>
+	 */
+	public RemoteDaemonExtraction(String key, List<String> command, int idleMinutes, int timeoutMinutes, List<String> args,
+			OutputStream out)
+	{
+		m_key = key;
+		m_command = new ArrayList<>(command);
+		m_idleMinutes = idleMinutes;
+		m_timeoutMinutes = timeoutMinutes;
+		m_args = new ArrayList<>(args);
+		m_out = out;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.remoting.Callable#call()
+	 */
+	@Override
+	public Integer call() throws IOException
+	{
+		// not closed, as that would close the caller's stream
+		PrintStream logger = new PrintStream(m_out, true, StandardCharsets.UTF_8.name());
+		try
+		{
+			return CliDaemonPool.execute(m_key, m_command, TimeUnit.MINUTES.toMillis(m_idleMinutes),
+					TimeUnit.MINUTES.toMillis(m_timeoutMinutes), m_args, logger);
+		}
+		catch (TimeoutException e)
+		{
+			throw new ExtractionTimeoutException(m_timeoutMinutes);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(e.getMessage());
+		}
+		finally
+		{
+			logger.flush();
+		}
+	}
+}
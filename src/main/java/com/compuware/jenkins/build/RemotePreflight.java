@@ -0,0 +1,232 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.util.HashMap;
+
+import com.compuware.jenkins.build.utils.CLIVersionCache;
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+import com.compuware.jenkins.common.utils.CommonConstants;
+
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import jenkins.security.MasterToSlaveCallable;
+
+/**
+ * Gathers everything a Code Coverage scan needs from the agent in a single remoting call.
+ * <p>
+ * The CLI version, the agent's file separator, the resolved CLI script and workspace paths, and the merged analysis
+ * properties are all obtained on the agent and returned in one small {@link Result}.
+ */
+public class RemotePreflight extends MasterToSlaveCallable<RemotePreflight.Result, IOException>
+{
+	private static final long serialVersionUID = 4711318693307442086L;
+
+	// Member Variables
+	private final String m_cliLocation;
+	private final String m_cliScriptName;
+	private final String m_workspace;
+	private final String m_analysisPropertiesPath;
+	private final String m_analysisProperties;
+	private final TaskListener m_listener;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param cliLocation
+	 *            the Topaz CLI installation directory on the agent
+	 * @param cliScriptName
+	 *            the name of the CLI script to run (batch or shell)
+	 * @param workspace
+	 *            the remote path of the Jenkins job workspace directory
+	 * @param analysisPropertiesPath
+	 *            the path of the Code Coverage analysis properties file; can be blank
+	 * @param analysisProperties
+	 *            the Code Coverage analysis properties, which take precedence over the file; can be blank
+	 * @param listener
+	 *            the build listener
+	 */
+	public RemotePreflight(String cliLocation, String cliScriptName, String workspace, String analysisPropertiesPath,
+			String analysisProperties, TaskListener listener)
+	{
+		m_cliLocation = cliLocation;
+		m_cliScriptName = cliScriptName;
+		m_workspace = workspace;
+		m_analysisPropertiesPath = analysisPropertiesPath;
+		m_analysisProperties = analysisProperties;
+		m_listener = listener;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.remoting.Callable#call()
+	 */
+	@Override
+	public Result call() throws IOException
+	{
+		PrintStream logger = m_listener.getLogger();
+		String fileSeparator = File.separator;
+
+		String cliScriptFile = m_cliLocation + fileSeparator + m_cliScriptName;
+		logger.println("cliScriptFile: " + cliScriptFile); //$NON-NLS-1$
+		String topazCliWorkspace = m_workspace + fileSeparator + CommonConstants.TOPAZ_CLI_WORKSPACE;
+		logger.println("topazCliWorkspace: " + topazCliWorkspace); //$NON-NLS-1$
+
+		try
+		{
+			long start = System.nanoTime();
+			CLIVersionCache.Lookup cliVersionLookup = CLIVersionCache.getCLIVersion(new File(m_cliLocation),
+					CodeCoverageConstants.CC_MINIMUM_CLI_VERSION);
+			String cliVersion = cliVersionLookup.getVersion();
+			logger.println(cliVersionLookup);
+			long cliVersionNanos = System.nanoTime() - start;
+
+			// create the CLI workspace (in case it doesn't already exist)
+			File workspace = new File(m_workspace);
+			new FilePath(workspace).mkdirs();
+
+			start = System.nanoTime();
+			HashMap<String, String> analysisProperties = new AnalysisPropertiesReader(m_analysisPropertiesPath,
+					m_analysisProperties, m_listener).invoke(workspace, null);
+			long analysisPropertiesNanos = System.nanoTime() - start;
+
+			return new Result(cliVersion, fileSeparator, cliScriptFile, m_workspace, topazCliWorkspace, analysisProperties,
+					cliVersionNanos, analysisPropertiesNanos);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(e.getMessage());
+		}
+	}
+
+	/**
+	 * The values gathered on the agent by a {@link RemotePreflight}.
+	 */
+	public static final class Result implements Serializable
+	{
+		private static final long serialVersionUID = -2950371183497553063L;
+
+		// Member Variables
+		private final String m_cliVersion;
+		private final String m_fileSeparator;
+		private final String m_cliScriptFile;
+		private final String m_workspace;
+		private final String m_topazCliWorkspace;
+		private final HashMap<String, String> m_analysisProperties;
+		private final long m_cliVersionNanos;
+		private final long m_analysisPropertiesNanos;
+
+		Result(String cliVersion, String fileSeparator, String cliScriptFile, String workspace, String topazCliWorkspace,
+				HashMap<String, String> analysisProperties, long cliVersionNanos, long analysisPropertiesNanos)
+		{
+			m_cliVersion = cliVersion;
+			m_fileSeparator = fileSeparator;
+			m_cliScriptFile = cliScriptFile;
+			m_workspace = workspace;
+			m_topazCliWorkspace = topazCliWorkspace;
+			m_analysisProperties = analysisProperties;
+			m_cliVersionNanos = cliVersionNanos;
+			m_analysisPropertiesNanos = analysisPropertiesNanos;
+		}
+
+		/**
+		 * Gets the version of the Topaz CLI installed on the agent.
+		 *
+		 * @return <code>String</code> value of m_cliVersion
+		 */
+		public String getCliVersion()
+		{
+			return m_cliVersion;
+		}
+
+		/**
+		 * Gets the file separator used by the agent.
+		 *
+		 * @return <code>String</code> value of m_fileSeparator
+		 */
+		public String getFileSeparator()
+		{
+			return m_fileSeparator;
+		}
+
+		/**
+		 * Gets the full path of the CLI script to run.
+		 *
+		 * @return <code>String</code> value of m_cliScriptFile
+		 */
+		public String getCliScriptFile()
+		{
+			return m_cliScriptFile;
+		}
+
+		/**
+		 * Gets the path of the workspace directory.
+		 *
+		 * @return <code>String</code> value of m_workspace
+		 */
+		public String getWorkspace()
+		{
+			return m_workspace;
+		}
+
+		/**
+		 * Gets the path of the Topaz CLI data directory.
+		 *
+		 * @return <code>String</code> value of m_topazCliWorkspace
+		 */
+		public String getTopazCliWorkspace()
+		{
+			return m_topazCliWorkspace;
+		}
+
+		/**
+		 * Gets the analysis properties merged from the file and the analysis properties string.
+		 *
+		 * @return <code>HashMap</code> value of m_analysisProperties
+		 */
+		public HashMap<String, String> getAnalysisProperties()
+		{
+			return m_analysisProperties;
+		}
+
+		/**
+		 * Gets the time the agent spent checking the CLI version.
+		 *
+		 * @return the elapsed time in nanoseconds
+		 */
+		public long getCliVersionNanos()
+		{
+			return m_cliVersionNanos;
+		}
+
+		/**
+		 * Gets the time the agent spent reading and merging the analysis properties.
+		 *
+		 * @return the elapsed time in nanoseconds
+		 */
+		public long getAnalysisPropertiesNanos()
+		{
+			return m_analysisPropertiesNanos;
+		}
+	}
+}
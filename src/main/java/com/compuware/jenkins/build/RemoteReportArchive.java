@@ -0,0 +1,66 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.zip.GZIPOutputStream;
+
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Compresses a <code>CodeCoverage.xml</code> report on the node where it was written while streaming it to the controller.
+ * <p>
+ * Only the gzip compressed bytes cross the channel. The stream is closed when the report has been sent.
+ */
+public class RemoteReportArchive extends MasterToSlaveFileCallable<Long>
+{
+	private static final long serialVersionUID = -3312950186423079140L;
+
+	// Member Variables
+	private final OutputStream m_out;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param out
+	 *            the stream to write the compressed report to, typically a <code>RemoteOutputStream</code> to a file on the
+	 *            controller
+	 */
+	public RemoteReportArchive(OutputStream out)
+	{
+		m_out = out;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+	 */
+	@Override
+	public Long invoke(File report, VirtualChannel channel) throws IOException
+	{
+		try (OutputStream out = new GZIPOutputStream(m_out, CodeCoverageConstants.ARCHIVE_BUFFER_SIZE))
+		{
+			return Files.copy(report.toPath(), out);
+		}
+	}
+}
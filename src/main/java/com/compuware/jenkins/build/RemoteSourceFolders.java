@@ -0,0 +1,57 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.File;
+
+import com.compuware.jenkins.build.utils.IncrementalSources;
+
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Checks, on the node holding the workspace, whether any <code>cc.sources</code> folder has a subfolder that an incremental
+ * extraction could be narrowed to.
+ */
+public class RemoteSourceFolders extends MasterToSlaveFileCallable<Boolean>
+{
+	private static final long serialVersionUID = 5188730947265520321L;
+
+	// Member Variables
+	private final String m_sources;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param sources
+	 *            the comma-separated source folders, relative to the directory acted on or absolute
+	 */
+	public RemoteSourceFolders(String sources)
+	{
+		m_sources = sources;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.FilePath.FileCallable#invoke(java.io.File, hudson.remoting.VirtualChannel)
+	 */
+	@Override
+	public Boolean invoke(File dir, VirtualChannel channel)
+	{
+		return IncrementalSources.hasSubfolders(m_sources, dir);
+	}
+}
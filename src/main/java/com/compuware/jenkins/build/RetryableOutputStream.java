@@ -0,0 +1,86 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.compuware.jenkins.build.utils.RetryPolicy;
+
+import hudson.console.LineTransformationOutputStream;
+
+/**
+ * Copies CLI output line by line to another stream, noting whether any line shows a failure worth retrying.
+ * <p>
+ * Closing this stream writes out a last line without a terminator, but does not close the stream it copies to.
+ */
+public class RetryableOutputStream extends LineTransformationOutputStream
+{
+	// Member Variables
+	private final OutputStream m_out;
+	private final RetryPolicy m_policy;
+	private volatile boolean m_retryable;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param out
+	 *            the stream to copy the output to
+	 * @param policy
+	 *            the policy that recognizes retryable output
+	 */
+	public RetryableOutputStream(OutputStream out, RetryPolicy policy)
+	{
+		m_out = out;
+		m_policy = policy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see hudson.console.LineTransformationOutputStream#eol(byte[], int)
+	 */
+	@Override
+	protected void eol(byte[] b, int len) throws IOException
+	{
+		m_out.write(b, 0, len);
+		if (!m_retryable && m_policy.isRetryableOutput(new String(b, 0, len, StandardCharsets.UTF_8)))
+		{
+			m_retryable = true;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.OutputStream#flush()
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		m_out.flush();
+	}
+
+	/**
+	 * Gets whether a line of the output matched a retryable output pattern.
+	 * 
+	 * @return <code>boolean</code> value of m_retryable
+	 */
+	public boolean isRetryableOutput()
+	{
+		return m_retryable;
+	}
+}
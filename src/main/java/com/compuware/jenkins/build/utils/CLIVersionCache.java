@@ -0,0 +1,257 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.compuware.jenkins.common.utils.CLIVersionUtils;
+import com.compuware.jenkins.common.utils.CommonConstants;
+
+import hudson.FilePath;
+
+/**
+ * Caches the Topaz CLI version detected in each CLI installation directory of the JVM it is loaded in.
+ * <p>
+ * This class is used on the agent, where its state lives as long as the agent's connection. An entry is keyed by the CLI
+ * directory and remembers the modification time and length of the directory's version file when the version was read.
+ * Every lookup checks the version file again, so an upgrade is noticed by the next build; the version is re-read if the
+ * file changed or the entry is older than the maximum age.
+ */
+public final class CLIVersionCache
+{
+	// Constants
+	private static final long MAX_AGE_NANOS = TimeUnit.SECONDS
+			.toNanos(Long.getLong(CLIVersionCache.class.getName() + ".maxAgeSeconds", 600)); //$NON-NLS-1$
+
+	private static final ConcurrentMap<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+	private static final AtomicLong HITS = new AtomicLong();
+	private static final AtomicLong MISSES = new AtomicLong();
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods should be accessed statically.
+	 */
+	private CLIVersionCache()
+	{
+	}
+
+	/**
+	 * Gets the version of the CLI installed in the given directory, reading it only if it is not cached or its version file
+	 * changed.
+	 *
+	 * @param cliDirectory
+	 *            the CLI installation directory
+	 * @param minimumVersion
+	 *            the minimum CLI version required
+	 *
+	 * @return the <code>Lookup</code> holding the version and whether it came from the cache
+	 *
+	 * @throws IOException
+	 *             if the version cannot be read
+	 * @throws InterruptedException
+	 *             if the lookup is interrupted
+	 */
+	public static Lookup getCLIVersion(File cliDirectory, String minimumVersion) throws IOException, InterruptedException
+	{
+		return getCLIVersion(cliDirectory, minimumVersion,
+				(directory, minimum) -> CLIVersionUtils.getCLIVersion(new FilePath(directory), minimum), System.nanoTime(),
+				MAX_AGE_NANOS);
+	}
+
+	/**
+	 * Gets the version of the CLI installed in the given directory with the given reader, reading it only if it is not cached,
+	 * its version file changed, or the cached entry is older than the given maximum age.
+	 *
+	 * @param cliDirectory
+	 *            the CLI installation directory
+	 * @param minimumVersion
+	 *            the minimum CLI version required
+	 * @param reader
+	 *            the reader of the version
+	 * @param now
+	 *            the current value of <code>System.nanoTime()</code>
+	 * @param maxAgeNanos
+	 *            the maximum age of a cached entry
+	 *
+	 * @return the <code>Lookup</code> holding the version and whether it came from the cache
+	 *
+	 * @throws IOException
+	 *             if the version cannot be read
+	 * @throws InterruptedException
+	 *             if the lookup is interrupted
+	 */
+	static Lookup getCLIVersion(File cliDirectory, String minimumVersion, VersionReader reader, long now, long maxAgeNanos)
+			throws IOException, InterruptedException
+	{
+		String key = cliDirectory.getAbsolutePath();
+		File versionFile = new File(cliDirectory, CommonConstants.VERSION_FILE);
+		long lastModified = versionFile.lastModified();
+		long length = versionFile.length();
+
+		Entry entry = ENTRIES.get(key);
+		if (entry != null && entry.m_lastModified == lastModified && entry.m_length == length
+				&& now - entry.m_readAt < maxAgeNanos)
+		{
+			return new Lookup(entry.m_version, true, HITS.incrementAndGet(), MISSES.get());
+		}
+
+		String version = reader.read(cliDirectory, minimumVersion);
+		ENTRIES.put(key, new Entry(version, lastModified, length, now));
+		return new Lookup(version, false, HITS.get(), MISSES.incrementAndGet());
+	}
+
+	/**
+	 * Gets whether a CLI version is at least the given version. Versions are compared by their dot-separated numbers, so
+	 * <code>20.4.1</code> and <code>20.04.01</code> are equal; a missing number counts as zero.
+	 *
+	 * @param version
+	 *            the CLI version; can be <code>null</code>
+	 * @param minimumVersion
+	 *            the version to compare with
+	 *
+	 * @return <code>true</code> if the version is known and not older than the minimum version
+	 */
+	public static boolean isAtLeast(String version, String minimumVersion)
+	{
+		if (version == null || version.trim().isEmpty())
+		{
+			return false;
+		}
+
+		String[] parts = version.trim().split("\\."); //$NON-NLS-1$
+		String[] minimumParts = minimumVersion.trim().split("\\."); //$NON-NLS-1$
+		for (int i = 0; i < Math.max(parts.length, minimumParts.length); i++)
+		{
+			int compared = Long.compare(versionNumber(parts, i), versionNumber(minimumParts, i));
+			if (compared != 0)
+			{
+				return compared > 0;
+			}
+		}
+
+		return true;
+	}
+
+	private static long versionNumber(String[] parts, int index)
+	{
+		if (index >= parts.length)
+		{
+			return 0;
+		}
+
+		String digits = parts[index].replaceAll("\\D.*", ""); //$NON-NLS-1$ //$NON-NLS-2$
+		return digits.isEmpty() ? 0 : Long.parseLong(digits);
+	}
+
+	/**
+	 * Reads the version of a CLI installation.
+	 */
+	interface VersionReader
+	{
+		/**
+		 * Reads the version of the CLI installed in the given directory.
+		 *
+		 * @param cliDirectory
+		 *            the CLI installation directory
+		 * @param minimumVersion
+		 *            the minimum CLI version required
+		 *
+		 * @return the CLI version
+		 *
+		 * @throws IOException
+		 *             if the version cannot be read
+		 * @throws InterruptedException
+		 *             if the read is interrupted
+		 */
+		String read(File cliDirectory, String minimumVersion) throws IOException, InterruptedException;
+	}
+
+	/**
+	 * A cached version and the state of the version file it was read from.
+	 */
+	private static final class Entry
+	{
+		private final String m_version;
+		private final long m_lastModified;
+		private final long m_length;
+		private final long m_readAt;
+
+		Entry(String version, long lastModified, long length, long readAt)
+		{
+			m_version = version;
+			m_lastModified = lastModified;
+			m_length = length;
+			m_readAt = readAt;
+		}
+	}
+
+	/**
+	 * The result of a version lookup.
+	 */
+	public static final class Lookup
+	{
+		private final String m_version;
+		private final boolean m_hit;
+		private final long m_hits;
+		private final long m_misses;
+
+		Lookup(String version, boolean hit, long hits, long misses)
+		{
+			m_version = version;
+			m_hit = hit;
+			m_hits = hits;
+			m_misses = misses;
+		}
+
+		/**
+		 * Gets the CLI version.
+		 *
+		 * @return <code>String</code> value of m_version
+		 */
+		public String getVersion()
+		{
+			return m_version;
+		}
+
+		/**
+		 * Gets whether the version came from the cache.
+		 *
+		 * @return <code>boolean</code> value of m_hit
+		 */
+		public boolean isHit()
+		{
+			return m_hit;
+		}
+
+		/**
+		 * Describes the lookup and the cache's hit and miss counts, for use in log output.
+		 *
+		 * @return the description
+		 */
+		@Override
+		public String toString()
+		{
+			return "CLI version cache " + (m_hit ? "hit" : "miss") + " (hits: " + m_hits + ", misses: " + m_misses + ')'; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		}
+	}
+}
@@ -0,0 +1,448 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps one long-lived CLI daemon process per key in the JVM it is loaded in, so extractions do not pay for starting a new
+ * CLI runtime every time.
+ * <p>
+ * This class is used on the agent, where a key identifies the host connection. A daemon is started on first use, serves one
+ * extraction at a time, and is stopped once it has been idle for the idle time given with its last request. It is also
+ * replaced if it dies or its command changes; a daemon whose command changed is stopped once the extraction it is running
+ * finishes.
+ * <p>
+ * A daemon talks over its standard input and output, one request at a time:
+ * <ul>
+ * <li>Request: a single line holding <code>EXTRACT</code> followed by each CLI argument, URL-encoded in UTF-8 and separated
+ * by tabs.</li>
+ * <li>Response: any number of output lines, which are copied to the build log, followed by a line starting with
+ * <code>#EXIT#</code> and the CLI exit value.</li>
+ * </ul>
+ * The output of a daemon is read by a thread of its own, so an extraction waiting for it can be interrupted or timed out
+ * without depending on the daemon writing anything more.
+ */
+@SuppressWarnings("nls")
+public final class CliDaemonPool
+{
+	// Constants
+	public static final String REQUEST = "EXTRACT";
+	public static final String EXIT_MARKER = "#EXIT#";
+	private static final long KILL_GRACE_SECONDS = 10;
+	// never returned by readLine, which strips line terminators
+	private static final String END_OF_OUTPUT = "\n";
+
+	private static final Map<String, Daemon> DAEMONS = new HashMap<>();
+	private static final ScheduledExecutorService REAPER = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "CliDaemonPool.reaper");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods should be accessed statically.
+	 */
+	private CliDaemonPool()
+	{
+	}
+
+	/**
+	 * Runs an extraction on the daemon for the given key, starting the daemon if needed.
+	 *
+	 * @param key
+	 *            the key of the daemon
+	 * @param command
+	 *            the command that starts the daemon
+	 * @param idleMillis
+	 *            the time the daemon may stay idle after this extraction before it is stopped
+	 * @param args
+	 *            the CLI arguments of the extraction
+	 * @param logger
+	 *            the <code>PrintStream</code> to copy the daemon's output to
+	 *
+	 * @return the CLI exit value
+	 *
+	 * @throws IOException
+	 *             if the daemon cannot be started or fails during the extraction
+	 * @throws InterruptedException
+	 *             if the extraction is interrupted; the daemon is stopped
+	 */
+	public static int execute(String key, List<String> command, long idleMillis, List<String> args, PrintStream logger)
+			throws IOException, InterruptedException
+	{
+		try
+		{
+			return execute(key, command, idleMillis, 0, args, logger);
+		}
+		catch (TimeoutException e)
+		{
+			// not reached without a timeout
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Runs an extraction on the daemon for the given key, starting the daemon if needed, and stops the daemon if the
+	 * extraction takes longer than the given timeout.
+	 * <p>
+	 * The timeout includes waiting for another extraction to finish with the daemon; an extraction that times out while
+	 * waiting leaves the daemon running. A daemon that times out during the extraction is asked to terminate, and is killed
+	 * if it has not exited shortly after.
+	 *
+	 * @param key
+	 *            the key of the daemon, such as the host connection identifier
+	 * @param command
+	 *            the command that starts the daemon
+	 * @param idleMillis
+	 *            the time the daemon may stay idle after this extraction before it is stopped
+	 * @param timeoutMillis
+	 *            the time the extraction may take; 0 for no limit
+	 * @param args
+	 *            the CLI arguments of the extraction
+	 * @param logger
+	 *            the <code>PrintStream</code> to copy the daemon's output to
+	 *
+	 * @return the CLI exit value
+	 *
+	 * @throws IOException
+	 *             if the daemon cannot be started or fails during the extraction
+	 * @throws InterruptedException
+	 *             if the extraction is interrupted; the daemon is stopped
+	 * @throws TimeoutException
+	 *             if the extraction timed out; the daemon is stopped unless the extraction was still waiting for it
+	 */
+	public static int execute(String key, List<String> command, long idleMillis, long timeoutMillis, List<String> args,
+			PrintStream logger) throws IOException, InterruptedException, TimeoutException
+	{
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		Daemon daemon = lock(key, command, timeoutMillis, deadline, logger);
+		try
+		{
+			return daemon.extract(args, timeoutMillis, deadline, logger);
+		}
+		catch (IOException | InterruptedException | TimeoutException e)
+		{
+			// the daemon's state is unknown; don't hand it to another extraction
+			remove(key, daemon);
+			throw e;
+		}
+		finally
+		{
+			daemon.m_lastUsed = System.nanoTime();
+			daemon.unlock();
+			REAPER.schedule(() -> reapIfIdle(key, daemon, idleMillis), idleMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Gets the daemon for the given key, starting it if needed, and locks it for an extraction.
+	 * <p>
+	 * A daemon retired while waiting for it is passed over for the one that replaced it.
+	 */
+	private static Daemon lock(String key, List<String> command, long timeoutMillis, long deadline, PrintStream logger)
+			throws IOException, InterruptedException, TimeoutException
+	{
+		while (true)
+		{
+			Daemon daemon;
+			synchronized (DAEMONS)
+			{
+				daemon = DAEMONS.get(key);
+				if (daemon == null || !daemon.isAlive() || !daemon.m_command.equals(command))
+				{
+					if (daemon != null)
+					{
+						daemon.retire();
+					}
+
+					logger.println("Starting CLI daemon for " + key);
+					daemon = new Daemon(command);
+					DAEMONS.put(key, daemon);
+				}
+				else
+				{
+					logger.println("Reusing CLI daemon for " + key);
+				}
+			}
+
+			if (timeoutMillis > 0)
+			{
+				if (!daemon.m_lock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+				{
+					throw new TimeoutException(
+							"The CLI daemon for " + key + " was busy with another extraction for " + timeoutMillis + " ms");
+				}
+			}
+			else
+			{
+				daemon.m_lock.lockInterruptibly();
+			}
+
+			if (!daemon.m_retired)
+			{
+				return daemon;
+			}
+			daemon.unlock();
+		}
+	}
+
+	/**
+	 * Stops all daemons.
+	 */
+	public static void shutdown()
+	{
+		synchronized (DAEMONS)
+		{
+			for (Daemon daemon : DAEMONS.values())
+			{
+				daemon.destroy();
+			}
+			DAEMONS.clear();
+		}
+	}
+
+	private static void reapIfIdle(String key, Daemon daemon, long idleMillis)
+	{
+		// a daemon in use is checked again once its extraction finishes
+		if (!daemon.m_lock.tryLock())
+		{
+			return;
+		}
+
+		try
+		{
+			if (System.nanoTime() - daemon.m_lastUsed >= TimeUnit.MILLISECONDS.toNanos(idleMillis))
+			{
+				remove(key, daemon);
+			}
+		}
+		finally
+		{
+			daemon.unlock();
+		}
+	}
+
+	private static void remove(String key, Daemon daemon)
+	{
+		synchronized (DAEMONS)
+		{
+			if (DAEMONS.get(key) == daemon)
+			{
+				DAEMONS.remove(key);
+			}
+		}
+		daemon.destroy();
+	}
+
+	/**
+	 * Encodes a request line for the given CLI arguments.
+	 *
+	 * @param args
+	 *            the CLI arguments
+	 *
+	 * @return the request line, without a line terminator
+	 */
+	public static String encodeRequest(List<String> args)
+	{
+		StringBuilder request = new StringBuilder(REQUEST);
+		try
+		{
+			for (String arg : args)
+			{
+				request.append('\t').append(URLEncoder.encode(arg, StandardCharsets.UTF_8.name()));
+			}
+		}
+		catch (UnsupportedEncodingException e)
+		{
+			throw new IllegalStateException(e);
+		}
+
+		return request.toString();
+	}
+
+	/**
+	 * A running daemon process.
+	 */
+	private static final class Daemon
+	{
+		private final List<String> m_command;
+		private final Process m_process;
+		private final Writer m_requests;
+		private final BlockingQueue<String> m_responses = new LinkedBlockingQueue<>();
+		private final ReentrantLock m_lock = new ReentrantLock();
+		private volatile long m_lastUsed = System.nanoTime();
+		private volatile boolean m_retired;
+		private boolean m_destroyed;
+
+		Daemon(List<String> command) throws IOException
+		{
+			m_command = new ArrayList<>(command);
+			m_process = new ProcessBuilder(command).redirectErrorStream(true).start();
+			m_requests = new OutputStreamWriter(m_process.getOutputStream(), StandardCharsets.UTF_8);
+
+			Thread reader = new Thread(this::readResponses, "CliDaemonPool.reader");
+			reader.setDaemon(true);
+			reader.start();
+		}
+
+		/**
+		 * Queues the daemon's output lines until it exits.
+		 */
+		private void readResponses()
+		{
+			try (BufferedReader responses = new BufferedReader(
+					new InputStreamReader(m_process.getInputStream(), StandardCharsets.UTF_8)))
+			{
+				String line;
+				while ((line = responses.readLine()) != null)
+				{
+					m_responses.add(line);
+				}
+			}
+			catch (IOException e)
+			{
+				// the process was destroyed
+			}
+			finally
+			{
+				m_responses.add(END_OF_OUTPUT);
+			}
+		}
+
+		boolean isAlive()
+		{
+			return m_process.isAlive();
+		}
+
+		int extract(List<String> args, long timeoutMillis, long deadline, PrintStream logger)
+				throws IOException, InterruptedException, TimeoutException
+		{
+			m_requests.write(encodeRequest(args));
+			m_requests.write('\n');
+			m_requests.flush();
+
+			while (true)
+			{
+				String line = timeoutMillis > 0 ? m_responses.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)
+						: m_responses.take();
+				if (line == null)
+				{
+					throw new TimeoutException("The extraction did not finish within " + timeoutMillis + " ms");
+				}
+				if (END_OF_OUTPUT.equals(line))
+				{
+					throw new IOException("The CLI daemon exited unexpectedly");
+				}
+
+				if (line.startsWith(EXIT_MARKER))
+				{
+					try
+					{
+						return Integer.parseInt(line.substring(EXIT_MARKER.length()).trim());
+					}
+					catch (NumberFormatException e)
+					{
+						throw new IOException("Invalid response from the CLI daemon: " + line, e);
+					}
+				}
+
+				logger.println(line);
+			}
+		}
+
+		/**
+		 * Stops the daemon now if no extraction is using it, or else once that extraction finishes. Either way it is not
+		 * handed to another extraction.
+		 */
+		void retire()
+		{
+			m_retired = true;
+			destroyIfRetired();
+		}
+
+		/**
+		 * Unlocks the daemon after an extraction, stopping it if it was retired meanwhile.
+		 */
+		void unlock()
+		{
+			m_lock.unlock();
+			destroyIfRetired();
+		}
+
+		/**
+		 * Stops the daemon if it is retired and no extraction holds it; otherwise the extraction that holds it does so when
+		 * it unlocks it.
+		 */
+		private void destroyIfRetired()
+		{
+			if (m_retired && m_lock.tryLock())
+			{
+				try
+				{
+					destroy();
+				}
+				finally
+				{
+					m_lock.unlock();
+				}
+			}
+		}
+
+		/**
+		 * Asks the daemon to terminate, and kills it if it has not exited shortly after. No thread waits for it meanwhile.
+		 */
+		synchronized void destroy()
+		{
+			m_retired = true;
+			if (m_destroyed)
+			{
+				return;
+			}
+			m_destroyed = true;
+
+			m_process.destroy();
+			REAPER.schedule(() -> {
+				if (m_process.isAlive())
+				{
+					m_process.destroyForcibly();
+				}
+			}, KILL_GRACE_SECONDS, TimeUnit.SECONDS);
+		}
+	}
+}
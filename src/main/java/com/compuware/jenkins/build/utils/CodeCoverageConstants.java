@@ -39,5 +39,36 @@ public class CodeCoverageConstants
 	public static final String CODE_COVERAGE_CLI_BAT = "CodeCoverageCLI.bat";
 	public static final String CODE_COVERAGE_CLI_SH = "CodeCoverageCLI.sh";
 
+	public static final String COVERAGE_FOLDER = "Coverage";
+	public static final String COVERAGE_FILE_NAME = "CodeCoverage.xml";
+	public static final String PREVIOUS_COVERAGE_FILE_NAME = "CodeCoverage.previous.xml";
+	public static final String BASELINE_COVERAGE_FILE_NAME = "CodeCoverage.baseline.xml";
+	public static final String BASELINE_FOLDER = "CodeCoverageBaselines";
+	public static final String COVERAGE_STORE_FILE_NAME = "CodeCoverage.ccs";
+	public static final String TREND_INDEX_FILE_NAME = "CodeCoverageTrend.idx";
+	public static final int TREND_MAX_POINTS = 100;
+	public static final String DIFF_FILE_NAME = "CodeCoverageDiff.json";
+	public static final int DIFF_ACTION_MAX_PROGRAMS = 20;
+	public static final String TEST_STORE_FILE_NAME = "CodeCoverageTest.ccs";
+	public static final String TEST_INDEX_FILE_NAME = "CodeCoverageTests.idx";
+	public static final String ARCHIVED_REPORT_FILE_NAME = "CodeCoverage.xml.gz";
+	public static final String GZIP_SUFFIX = ".gz";
+	public static final int ARCHIVE_BUFFER_SIZE = 64 * 1024;
+
+	public static final String COVERAGE_PARTS_FOLDER = "CoverageParts";
+	public static final int DEFAULT_MAX_PARALLEL_EXTRACTIONS = 4;
+	public static final int DEFAULT_DAEMON_IDLE_MINUTES = 30;
+
+	public static final String ARGUMENT_FILE_NAME = "ccanalysis.args.properties";
+	public static final String ARGUMENT_FILE_PARM = "cc.argfile";
+
+	public static final long DEFAULT_RETRY_BASE_DELAY_MILLIS = 10000;
+	public static final long DEFAULT_RETRY_MAX_DELAY_MILLIS = 120000;
+	public static final String DEFAULT_RETRYABLE_OUTPUT_PATTERNS = "Connection reset\nConnection refused\nConnection timed out\nSocketTimeoutException\nhost is busy\nhost not available";
+
 	public static final String SOURCES_PARM = "cc.sources";
+	public static final String REPOS_PARM = "cc.repos";
+	public static final String SYSTEM_PARM = "cc.system";
+	public static final String TEST_PARM = "cc.test";
+	public static final String LIST_SEPARATOR = ";";
 }
\ No newline at end of file
@@ -0,0 +1,312 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The lines that became covered or uncovered between two builds, compared program by program.
+ * <p>
+ * Both {@link CoverageStore}s are walked in path order, and a program whose bitmaps are unchanged is skipped without
+ * decoding them, so the comparison costs time in proportion to the number of programs rather than the size of the reports.
+ * Only programs that were added, removed or changed are kept.
+ */
+@SuppressWarnings("nls")
+public final class CoverageDiff
+{
+	/**
+	 * How a program differs from the baseline.
+	 */
+	public enum Status
+	{
+		/** The program is not in the baseline. */
+		ADDED,
+		/** The program is only in the baseline. */
+		REMOVED,
+		/** The program is in both, with different line coverage. */
+		CHANGED
+	}
+
+	// Member Variables
+	private final List<ProgramDiff> m_programs = new ArrayList<>();
+	private long m_newlyCovered;
+	private long m_newlyUncovered;
+
+	private CoverageDiff()
+	{
+	}
+
+	/**
+	 * Compares the coverage of a build with a baseline.
+	 * <p>
+	 * A line is newly covered if it is covered now and was not covered in the baseline. A line is newly uncovered if it was
+	 * covered in the baseline and is now a line to cover that was not covered. Every covered line of an added program is
+	 * newly covered.
+	 *
+	 * @param current
+	 *            the store of the build
+	 * @param baseline
+	 *            the store of the baseline build
+	 *
+	 * @return the <code>CoverageDiff</code>
+	 */
+	public static CoverageDiff compare(CoverageStore current, CoverageStore baseline)
+	{
+		CoverageDiff diff = new CoverageDiff();
+		int i = 0;
+		int j = 0;
+		String path = i < current.getProgramCount() ? current.getPath(i) : null;
+		String baselinePath = j < baseline.getProgramCount() ? baseline.getPath(j) : null;
+		while (path != null || baselinePath != null)
+		{
+			int cmp = path == null ? 1 : baselinePath == null ? -1 : path.compareTo(baselinePath);
+			if (cmp < 0)
+			{
+				diff.add(new ProgramDiff(path, Status.ADDED, current.getCoveredLines(i), new BitSet()));
+			}
+			else if (cmp > 0)
+			{
+				diff.add(new ProgramDiff(baselinePath, Status.REMOVED, new BitSet(), new BitSet()));
+			}
+			else if (!current.isSameCoverage(i, baseline, j))
+			{
+				BitSet covered = current.getCoveredLines(i);
+				BitSet baselineCovered = baseline.getCoveredLines(j);
+
+				BitSet newlyCovered = (BitSet) covered.clone();
+				newlyCovered.andNot(baselineCovered);
+
+				BitSet newlyUncovered = current.getLines(i);
+				newlyUncovered.andNot(covered);
+				newlyUncovered.and(baselineCovered);
+
+				if (!newlyCovered.isEmpty() || !newlyUncovered.isEmpty())
+				{
+					diff.add(new ProgramDiff(path, Status.CHANGED, newlyCovered, newlyUncovered));
+				}
+			}
+
+			if (cmp <= 0)
+			{
+				i++;
+				path = i < current.getProgramCount() ? current.getPath(i) : null;
+			}
+			if (cmp >= 0)
+			{
+				j++;
+				baselinePath = j < baseline.getProgramCount() ? baseline.getPath(j) : null;
+			}
+		}
+
+		return diff;
+	}
+
+	private void add(ProgramDiff program)
+	{
+		m_programs.add(program);
+		m_newlyCovered += program.getNewlyCoveredCount();
+		m_newlyUncovered += program.getNewlyUncoveredCount();
+	}
+
+	/**
+	 * Gets the programs that were added, removed or changed.
+	 *
+	 * @return the programs, sorted by path
+	 */
+	public List<ProgramDiff> getPrograms()
+	{
+		return Collections.unmodifiableList(m_programs);
+	}
+
+	/**
+	 * Gets the number of lines newly covered in all programs.
+	 *
+	 * @return <code>long</code> value of m_newlyCovered
+	 */
+	public long getNewlyCovered()
+	{
+		return m_newlyCovered;
+	}
+
+	/**
+	 * Gets the number of lines newly uncovered in all programs.
+	 *
+	 * @return <code>long</code> value of m_newlyUncovered
+	 */
+	public long getNewlyUncovered()
+	{
+		return m_newlyUncovered;
+	}
+
+	/**
+	 * Writes the diff as JSON. Lines are written as <code>[first, last]</code> ranges:
+	 *
+	 * <pre>
+	 * {"newlyCovered":3,"newlyUncovered":1,"programs":[
+	 *   {"path":"COBOL/PGMA.cbl","status":"changed","newlyCovered":[[12,14]],"newlyUncovered":[[20,20]]}]}
+	 * </pre>
+	 *
+	 * @param out
+	 *            the writer; not closed
+	 *
+	 * @throws IOException
+	 *             if the diff cannot be written
+	 */
+	public void write(Writer out) throws IOException
+	{
+		out.write("{\"newlyCovered\":" + m_newlyCovered + ",\"newlyUncovered\":" + m_newlyUncovered + ",\"programs\":[");
+		for (int i = 0; i < m_programs.size(); i++)
+		{
+			ProgramDiff program = m_programs.get(i);
+			out.write(i > 0 ? ",\n" : "\n");
+			out.write("{\"path\":");
+			writeString(out, program.getPath());
+			out.write(",\"status\":\"" + program.getStatus().name().toLowerCase(Locale.ROOT) + "\",\"newlyCovered\":");
+			writeRanges(out, program.m_newlyCovered);
+			out.write(",\"newlyUncovered\":");
+			writeRanges(out, program.m_newlyUncovered);
+			out.write('}');
+		}
+		out.write("]}\n");
+	}
+
+	private static void writeRanges(Writer out, BitSet lines) throws IOException
+	{
+		out.write('[');
+		int first = lines.nextSetBit(0);
+		while (first >= 0)
+		{
+			int last = lines.nextClearBit(first) - 1;
+			out.write("[" + first + "," + last + "]");
+			first = lines.nextSetBit(last + 1);
+			if (first >= 0)
+			{
+				out.write(',');
+			}
+		}
+		out.write(']');
+	}
+
+	private static void writeString(Writer out, String value) throws IOException
+	{
+		out.write('"');
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\')
+			{
+				out.write('\\');
+				out.write(c);
+			}
+			else if (c < 0x20)
+			{
+				out.write(String.format(Locale.ROOT, "\\u%04x", (int) c));
+			}
+			else
+			{
+				out.write(c);
+			}
+		}
+		out.write('"');
+	}
+
+	/**
+	 * How one program differs from the baseline.
+	 */
+	public static final class ProgramDiff
+	{
+		// Member Variables
+		private final String m_path;
+		private final Status m_status;
+		private final BitSet m_newlyCovered;
+		private final BitSet m_newlyUncovered;
+
+		ProgramDiff(String path, Status status, BitSet newlyCovered, BitSet newlyUncovered)
+		{
+			m_path = path;
+			m_status = status;
+			m_newlyCovered = newlyCovered;
+			m_newlyUncovered = newlyUncovered;
+		}
+
+		/**
+		 * Gets the source path of the program.
+		 *
+		 * @return <code>String</code> value of m_path
+		 */
+		public String getPath()
+		{
+			return m_path;
+		}
+
+		/**
+		 * Gets how the program differs from the baseline.
+		 *
+		 * @return <code>Status</code> value of m_status
+		 */
+		public Status getStatus()
+		{
+			return m_status;
+		}
+
+		/**
+		 * Gets the newly covered lines.
+		 *
+		 * @return a copy of the newly covered lines, indexed by line number
+		 */
+		public BitSet getNewlyCovered()
+		{
+			return (BitSet) m_newlyCovered.clone();
+		}
+
+		/**
+		 * Gets the newly uncovered lines.
+		 *
+		 * @return a copy of the newly uncovered lines, indexed by line number
+		 */
+		public BitSet getNewlyUncovered()
+		{
+			return (BitSet) m_newlyUncovered.clone();
+		}
+
+		/**
+		 * Gets the number of newly covered lines.
+		 *
+		 * @return the number of lines
+		 */
+		public int getNewlyCoveredCount()
+		{
+			return m_newlyCovered.cardinality();
+		}
+
+		/**
+		 * Gets the number of newly uncovered lines.
+		 *
+		 * @return the number of lines
+		 */
+		public int getNewlyUncoveredCount()
+		{
+			return m_newlyUncovered.cardinality();
+		}
+	}
+}
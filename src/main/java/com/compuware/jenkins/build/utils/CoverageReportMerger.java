@@ -0,0 +1,553 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Merges several <code>CodeCoverage.xml</code> reports into one.
+ * <p>
+ * Lines are unioned per source path: a line is covered if it is covered in any report, and the branch counts are the highest
+ * reported. The merged report lists its programs in source path order.
+ * <p>
+ * The reports are not required to be in any order, so each one is first parsed once and spilled to a compact temporary run
+ * file with a small index of source paths sorted in memory. The runs are then merged k-way in source path order, so memory
+ * is bounded by one program per report rather than by the size of the reports.
+ * <p>
+ * A report can also be overlaid on a baseline report, which keeps the baseline's programs only where the report has none,
+ * and the complete programs of a report that was cut short can be salvaged. Reports whose names end in <code>.gz</code>
+ * are decompressed as they are read.
+ */
+public final class CoverageReportMerger
+{
+	// Constants
+	public static final String PARTIAL_REPORT_COMMENT = "partial report: the extraction was stopped before it finished"; //$NON-NLS-1$
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods should be accessed statically.
+	 */
+	private CoverageReportMerger()
+	{
+	}
+
+	/**
+	 * Merges the given reports into the given output file.
+	 *
+	 * @param inputs
+	 *            the reports to merge
+	 * @param output
+	 *            the merged report to write; can be one of the inputs
+	 *
+	 * @return the number of programs in the merged report
+	 *
+	 * @throws IOException
+	 *             if a report cannot be read or the merged report cannot be written
+	 */
+	public static int merge(List<File> inputs, File output) throws IOException
+	{
+		return merge(inputs, output, false, Collections.<String> emptySet());
+	}
+
+	/**
+	 * Overlays a report on a baseline report: programs in the report replace those with the same source path in the baseline,
+	 * and the other programs of the baseline are kept.
+	 *
+	 * @param report
+	 *            the report whose programs take precedence
+	 * @param baseline
+	 *            the baseline report
+	 * @param droppedPrograms
+	 *            the workspace-relative source paths of baseline programs to leave out, such as programs that were deleted
+	 * @param output
+	 *            the overlaid report to write; can be one of the inputs
+	 *
+	 * @return the number of programs in the overlaid report
+	 *
+	 * @throws IOException
+	 *             if a report cannot be read or the overlaid report cannot be written
+	 */
+	public static int overlay(File report, File baseline, Set<String> droppedPrograms, File output) throws IOException
+	{
+		return merge(Arrays.asList(report, baseline), output, true, droppedPrograms);
+	}
+
+	/**
+	 * Opens a report for reading, decompressing it on the fly if its name ends in <code>.gz</code>.
+	 *
+	 * @param report
+	 *            the report to open
+	 *
+	 * @return a buffered stream of the report's XML
+	 *
+	 * @throws IOException
+	 *             if the report cannot be opened, or is not in gzip format although its name says so
+	 */
+	public static InputStream open(File report) throws IOException
+	{
+		InputStream in = new FileInputStream(report);
+		if (!report.getName().endsWith(CodeCoverageConstants.GZIP_SUFFIX))
+		{
+			return new BufferedInputStream(in, CodeCoverageConstants.ARCHIVE_BUFFER_SIZE);
+		}
+
+		try
+		{
+			return new BufferedInputStream(new GZIPInputStream(in, CodeCoverageConstants.ARCHIVE_BUFFER_SIZE),
+					CodeCoverageConstants.ARCHIVE_BUFFER_SIZE);
+		}
+		catch (IOException e)
+		{
+			in.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Salvages the programs written in full to a report that was cut short, such as by a CLI that was stopped, into a valid
+	 * report marked as partial by a comment. A program whose <code>file</code> element is incomplete is left out, as is
+	 * everything after it.
+	 *
+	 * @param report
+	 *            the report to salvage; can be missing or empty
+	 * @param output
+	 *            the salvaged report to write; can be the report
+	 *
+	 * @return the number of programs salvaged
+	 *
+	 * @throws IOException
+	 *             if the salvaged report cannot be written
+	 */
+	public static int salvage(File report, File output) throws IOException
+	{
+		File parent = output.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+		{
+			throw new IOException("Unable to create directory " + parent); //$NON-NLS-1$
+		}
+
+		File temp = File.createTempFile(output.getName(), ".tmp", parent); //$NON-NLS-1$
+		try
+		{
+			int programs = 0;
+			try (CoverageXmlWriter writer = new CoverageXmlWriter(new BufferedOutputStream(new FileOutputStream(temp))))
+			{
+				writer.comment(PARTIAL_REPORT_COMMENT);
+				if (report.isFile())
+				{
+					try (InputStream in = new BufferedInputStream(new FileInputStream(report)))
+					{
+						programs = copyComplete(in, writer);
+					}
+				}
+			}
+
+			Files.move(temp.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			return programs;
+		}
+		finally
+		{
+			Files.deleteIfExists(temp.toPath());
+		}
+	}
+
+	/**
+	 * Copies the programs of a report that may be cut short, up to the first one that is incomplete.
+	 */
+	private static int copyComplete(InputStream in, CoverageXmlWriter writer) throws IOException
+	{
+		CoverageXmlReader reader;
+		try
+		{
+			reader = new CoverageXmlReader(in);
+		}
+		catch (IOException e)
+		{
+			// not even the start of the report was written
+			return 0;
+		}
+
+		ProgramCoverage program = new ProgramCoverage();
+		int programs = 0;
+		while (true)
+		{
+			try
+			{
+				if (!reader.next(program))
+				{
+					return programs;
+				}
+			}
+			catch (IOException e)
+			{
+				// the report was cut short in this program
+				return programs;
+			}
+
+			writer.write(program);
+			programs++;
+		}
+	}
+
+	/**
+	 * Merges the given reports. If the first report wins, a source path it contains is taken from it alone, and programs from
+	 * the other reports are left out if their paths are dropped.
+	 */
+	private static int merge(List<File> inputs, File output, boolean firstWins, Set<String> droppedPrograms)
+			throws IOException
+	{
+		File parent = output.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+		{
+			throw new IOException("Unable to create directory " + parent); //$NON-NLS-1$
+		}
+
+		List<Run> runs = new ArrayList<>();
+		File temp = File.createTempFile(output.getName(), ".tmp", parent); //$NON-NLS-1$
+		try
+		{
+			ProgramCoverage program = new ProgramCoverage();
+			for (File input : inputs)
+			{
+				runs.add(Run.spill(input, parent, program));
+			}
+
+			int programs = 0;
+			try (CoverageXmlWriter writer = new CoverageXmlWriter(new BufferedOutputStream(new FileOutputStream(temp))))
+			{
+				LineMerger merged = new LineMerger();
+				while (true)
+				{
+					// the smallest source path at the head of any run
+					String path = null;
+					for (Run run : runs)
+					{
+						String head = run.peekPath();
+						if (head != null && (path == null || head.compareTo(path) < 0))
+						{
+							path = head;
+						}
+					}
+					if (path == null)
+					{
+						break;
+					}
+
+					merged.reset();
+					boolean firstHasPath = firstWins && path.equals(runs.get(0).peekPath());
+					for (int i = 0; i < runs.size(); i++)
+					{
+						Run run = runs.get(i);
+						boolean take = i == 0 || !firstWins
+								|| (!firstHasPath && !isDropped(path, droppedPrograms));
+						while (path.equals(run.peekPath()))
+						{
+							if (take)
+							{
+								run.next(program);
+								merged.add(program);
+							}
+							else
+							{
+								run.skip();
+							}
+						}
+					}
+					if (merged.isEmpty())
+					{
+						continue;
+					}
+
+					program.reset(path);
+					merged.drainTo(program);
+					writer.write(program);
+					programs++;
+				}
+			}
+
+			closeAll(runs);
+			Files.move(temp.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			return programs;
+		}
+		finally
+		{
+			closeAll(runs);
+			Files.deleteIfExists(temp.toPath());
+		}
+	}
+
+	private static boolean isDropped(String path, Set<String> droppedPrograms)
+	{
+		for (String dropped : droppedPrograms)
+		{
+			if (IncrementalSources.isSamePath(path, dropped))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static void closeAll(List<Run> runs) throws IOException
+	{
+		IOException failure = null;
+		for (Run run : runs)
+		{
+			try
+			{
+				run.close();
+			}
+			catch (IOException e)
+			{
+				failure = e;
+			}
+		}
+
+		if (failure != null)
+		{
+			throw failure;
+		}
+	}
+
+	/**
+	 * The programs of one report, spilled to a temporary file and read back in source path order.
+	 */
+	private static final class Run implements Closeable
+	{
+		private final File m_file;
+		private final RandomAccessFile m_data;
+		private final String[] m_paths;
+		private final long[] m_offsets;
+		private final Integer[] m_order;
+		private int m_next;
+		private long m_position = -1;
+		private DataInputStream m_in;
+
+		private Run(File file, String[] paths, long[] offsets) throws IOException
+		{
+			m_file = file;
+			m_data = new RandomAccessFile(file, "r"); //$NON-NLS-1$
+			m_paths = paths;
+			m_offsets = offsets;
+
+			// sort by path, keeping the report order of duplicate paths
+			m_order = new Integer[paths.length];
+			for (int i = 0; i < m_order.length; i++)
+			{
+				m_order[i] = i;
+			}
+			Arrays.sort(m_order, Comparator.comparing((Integer i) -> m_paths[i]).thenComparing(i -> i));
+		}
+
+		/**
+		 * Parses a report once, writing each program's lines to a temporary file and indexing it by source path.
+		 */
+		static Run spill(File input, File directory, ProgramCoverage program) throws IOException
+		{
+			File file = File.createTempFile("coverage", ".run", directory); //$NON-NLS-1$ //$NON-NLS-2$
+			List<String> paths = new ArrayList<>();
+			long[] offsets = new long[16];
+			long offset = 0;
+			try (CoverageXmlReader reader = new CoverageXmlReader(open(input));
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))))
+			{
+				while (reader.next(program))
+				{
+					if (paths.size() == offsets.length)
+					{
+						offsets = Arrays.copyOf(offsets, offsets.length * 2);
+					}
+					offsets[paths.size()] = offset;
+					paths.add(program.getPath());
+					offset += recordSize(program.getLineCount());
+
+					out.writeInt(program.getLineCount());
+					for (int i = 0; i < program.getLineCount(); i++)
+					{
+						out.writeInt(program.getLineNumber(i));
+						out.writeBoolean(program.isCovered(i));
+						out.writeInt(program.getBranchesToCover(i));
+						out.writeInt(program.getCoveredBranches(i));
+					}
+				}
+			}
+			catch (IOException | RuntimeException e)
+			{
+				Files.deleteIfExists(file.toPath());
+				throw e;
+			}
+
+			return new Run(file, paths.toArray(new String[0]), offsets);
+		}
+
+		String peekPath()
+		{
+			return m_next < m_order.length ? m_paths[m_order[m_next]] : null;
+		}
+
+		void skip()
+		{
+			m_next++;
+		}
+
+		void next(ProgramCoverage program) throws IOException
+		{
+			int index = m_order[m_next++];
+			long offset = m_offsets[index];
+			if (offset != m_position)
+			{
+				// reports already in path order are read sequentially without seeking
+				m_data.seek(offset);
+				m_in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(m_data.getChannel())));
+			}
+
+			program.reset(m_paths[index]);
+			int lineCount = m_in.readInt();
+			for (int i = 0; i < lineCount; i++)
+			{
+				program.addLine(m_in.readInt(), m_in.readBoolean(), m_in.readInt(), m_in.readInt());
+			}
+			m_position = offset + recordSize(lineCount);
+		}
+
+		/**
+		 * Gets the size of a spilled program: its line count, then per line the line number, covered flag and branch counts.
+		 */
+		static long recordSize(int lineCount)
+		{
+			return 4 + lineCount * 13L;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.Closeable#close()
+		 */
+		@Override
+		public void close() throws IOException
+		{
+			try
+			{
+				m_data.close();
+			}
+			finally
+			{
+				Files.deleteIfExists(m_file.toPath());
+			}
+		}
+	}
+
+	/**
+	 * Unions the lines of the programs with one source path.
+	 */
+	private static final class LineMerger
+	{
+		private int m_programs;
+		private int m_count;
+		private int[] m_lineNumbers = new int[64];
+		private boolean[] m_covered = new boolean[64];
+		private int[] m_branchesToCover = new int[64];
+		private int[] m_coveredBranches = new int[64];
+		private long[] m_order = new long[64];
+
+		void reset()
+		{
+			m_count = 0;
+			m_programs = 0;
+		}
+
+		boolean isEmpty()
+		{
+			return m_programs == 0;
+		}
+
+		void add(ProgramCoverage program)
+		{
+			m_programs++;
+			for (int i = 0; i < program.getLineCount(); i++)
+			{
+				if (m_count == m_lineNumbers.length)
+				{
+					int capacity = m_count * 2;
+					m_lineNumbers = Arrays.copyOf(m_lineNumbers, capacity);
+					m_covered = Arrays.copyOf(m_covered, capacity);
+					m_branchesToCover = Arrays.copyOf(m_branchesToCover, capacity);
+					m_coveredBranches = Arrays.copyOf(m_coveredBranches, capacity);
+					m_order = Arrays.copyOf(m_order, capacity);
+				}
+
+				m_lineNumbers[m_count] = program.getLineNumber(i);
+				m_covered[m_count] = program.isCovered(i);
+				m_branchesToCover[m_count] = program.getBranchesToCover(i);
+				m_coveredBranches[m_count] = program.getCoveredBranches(i);
+				m_count++;
+			}
+		}
+
+		/**
+		 * Adds the unioned lines, in line number order, to the given program.
+		 */
+		void drainTo(ProgramCoverage program)
+		{
+			// sort line numbers with their indexes packed into one primitive key
+			for (int i = 0; i < m_count; i++)
+			{
+				m_order[i] = ((long) m_lineNumbers[i] << 32) | i;
+			}
+			Arrays.sort(m_order, 0, m_count);
+
+			int i = 0;
+			while (i < m_count)
+			{
+				int first = (int) m_order[i];
+				int lineNumber = m_lineNumbers[first];
+				boolean covered = false;
+				int branchesToCover = 0;
+				int coveredBranches = 0;
+				for (; i < m_count && m_lineNumbers[(int) m_order[i]] == lineNumber; i++)
+				{
+					int index = (int) m_order[i];
+					covered |= m_covered[index];
+					branchesToCover = Math.max(branchesToCover, m_branchesToCover[index]);
+					coveredBranches = Math.max(coveredBranches, m_coveredBranches[index]);
+				}
+				program.addLine(lineNumber, covered, branchesToCover, coveredBranches);
+			}
+		}
+	}
+}
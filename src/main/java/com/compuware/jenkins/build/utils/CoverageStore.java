@@ -0,0 +1,433 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * A compact binary copy of a build's Code Coverage report, read through a memory-mapped or heap buffer.
+ * <p>
+ * The store is written by {@link CoverageStoreWriter} and is laid out as:
+ *
+ * <pre>
+ * header       magic, version, program count, string table size, total lines, covered lines
+ * index        one fixed-size entry per program, sorted by source path
+ * string table the UTF-8 source paths
+ * bitmaps      per program, the lines to cover and the covered lines, one bit per line number
+ * </pre>
+ *
+ * A program is found by a binary search of the index and its bitmaps are read in place, so a lookup touches only the
+ * pages it needs whatever the size of the report. Instances are safe to share between threads.
+ * <p>
+ * A mapped file stays mapped until its buffer is garbage collected, long after {@link #close()}, and on Windows it cannot be
+ * replaced or deleted meanwhile. A store that is only open briefly, such as one in a build directory or a temporary copy,
+ * is therefore read onto the heap with {@link #read(File)}.
+ */
+public class CoverageStore implements Closeable
+{
+	// Constants
+	static final int MAGIC = 0x43435331; // CCS1
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 32;
+	static final int ENTRY_SIZE = 40;
+
+	// Member Variables
+	private volatile ByteBuffer m_buffer;
+	private final int m_programCount;
+	private final int m_stringTableOffset;
+	private final long m_dataOffset;
+
+	private CoverageStore(ByteBuffer buffer) throws IOException
+	{
+		if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+		{
+			throw new IOException("Not a coverage store"); //$NON-NLS-1$
+		}
+		if (buffer.getInt(4) != VERSION)
+		{
+			throw new IOException("Unsupported coverage store version: " + buffer.getInt(4)); //$NON-NLS-1$
+		}
+
+		m_buffer = buffer;
+		m_programCount = buffer.getInt(8);
+		m_stringTableOffset = HEADER_SIZE + m_programCount * ENTRY_SIZE;
+		m_dataOffset = (long) m_stringTableOffset + buffer.getInt(12);
+		if (m_programCount < 0 || m_dataOffset > buffer.capacity())
+		{
+			throw new IOException("The coverage store is truncated"); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Opens a store by mapping the file into memory.
+	 *
+	 * @param file
+	 *            the store written by {@link CoverageStoreWriter}
+	 *
+	 * @return the opened <code>CoverageStore</code>
+	 *
+	 * @throws IOException
+	 *             if the file cannot be mapped or is not a coverage store
+	 */
+	public static CoverageStore open(File file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			return new CoverageStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Opens a store by reading the file onto the heap, so the file can be replaced or deleted while the store is open on
+	 * every platform.
+	 *
+	 * @param file
+	 *            the store written by {@link CoverageStoreWriter}
+	 *
+	 * @return the opened <code>CoverageStore</code>
+	 *
+	 * @throws IOException
+	 *             if the file cannot be read or is not a coverage store
+	 */
+	public static CoverageStore read(File file) throws IOException
+	{
+		return new CoverageStore(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+	}
+
+	/**
+	 * Gets the number of programs in the store.
+	 *
+	 * @return <code>int</code> value of m_programCount
+	 */
+	public int getProgramCount()
+	{
+		return m_programCount;
+	}
+
+	/**
+	 * Gets the number of lines to cover in all programs.
+	 *
+	 * @return the number of lines to cover
+	 */
+	public long getTotalLines()
+	{
+		return buffer().getLong(16);
+	}
+
+	/**
+	 * Gets the number of covered lines in all programs.
+	 *
+	 * @return the number of covered lines
+	 */
+	public long getCoveredLines()
+	{
+		return buffer().getLong(24);
+	}
+
+	/**
+	 * Finds a program by its source path.
+	 *
+	 * @param path
+	 *            the source path, as written in the report
+	 *
+	 * @return the index of the program, or -1 if it is not in the store
+	 */
+	public int indexOf(String path)
+	{
+		// the index is sorted by String.compareTo, as the writer sorts it
+		ByteBuffer buffer = buffer();
+		int low = 0;
+		int high = m_programCount - 1;
+		while (low <= high)
+		{
+			int mid = (low + high) >>> 1;
+			int cmp = getPath(buffer, mid).compareTo(path);
+			if (cmp < 0)
+			{
+				low = mid + 1;
+			}
+			else if (cmp > 0)
+			{
+				high = mid - 1;
+			}
+			else
+			{
+				return mid;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Gets the source path of a program.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 *
+	 * @return the source path
+	 */
+	public String getPath(int program)
+	{
+		return getPath(buffer(), checkIndex(program));
+	}
+
+	/**
+	 * Gets the number of lines to cover in a program.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 *
+	 * @return the number of lines to cover
+	 */
+	public int getLineCount(int program)
+	{
+		return buffer().getInt(entry(program) + 24);
+	}
+
+	/**
+	 * Gets the number of covered lines in a program.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 *
+	 * @return the number of covered lines
+	 */
+	public int getCoveredCount(int program)
+	{
+		return buffer().getInt(entry(program) + 28);
+	}
+
+	/**
+	 * Gets the number of branches to cover in a program.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 *
+	 * @return the number of branches; 0 if not reported
+	 */
+	public int getBranchesToCover(int program)
+	{
+		return buffer().getInt(entry(program) + 32);
+	}
+
+	/**
+	 * Gets the number of covered branches in a program.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 *
+	 * @return the number of covered branches
+	 */
+	public int getCoveredBranches(int program)
+	{
+		return buffer().getInt(entry(program) + 36);
+	}
+
+	/**
+	 * Gets whether a line of a program is a line to cover.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 * @param line
+	 *            the line number
+	 *
+	 * @return <code>true</code> if the line is reported
+	 */
+	public boolean isLine(int program, int line)
+	{
+		return testBit(program, line, false);
+	}
+
+	/**
+	 * Gets whether a line of a program was covered.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 * @param line
+	 *            the line number
+	 *
+	 * @return <code>true</code> if the line was executed
+	 */
+	public boolean isCovered(int program, int line)
+	{
+		return testBit(program, line, true);
+	}
+
+	/**
+	 * Gets the lines to cover of a program.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 *
+	 * @return a <code>BitSet</code> indexed by line number
+	 */
+	public BitSet getLines(int program)
+	{
+		return bitmap(program, false);
+	}
+
+	/**
+	 * Gets the covered lines of a program.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 *
+	 * @return a <code>BitSet</code> indexed by line number
+	 */
+	public BitSet getCoveredLines(int program)
+	{
+		return bitmap(program, true);
+	}
+
+	/**
+	 * Gets whether a program has the same lines to cover and covered lines as a program of another store. The bitmaps are
+	 * compared in place, so an unchanged program costs no allocation.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 * @param other
+	 *            the other store
+	 * @param otherProgram
+	 *            the index of the program in the other store
+	 *
+	 * @return <code>true</code> if the line coverage of the two programs is the same
+	 */
+	public boolean isSameCoverage(int program, CoverageStore other, int otherProgram)
+	{
+		ByteBuffer buffer = buffer();
+		ByteBuffer otherBuffer = other.buffer();
+		int entry = entry(program);
+		int otherEntry = other.entry(otherProgram);
+		int wordCount = buffer.getInt(entry + 20);
+		if (buffer.getInt(entry + 16) != otherBuffer.getInt(otherEntry + 16) || wordCount != otherBuffer.getInt(otherEntry + 20))
+		{
+			return false;
+		}
+
+		// the covered bitmap follows the lines bitmap, so both are compared in one pass
+		int offset = bitmapOffset(buffer, entry, false);
+		int otherOffset = other.bitmapOffset(otherBuffer, otherEntry, false);
+		for (int i = 0; i < 2 * wordCount; i++)
+		{
+			if (buffer.getLong(offset + 8 * i) != otherBuffer.getLong(otherOffset + 8 * i))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Releases the buffer. A mapping is only unmapped when the buffer is garbage collected.
+	 */
+	@Override
+	public void close()
+	{
+		m_buffer = null;
+	}
+
+	private ByteBuffer buffer()
+	{
+		ByteBuffer buffer = m_buffer;
+		if (buffer == null)
+		{
+			throw new IllegalStateException("The coverage store is closed"); //$NON-NLS-1$
+		}
+
+		return buffer;
+	}
+
+	private int checkIndex(int program)
+	{
+		if (program < 0 || program >= m_programCount)
+		{
+			throw new IndexOutOfBoundsException("Program: " + program + ", count: " + m_programCount); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		return program;
+	}
+
+	private int entry(int program)
+	{
+		return HEADER_SIZE + checkIndex(program) * ENTRY_SIZE;
+	}
+
+	private String getPath(ByteBuffer buffer, int program)
+	{
+		int entry = HEADER_SIZE + program * ENTRY_SIZE;
+		byte[] path = new byte[buffer.getInt(entry + 4)];
+		ByteBuffer view = buffer.duplicate();
+		view.position(m_stringTableOffset + buffer.getInt(entry));
+		view.get(path);
+
+		return new String(path, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Gets the position of the first word of a program's bitmap.
+	 */
+	private int bitmapOffset(ByteBuffer buffer, int entry, boolean covered)
+	{
+		long offset = m_dataOffset + buffer.getLong(entry + 8);
+		if (covered)
+		{
+			offset += 8L * buffer.getInt(entry + 20);
+		}
+
+		return (int) offset;
+	}
+
+	private boolean testBit(int program, int line, boolean covered)
+	{
+		ByteBuffer buffer = buffer();
+		int entry = entry(program);
+		int word = (line >>> 6) - buffer.getInt(entry + 16);
+		if (line < 0 || word < 0 || word >= buffer.getInt(entry + 20))
+		{
+			return false;
+		}
+
+		return (buffer.getLong(bitmapOffset(buffer, entry, covered) + 8 * word) & (1L << (line & 63))) != 0;
+	}
+
+	private BitSet bitmap(int program, boolean covered)
+	{
+		ByteBuffer buffer = buffer();
+		int entry = entry(program);
+		int firstWord = buffer.getInt(entry + 16);
+		int wordCount = buffer.getInt(entry + 20);
+		int offset = bitmapOffset(buffer, entry, covered);
+
+		long[] words = new long[firstWord + wordCount];
+		for (int i = 0; i < wordCount; i++)
+		{
+			words[firstWord + i] = buffer.getLong(offset + 8 * i);
+		}
+
+		return BitSet.valueOf(words);
+	}
+}
@@ -0,0 +1,261 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes a compact binary {@link CoverageStore} of a Code Coverage report, one program at a time.
+ * <p>
+ * The line bitmaps of each program are spilled to a temporary file as they are added, so memory holds only the index
+ * entries. When the writer is closed, the index is sorted by source path and written ahead of the bitmaps. A source path
+ * added more than once keeps its first program.
+ */
+public class CoverageStoreWriter implements Closeable
+{
+	// Member Variables
+	private final File m_file;
+	private final File m_data;
+	private final DataOutputStream m_out;
+	private final List<Entry> m_entries = new ArrayList<>();
+	private final Set<String> m_paths = new HashSet<>();
+	private long m_dataSize;
+	private long[] m_lines = new long[16];
+	private long[] m_covered = new long[16];
+
+	/**
+	 * Constructor.
+	 *
+	 * @param file
+	 *            the store to write; replaced when the writer is closed
+	 *
+	 * @throws IOException
+	 *             if the temporary file cannot be created
+	 */
+	public CoverageStoreWriter(File file) throws IOException
+	{
+		m_file = file;
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+		{
+			throw new IOException("Unable to create directory " + parent); //$NON-NLS-1$
+		}
+
+		m_data = File.createTempFile(file.getName(), ".data", parent); //$NON-NLS-1$
+		m_out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_data)));
+	}
+
+	/**
+	 * Adds a program.
+	 *
+	 * @param program
+	 *            the <code>ProgramCoverage</code> to add
+	 *
+	 * @throws IOException
+	 *             if the program cannot be written
+	 */
+	public void add(ProgramCoverage program) throws IOException
+	{
+		if (!m_paths.add(program.getPath()))
+		{
+			return;
+		}
+
+		Entry entry = new Entry(program.getPath(), m_dataSize);
+		int lineCount = program.getLineCount();
+		if (lineCount > 0)
+		{
+			int minLine = Integer.MAX_VALUE;
+			int maxLine = 0;
+			for (int i = 0; i < lineCount; i++)
+			{
+				int line = Math.max(0, program.getLineNumber(i));
+				minLine = Math.min(minLine, line);
+				maxLine = Math.max(maxLine, line);
+			}
+
+			entry.m_firstWord = minLine >>> 6;
+			entry.m_wordCount = (maxLine >>> 6) - entry.m_firstWord + 1;
+			if (m_lines.length < entry.m_wordCount)
+			{
+				m_lines = new long[entry.m_wordCount];
+				m_covered = new long[entry.m_wordCount];
+			}
+			Arrays.fill(m_lines, 0, entry.m_wordCount, 0);
+			Arrays.fill(m_covered, 0, entry.m_wordCount, 0);
+
+			for (int i = 0; i < lineCount; i++)
+			{
+				int line = Math.max(0, program.getLineNumber(i));
+				int word = (line >>> 6) - entry.m_firstWord;
+				long bit = 1L << (line & 63);
+				m_lines[word] |= bit;
+				if (program.isCovered(i))
+				{
+					m_covered[word] |= bit;
+				}
+				entry.m_branchesToCover += program.getBranchesToCover(i);
+				entry.m_coveredBranches += program.getCoveredBranches(i);
+			}
+
+			// a line listed more than once is counted once
+			for (int i = 0; i < entry.m_wordCount; i++)
+			{
+				entry.m_lineCount += Long.bitCount(m_lines[i]);
+				entry.m_coveredCount += Long.bitCount(m_covered[i]);
+			}
+			for (int i = 0; i < entry.m_wordCount; i++)
+			{
+				m_out.writeLong(m_lines[i]);
+			}
+			for (int i = 0; i < entry.m_wordCount; i++)
+			{
+				m_out.writeLong(m_covered[i]);
+			}
+			m_dataSize += 16L * entry.m_wordCount;
+		}
+
+		m_entries.add(entry);
+	}
+
+	/**
+	 * Writes the header, the index and the bitmaps to the store, and deletes the temporary file.
+	 *
+	 * @throws IOException
+	 *             if the store cannot be written
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		File temp = null;
+		try
+		{
+			m_out.close();
+			m_entries.sort(Comparator.comparing((Entry entry) -> entry.m_path));
+
+			long totalLines = 0;
+			long coveredLines = 0;
+			List<byte[]> paths = new ArrayList<>(m_entries.size());
+			int stringTableSize = 0;
+			for (Entry entry : m_entries)
+			{
+				byte[] path = entry.m_path.getBytes(StandardCharsets.UTF_8);
+				paths.add(path);
+				stringTableSize += path.length;
+				totalLines += entry.m_lineCount;
+				coveredLines += entry.m_coveredCount;
+			}
+
+			temp = File.createTempFile(m_file.getName(), ".tmp", m_data.getParentFile()); //$NON-NLS-1$
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp))))
+			{
+				out.writeInt(CoverageStore.MAGIC);
+				out.writeInt(CoverageStore.VERSION);
+				out.writeInt(m_entries.size());
+				out.writeInt(stringTableSize);
+				out.writeLong(totalLines);
+				out.writeLong(coveredLines);
+
+				int pathOffset = 0;
+				for (int i = 0; i < m_entries.size(); i++)
+				{
+					Entry entry = m_entries.get(i);
+					out.writeInt(pathOffset);
+					out.writeInt(paths.get(i).length);
+					out.writeLong(entry.m_dataOffset);
+					out.writeInt(entry.m_firstWord);
+					out.writeInt(entry.m_wordCount);
+					out.writeInt(entry.m_lineCount);
+					out.writeInt(entry.m_coveredCount);
+					out.writeInt(entry.m_branchesToCover);
+					out.writeInt(entry.m_coveredBranches);
+					pathOffset += paths.get(i).length;
+				}
+				for (byte[] path : paths)
+				{
+					out.write(path);
+				}
+
+				Files.copy(m_data.toPath(), out);
+			}
+
+			Files.move(temp.toPath(), m_file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally
+		{
+			if (temp != null)
+			{
+				Files.deleteIfExists(temp.toPath());
+			}
+			Files.deleteIfExists(m_data.toPath());
+		}
+	}
+
+	/**
+	 * Discards the programs added so far and deletes the temporary file, leaving any existing store untouched.
+	 */
+	public void abandon()
+	{
+		try
+		{
+			m_out.close();
+		}
+		catch (IOException e)
+		{
+			// the temporary file is deleted below regardless
+		}
+		finally
+		{
+			m_data.delete();
+		}
+	}
+
+	/**
+	 * The index entry of one program.
+	 */
+	private static final class Entry
+	{
+		private final String m_path;
+		private final long m_dataOffset;
+		private int m_firstWord;
+		private int m_wordCount;
+		private int m_lineCount;
+		private int m_coveredCount;
+		private int m_branchesToCover;
+		private int m_coveredBranches;
+
+		Entry(String path, long dataOffset)
+		{
+			m_path = path;
+			m_dataOffset = dataOffset;
+		}
+	}
+}
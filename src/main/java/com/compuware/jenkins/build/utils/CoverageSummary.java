@@ -0,0 +1,229 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-program covered and total line counts of a Code Coverage report, kept in primitive arrays so the summary stays small
+ * when it is sent across the remoting channel and saved with the build.
+ */
+public final class CoverageSummary implements Serializable
+{
+	private static final long serialVersionUID = -5121617497734095212L;
+
+	// Member Variables
+	private int m_programCount;
+	private String[] m_programs = new String[16];
+	private int[] m_coveredLines = new int[16];
+	private int[] m_totalLines = new int[16];
+	private long m_reportSize = -1;
+	private boolean m_partial;
+	private transient Map<String, Integer> m_index = new HashMap<>();
+
+	/**
+	 * Adds the line counts of a program. Counts for a program that was already added are accumulated.
+	 *
+	 * @param program
+	 *            the program name
+	 * @param coveredLines
+	 *            the number of covered lines
+	 * @param totalLines
+	 *            the number of lines to cover
+	 */
+	public void add(String program, int coveredLines, int totalLines)
+	{
+		if (m_index == null)
+		{
+			m_index = new HashMap<>();
+			for (int i = 0; i < m_programCount; i++)
+			{
+				m_index.put(m_programs[i], i);
+			}
+		}
+
+		Integer existing = m_index.get(program);
+		if (existing != null)
+		{
+			m_coveredLines[existing] += coveredLines;
+			m_totalLines[existing] += totalLines;
+			return;
+		}
+
+		if (m_programCount == m_programs.length)
+		{
+			int capacity = m_programCount * 2;
+			m_programs = Arrays.copyOf(m_programs, capacity);
+			m_coveredLines = Arrays.copyOf(m_coveredLines, capacity);
+			m_totalLines = Arrays.copyOf(m_totalLines, capacity);
+		}
+
+		m_index.put(program, m_programCount);
+		m_programs[m_programCount] = program;
+		m_coveredLines[m_programCount] = coveredLines;
+		m_totalLines[m_programCount] = totalLines;
+		m_programCount++;
+	}
+
+	/**
+	 * Releases the unused capacity of the arrays once all programs have been added.
+	 */
+	public void trim()
+	{
+		m_programs = Arrays.copyOf(m_programs, m_programCount);
+		m_coveredLines = Arrays.copyOf(m_coveredLines, m_programCount);
+		m_totalLines = Arrays.copyOf(m_totalLines, m_programCount);
+		m_index = null;
+	}
+
+	/**
+	 * Gets the number of programs in the report.
+	 *
+	 * @return <code>int</code> value of m_programCount
+	 */
+	public int getProgramCount()
+	{
+		return m_programCount;
+	}
+
+	/**
+	 * Gets the name of the program at the given index.
+	 *
+	 * @param index
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 *
+	 * @return the program name
+	 */
+	public String getProgramName(int index)
+	{
+		return m_programs[index];
+	}
+
+	/**
+	 * Gets the number of covered lines of the program at the given index.
+	 *
+	 * @param index
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 *
+	 * @return the number of covered lines
+	 */
+	public int getProgramCoveredLines(int index)
+	{
+		return m_coveredLines[index];
+	}
+
+	/**
+	 * Gets the number of lines to cover of the program at the given index.
+	 *
+	 * @param index
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 *
+	 * @return the number of lines to cover
+	 */
+	public int getProgramTotalLines(int index)
+	{
+		return m_totalLines[index];
+	}
+
+	/**
+	 * Gets the number of covered lines across all programs.
+	 *
+	 * @return the number of covered lines
+	 */
+	public long getCoveredLines()
+	{
+		long covered = 0;
+		for (int i = 0; i < m_programCount; i++)
+		{
+			covered += m_coveredLines[i];
+		}
+
+		return covered;
+	}
+
+	/**
+	 * Gets the number of lines to cover across all programs.
+	 *
+	 * @return the number of lines to cover
+	 */
+	public long getTotalLines()
+	{
+		long total = 0;
+		for (int i = 0; i < m_programCount; i++)
+		{
+			total += m_totalLines[i];
+		}
+
+		return total;
+	}
+
+	/**
+	 * Gets the size of the summarized report.
+	 *
+	 * @return the size in bytes, or -1 if not known
+	 */
+	public long getReportSize()
+	{
+		return m_reportSize;
+	}
+
+	/**
+	 * Sets the size of the summarized report.
+	 *
+	 * @param reportSize
+	 *            the size in bytes
+	 */
+	public void setReportSize(long reportSize)
+	{
+		m_reportSize = reportSize;
+	}
+
+	/**
+	 * Gets whether the summarized report is partial, because its extraction was stopped before it finished.
+	 *
+	 * @return <code>boolean</code> value of m_partial
+	 */
+	public boolean isPartial()
+	{
+		return m_partial;
+	}
+
+	/**
+	 * Sets whether the summarized report is partial.
+	 *
+	 * @param partial
+	 *            <code>true</code> if only the programs extracted before the extraction was stopped are summarized
+	 */
+	public void setPartial(boolean partial)
+	{
+		m_partial = partial;
+	}
+
+	/**
+	 * Gets the percentage of lines covered across all programs.
+	 *
+	 * @return the line coverage percentage; 0 if there are no lines to cover
+	 */
+	public double getPercentage()
+	{
+		long total = getTotalLines();
+		return total == 0 ? 0 : (getCoveredLines() * 100.0) / total;
+	}
+}
@@ -0,0 +1,304 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An append-only index of the coverage summary of each build of a job, used to draw the coverage trend.
+ * <p>
+ * The index is a short header followed by one fixed-size record per build, so any record can be read by position. Reading
+ * a trend samples at most a fixed number of records spread evenly over the history, so its cost does not grow with the
+ * number of builds. A build that records more than one summary replaces its own record, which is looked for among the last
+ * {@value #TAIL_RECORDS} records, so builds that run concurrently and record in turn do not leave duplicates.
+ */
+public final class CoverageTrendIndex
+{
+	// Constants
+	static final int MAGIC = 0x43435449; // CCTI
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 8;
+	static final int RECORD_SIZE = 40;
+	static final int TAIL_RECORDS = 64;
+	private static final int PARTIAL = 1;
+
+	private CoverageTrendIndex()
+	{
+	}
+
+	/**
+	 * Appends the summary of a build.
+	 *
+	 * @param index
+	 *            the index file; created if it does not exist
+	 * @param entry
+	 *            the summary of the build
+	 *
+	 * @throws IOException
+	 *             if the index cannot be written or is not a coverage trend index
+	 */
+	public static synchronized void append(File index, Entry entry) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(index.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE))
+		{
+			int count = count(channel);
+			if (count < 0)
+			{
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+				header.putInt(MAGIC).putInt(VERSION).flip();
+				write(channel, header, 0);
+				count = 0;
+			}
+
+			// a trailing record left incomplete by a crash is overwritten
+			long end = HEADER_SIZE + (long) count * RECORD_SIZE;
+			long position = end;
+			int first = Math.max(0, count - TAIL_RECORDS);
+			ByteBuffer tail = read(channel, ByteBuffer.allocate((count - first) * RECORD_SIZE),
+					HEADER_SIZE + (long) first * RECORD_SIZE);
+			for (int record = count - 1; record >= first; record--)
+			{
+				if (tail.getInt((record - first) * RECORD_SIZE) == entry.getBuildNumber())
+				{
+					position = HEADER_SIZE + (long) record * RECORD_SIZE;
+					break;
+				}
+			}
+
+			ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+			record.putInt(entry.m_buildNumber).putInt(entry.m_programCount).putLong(entry.m_timestamp)
+					.putLong(entry.m_totalLines).putLong(entry.m_coveredLines).putInt(entry.m_partial ? PARTIAL : 0)
+					.putInt(0).flip();
+			write(channel, record, position);
+			channel.truncate(Math.max(end, position + RECORD_SIZE));
+		}
+	}
+
+	/**
+	 * Reads the trend, sampling long histories.
+	 *
+	 * @param index
+	 *            the index file
+	 * @param maxPoints
+	 *            the maximum number of entries to read; the first and the last entries are always read
+	 *
+	 * @return the entries read, sorted by build number; empty if the index does not exist
+	 *
+	 * @throws IOException
+	 *             if the index cannot be read or is not a coverage trend index
+	 */
+	public static List<Entry> read(File index, int maxPoints) throws IOException
+	{
+		if (!index.isFile())
+		{
+			return Collections.emptyList();
+		}
+
+		try (FileChannel channel = FileChannel.open(index.toPath(), StandardOpenOption.READ))
+		{
+			int count = Math.max(0, count(channel));
+			int points = Math.min(count, Math.max(1, maxPoints));
+			List<Entry> entries = new ArrayList<>(points);
+			int previous = -1;
+			for (int i = 0; i < points; i++)
+			{
+				int record = points == 1 ? count - 1 : (int) ((long) i * (count - 1) / (points - 1));
+				if (record != previous)
+				{
+					entries.add(read(channel, record));
+					previous = record;
+				}
+			}
+
+			// builds that run concurrently can finish out of order
+			entries.sort(Comparator.comparingInt(Entry::getBuildNumber));
+			return entries;
+		}
+	}
+
+	/**
+	 * Gets the number of complete records, or -1 for an empty file.
+	 */
+	private static int count(FileChannel channel) throws IOException
+	{
+		long size = channel.size();
+		if (size == 0)
+		{
+			return -1;
+		}
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		if (size < HEADER_SIZE || read(channel, header, 0).getInt(0) != MAGIC)
+		{
+			throw new IOException("Not a coverage trend index"); //$NON-NLS-1$
+		}
+		if (header.getInt(4) != VERSION)
+		{
+			throw new IOException("Unsupported coverage trend index version: " + header.getInt(4)); //$NON-NLS-1$
+		}
+
+		return (int) Math.min(Integer.MAX_VALUE, (size - HEADER_SIZE) / RECORD_SIZE);
+	}
+
+	private static Entry read(FileChannel channel, int record) throws IOException
+	{
+		ByteBuffer buffer = read(channel, ByteBuffer.allocate(RECORD_SIZE), HEADER_SIZE + (long) record * RECORD_SIZE);
+		return new Entry(buffer.getInt(0), buffer.getLong(8), buffer.getLong(16), buffer.getLong(24), buffer.getInt(4),
+				(buffer.getInt(32) & PARTIAL) != 0);
+	}
+
+	private static ByteBuffer read(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			if (channel.read(buffer, position + buffer.position()) < 0)
+			{
+				throw new EOFException();
+			}
+		}
+
+		return buffer;
+	}
+
+	private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			channel.write(buffer, position + buffer.position());
+		}
+	}
+
+	/**
+	 * The coverage summary of one build.
+	 */
+	public static final class Entry
+	{
+		// Member Variables
+		private final int m_buildNumber;
+		private final long m_timestamp;
+		private final long m_totalLines;
+		private final long m_coveredLines;
+		private final int m_programCount;
+		private final boolean m_partial;
+
+		/**
+		 * Constructor.
+		 *
+		 * @param buildNumber
+		 *            the build number
+		 * @param timestamp
+		 *            the time the build was scheduled, in milliseconds since the epoch
+		 * @param totalLines
+		 *            the number of lines to cover
+		 * @param coveredLines
+		 *            the number of covered lines
+		 * @param programCount
+		 *            the number of programs
+		 * @param partial
+		 *            whether the report was salvaged from a stopped extraction
+		 */
+		public Entry(int buildNumber, long timestamp, long totalLines, long coveredLines, int programCount, boolean partial)
+		{
+			m_buildNumber = buildNumber;
+			m_timestamp = timestamp;
+			m_totalLines = totalLines;
+			m_coveredLines = coveredLines;
+			m_programCount = programCount;
+			m_partial = partial;
+		}
+
+		/**
+		 * Gets the build number.
+		 *
+		 * @return <code>int</code> value of m_buildNumber
+		 */
+		public int getBuildNumber()
+		{
+			return m_buildNumber;
+		}
+
+		/**
+		 * Gets the time the build was scheduled.
+		 *
+		 * @return <code>long</code> value of m_timestamp, in milliseconds since the epoch
+		 */
+		public long getTimestamp()
+		{
+			return m_timestamp;
+		}
+
+		/**
+		 * Gets the number of lines to cover.
+		 *
+		 * @return <code>long</code> value of m_totalLines
+		 */
+		public long getTotalLines()
+		{
+			return m_totalLines;
+		}
+
+		/**
+		 * Gets the number of covered lines.
+		 *
+		 * @return <code>long</code> value of m_coveredLines
+		 */
+		public long getCoveredLines()
+		{
+			return m_coveredLines;
+		}
+
+		/**
+		 * Gets the number of programs.
+		 *
+		 * @return <code>int</code> value of m_programCount
+		 */
+		public int getProgramCount()
+		{
+			return m_programCount;
+		}
+
+		/**
+		 * Gets whether the report was salvaged from a stopped extraction.
+		 *
+		 * @return <code>boolean</code> value of m_partial
+		 */
+		public boolean isPartial()
+		{
+			return m_partial;
+		}
+
+		/**
+		 * Gets the line coverage percentage.
+		 *
+		 * @return the percentage of lines covered; 0 if there are no lines to cover
+		 */
+		public double getPercentage()
+		{
+			return m_totalLines > 0 ? m_coveredLines * 100.0 / m_totalLines : 0;
+		}
+	}
+}
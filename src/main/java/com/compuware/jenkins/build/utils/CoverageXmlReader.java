@@ -0,0 +1,172 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A pull parser for the <code>CodeCoverage.xml</code> report written by the Code Coverage CLI.
+ * <p>
+ * The report uses the generic coverage format read by SonarQube:
+ *
+ * <pre>
+ * &lt;coverage version="1"&gt;
+ *   &lt;file path="COBOL/PROGRAM1.cbl"&gt;
+ *     &lt;lineToCover lineNumber="12" covered="true"/&gt;
+ *     &lt;lineToCover lineNumber="14" covered="false" branchesToCover="2" coveredBranches="1"/&gt;
+ *   &lt;/file&gt;
+ * &lt;/coverage&gt;
+ * </pre>
+ *
+ * The report is read one program at a time, so memory use is bounded by the largest program rather than the report size.
+ */
+@SuppressWarnings("nls")
+public class CoverageXmlReader implements Closeable
+{
+	// Constants
+	public static final String COVERAGE_ELEMENT = "coverage";
+	public static final String VERSION_ATTRIBUTE = "version";
+	public static final String FILE_ELEMENT = "file";
+	public static final String PATH_ATTRIBUTE = "path";
+	public static final String LINE_ELEMENT = "lineToCover";
+	public static final String LINE_NUMBER_ATTRIBUTE = "lineNumber";
+	public static final String COVERED_ATTRIBUTE = "covered";
+	public static final String BRANCHES_TO_COVER_ATTRIBUTE = "branchesToCover";
+	public static final String COVERED_BRANCHES_ATTRIBUTE = "coveredBranches";
+
+	// Member Variables
+	private final InputStream m_in;
+	private final XMLStreamReader m_reader;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param in
+	 *            the report stream; closed when this reader is closed
+	 *
+	 * @throws IOException
+	 *             if the stream cannot be read as XML
+	 */
+	public CoverageXmlReader(InputStream in) throws IOException
+	{
+		m_in = in;
+		try
+		{
+			XMLInputFactory factory = XMLInputFactory.newFactory();
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+			m_reader = factory.createXMLStreamReader(in);
+		}
+		catch (XMLStreamException e)
+		{
+			throw new IOException("Unable to read the coverage report: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Reads the next program in the report.
+	 *
+	 * @param program
+	 *            the <code>ProgramCoverage</code> to fill
+	 *
+	 * @return <code>true</code> if a program was read, <code>false</code> at the end of the report
+	 *
+	 * @throws IOException
+	 *             if the report is malformed or truncated
+	 */
+	public boolean next(ProgramCoverage program) throws IOException
+	{
+		try
+		{
+			while (m_reader.hasNext())
+			{
+				if (m_reader.next() == XMLStreamConstants.START_ELEMENT && FILE_ELEMENT.equals(m_reader.getLocalName()))
+				{
+					program.reset(m_reader.getAttributeValue(null, PATH_ATTRIBUTE));
+					readLines(program);
+					return true;
+				}
+			}
+
+			return false;
+		}
+		catch (XMLStreamException | NumberFormatException e)
+		{
+			throw new IOException("Unable to read the coverage report: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Reads the <code>lineToCover</code> elements up to the end of the current <code>file</code> element.
+	 */
+	private void readLines(ProgramCoverage program) throws XMLStreamException
+	{
+		int depth = 1;
+		while (depth > 0)
+		{
+			int event = m_reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT)
+			{
+				depth++;
+				if (LINE_ELEMENT.equals(m_reader.getLocalName()))
+				{
+					program.addLine(intAttribute(LINE_NUMBER_ATTRIBUTE),
+							Boolean.parseBoolean(m_reader.getAttributeValue(null, COVERED_ATTRIBUTE)),
+							intAttribute(BRANCHES_TO_COVER_ATTRIBUTE), intAttribute(COVERED_BRANCHES_ATTRIBUTE));
+				}
+			}
+			else if (event == XMLStreamConstants.END_ELEMENT)
+			{
+				depth--;
+			}
+		}
+	}
+
+	private int intAttribute(String name)
+	{
+		String value = m_reader.getAttributeValue(null, name);
+		return value != null ? Integer.parseInt(value.trim()) : 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			m_reader.close();
+		}
+		catch (XMLStreamException e)
+		{
+			// the underlying stream is closed below regardless
+		}
+		finally
+		{
+			m_in.close();
+		}
+	}
+}
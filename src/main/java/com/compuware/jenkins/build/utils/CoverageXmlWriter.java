@@ -0,0 +1,155 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Writes a <code>CodeCoverage.xml</code> report in the format read by {@link CoverageXmlReader}, one program at a time.
+ */
+@SuppressWarnings("nls")
+public class CoverageXmlWriter implements Closeable
+{
+	// Member Variables
+	private final OutputStream m_out;
+	private final XMLStreamWriter m_writer;
+
+	/**
+	 * Constructor. Writes the start of the report.
+	 *
+	 * @param out
+	 *            the report stream; closed when this writer is closed
+	 *
+	 * @throws IOException
+	 *             if the report cannot be written
+	 */
+	public CoverageXmlWriter(OutputStream out) throws IOException
+	{
+		m_out = out;
+		try
+		{
+			m_writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+			m_writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+			m_writer.writeCharacters("\n");
+			m_writer.writeStartElement(CoverageXmlReader.COVERAGE_ELEMENT);
+			m_writer.writeAttribute(CoverageXmlReader.VERSION_ATTRIBUTE, "1");
+			m_writer.writeCharacters("\n");
+		}
+		catch (XMLStreamException e)
+		{
+			throw new IOException("Unable to write the coverage report: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Writes a program.
+	 *
+	 * @param program
+	 *            the <code>ProgramCoverage</code> to write
+	 *
+	 * @throws IOException
+	 *             if the report cannot be written
+	 */
+	public void write(ProgramCoverage program) throws IOException
+	{
+		try
+		{
+			m_writer.writeCharacters("  ");
+			m_writer.writeStartElement(CoverageXmlReader.FILE_ELEMENT);
+			m_writer.writeAttribute(CoverageXmlReader.PATH_ATTRIBUTE, program.getPath());
+			m_writer.writeCharacters("\n");
+			for (int i = 0; i < program.getLineCount(); i++)
+			{
+				m_writer.writeCharacters("    ");
+				m_writer.writeEmptyElement(CoverageXmlReader.LINE_ELEMENT);
+				m_writer.writeAttribute(CoverageXmlReader.LINE_NUMBER_ATTRIBUTE, Integer.toString(program.getLineNumber(i)));
+				m_writer.writeAttribute(CoverageXmlReader.COVERED_ATTRIBUTE, Boolean.toString(program.isCovered(i)));
+				if (program.getBranchesToCover(i) > 0)
+				{
+					m_writer.writeAttribute(CoverageXmlReader.BRANCHES_TO_COVER_ATTRIBUTE,
+							Integer.toString(program.getBranchesToCover(i)));
+					m_writer.writeAttribute(CoverageXmlReader.COVERED_BRANCHES_ATTRIBUTE,
+							Integer.toString(program.getCoveredBranches(i)));
+				}
+				m_writer.writeCharacters("\n");
+			}
+			m_writer.writeCharacters("  ");
+			m_writer.writeEndElement();
+			m_writer.writeCharacters("\n");
+		}
+		catch (XMLStreamException e)
+		{
+			throw new IOException("Unable to write the coverage report: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Writes a comment, which readers of the report ignore.
+	 *
+	 * @param text
+	 *            the text of the comment; must not contain <code>--</code>
+	 *
+	 * @throws IOException
+	 *             if the report cannot be written
+	 */
+	public void comment(String text) throws IOException
+	{
+		try
+		{
+			m_writer.writeCharacters("  ");
+			m_writer.writeComment(" " + text + " ");
+			m_writer.writeCharacters("\n");
+		}
+		catch (XMLStreamException e)
+		{
+			throw new IOException("Unable to write the coverage report: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Writes the end of the report and closes the stream.
+	 *
+	 * @throws IOException
+	 *             if the report cannot be written
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			m_writer.writeEndElement();
+			m_writer.writeCharacters("\n");
+			m_writer.writeEndDocument();
+			m_writer.close();
+		}
+		catch (XMLStreamException e)
+		{
+			throw new IOException("Unable to write the coverage report: " + e.getMessage(), e);
+		}
+		finally
+		{
+			m_out.close();
+		}
+	}
+}
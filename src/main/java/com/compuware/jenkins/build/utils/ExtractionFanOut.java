@@ -0,0 +1,148 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Expands analysis properties that list several repositories, systems or test IDs into one set of properties per
+ * extraction.
+ * <p>
+ * Values of <code>cc.repos</code>, <code>cc.system</code> and <code>cc.test</code> may be separated by semicolons. One
+ * extraction is made for every combination of the listed values. An extraction can also be split into shards by its
+ * <code>cc.sources</code> folders, so parts of it can run in different Pipeline branches.
+ */
+public final class ExtractionFanOut
+{
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods should be accessed statically.
+	 */
+	private ExtractionFanOut()
+	{
+	}
+
+	/**
+	 * Expands the given properties into one set of properties per extraction.
+	 *
+	 * @param analysisProperties
+	 *            the merged analysis properties
+	 *
+	 * @return the properties of each extraction; a single element holding the given properties if nothing is listed
+	 */
+	public static List<Properties> expand(Properties analysisProperties)
+	{
+		List<Properties> extractions = Collections.singletonList(analysisProperties);
+		for (String key : new String[] { CodeCoverageConstants.REPOS_PARM, CodeCoverageConstants.SYSTEM_PARM,
+				CodeCoverageConstants.TEST_PARM })
+		{
+			List<String> values = split(analysisProperties.getProperty(key));
+			if (values.size() > 1)
+			{
+				List<Properties> expanded = new ArrayList<>(extractions.size() * values.size());
+				for (Properties extraction : extractions)
+				{
+					for (String value : values)
+					{
+						Properties copy = new Properties();
+						copy.putAll(extraction);
+						copy.setProperty(key, value);
+						expanded.add(copy);
+					}
+				}
+				extractions = expanded;
+			}
+		}
+
+		return extractions;
+	}
+
+	/**
+	 * Gets the share of a shard of the comma separated folders of <code>cc.sources</code>.
+	 * <p>
+	 * The folders are dealt to the shards in turn, so shards differ by at most one folder. With fewer folders than shards, the
+	 * shards past the last folder have none. Without folders the extraction cannot be split, so the first shard has all of it.
+	 *
+	 * @param sources
+	 *            the comma separated source folders
+	 * @param shards
+	 *            the number of shards
+	 * @param index
+	 *            the index of the shard, from 0
+	 *
+	 * @return the comma separated folders of the shard; <code>null</code> if the shard has nothing to extract
+	 */
+	public static String shardSources(String sources, int shards, int index)
+	{
+		List<String> folders = new ArrayList<>();
+		for (String source : StringUtils.split(StringUtils.defaultString(sources), ','))
+		{
+			if (StringUtils.isNotBlank(source))
+			{
+				folders.add(source.trim());
+			}
+		}
+
+		if (folders.isEmpty())
+		{
+			return index == 0 ? StringUtils.defaultString(sources) : null;
+		}
+
+		List<String> shardFolders = new ArrayList<>();
+		for (int i = index; i < folders.size(); i += shards)
+		{
+			shardFolders.add(folders.get(i));
+		}
+
+		return shardFolders.isEmpty() ? null : StringUtils.join(shardFolders, ',');
+	}
+
+	/**
+	 * Describes an extraction by its repository, system and test ID, for use in log output.
+	 *
+	 * @param extraction
+	 *            the properties of the extraction
+	 *
+	 * @return the description
+	 */
+	public static String describe(Properties extraction)
+	{
+		return extraction.getProperty(CodeCoverageConstants.REPOS_PARM, StringUtils.EMPTY) + '/'
+				+ extraction.getProperty(CodeCoverageConstants.SYSTEM_PARM, StringUtils.EMPTY) + '/'
+				+ extraction.getProperty(CodeCoverageConstants.TEST_PARM, StringUtils.EMPTY);
+	}
+
+	private static List<String> split(String value)
+	{
+		List<String> values = new ArrayList<>();
+		for (String token : StringUtils.split(StringUtils.trimToEmpty(value), CodeCoverageConstants.LIST_SEPARATOR))
+		{
+			if (StringUtils.isNotBlank(token))
+			{
+				values.add(token.trim());
+			}
+		}
+
+		return values;
+	}
+}
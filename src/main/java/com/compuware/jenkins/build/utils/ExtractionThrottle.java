@@ -0,0 +1,359 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Limits the number of extractions running at the same time against each host connection on the controller.
+ * <p>
+ * Extractions that have to wait are granted in the order they asked (first in, first out), so a burst of builds against one
+ * connection is served fairly. A waiting extraction holds no CLI process and no thread: it is a request that is completed when
+ * its turn comes. It logs its queue position whenever it changes.
+ */
+@SuppressWarnings("nls")
+public final class ExtractionThrottle
+{
+	private static final Map<String, Connection> CONNECTIONS = new HashMap<>();
+
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods should be accessed statically.
+	 */
+	private ExtractionThrottle()
+	{
+	}
+
+	/**
+	 * Waits until the given host connection has fewer than the given number of extractions running, then counts this one.
+	 * <p>
+	 * The returned permit must be closed when the extraction ends.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 * @param maxConcurrent
+	 *            the maximum number of extractions at the same time; less than 1 for no limit
+	 * @param logger
+	 *            the <code>PrintStream</code> to log the queue position to
+	 *
+	 * @return the permit for the extraction
+	 *
+	 * @throws InterruptedException
+	 *             if the wait is interrupted; no permit is held
+	 */
+	public static Permit acquire(String connectionId, int maxConcurrent, PrintStream logger) throws InterruptedException
+	{
+		CompletableFuture<Permit> request = request(connectionId, maxConcurrent, logger);
+		try
+		{
+			return request.get();
+		}
+		catch (InterruptedException e)
+		{
+			withdraw(request);
+			throw e;
+		}
+		catch (ExecutionException e)
+		{
+			// requests are only ever completed with a permit
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Asks for a slot on the given host connection without waiting for it. The request is completed with a permit once the
+	 * connection has fewer than the given number of extractions running and every earlier request was granted.
+	 * <p>
+	 * The permit must be closed when the extraction ends. A request that is no longer wanted must be withdrawn with
+	 * {@link #withdraw(CompletableFuture)}, which also releases a permit already granted to it.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 * @param maxConcurrent
+	 *            the maximum number of extractions at the same time; less than 1 for no limit
+	 * @param logger
+	 *            the <code>PrintStream</code> to log the queue position to
+	 *
+	 * @return the request, completed with the permit for the extraction
+	 */
+	public static CompletableFuture<Permit> request(String connectionId, int maxConcurrent, PrintStream logger)
+	{
+		if (maxConcurrent < 1)
+		{
+			return CompletableFuture.completedFuture(new Permit(null));
+		}
+
+		Connection connection;
+		synchronized (CONNECTIONS)
+		{
+			connection = CONNECTIONS.computeIfAbsent(connectionId, Connection::new);
+			connection.m_users++;
+		}
+
+		Request request = new Request(connection, maxConcurrent, logger);
+		connection.enqueue(request);
+		return request;
+	}
+
+	/**
+	 * Withdraws a request made with {@link #request(String, int, PrintStream)}. A request still waiting leaves the queue; a
+	 * permit already granted to it is released.
+	 *
+	 * @param request
+	 *            the request; can be <code>null</code>
+	 */
+	public static void withdraw(CompletableFuture<Permit> request)
+	{
+		if (request == null)
+		{
+			return;
+		}
+
+		if (!(request instanceof Request) || !((Request) request).withdraw())
+		{
+			// the permit was granted, possibly just now; it is released as soon as it is handed over
+			request.thenAccept(Permit::close);
+		}
+	}
+
+	/**
+	 * Gets the number of extractions running against the given host connection.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 *
+	 * @return the number of running extractions
+	 */
+	public static int getRunning(String connectionId)
+	{
+		synchronized (CONNECTIONS)
+		{
+			Connection connection = CONNECTIONS.get(connectionId);
+			return connection != null ? connection.getRunning() : 0;
+		}
+	}
+
+	/**
+	 * Gets the number of extractions waiting for the given host connection.
+	 *
+	 * @param connectionId
+	 *            the host connection identifier
+	 *
+	 * @return the number of waiting extractions
+	 */
+	public static int getWaiting(String connectionId)
+	{
+		synchronized (CONNECTIONS)
+		{
+			Connection connection = CONNECTIONS.get(connectionId);
+			return connection != null ? connection.getWaiting() : 0;
+		}
+	}
+
+	private static void release(Connection connection, boolean running)
+	{
+		if (running)
+		{
+			connection.release();
+		}
+
+		synchronized (CONNECTIONS)
+		{
+			if (--connection.m_users == 0)
+			{
+				CONNECTIONS.remove(connection.m_connectionId);
+			}
+		}
+	}
+
+	/**
+	 * The extractions running and waiting for one host connection.
+	 */
+	private static final class Connection
+	{
+		private final String m_connectionId;
+		private final ArrayDeque<Request> m_waiting = new ArrayDeque<>();
+		private int m_running;
+		// guarded by CONNECTIONS
+		private int m_users;
+
+		Connection(String connectionId)
+		{
+			m_connectionId = connectionId;
+		}
+
+		void enqueue(Request request)
+		{
+			List<Request> granted;
+			synchronized (this)
+			{
+				m_waiting.addLast(request);
+				granted = grant();
+			}
+			hand(granted);
+		}
+
+		/**
+		 * Removes a request that is still waiting.
+		 *
+		 * @return <code>false</code> if the request was already granted
+		 */
+		boolean withdraw(Request request)
+		{
+			List<Request> granted;
+			synchronized (this)
+			{
+				if (!m_waiting.remove(request))
+				{
+					return false;
+				}
+
+				granted = grant();
+			}
+			hand(granted);
+			return true;
+		}
+
+		void release()
+		{
+			List<Request> granted;
+			synchronized (this)
+			{
+				m_running--;
+				granted = grant();
+			}
+			hand(granted);
+		}
+
+		synchronized int getRunning()
+		{
+			return m_running;
+		}
+
+		synchronized int getWaiting()
+		{
+			return m_waiting.size();
+		}
+
+		/**
+		 * Grants the requests at the head of the queue while their limit allows, and logs the new position of the others.
+		 *
+		 * @return the granted requests, to be completed outside the lock
+		 */
+		private List<Request> grant()
+		{
+			List<Request> granted = new ArrayList<>();
+			for (Request head = m_waiting.peekFirst(); head != null && m_running < head.m_maxConcurrent; head = m_waiting
+					.peekFirst())
+			{
+				m_waiting.removeFirst();
+				m_running++;
+				granted.add(head);
+			}
+
+			int position = 1;
+			for (Iterator<Request> it = m_waiting.iterator(); it.hasNext(); position++)
+			{
+				Request request = it.next();
+				if (request.m_loggedPosition != position)
+				{
+					request.m_logger.println("Waiting for host connection " + m_connectionId + ": position " + position + " of "
+							+ m_waiting.size() + " in the queue, " + m_running + " of " + request.m_maxConcurrent
+							+ " extractions running");
+					request.m_loggedPosition = position;
+				}
+			}
+
+			return granted;
+		}
+
+		private void hand(List<Request> granted)
+		{
+			for (Request request : granted)
+			{
+				request.complete(new Permit(this));
+			}
+		}
+	}
+
+	/**
+	 * A request for an extraction slot, completed with the permit once it is granted.
+	 */
+	private static final class Request extends CompletableFuture<Permit>
+	{
+		private final Connection m_connection;
+		private final int m_maxConcurrent;
+		private final PrintStream m_logger;
+		// guarded by the connection
+		private int m_loggedPosition;
+
+		Request(Connection connection, int maxConcurrent, PrintStream logger)
+		{
+			m_connection = connection;
+			m_maxConcurrent = maxConcurrent;
+			m_logger = logger;
+		}
+
+		boolean withdraw()
+		{
+			if (!m_connection.withdraw(this))
+			{
+				return false;
+			}
+
+			release(m_connection, false);
+			cancel(false);
+			return true;
+		}
+	}
+
+	/**
+	 * A granted extraction slot, released when closed.
+	 */
+	public static final class Permit implements AutoCloseable
+	{
+		private Connection m_connection;
+
+		Permit(Connection connection)
+		{
+			m_connection = connection;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.AutoCloseable#close()
+		 */
+		@Override
+		public synchronized void close()
+		{
+			if (m_connection != null)
+			{
+				release(m_connection, true);
+				m_connection = null;
+			}
+		}
+	}
+}
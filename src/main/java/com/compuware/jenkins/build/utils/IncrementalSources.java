@@ -0,0 +1,176 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Narrows the <code>cc.sources</code> analysis property of an incremental extraction to the source folders that hold changed
+ * programs.
+ * <p>
+ * Changed paths are the workspace-relative paths reported by the build's change sets. Each is matched against the configured
+ * source folders, relative to the workspace or absolute. A match is replaced by the folder that holds the changed file,
+ * written in the same form as the source folder it belongs to. The CLI takes folders, not files, so narrowing only helps when
+ * the source folders have subfolders.
+ */
+public final class IncrementalSources
+{
+	/**
+	 * Private constructor.
+	 * <p>
+	 * All methods should be accessed statically.
+	 */
+	private IncrementalSources()
+	{
+	}
+
+	/**
+	 * Narrows a comma-separated list of source folders to the folders of the changed files they contain.
+	 *
+	 * @param sources
+	 *            the comma-separated source folders of the <code>cc.sources</code> property
+	 * @param changedPaths
+	 *            the workspace-relative paths of the changed files
+	 * @param workspace
+	 *            the path of the workspace
+	 * @param ignoreCase
+	 *            whether paths are compared without regard to case, as on Windows
+	 *
+	 * @return the comma-separated folders holding changed files; empty if no changed file is in a source folder
+	 */
+	public static String narrow(String sources, Collection<String> changedPaths, String workspace, boolean ignoreCase)
+	{
+		String normalizedWorkspace = normalize(workspace);
+		Set<String> narrowed = new LinkedHashSet<>();
+		for (String source : StringUtils.split(StringUtils.defaultString(sources), ','))
+		{
+			String trimmed = source.trim();
+			String folder = normalize(trimmed);
+			if (folder.isEmpty())
+			{
+				continue;
+			}
+
+			boolean absolute = isAbsolute(folder);
+			for (String changedPath : changedPaths)
+			{
+				String path = normalize(changedPath);
+				if (absolute)
+				{
+					path = normalizedWorkspace + '/' + path;
+				}
+
+				if (startsWith(path, folder + '/', ignoreCase))
+				{
+					int end = path.lastIndexOf('/');
+					// keep the configured spelling of the source folder, so the CLI sees paths in the same form
+					narrowed.add(trimmed + path.substring(folder.length(), end).replace('/', separator(trimmed)));
+				}
+			}
+		}
+
+		return StringUtils.join(narrowed, ',');
+	}
+
+	/**
+	 * Gets whether any of a comma-separated list of source folders has a subfolder, so an extraction can be narrowed to less
+	 * than the configured folders.
+	 *
+	 * @param sources
+	 *            the comma-separated source folders of the <code>cc.sources</code> property
+	 * @param workspace
+	 *            the workspace that relative source folders are resolved against
+	 *
+	 * @return <code>true</code> if a source folder has a subfolder
+	 */
+	public static boolean hasSubfolders(String sources, File workspace)
+	{
+		for (String source : StringUtils.split(StringUtils.defaultString(sources), ','))
+		{
+			String folder = normalize(source);
+			if (folder.isEmpty())
+			{
+				continue;
+			}
+
+			File dir = isAbsolute(folder) ? new File(folder) : new File(workspace, folder);
+			File[] subfolders = dir.listFiles(File::isDirectory);
+			if (subfolders != null && subfolders.length > 0)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gets whether the source path of a report program is the given changed path. Report paths may be workspace-relative or
+	 * absolute, so the changed path matches when it is the whole report path or its trailing folders and file name; programs
+	 * with the same name in other folders do not match.
+	 *
+	 * @param reportPath
+	 *            the source path of a program in a coverage report
+	 * @param changedPath
+	 *            the workspace-relative path of a changed file
+	 *
+	 * @return <code>true</code> if the paths name the same file
+	 */
+	public static boolean isSamePath(String reportPath, String changedPath)
+	{
+		String path = normalize(reportPath);
+		String changed = normalize(changedPath);
+
+		return !changed.isEmpty() && (path.equals(changed) || path.endsWith('/' + changed));
+	}
+
+	private static String normalize(String path)
+	{
+		String normalized = StringUtils.defaultString(path).trim().replace('\\', '/');
+		if (normalized.startsWith("./")) //$NON-NLS-1$
+		{
+			normalized = normalized.substring(2);
+		}
+		while (normalized.endsWith("/")) //$NON-NLS-1$
+		{
+			normalized = normalized.substring(0, normalized.length() - 1);
+		}
+
+		return normalized;
+	}
+
+	private static boolean isAbsolute(String normalized)
+	{
+		return normalized.startsWith("/") || (normalized.length() > 1 && normalized.charAt(1) == ':'); //$NON-NLS-1$
+	}
+
+	private static boolean startsWith(String path, String prefix, boolean ignoreCase)
+	{
+		return ignoreCase ? path.toLowerCase(Locale.ROOT).startsWith(prefix.toLowerCase(Locale.ROOT)) : path.startsWith(prefix);
+	}
+
+	private static char separator(String source)
+	{
+		return source.indexOf('\\') >= 0 ? '\\' : '/';
+	}
+}
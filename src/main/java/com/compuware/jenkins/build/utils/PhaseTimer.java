@@ -0,0 +1,119 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accumulates the elapsed time of the named phases of a scan, measured with the monotonic {@link System#nanoTime()} clock.
+ * <p>
+ * Phases keep the order in which they were first recorded. Time recorded for a phase more than once, for example by
+ * parallel extractions, is added up. Recording is thread-safe.
+ */
+public final class PhaseTimer
+{
+	// Member Variables
+	private final List<String> m_names = new ArrayList<>();
+	private final List<Long> m_nanos = new ArrayList<>();
+
+	/**
+	 * Starts timing a phase; the time is recorded when the returned phase is closed.
+	 *
+	 * @param name
+	 *            the phase name
+	 *
+	 * @return the running phase
+	 */
+	public Phase start(String name)
+	{
+		return new Phase(name, System.nanoTime());
+	}
+
+	/**
+	 * Adds elapsed time to a phase.
+	 *
+	 * @param name
+	 *            the phase name
+	 * @param nanos
+	 *            the elapsed time in nanoseconds
+	 */
+	public synchronized void add(String name, long nanos)
+	{
+		int index = m_names.indexOf(name);
+		if (index < 0)
+		{
+			m_names.add(name);
+			m_nanos.add(nanos);
+		}
+		else
+		{
+			m_nanos.set(index, m_nanos.get(index) + nanos);
+		}
+	}
+
+	/**
+	 * Gets the names of the recorded phases.
+	 *
+	 * @return the phase names, in the order they were first recorded
+	 */
+	public synchronized String[] getNames()
+	{
+		return m_names.toArray(new String[0]);
+	}
+
+	/**
+	 * Gets the elapsed times of the recorded phases.
+	 *
+	 * @return the elapsed times in nanoseconds, in the same order as {@link #getNames()}
+	 */
+	public synchronized long[] getNanos()
+	{
+		long[] nanos = new long[m_nanos.size()];
+		for (int i = 0; i < nanos.length; i++)
+		{
+			nanos[i] = m_nanos.get(i);
+		}
+
+		return nanos;
+	}
+
+	/**
+	 * A phase being timed.
+	 */
+	public final class Phase implements AutoCloseable
+	{
+		private final String m_name;
+		private final long m_start;
+
+		Phase(String name, long start)
+		{
+			m_name = name;
+			m_start = start;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.AutoCloseable#close()
+		 */
+		@Override
+		public void close()
+		{
+			add(m_name, System.nanoTime() - m_start);
+		}
+	}
+}
@@ -0,0 +1,199 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.util.Arrays;
+
+/**
+ * The line coverage of one program (one <code>file</code> element) in a Code Coverage report.
+ * <p>
+ * Instances are reused by {@link CoverageXmlReader} while streaming a report, so the memory held at any time is bounded by
+ * the largest single program.
+ */
+public final class ProgramCoverage
+{
+	// Member Variables
+	private String m_path;
+	private int m_lineCount;
+	private int[] m_lineNumbers = new int[64];
+	private boolean[] m_covered = new boolean[64];
+	private int[] m_branchesToCover = new int[64];
+	private int[] m_coveredBranches = new int[64];
+
+	/**
+	 * Clears this program so it can be filled again for the given path.
+	 *
+	 * @param path
+	 *            the source path of the program
+	 */
+	public void reset(String path)
+	{
+		m_path = path;
+		m_lineCount = 0;
+	}
+
+	/**
+	 * Adds a line to cover.
+	 *
+	 * @param lineNumber
+	 *            the line number
+	 * @param covered
+	 *            whether the line was executed
+	 * @param branchesToCover
+	 *            the number of branches on the line; 0 if not reported
+	 * @param coveredBranches
+	 *            the number of branches executed on the line
+	 */
+	public void addLine(int lineNumber, boolean covered, int branchesToCover, int coveredBranches)
+	{
+		if (m_lineCount == m_lineNumbers.length)
+		{
+			int capacity = m_lineCount * 2;
+			m_lineNumbers = Arrays.copyOf(m_lineNumbers, capacity);
+			m_covered = Arrays.copyOf(m_covered, capacity);
+			m_branchesToCover = Arrays.copyOf(m_branchesToCover, capacity);
+			m_coveredBranches = Arrays.copyOf(m_coveredBranches, capacity);
+		}
+
+		m_lineNumbers[m_lineCount] = lineNumber;
+		m_covered[m_lineCount] = covered;
+		m_branchesToCover[m_lineCount] = branchesToCover;
+		m_coveredBranches[m_lineCount] = coveredBranches;
+		m_lineCount++;
+	}
+
+	/**
+	 * Gets the source path of the program.
+	 *
+	 * @return <code>String</code> value of m_path
+	 */
+	public String getPath()
+	{
+		return m_path;
+	}
+
+	/**
+	 * Gets the program name, which is the file name of the source path without its extension.
+	 *
+	 * @return the program name
+	 */
+	public String getProgramName()
+	{
+		return programName(m_path);
+	}
+
+	/**
+	 * Gets the number of lines to cover.
+	 *
+	 * @return <code>int</code> value of m_lineCount
+	 */
+	public int getLineCount()
+	{
+		return m_lineCount;
+	}
+
+	/**
+	 * Gets the number of covered lines.
+	 *
+	 * @return the number of covered lines
+	 */
+	public int getCoveredCount()
+	{
+		int covered = 0;
+		for (int i = 0; i < m_lineCount; i++)
+		{
+			if (m_covered[i])
+			{
+				covered++;
+			}
+		}
+
+		return covered;
+	}
+
+	/**
+	 * Gets the line number at the given index.
+	 *
+	 * @param index
+	 *            the index of the line, less than {@link #getLineCount()}
+	 *
+	 * @return the line number
+	 */
+	public int getLineNumber(int index)
+	{
+		return m_lineNumbers[index];
+	}
+
+	/**
+	 * Gets whether the line at the given index was covered.
+	 *
+	 * @param index
+	 *            the index of the line, less than {@link #getLineCount()}
+	 *
+	 * @return <code>true</code> if the line was executed
+	 */
+	public boolean isCovered(int index)
+	{
+		return m_covered[index];
+	}
+
+	/**
+	 * Gets the number of branches on the line at the given index.
+	 *
+	 * @param index
+	 *            the index of the line, less than {@link #getLineCount()}
+	 *
+	 * @return the number of branches; 0 if not reported
+	 */
+	public int getBranchesToCover(int index)
+	{
+		return m_branchesToCover[index];
+	}
+
+	/**
+	 * Gets the number of branches executed on the line at the given index.
+	 *
+	 * @param index
+	 *            the index of the line, less than {@link #getLineCount()}
+	 *
+	 * @return the number of covered branches
+	 */
+	public int getCoveredBranches(int index)
+	{
+		return m_coveredBranches[index];
+	}
+
+	/**
+	 * Gets the program name for a source path, which is its file name without the extension.
+	 *
+	 * @param path
+	 *            the source path
+	 *
+	 * @return the program name
+	 */
+	public static String programName(String path)
+	{
+		int start = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1;
+		int end = path.lastIndexOf('.');
+		if (end <= start)
+		{
+			end = path.length();
+		}
+
+		return path.substring(start, end);
+	}
+}
@@ -0,0 +1,209 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Decides whether a failed CLI run is worth retrying, and how long to wait before the retry.
+ * <p>
+ * A run that exited with a nonzero value is retryable if the value is one of the retryable exit values, or if a line of its
+ * output matches one of the retryable output patterns, such as a connection reset or a busy host. Patterns are regular
+ * expressions matched anywhere in a line without regard to case; one that is not a valid regular expression is matched
+ * literally.
+ * <p>
+ * The delay before retry <i>n</i> doubles with each retry from the base delay, up to the maximum delay. Half of it is
+ * random, so builds that failed together do not all retry at the same moment.
+ */
+public final class RetryPolicy
+{
+	// Member Variables
+	private final int m_maxRetries;
+	private final Set<Integer> m_exitValues;
+	private final List<Pattern> m_patterns;
+	private final long m_baseDelayMillis;
+	private final long m_maxDelayMillis;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maxRetries
+	 *            the number of times a failed run may be retried; 0 for none
+	 * @param exitValues
+	 *            the retryable exit values, separated by commas or white space; can be blank
+	 * @param patterns
+	 *            the retryable output patterns, one per line; can be blank
+	 * @param baseDelayMillis
+	 *            the delay before the first retry
+	 * @param maxDelayMillis
+	 *            the longest delay before a retry
+	 */
+	public RetryPolicy(int maxRetries, String exitValues, String patterns, long baseDelayMillis, long maxDelayMillis)
+	{
+		m_maxRetries = Math.max(0, maxRetries);
+		m_exitValues = parseExitValues(exitValues);
+		m_patterns = parsePatterns(patterns);
+		m_baseDelayMillis = Math.max(0, baseDelayMillis);
+		m_maxDelayMillis = Math.max(m_baseDelayMillis, maxDelayMillis);
+	}
+
+	/**
+	 * Gets the number of times a failed run may be retried.
+	 *
+	 * @return <code>int</code> value of m_maxRetries
+	 */
+	public int getMaxRetries()
+	{
+		return m_maxRetries;
+	}
+
+	/**
+	 * Gets whether a line of CLI output shows a failure worth retrying.
+	 *
+	 * @param line
+	 *            the output line
+	 *
+	 * @return <code>true</code> if the line matches a retryable output pattern
+	 */
+	public boolean isRetryableOutput(CharSequence line)
+	{
+		for (Pattern pattern : m_patterns)
+		{
+			if (pattern.matcher(line).find())
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gets whether a CLI run failed in a way worth retrying.
+	 *
+	 * @param exitValue
+	 *            the CLI exit value
+	 * @param retryableOutput
+	 *            whether a line of the CLI output matched a retryable output pattern
+	 *
+	 * @return <code>true</code> if the run failed and its exit value or output is retryable
+	 */
+	public boolean isRetryable(int exitValue, boolean retryableOutput)
+	{
+		return exitValue != 0 && (retryableOutput || m_exitValues.contains(exitValue));
+	}
+
+	/**
+	 * Gets whether a CLI run should be retried.
+	 *
+	 * @param attempt
+	 *            the number of the attempt that ended, starting at 1
+	 * @param exitValue
+	 *            the CLI exit value
+	 * @param retryableOutput
+	 *            whether a line of the CLI output matched a retryable output pattern
+	 *
+	 * @return <code>true</code> if the run is retryable and retries are left
+	 */
+	public boolean shouldRetry(int attempt, int exitValue, boolean retryableOutput)
+	{
+		return attempt <= m_maxRetries && isRetryable(exitValue, retryableOutput);
+	}
+
+	/**
+	 * Gets the delay before retrying the given attempt.
+	 *
+	 * @param attempt
+	 *            the number of the attempt that ended, starting at 1
+	 * @param random
+	 *            the source of the random part of the delay
+	 *
+	 * @return the delay in milliseconds, between half and all of the exponential delay for the attempt
+	 */
+	public long delayMillis(int attempt, Random random)
+	{
+		long delay = m_baseDelayMillis;
+		for (int i = 1; i < attempt && delay < m_maxDelayMillis; i++)
+		{
+			delay *= 2;
+		}
+		delay = Math.min(delay, m_maxDelayMillis);
+
+		long half = delay / 2;
+		return delay - half + (half > 0 ? (long) (random.nextDouble() * (half + 1)) : 0);
+	}
+
+	private static Set<Integer> parseExitValues(String exitValues)
+	{
+		Set<Integer> parsed = new HashSet<>();
+		if (exitValues != null)
+		{
+			for (String value : exitValues.split("[,\\s]+")) //$NON-NLS-1$
+			{
+				try
+				{
+					if (!value.isEmpty())
+					{
+						parsed.add(Integer.valueOf(value));
+					}
+				}
+				catch (NumberFormatException e)
+				{
+					// not an exit value; ignored
+				}
+			}
+		}
+
+		return parsed;
+	}
+
+	private static List<Pattern> parsePatterns(String patterns)
+	{
+		if (patterns == null)
+		{
+			return Collections.emptyList();
+		}
+
+		List<Pattern> parsed = new ArrayList<>();
+		for (String line : patterns.split("\\r?\\n")) //$NON-NLS-1$
+		{
+			String pattern = line.trim();
+			if (pattern.isEmpty())
+			{
+				continue;
+			}
+
+			try
+			{
+				parsed.add(Pattern.compile(pattern, Pattern.CASE_INSENSITIVE));
+			}
+			catch (PatternSyntaxException e)
+			{
+				parsed.add(Pattern.compile(Pattern.quote(pattern), Pattern.CASE_INSENSITIVE));
+			}
+		}
+
+		return parsed;
+	}
+}
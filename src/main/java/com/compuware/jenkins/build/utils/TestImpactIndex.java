@@ -0,0 +1,1010 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * An inverted index of the programs and lines covered by each test ID (<code>cc.test</code>) of a job, used to select the
+ * tests that touch a change set.
+ * <p>
+ * The index is laid out as:
+ *
+ * <pre>
+ * header       magic, version, test count, program count, posting count, test table size, path table size
+ * tests        one fixed-size entry per test ID, sorted
+ * programs     one fixed-size entry per program, sorted by source path, pointing at its postings
+ * postings     per program, one fixed-size entry per test ID that covered it, sorted by test
+ * string table the UTF-8 test IDs, then the UTF-8 source paths
+ * bitmaps      per posting, the lines the test covered, one bit per line number
+ * </pre>
+ *
+ * The index is rewritten by {@link #update(File, Map)} with the coverage of the test IDs of one build; programs those tests
+ * did not report keep their earlier postings. It is read through a memory-mapped buffer, so a query touches only the pages
+ * it needs. Instances are safe to share between threads.
+ */
+public class TestImpactIndex implements Closeable
+{
+	// Constants
+	static final int MAGIC = 0x43435458; // CCTX
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 32;
+	static final int TEST_ENTRY_SIZE = 8;
+	static final int PROGRAM_ENTRY_SIZE = 16;
+	static final int POSTING_SIZE = 24;
+
+	// Member Variables
+	private volatile ByteBuffer m_buffer;
+	private final int m_testCount;
+	private final int m_programCount;
+	private final int m_programsOffset;
+	private final int m_postingsOffset;
+	private final int m_testTableOffset;
+	private final int m_pathTableOffset;
+	private final long m_dataOffset;
+	private Map<String, List<Integer>> m_programNames;
+
+	private TestImpactIndex(ByteBuffer buffer) throws IOException
+	{
+		if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+		{
+			throw new IOException("Not a test impact index"); //$NON-NLS-1$
+		}
+		if (buffer.getInt(4) != VERSION)
+		{
+			throw new IOException("Unsupported test impact index version: " + buffer.getInt(4)); //$NON-NLS-1$
+		}
+
+		m_buffer = buffer;
+		m_testCount = buffer.getInt(8);
+		m_programCount = buffer.getInt(12);
+		int postingCount = buffer.getInt(16);
+		if (m_testCount < 0 || m_programCount < 0 || postingCount < 0)
+		{
+			throw new IOException("The test impact index is truncated"); //$NON-NLS-1$
+		}
+
+		m_programsOffset = HEADER_SIZE + m_testCount * TEST_ENTRY_SIZE;
+		m_postingsOffset = m_programsOffset + m_programCount * PROGRAM_ENTRY_SIZE;
+		m_testTableOffset = m_postingsOffset + postingCount * POSTING_SIZE;
+		m_pathTableOffset = m_testTableOffset + buffer.getInt(20);
+		m_dataOffset = (long) m_pathTableOffset + buffer.getInt(24);
+		if (m_dataOffset > buffer.capacity())
+		{
+			throw new IOException("The test impact index is truncated"); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Opens an index by mapping the file into memory.
+	 *
+	 * @param file
+	 *            the index written by {@link #update(File, Map)}
+	 *
+	 * @return the opened <code>TestImpactIndex</code>
+	 *
+	 * @throws IOException
+	 *             if the file cannot be mapped or is not a test impact index
+	 */
+	public static TestImpactIndex open(File file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			return new TestImpactIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Gets the number of test IDs in the index.
+	 *
+	 * @return <code>int</code> value of m_testCount
+	 */
+	public int getTestCount()
+	{
+		return m_testCount;
+	}
+
+	/**
+	 * Gets a test ID.
+	 *
+	 * @param test
+	 *            the index of the test, less than {@link #getTestCount()}
+	 *
+	 * @return the test ID
+	 */
+	public String getTestId(int test)
+	{
+		if (test < 0 || test >= m_testCount)
+		{
+			throw new IndexOutOfBoundsException("Test " + test + " of " + m_testCount); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		ByteBuffer buffer = buffer();
+		int entry = HEADER_SIZE + test * TEST_ENTRY_SIZE;
+		return string(buffer, m_testTableOffset + buffer.getInt(entry), buffer.getInt(entry + 4));
+	}
+
+	/**
+	 * Gets the number of programs in the index.
+	 *
+	 * @return <code>int</code> value of m_programCount
+	 */
+	public int getProgramCount()
+	{
+		return m_programCount;
+	}
+
+	/**
+	 * Finds a program by its source path.
+	 *
+	 * @param path
+	 *            the source path, as written in the report
+	 *
+	 * @return the index of the program, or -1 if it is not in the index
+	 */
+	public int indexOf(String path)
+	{
+		// the programs are sorted by String.compareTo, as the update sorts them
+		ByteBuffer buffer = buffer();
+		int low = 0;
+		int high = m_programCount - 1;
+		while (low <= high)
+		{
+			int mid = (low + high) >>> 1;
+			int cmp = getPath(buffer, mid).compareTo(path);
+			if (cmp < 0)
+			{
+				low = mid + 1;
+			}
+			else if (cmp > 0)
+			{
+				high = mid - 1;
+			}
+			else
+			{
+				return mid;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Gets the source path of a program.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 *
+	 * @return the source path
+	 */
+	public String getPath(int program)
+	{
+		return getPath(buffer(), checkIndex(program));
+	}
+
+	/**
+	 * Gets the test IDs that covered any line of a program.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 *
+	 * @return the test IDs, sorted
+	 */
+	public List<String> getTests(int program)
+	{
+		ByteBuffer buffer = buffer();
+		int entry = programEntry(program);
+		int first = buffer.getInt(entry + 8);
+		int count = buffer.getInt(entry + 12);
+		List<String> tests = new ArrayList<>(count);
+		for (int i = first; i < first + count; i++)
+		{
+			tests.add(getTestId(buffer.getInt(m_postingsOffset + i * POSTING_SIZE)));
+		}
+
+		return tests;
+	}
+
+	/**
+	 * Gets the lines of a program a test ID covered.
+	 *
+	 * @param program
+	 *            the index of the program, less than {@link #getProgramCount()}
+	 * @param testId
+	 *            the test ID
+	 *
+	 * @return a <code>BitSet</code> indexed by line number; empty if the test did not cover the program
+	 */
+	public BitSet getCoveredLines(int program, String testId)
+	{
+		ByteBuffer buffer = buffer();
+		int entry = programEntry(program);
+		int first = buffer.getInt(entry + 8);
+		int count = buffer.getInt(entry + 12);
+		for (int i = first; i < first + count; i++)
+		{
+			int posting = m_postingsOffset + i * POSTING_SIZE;
+			if (getTestId(buffer.getInt(posting)).equals(testId))
+			{
+				return covered(buffer, posting);
+			}
+		}
+
+		return new BitSet();
+	}
+
+	/**
+	 * Selects the smallest set of test IDs found that covers every changed line any test covered.
+	 * <p>
+	 * A change is given by the source path of a program, as written in the report, and the changed line numbers. A path not
+	 * in the index is matched to the programs of the same name, so paths relative to a different folder are found as well.
+	 * Finding the smallest set is NP-hard, so the tests are chosen greedily: the test covering the most changed lines not yet
+	 * covered is taken first, until every changed line any test covered is covered. Changed lines no test covered select no
+	 * test; they are returned as the uncovered changes of the selection, so the caller can tell that the selected tests do not
+	 * exercise the whole change set.
+	 *
+	 * @param changes
+	 *            the changed lines by source path; a <code>null</code> value stands for the whole program
+	 *
+	 * @return the selected test IDs, most covering first, and the changes no test covered
+	 */
+	public Selection select(Map<String, BitSet> changes)
+	{
+		ByteBuffer buffer = buffer();
+		Map<Integer, BitSet> programs = resolve(changes);
+		Map<Integer, BitSet> coveredLines = new HashMap<>();
+
+		// each changed line covered by a test is numbered, so the lines of all programs are elements of one universe
+		BitSet[] covers = new BitSet[m_testCount];
+		BitSet universe = new BitSet();
+		int base = 0;
+		for (Map.Entry<Integer, BitSet> change : programs.entrySet())
+		{
+			int entry = programEntry(change.getKey());
+			int first = buffer.getInt(entry + 8);
+			int count = buffer.getInt(entry + 12);
+			int span = 0;
+			for (int i = first; i < first + count; i++)
+			{
+				int posting = m_postingsOffset + i * POSTING_SIZE;
+				BitSet lines = covered(buffer, posting);
+				if (change.getValue() != null)
+				{
+					lines.and(change.getValue());
+				}
+				if (lines.isEmpty())
+				{
+					continue;
+				}
+
+				coveredLines.computeIfAbsent(change.getKey(), program -> new BitSet()).or(lines);
+				int test = buffer.getInt(posting);
+				if (covers[test] == null)
+				{
+					covers[test] = new BitSet();
+				}
+				for (int line = lines.nextSetBit(0); line >= 0; line = lines.nextSetBit(line + 1))
+				{
+					covers[test].set(base + line);
+					universe.set(base + line);
+				}
+				span = Math.max(span, lines.length());
+			}
+			base += span;
+		}
+
+		List<String> selected = new ArrayList<>();
+		while (!universe.isEmpty())
+		{
+			int best = -1;
+			int bestCount = 0;
+			for (int test = 0; test < m_testCount; test++)
+			{
+				if (covers[test] != null)
+				{
+					BitSet remaining = (BitSet) covers[test].clone();
+					remaining.and(universe);
+					if (remaining.cardinality() > bestCount)
+					{
+						best = test;
+						bestCount = remaining.cardinality();
+					}
+				}
+			}
+
+			selected.add(getTestId(best));
+			universe.andNot(covers[best]);
+			covers[best] = null;
+		}
+
+		return new Selection(selected, uncovered(changes, coveredLines));
+	}
+
+	/**
+	 * Gets the changes no test covered: a whole program no test covered, or the changed lines of a program no test covered.
+	 */
+	private Map<String, BitSet> uncovered(Map<String, BitSet> changes, Map<Integer, BitSet> coveredLines)
+	{
+		Map<String, BitSet> uncovered = new LinkedHashMap<>();
+		for (Map.Entry<String, BitSet> change : changes.entrySet())
+		{
+			BitSet covered = new BitSet();
+			for (Integer program : matches(change.getKey()))
+			{
+				BitSet lines = coveredLines.get(program);
+				if (lines != null)
+				{
+					covered.or(lines);
+				}
+			}
+
+			if (change.getValue() == null)
+			{
+				if (covered.isEmpty())
+				{
+					uncovered.put(change.getKey(), null);
+				}
+				continue;
+			}
+
+			BitSet lines = (BitSet) change.getValue().clone();
+			lines.andNot(covered);
+			if (!lines.isEmpty())
+			{
+				uncovered.put(change.getKey(), lines);
+			}
+		}
+
+		return uncovered;
+	}
+
+	/**
+	 * Parses a change set given as text, one change per line or separated by <code>;</code>. A change is a source path,
+	 * optionally followed by <code>:</code> and a comma-separated list of line numbers and ranges, such as
+	 * <code>COBOL/PGMA.cbl:12-40,55</code>; a path without lines stands for the whole program.
+	 *
+	 * @param text
+	 *            the change set
+	 *
+	 * @return the changed lines by source path, for {@link #select(Map)}
+	 *
+	 * @throws IllegalArgumentException
+	 *             if a line range is not valid
+	 */
+	public static Map<String, BitSet> parseChanges(String text)
+	{
+		Map<String, BitSet> changes = new LinkedHashMap<>();
+		for (String change : text.split("[\\r\\n" + CodeCoverageConstants.LIST_SEPARATOR + "]")) //$NON-NLS-1$ //$NON-NLS-2$
+		{
+			change = change.trim();
+			if (change.isEmpty())
+			{
+				continue;
+			}
+
+			// a colon followed by anything other than line ranges is part of the path
+			int colon = change.lastIndexOf(':');
+			String path = change;
+			BitSet lines = null;
+			if (colon > 0 && change.substring(colon + 1).matches("[\\d\\s,-]+")) //$NON-NLS-1$
+			{
+				path = change.substring(0, colon).trim();
+				lines = new BitSet();
+				for (String range : change.substring(colon + 1).split(",")) //$NON-NLS-1$
+				{
+					String[] bounds = range.trim().split("\\s*-\\s*", -1); //$NON-NLS-1$
+					if (bounds.length > 2 || bounds[0].isEmpty() || (bounds.length == 2 && bounds[1].isEmpty()))
+					{
+						throw new IllegalArgumentException("Not a line range: " + range.trim() + " in " + change); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+
+					int first = Integer.parseInt(bounds[0]);
+					int last = bounds.length == 2 ? Integer.parseInt(bounds[1]) : first;
+					if (last < first)
+					{
+						throw new IllegalArgumentException("Not a line range: " + range.trim() + " in " + change); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+					lines.set(first, last + 1);
+				}
+			}
+
+			if (!changes.containsKey(path))
+			{
+				changes.put(path, lines);
+			}
+			else if (changes.get(path) != null)
+			{
+				if (lines != null)
+				{
+					changes.get(path).or(lines);
+				}
+				else
+				{
+					changes.put(path, null);
+				}
+			}
+		}
+
+		return changes;
+	}
+
+	/**
+	 * Formats a change set as text in the form read by {@link #parseChanges(String)}, with the changes separated by
+	 * <code>;</code>.
+	 *
+	 * @param changes
+	 *            the changed lines by source path; a <code>null</code> value stands for the whole program
+	 *
+	 * @return the change set as text
+	 */
+	public static String formatChanges(Map<String, BitSet> changes)
+	{
+		StringBuilder text = new StringBuilder();
+		for (Map.Entry<String, BitSet> change : changes.entrySet())
+		{
+			if (text.length() > 0)
+			{
+				text.append(CodeCoverageConstants.LIST_SEPARATOR).append(' ');
+			}
+			text.append(change.getKey());
+
+			BitSet lines = change.getValue();
+			char separator = ':';
+			for (int first = lines != null ? lines.nextSetBit(0) : -1; first >= 0; first = lines.nextSetBit(first + 1))
+			{
+				int last = lines.nextClearBit(first) - 1;
+				text.append(separator).append(first);
+				if (last > first)
+				{
+					text.append('-').append(last);
+				}
+				separator = ',';
+				first = last;
+			}
+		}
+
+		return text.toString();
+	}
+
+	/**
+	 * Replaces the postings of the given test IDs with their coverage in a build, and writes the index again.
+	 * <p>
+	 * A program a test reported replaces its earlier posting for that test, or removes it if the test no longer covers any of
+	 * its lines; programs the test did not report keep their earlier postings, so an incremental extraction narrowed to the
+	 * changed programs updates only those. The index is written to a temporary file that replaces it, so a reader sees either
+	 * the old or the new index.
+	 *
+	 * @param index
+	 *            the index file; created if it does not exist, and started again if it cannot be read
+	 * @param coverage
+	 *            the coverage stores of each test ID; a test extracted in several parts has a store per part
+	 *
+	 * @throws IOException
+	 *             if the index cannot be written
+	 */
+	public static synchronized void update(File index, Map<String, List<CoverageStore>> coverage) throws IOException
+	{
+		TestImpactIndex old = null;
+		if (index.isFile())
+		{
+			try
+			{
+				// read onto the heap rather than mapped, so the file can be replaced while it is open on every platform
+				old = new TestImpactIndex(ByteBuffer.wrap(Files.readAllBytes(index.toPath())));
+			}
+			catch (IOException e)
+			{
+				// an unreadable index is started again from this build's coverage
+			}
+		}
+
+		try (Writer writer = new Writer(index))
+		{
+			writer.merge(old, coverage);
+		}
+	}
+
+	/**
+	 * Releases the mapped buffer. The mapping itself is unmapped when the buffer is garbage collected.
+	 */
+	@Override
+	public void close()
+	{
+		m_buffer = null;
+	}
+
+	/**
+	 * Resolves the changed source paths to programs of the index, merging the lines of a program changed under several paths.
+	 */
+	private Map<Integer, BitSet> resolve(Map<String, BitSet> changes)
+	{
+		Map<Integer, BitSet> programs = new LinkedHashMap<>();
+		for (Map.Entry<String, BitSet> change : changes.entrySet())
+		{
+			for (Integer match : matches(change.getKey()))
+			{
+				if (!programs.containsKey(match))
+				{
+					programs.put(match, change.getValue() != null ? (BitSet) change.getValue().clone() : null);
+				}
+				else if (programs.get(match) != null)
+				{
+					if (change.getValue() != null)
+					{
+						programs.get(match).or(change.getValue());
+					}
+					else
+					{
+						programs.put(match, null);
+					}
+				}
+			}
+		}
+
+		return programs;
+	}
+
+	/**
+	 * Gets the programs of the index a changed source path stands for: the program with that path, or else the programs of
+	 * the same name.
+	 */
+	private List<Integer> matches(String path)
+	{
+		int program = indexOf(path);
+		if (program >= 0)
+		{
+			return Arrays.asList(program);
+		}
+
+		List<Integer> named = programNames().get(ProgramCoverage.programName(path));
+		return named != null ? named : Collections.<Integer> emptyList();
+	}
+
+	private synchronized Map<String, List<Integer>> programNames()
+	{
+		if (m_programNames == null)
+		{
+			ByteBuffer buffer = buffer();
+			Map<String, List<Integer>> names = new HashMap<>();
+			for (int i = 0; i < m_programCount; i++)
+			{
+				names.computeIfAbsent(ProgramCoverage.programName(getPath(buffer, i)), name -> new ArrayList<>()).add(i);
+			}
+			m_programNames = names;
+		}
+
+		return m_programNames;
+	}
+
+	private ByteBuffer buffer()
+	{
+		ByteBuffer buffer = m_buffer;
+		if (buffer == null)
+		{
+			throw new IllegalStateException("The test impact index is closed"); //$NON-NLS-1$
+		}
+
+		return buffer;
+	}
+
+	private int checkIndex(int program)
+	{
+		if (program < 0 || program >= m_programCount)
+		{
+			throw new IndexOutOfBoundsException("Program " + program + " of " + m_programCount); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		return program;
+	}
+
+	private int programEntry(int program)
+	{
+		return m_programsOffset + checkIndex(program) * PROGRAM_ENTRY_SIZE;
+	}
+
+	private String getPath(ByteBuffer buffer, int program)
+	{
+		int entry = m_programsOffset + program * PROGRAM_ENTRY_SIZE;
+		return string(buffer, m_pathTableOffset + buffer.getInt(entry), buffer.getInt(entry + 4));
+	}
+
+	private static String string(ByteBuffer buffer, int offset, int length)
+	{
+		byte[] bytes = new byte[length];
+		ByteBuffer view = buffer.duplicate();
+		view.position(offset);
+		view.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private long[] words(ByteBuffer buffer, int posting)
+	{
+		int offset = (int) (m_dataOffset + buffer.getLong(posting + 16));
+		long[] words = new long[buffer.getInt(posting + 8)];
+		for (int i = 0; i < words.length; i++)
+		{
+			words[i] = buffer.getLong(offset + 8 * i);
+		}
+
+		return words;
+	}
+
+	private BitSet covered(ByteBuffer buffer, int posting)
+	{
+		int firstWord = buffer.getInt(posting + 4);
+		long[] words = words(buffer, posting);
+		long[] aligned = new long[firstWord + words.length];
+		System.arraycopy(words, 0, aligned, firstWord, words.length);
+		return BitSet.valueOf(aligned);
+	}
+
+	/**
+	 * The tests selected for a change set, and the changes none of the indexed tests covered.
+	 */
+	public static final class Selection
+	{
+		private final List<String> m_tests;
+		private final Map<String, BitSet> m_uncovered;
+
+		Selection(List<String> tests, Map<String, BitSet> uncovered)
+		{
+			m_tests = Collections.unmodifiableList(tests);
+			m_uncovered = Collections.unmodifiableMap(uncovered);
+		}
+
+		/**
+		 * Gets the selected test IDs.
+		 *
+		 * @return the test IDs, most covering first
+		 */
+		public List<String> getTests()
+		{
+			return m_tests;
+		}
+
+		/**
+		 * Gets the changes no indexed test covered, by source path as given: the uncovered changed lines, or
+		 * <code>null</code> for a whole program no test covered.
+		 *
+		 * @return the uncovered changes; empty if the selected tests cover the whole change set
+		 */
+		public Map<String, BitSet> getUncovered()
+		{
+			return m_uncovered;
+		}
+
+		/**
+		 * Gets whether the selected tests cover every change, so no other test is needed for the change set as far as the
+		 * index knows.
+		 *
+		 * @return <code>true</code> if no change is uncovered
+		 */
+		public boolean isComplete()
+		{
+			return m_uncovered.isEmpty();
+		}
+	}
+
+	/**
+	 * Writes a new index from an earlier one and the coverage of the updated test IDs. The bitmaps are spilled to a temporary
+	 * file as they are merged, so memory holds only the program and posting entries.
+	 */
+	private static final class Writer implements Closeable
+	{
+		private final File m_file;
+		private final File m_data;
+		private final DataOutputStream m_out;
+		private final List<String> m_paths = new ArrayList<>();
+		private final List<int[]> m_programs = new ArrayList<>();
+		private int[] m_postings = new int[4 * 64];
+		private long[] m_offsets = new long[64];
+		private int m_postingCount;
+		private long m_dataSize;
+		private boolean m_written;
+
+		Writer(File file) throws IOException
+		{
+			m_file = file;
+			File parent = file.getAbsoluteFile().getParentFile();
+			if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+			{
+				throw new IOException("Unable to create directory " + parent); //$NON-NLS-1$
+			}
+
+			m_data = File.createTempFile(file.getName(), ".data", parent); //$NON-NLS-1$
+			m_out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_data)));
+		}
+
+		/**
+		 * Walks the programs of the earlier index and of every store in source path order, writing the postings of each.
+		 */
+		void merge(TestImpactIndex old, Map<String, List<CoverageStore>> coverage) throws IOException
+		{
+			TreeSet<String> testIds = new TreeSet<>(coverage.keySet());
+			if (old != null)
+			{
+				for (int i = 0; i < old.getTestCount(); i++)
+				{
+					testIds.add(old.getTestId(i));
+				}
+			}
+			List<String> tests = new ArrayList<>(testIds);
+			int[] oldTests = new int[old != null ? old.getTestCount() : 0];
+			for (int i = 0; i < oldTests.length; i++)
+			{
+				oldTests[i] = Collections.binarySearch(tests, old.getTestId(i));
+			}
+
+			List<CoverageStore> stores = new ArrayList<>();
+			List<Integer> storeTests = new ArrayList<>();
+			for (Map.Entry<String, List<CoverageStore>> test : coverage.entrySet())
+			{
+				for (CoverageStore store : test.getValue())
+				{
+					stores.add(store);
+					storeTests.add(Collections.binarySearch(tests, test.getKey()));
+				}
+			}
+
+			int oldProgram = 0;
+			int[] positions = new int[stores.size()];
+			Map<Integer, BitSet> updated = new HashMap<>();
+			while (true)
+			{
+				String path = old != null && oldProgram < old.getProgramCount() ? old.getPath(oldProgram) : null;
+				for (int i = 0; i < stores.size(); i++)
+				{
+					if (positions[i] < stores.get(i).getProgramCount())
+					{
+						String storePath = stores.get(i).getPath(positions[i]);
+						if (path == null || storePath.compareTo(path) < 0)
+						{
+							path = storePath;
+						}
+					}
+				}
+				if (path == null)
+				{
+					break;
+				}
+
+				// the tests that reported the program, with the union of the lines they covered in all their parts
+				updated.clear();
+				for (int i = 0; i < stores.size(); i++)
+				{
+					CoverageStore store = stores.get(i);
+					if (positions[i] < store.getProgramCount() && store.getPath(positions[i]).equals(path))
+					{
+						updated.computeIfAbsent(storeTests.get(i), test -> new BitSet()).or(store.getCoveredLines(positions[i]));
+						positions[i]++;
+					}
+				}
+
+				int firstPosting = m_postingCount;
+				ByteBuffer oldBuffer = old != null ? old.buffer() : null;
+				int oldFirst = 0;
+				int oldCount = 0;
+				if (old != null && oldProgram < old.getProgramCount() && old.getPath(oldProgram).equals(path))
+				{
+					int entry = old.programEntry(oldProgram);
+					oldFirst = oldBuffer.getInt(entry + 8);
+					oldCount = oldBuffer.getInt(entry + 12);
+					oldProgram++;
+				}
+
+				// old and new postings are both in test order, so they are merged in one pass
+				int oldPosting = oldFirst;
+				for (int test = 0; test < tests.size(); test++)
+				{
+					if (updated.containsKey(test))
+					{
+						addPosting(test, updated.get(test));
+					}
+					while (oldPosting < oldFirst + oldCount)
+					{
+						int posting = old.m_postingsOffset + oldPosting * POSTING_SIZE;
+						int oldTest = oldTests[oldBuffer.getInt(posting)];
+						if (oldTest > test)
+						{
+							break;
+						}
+						if (oldTest == test && !updated.containsKey(test))
+						{
+							addPosting(test, oldBuffer.getInt(posting + 4), old.words(oldBuffer, posting));
+						}
+						oldPosting++;
+					}
+				}
+
+				if (m_postingCount > firstPosting)
+				{
+					m_paths.add(path);
+					m_programs.add(new int[] { firstPosting, m_postingCount - firstPosting });
+				}
+			}
+
+			write(tests);
+		}
+
+		private void addPosting(int test, BitSet covered) throws IOException
+		{
+			if (covered.isEmpty())
+			{
+				return;
+			}
+
+			long[] words = covered.toLongArray();
+			int firstWord = 0;
+			while (words[firstWord] == 0)
+			{
+				firstWord++;
+			}
+			addPosting(test, firstWord, Arrays.copyOfRange(words, firstWord, words.length));
+		}
+
+		private void addPosting(int test, int firstWord, long[] words) throws IOException
+		{
+			if (m_postingCount == m_offsets.length)
+			{
+				m_offsets = Arrays.copyOf(m_offsets, m_postingCount * 2);
+				m_postings = Arrays.copyOf(m_postings, m_postingCount * 2 * 4);
+			}
+
+			int coveredCount = 0;
+			for (long word : words)
+			{
+				m_out.writeLong(word);
+				coveredCount += Long.bitCount(word);
+			}
+
+			m_postings[4 * m_postingCount] = test;
+			m_postings[4 * m_postingCount + 1] = firstWord;
+			m_postings[4 * m_postingCount + 2] = words.length;
+			m_postings[4 * m_postingCount + 3] = coveredCount;
+			m_offsets[m_postingCount] = m_dataSize;
+			m_postingCount++;
+			m_dataSize += 8L * words.length;
+		}
+
+		/**
+		 * Writes the header, the entries and the string table ahead of the bitmaps. Test IDs left without any posting are
+		 * dropped.
+		 */
+		private void write(List<String> tests) throws IOException
+		{
+			m_out.close();
+
+			int[] remap = new int[tests.size()];
+			for (int i = 0; i < m_postingCount; i++)
+			{
+				remap[m_postings[4 * i]] = 1;
+			}
+			List<byte[]> testNames = new ArrayList<>();
+			int testTableSize = 0;
+			for (int i = 0; i < tests.size(); i++)
+			{
+				if (remap[i] != 0)
+				{
+					remap[i] = testNames.size();
+					byte[] name = tests.get(i).getBytes(StandardCharsets.UTF_8);
+					testNames.add(name);
+					testTableSize += name.length;
+				}
+			}
+
+			List<byte[]> paths = new ArrayList<>(m_paths.size());
+			int pathTableSize = 0;
+			for (String path : m_paths)
+			{
+				byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+				paths.add(bytes);
+				pathTableSize += bytes.length;
+			}
+
+			File temp = File.createTempFile(m_file.getName(), ".tmp", m_data.getParentFile()); //$NON-NLS-1$
+			try
+			{
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp))))
+				{
+					out.writeInt(MAGIC);
+					out.writeInt(VERSION);
+					out.writeInt(testNames.size());
+					out.writeInt(paths.size());
+					out.writeInt(m_postingCount);
+					out.writeInt(testTableSize);
+					out.writeInt(pathTableSize);
+					out.writeInt(0);
+
+					int offset = 0;
+					for (byte[] name : testNames)
+					{
+						out.writeInt(offset);
+						out.writeInt(name.length);
+						offset += name.length;
+					}
+					offset = 0;
+					for (int i = 0; i < paths.size(); i++)
+					{
+						out.writeInt(offset);
+						out.writeInt(paths.get(i).length);
+						out.writeInt(m_programs.get(i)[0]);
+						out.writeInt(m_programs.get(i)[1]);
+						offset += paths.get(i).length;
+					}
+					for (int i = 0; i < m_postingCount; i++)
+					{
+						out.writeInt(remap[m_postings[4 * i]]);
+						out.writeInt(m_postings[4 * i + 1]);
+						out.writeInt(m_postings[4 * i + 2]);
+						out.writeInt(m_postings[4 * i + 3]);
+						out.writeLong(m_offsets[i]);
+					}
+					for (byte[] name : testNames)
+					{
+						out.write(name);
+					}
+					for (byte[] path : paths)
+					{
+						out.write(path);
+					}
+
+					Files.copy(m_data.toPath(), out);
+				}
+
+				Files.move(temp.toPath(), m_file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				m_written = true;
+			}
+			finally
+			{
+				Files.deleteIfExists(temp.toPath());
+			}
+		}
+
+		/**
+		 * Deletes the temporary file, leaving the index untouched if it was not written.
+		 */
+		@Override
+		public void close() throws IOException
+		{
+			if (!m_written)
+			{
+				m_out.close();
+			}
+			Files.deleteIfExists(m_data.toPath());
+		}
+	}
+}
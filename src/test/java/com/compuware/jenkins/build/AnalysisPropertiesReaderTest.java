@@ -0,0 +1,125 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Properties;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import com.compuware.jenkins.build.AnalysisPropertiesReader.LiteralBackslashReader;
+import com.compuware.jenkins.common.utils.ArgumentUtils;
+import hudson.util.StreamTaskListener;
+
+/**
+ * AnalysisPropertiesReader unit tests.
+ */
+@SuppressWarnings("nls")
+public class AnalysisPropertiesReaderTest
+{
+	// Member Variables
+	@Rule
+	public TemporaryFolder m_folder = new TemporaryFolder();
+
+	/**
+	 * Tests that every backslash is doubled whatever the size of the reads, including backslashes that fall on the last
+	 * character a read has room for.
+	 */
+	@Test
+	public void testLiteralBackslashReaderChunks() throws IOException
+	{
+		String text = windowsSources(50);
+		String expected = text.replace("\\", "\\\\");
+		for (int size = 1; size <= 9; size++)
+		{
+			StringBuilder read = new StringBuilder();
+			try (Reader reader = new LiteralBackslashReader(new StringReader(text)))
+			{
+				char[] buffer = new char[size + 3];
+				int n;
+				while ((n = reader.read(buffer, 3, size)) != -1)
+				{
+					read.append(buffer, 3, n);
+				}
+			}
+
+			assertThat("Unexpected text read " + size + " characters at a time.", read.toString(), is(expected));
+		}
+	}
+
+	/**
+	 * Tests that Windows paths in <code>cc.sources</code> long enough to span several reads of {@link Properties#load(Reader)}
+	 * are loaded as the analysis properties string would be.
+	 */
+	@Test
+	public void testLiteralBackslashReaderMatchesString() throws IOException
+	{
+		String text = "cc.sources=" + windowsSources(2000) + "\ncc.repos=USER.CC.REPOSIT\ncc.system=C:\\Systems\\A\n";
+		Properties properties = new Properties();
+		try (Reader reader = new LiteralBackslashReader(new StringReader(text)))
+		{
+			properties.load(reader);
+		}
+
+		assertThat(properties, is(ArgumentUtils.convertStringToProperties(text)));
+		assertThat(properties.getProperty("cc.system"), is("C:\\Systems\\A"));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.AnalysisPropertiesReader#invoke(java.io.File, hudson.remoting.VirtualChannel)}.
+	 * <p>
+	 * Verifies that a file with bytes that are not UTF-8 is still read, and that the string takes precedence over it.
+	 */
+	@Test
+	public void testInvokeNotUtf8() throws IOException
+	{
+		File workspace = m_folder.getRoot();
+		ByteArrayOutputStream file = new ByteArrayOutputStream();
+		file.write("# caf".getBytes(StandardCharsets.UTF_8));
+		file.write(0xE9);
+		file.write("\ncc.sources=C:\\Source\\COBOL\ncc.repos=USER.FILE.REPOSIT\n".getBytes(StandardCharsets.UTF_8));
+		Files.write(new File(workspace, "ccanalysis.properties").toPath(), file.toByteArray());
+
+		HashMap<String, String> properties = new AnalysisPropertiesReader("ccanalysis.properties",
+				"cc.repos=USER.CC.REPOSIT", StreamTaskListener.fromStdout()).invoke(workspace, null);
+
+		assertThat(properties.get("cc.sources"), is("C:\\Source\\COBOL"));
+		assertThat(properties.get("cc.repos"), is("USER.CC.REPOSIT"));
+	}
+
+	/**
+	 * Gets a comma-separated list of Windows source folders.
+	 */
+	private static String windowsSources(int count)
+	{
+		StringBuilder sources = new StringBuilder();
+		for (int i = 0; i < count; i++)
+		{
+			sources.append(i == 0 ? "" : ",").append("C:\\Source Folders\\App\\").append(i).append('\\');
+		}
+		return sources.toString();
+	}
+}
@@ -36,6 +36,7 @@ import com.compuware.jenkins.build.CodeCoverageBuilder.CodeCoverageDescriptorImp
 import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
 
 import hudson.model.FreeStyleProject;
+import hudson.util.ListBoxModel;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 
@@ -195,4 +196,49 @@ public class CodeCoverageBuilderTest
 			fail(e.getMessage());
 		}
 	}
+
+	/**
+	 * Tests the host connection and login credentials selection boxes, which are cached until the credentials are saved.
+	 */
+	@Test
+	public void fillItemsTest()
+	{
+		try
+		{
+			FreeStyleProject project = m_jenkinsRule.createFreeStyleProject("TestProject");
+			CodeCoverageDescriptorImpl descriptor = m_jenkinsRule.jenkins.getDescriptorByType(CodeCoverageDescriptorImpl.class);
+
+			ListBoxModel connections = descriptor.doFillConnectionIdItems(m_jenkinsRule.jenkins, EXPECTED_CONNECTION_ID, project);
+			assertThat(connections.size(), is(2));
+			assertThat(connections.get(1).value, is(EXPECTED_CONNECTION_ID));
+			assertThat(connections.get(1).selected, is(true));
+
+			ListBoxModel credentials = descriptor.doFillCredentialsIdItems(m_jenkinsRule.jenkins, EXPECTED_CREDENTIALS_ID, project);
+			assertThat(credentials.size(), is(2));
+			assertThat(credentials.get(1).selected, is(true));
+
+			// the cached options are kept until the credentials are saved, and identifiers are compared literally, not as
+			// regular expressions
+			SystemCredentialsProvider.getInstance().getCredentials()
+					.add(new UsernamePasswordCredentialsImpl(CredentialsScope.USER, "6.890", null, EXPECTED_USER_ID, EXPECTED_PASSWORD));
+			credentials = descriptor.doFillCredentialsIdItems(m_jenkinsRule.jenkins, "6.890", project);
+			assertThat(credentials.size(), is(2));
+			assertThat(credentials.get(1).selected, is(false));
+
+			SystemCredentialsProvider.getInstance().save();
+			credentials = descriptor.doFillCredentialsIdItems(m_jenkinsRule.jenkins, "6.890", project);
+			assertThat(credentials.size(), is(3));
+			for (ListBoxModel.Option option : credentials)
+			{
+				assertThat(option.selected, is(option.value.equals("6.890")));
+			}
+		}
+		catch (Exception e)
+		{
+			// Add the print of the stack trace because the exception message is not enough to troubleshoot the root issue. For
+			// example, if the exception is constructed without a message, you get no information from executing fail().
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import hudson.FilePath;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.Result;
+
+/**
+ * CodeCoverageMergeBuilder unit tests.
+ */
+@SuppressWarnings("nls")
+public class CodeCoverageMergeBuilderTest
+{
+	// Constants
+	private static final String OUTPUT = "Coverage/CodeCoverage.xml";
+	private static final String EXISTING_REPORT = "<coverage version=\"1\"><file path=\"COBOL/PGMA.cbl\">"
+			+ "<lineToCover lineNumber=\"1\" covered=\"true\"/></file></coverage>";
+
+	// Member Variables
+	@Rule
+	public JenkinsRule m_jenkinsRule = new JenkinsRule();
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageMergeBuilder#perform(hudson.model.Run, hudson.FilePath, hudson.Launcher, hudson.model.TaskListener)}.
+	 * <p>
+	 * Verifies that the reports matching the patterns are merged into the output and summarized.
+	 */
+	@Test
+	public void testPerformMerges() throws Exception
+	{
+		FreeStyleProject project = m_jenkinsRule.createFreeStyleProject();
+		FilePath workspace = m_jenkinsRule.jenkins.getWorkspaceFor(project);
+		workspace.child("shard0/CodeCoverage.xml").write(EXISTING_REPORT, "UTF-8");
+		workspace.child("shard1/CodeCoverage.xml").write(EXISTING_REPORT.replace("PGMA", "PGMB"), "UTF-8");
+		project.getBuildersList().add(new CodeCoverageMergeBuilder("shard*/CodeCoverage.xml", ""));
+
+		FreeStyleBuild run = m_jenkinsRule.buildAndAssertSuccess(project);
+		m_jenkinsRule.assertLogContains("(2 programs)", run);
+		assertThat(run.getAction(CodeCoverageSummaryAction.class).getSummary().getProgramCount(), is(2));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageMergeBuilder#perform(hudson.model.Run, hudson.FilePath, hudson.Launcher, hudson.model.TaskListener)}.
+	 * <p>
+	 * Verifies that a pattern matching no report fails the step and leaves the existing merged report as it was.
+	 */
+	@Test
+	public void testPerformNoReportMatches() throws Exception
+	{
+		FreeStyleProject project = m_jenkinsRule.createFreeStyleProject();
+		FilePath workspace = m_jenkinsRule.jenkins.getWorkspaceFor(project);
+		FilePath output = workspace.child(OUTPUT);
+		output.write(EXISTING_REPORT, "UTF-8");
+		project.getBuildersList().add(new CodeCoverageMergeBuilder("shard*/CodeCoverage.xml", OUTPUT));
+
+		FreeStyleBuild run = m_jenkinsRule.assertBuildStatus(Result.FAILURE, project.scheduleBuild2(0));
+		m_jenkinsRule.assertLogContains("Missing coverage reports to merge: [shard*/CodeCoverage.xml]", run);
+		assertThat("Expected the existing report to be left as it was.", output.readToString(), is(EXISTING_REPORT));
+		assertThat("Expected no summary for a failed merge.", run.getAction(CodeCoverageSummaryAction.class) == null, is(true));
+	}
+}
@@ -0,0 +1,148 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import hudson.FilePath;
+
+/**
+ * CodeCoverageResultCache unit tests.
+ */
+@SuppressWarnings("nls")
+public class CodeCoverageResultCacheTest
+{
+	// Constants
+	private static final long MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(60);
+	private static final long MAX_SIZE_BYTES = 1024 * 1024;
+
+	// Member Variables
+	@Rule
+	public TemporaryFolder m_folder = new TemporaryFolder();
+
+	private final PrintStream m_logger = new PrintStream(new ByteArrayOutputStream());
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageResultCache#key(java.lang.String, java.lang.String, java.util.Properties, java.lang.String)}.
+	 */
+	@Test
+	public void testKey()
+	{
+		Properties properties = new Properties();
+		properties.setProperty("cc.sources", "/src");
+		properties.setProperty("cc.repos", "USER.CC.REPOSIT");
+		String key = CodeCoverageResultCache.key("12345", "67890", properties, "run1");
+
+		Properties reordered = new Properties();
+		reordered.setProperty("cc.repos", "USER.CC.REPOSIT ");
+		reordered.setProperty("cc.sources", "/src");
+		assertThat("Expected the key not to depend on property order or surrounding blanks.",
+				CodeCoverageResultCache.key("12345", "67890", reordered, "run1"), is(key));
+
+		assertThat(CodeCoverageResultCache.key("12345", "67890", properties, "run2").equals(key), is(false));
+		assertThat(CodeCoverageResultCache.key("12345", "other", properties, "run1").equals(key), is(false));
+		reordered.setProperty("cc.test", "TEST1");
+		assertThat(CodeCoverageResultCache.key("12345", "67890", reordered, "run1").equals(key), is(false));
+	}
+
+	/**
+	 * Tests that a stored report is restored, and that a key that was never stored is a miss.
+	 */
+	@Test
+	public void testRestore() throws IOException, InterruptedException
+	{
+		File cacheDirectory = m_folder.newFolder("cache");
+		CodeCoverageResultCache.store(cacheDirectory, MAX_SIZE_BYTES, "key1", report("extracted", "PGMA"), m_logger);
+
+		File restored = new File(m_folder.newFolder("restored"), "Coverage/CodeCoverage.xml");
+		assertThat(CodeCoverageResultCache.restore(cacheDirectory, MAX_AGE_MILLIS, "key1", new FilePath(restored), m_logger),
+				is(true));
+		assertThat(new String(Files.readAllBytes(restored.toPath()), StandardCharsets.UTF_8), is(content("PGMA")));
+
+		assertThat(CodeCoverageResultCache.restore(cacheDirectory, MAX_AGE_MILLIS, "key2", new FilePath(restored), m_logger),
+				is(false));
+	}
+
+	/**
+	 * Tests that a report stored longer ago than the maximum age is not restored.
+	 */
+	@Test
+	public void testExpiry() throws IOException, InterruptedException
+	{
+		File cacheDirectory = m_folder.newFolder("cache");
+		CodeCoverageResultCache.store(cacheDirectory, MAX_SIZE_BYTES, "key1", report("extracted", "PGMA"), m_logger);
+		File entry = new File(new File(cacheDirectory, "key1"), "CodeCoverage.xml");
+		assertThat(entry.setLastModified(System.currentTimeMillis() - MAX_AGE_MILLIS - 1000), is(true));
+
+		File restored = new File(m_folder.newFolder("restored"), "CodeCoverage.xml");
+		assertThat(CodeCoverageResultCache.restore(cacheDirectory, MAX_AGE_MILLIS, "key1", new FilePath(restored), m_logger),
+				is(false));
+		assertThat(restored.exists(), is(false));
+	}
+
+	/**
+	 * Tests that the least recently used entry is evicted when the cache is over its size, counting a restore as a use.
+	 */
+	@Test
+	public void testEviction() throws IOException, InterruptedException
+	{
+		File cacheDirectory = m_folder.newFolder("cache");
+		FilePath report = report("extracted", "PGMA");
+		long maxSize = 2 * report.length() + 1;
+
+		CodeCoverageResultCache.store(cacheDirectory, maxSize, "key1", report, m_logger);
+		CodeCoverageResultCache.store(cacheDirectory, maxSize, "key2", report, m_logger);
+		long now = System.currentTimeMillis();
+		assertThat(new File(cacheDirectory, "key1").setLastModified(now - 20000), is(true));
+		assertThat(new File(cacheDirectory, "key2").setLastModified(now - 10000), is(true));
+
+		// using the oldest entry makes the other one the least recently used
+		File restored = new File(m_folder.newFolder("restored"), "CodeCoverage.xml");
+		assertThat(CodeCoverageResultCache.restore(cacheDirectory, MAX_AGE_MILLIS, "key1", new FilePath(restored), m_logger),
+				is(true));
+
+		CodeCoverageResultCache.store(cacheDirectory, maxSize, "key3", report, m_logger);
+		assertThat(new File(cacheDirectory, "key1").exists(), is(true));
+		assertThat("Expected the least recently used entry to be evicted.", new File(cacheDirectory, "key2").exists(),
+				is(false));
+		assertThat(new File(cacheDirectory, "key3").exists(), is(true));
+	}
+
+	private FilePath report(String folder, String program) throws IOException
+	{
+		File report = new File(m_folder.newFolder(folder), "CodeCoverage.xml");
+		Files.write(report.toPath(), content(program).getBytes(StandardCharsets.UTF_8));
+		return new FilePath(report);
+	}
+
+	private static String content(String program)
+	{
+		return "<coverage version=\"1\"><file path=\"COBOL/" + program + ".cbl\">"
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/></file></coverage>";
+	}
+}
@@ -17,22 +17,57 @@
 package com.compuware.jenkins.build;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.TestBuilder;
+import org.kohsuke.stapler.Stapler;
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+import com.compuware.jenkins.build.utils.CoverageXmlReader;
+import com.compuware.jenkins.build.utils.ProgramCoverage;
+import com.compuware.jenkins.build.utils.TestImpactIndex;
+import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
+import com.compuware.jenkins.common.utils.ArgumentUtils;
+import com.compuware.jenkins.common.utils.CommonConstants;
+import hudson.AbortException;
+import hudson.EnvVars;
 import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.AbstractBuild;
+import hudson.model.BuildListener;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.remoting.AsyncFutureImpl;
+import hudson.remoting.Callable;
+import hudson.remoting.Future;
+import hudson.remoting.VirtualChannel;
+import hudson.util.ArgumentListBuilder;
+import hudson.util.StreamTaskListener;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
 
 /**
  * CodeCoverageScanner unit tests.
@@ -71,7 +106,7 @@ public class CodeCoverageScannerTest
 	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageScanner#buildAnalysisProperties(java.lang.String, java.lang.String, hudson.FilePath, java.io.PrintStream)}.
 	 */
 	@Test
-	public void testBuildAnalysisProperties() throws IOException
+	public void testBuildAnalysisProperties() throws IOException, InterruptedException
 	{
 		String propertiesStr = null;
 		FilePath workspace = m_jenkinsRule.getInstance().getRootPath();
@@ -134,4 +169,613 @@ public class CodeCoverageScannerTest
 			Files.deleteIfExists(analysisPropertiesFilePath);
 		}
 	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageScanner#preflight(hudson.FilePath, hudson.Launcher, hudson.model.TaskListener)}.
+	 * <p>
+	 * Verifies that everything the scan needs from the agent is obtained with a single channel call.
+	 */
+	@Test
+	public void testPreflightChannelCalls() throws Exception
+	{
+		FilePath workspace = m_jenkinsRule.getInstance().getRootPath().child("preflightWorkspace");
+		FilePath cliDirectory = m_jenkinsRule.getInstance().getRootPath().child("preflightCLI");
+		cliDirectory.mkdirs();
+		configureCliLocation(cliDirectory);
+
+		TaskListener listener = StreamTaskListener.fromStdout();
+		CountingChannel channel = new CountingChannel();
+		Launcher launcher = new Launcher.LocalLauncher(listener, channel);
+
+		try
+		{
+			m_ccScanner.preflight(workspace, launcher, listener);
+		}
+		catch (IOException e)
+		{
+			// there is no CLI installed in the test directory; the call count is all that matters here
+		}
+
+		assertThat("Expected a single channel call for the preflight.", channel.getCallCount(), is(1));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageScanner#perform(hudson.model.Run, hudson.FilePath, hudson.Launcher, hudson.model.TaskListener)}.
+	 * <p>
+	 * Verifies that the whole scan calls the preflight once, and that only the preflight and the removal of a stale report
+	 * reach the agent before the CLI is started.
+	 */
+	@Test
+	public void testPerformChannelCalls() throws Exception
+	{
+		FilePath workspace = m_jenkinsRule.getInstance().getRootPath().child("performWorkspace");
+		FilePath cliDirectory = m_jenkinsRule.getInstance().getRootPath().child("performCLI");
+		cliDirectory.child(CommonConstants.VERSION_FILE).write(CodeCoverageConstants.CC_MINIMUM_CLI_VERSION, "UTF-8");
+		configureCliLocation(cliDirectory);
+		FreeStyleBuild run = m_jenkinsRule.buildAndAssertSuccess(m_jenkinsRule.createFreeStyleProject());
+
+		TaskListener listener = StreamTaskListener.fromStdout();
+		CountingChannel channel = new CountingChannel();
+		Launcher launcher = new Launcher.LocalLauncher(listener, channel);
+		CodeCoverageBuilder config = new CodeCoverageBuilder("12345", "67890", "", "cc.sources=/src\ncc.repos=USER.CC.REPOSIT");
+		StubCliScanner scanner = new StubCliScanner(config, channel);
+		scanner.perform(run, workspace, launcher, listener);
+
+		assertThat("Expected the CLI to be run.", scanner.getCliRuns(), is(1));
+		assertThat("Expected only the preflight and the removal of a stale report before the CLI.",
+				scanner.getCallsBeforeCli(), is(2));
+		assertThat("Expected a single preflight across the scan.", channel.getPreflightCount(), is(1));
+		assertThat("Expected the report written by the CLI to be summarized.",
+				run.getAction(CodeCoverageSummaryAction.class) != null, is(true));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageScanner#performFanOut(hudson.Launcher, com.compuware.jenkins.build.CodeCoverageScanner.Extraction, java.io.PrintStream)}.
+	 * <p>
+	 * Verifies that listed test IDs are extracted in parallel, no more at a time than allowed, and merged into one report.
+	 */
+	@Test
+	public void testPerformFanOut() throws Exception
+	{
+		FilePath workspace = m_jenkinsRule.getInstance().getRootPath().child("fanOutWorkspace");
+		FreeStyleBuild run = completedBuild();
+
+		TaskListener listener = StreamTaskListener.fromStdout();
+		CountingChannel channel = new CountingChannel();
+		CodeCoverageBuilder config = new CodeCoverageBuilder("12345", "67890", "",
+				"cc.sources=/src\ncc.repos=USER.CC.REPOSIT\ncc.test=T1;T2;T3");
+		config.setMaxParallelExtractions(2);
+		StubCliScanner scanner = new StubCliScanner(config, channel);
+		scanner.perform(run, workspace, new Launcher.LocalLauncher(listener, channel), listener);
+
+		assertThat("Expected one CLI run per test ID.", scanner.getCliRuns(), is(3));
+		assertThat("Expected no more than two CLI runs at a time.", scanner.getMaxRunning() <= 2, is(true));
+
+		List<String> programs = new ArrayList<>();
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(workspace.child(CodeCoverageConstants.COVERAGE_FOLDER)
+				.child(CodeCoverageConstants.COVERAGE_FILE_NAME).read()))
+		{
+			while (reader.next(program))
+			{
+				programs.add(program.getPath());
+			}
+		}
+		assertThat("Expected the reports of all extractions to be merged.", programs,
+				is(Arrays.asList("COBOL/T1.cbl", "COBOL/T2.cbl", "COBOL/T3.cbl")));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageScanner#mergeParts(hudson.model.Run, hudson.FilePath, com.compuware.jenkins.build.CodeCoverageScanner.Extraction, java.io.PrintStream)}.
+	 * <p>
+	 * Verifies that an extraction that exits successfully without writing its report fails the scan, rather than having its
+	 * programs left out of the merged report.
+	 */
+	@Test
+	public void testPerformFanOutMissingReport() throws Exception
+	{
+		FilePath workspace = m_jenkinsRule.getInstance().getRootPath().child("fanOutMissingWorkspace");
+		FreeStyleBuild run = completedBuild();
+
+		TaskListener listener = StreamTaskListener.fromStdout();
+		CountingChannel channel = new CountingChannel();
+		CodeCoverageBuilder config = new CodeCoverageBuilder("12345", "67890", "",
+				"cc.sources=/src\ncc.repos=USER.CC.REPOSIT\ncc.test=T1;" + StubCliScanner.NO_REPORT);
+		StubCliScanner scanner = new StubCliScanner(config, channel);
+		try
+		{
+			scanner.perform(run, workspace, new Launcher.LocalLauncher(listener, channel), listener);
+			throw new AssertionError("Expected the missing report to fail the scan.");
+		}
+		catch (IOException e)
+		{
+			assertThat(e.getMessage(), containsString("CoverageParts/1/"));
+		}
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageScanner#mergeParts(hudson.model.Run, hudson.FilePath, com.compuware.jenkins.build.CodeCoverageScanner.Extraction, java.io.PrintStream)}.
+	 * <p>
+	 * Verifies that an extraction stopped by the timeout keeps the programs it wrote in full, which are merged with the reports
+	 * of the extractions that completed into a partial report.
+	 */
+	@Test
+	public void testPerformFanOutTimeout() throws Exception
+	{
+		FilePath workspace = m_jenkinsRule.getInstance().getRootPath().child("fanOutTimeoutWorkspace");
+		installCli();
+		CodeCoverageBuilder config = new CodeCoverageBuilder("12345", "67890", "",
+				"cc.sources=/src\ncc.repos=USER.CC.REPOSIT\ncc.test=T1;" + StubCliScanner.TIMEOUT + ";T3");
+		FreeStyleProject project = m_jenkinsRule.createFreeStyleProject();
+		project.getBuildersList().add(new TestBuilder()
+		{
+			@Override
+			public boolean perform(AbstractBuild<?, ?> build, Launcher launcher, BuildListener listener)
+					throws InterruptedException, IOException
+			{
+				CountingChannel channel = new CountingChannel();
+				new StubCliScanner(config, channel).perform(build, workspace, new Launcher.LocalLauncher(listener, channel),
+						listener);
+				return true;
+			}
+		});
+		FreeStyleBuild run = m_jenkinsRule.assertBuildStatus(Result.UNSTABLE, project.scheduleBuild2(0));
+
+		List<String> programs = new ArrayList<>();
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(workspace.child(CodeCoverageConstants.COVERAGE_FOLDER)
+				.child(CodeCoverageConstants.COVERAGE_FILE_NAME).read()))
+		{
+			while (reader.next(program))
+			{
+				programs.add(program.getPath());
+			}
+		}
+		assertThat("Expected the completed and salvaged programs to be merged.", programs,
+				is(Arrays.asList("COBOL/T1.cbl", "COBOL/T3.cbl", "COBOL/TIMEOUT.cbl")));
+		assertThat("Expected the report to be marked as partial.",
+				run.getAction(CodeCoverageSummaryAction.class).getSummary().isPartial(), is(true));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageScanner#selectShard(java.util.Properties, java.io.PrintStream)}.
+	 * <p>
+	 * Verifies that a shard runs the CLI once, in its own workspace, for only its share of the source folders.
+	 */
+	@Test
+	public void testPerformShard() throws Exception
+	{
+		FilePath workspace = m_jenkinsRule.getInstance().getRootPath().child("shardWorkspace");
+		FreeStyleBuild run = completedBuild();
+
+		TaskListener listener = StreamTaskListener.fromStdout();
+		CountingChannel channel = new CountingChannel();
+		CodeCoverageBuilder config = new CodeCoverageBuilder("12345", "67890", "",
+				"cc.sources=/a,/b,/c,/d\ncc.repos=USER.CC.REPOSIT");
+		config.setShardCount(2);
+		config.setShardIndex(1);
+		StubCliScanner scanner = new StubCliScanner(config, channel);
+		scanner.perform(run, workspace, new Launcher.LocalLauncher(listener, channel), listener);
+
+		assertThat("Expected the shard to run the CLI once.", scanner.getCliRuns(), is(1));
+		assertThat("Expected the shard to extract only its share of the folders.", scanner.getSources(),
+				is(Arrays.asList("/b,/d")));
+		assertThat("Expected the shard report to be written to the workspace.", workspace
+				.child(CodeCoverageConstants.COVERAGE_FOLDER).child(CodeCoverageConstants.COVERAGE_FILE_NAME).exists(), is(true));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageScanner#selectShard(java.util.Properties, java.io.PrintStream)}.
+	 * <p>
+	 * Verifies that a shard with no source folders does not run the CLI, but still writes an empty report for the merge of
+	 * the shard reports, and that a shard index past the last shard fails the scan.
+	 */
+	@Test
+	public void testPerformEmptyShard() throws Exception
+	{
+		FilePath workspace = m_jenkinsRule.getInstance().getRootPath().child("emptyShardWorkspace");
+		FreeStyleBuild run = completedBuild();
+
+		TaskListener listener = StreamTaskListener.fromStdout();
+		CountingChannel channel = new CountingChannel();
+		CodeCoverageBuilder config = new CodeCoverageBuilder("12345", "67890", "",
+				"cc.sources=/a,/b\ncc.repos=USER.CC.REPOSIT");
+		config.setShardCount(3);
+		config.setShardIndex(2);
+		StubCliScanner scanner = new StubCliScanner(config, channel);
+		scanner.perform(run, workspace, new Launcher.LocalLauncher(listener, channel), listener);
+
+		assertThat("Expected an empty shard not to run the CLI.", scanner.getCliRuns(), is(0));
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(workspace.child(CodeCoverageConstants.COVERAGE_FOLDER)
+				.child(CodeCoverageConstants.COVERAGE_FILE_NAME).read()))
+		{
+			assertThat("Expected an empty report.", reader.next(program), is(false));
+		}
+
+		config.setShardIndex(3);
+		try
+		{
+			new StubCliScanner(config, channel).perform(run, workspace, new Launcher.LocalLauncher(listener, channel),
+					listener);
+			throw new AssertionError("Expected a shard index past the last shard to fail the scan.");
+		}
+		catch (AbortException e)
+		{
+			assertThat(e.getMessage(), containsString("shard index 3"));
+		}
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageScanner#perform(hudson.model.Run, hudson.FilePath, hudson.Launcher, hudson.model.TaskListener)}.
+	 * <p>
+	 * Verifies that a step merging with the existing report merges the report of an earlier step of the same build, but not a
+	 * report left by an earlier build, however recent its modification time, and that the build keeps a single summary.
+	 */
+	@Test
+	public void testPerformMergeWithExistingReport() throws Exception
+	{
+		FilePath workspace = m_jenkinsRule.getInstance().getRootPath().child("mergeWorkspace");
+		FilePath report = workspace.child(CodeCoverageConstants.COVERAGE_FOLDER).child(CodeCoverageConstants.COVERAGE_FILE_NAME);
+		report.write("<coverage version=\"1\"><file path=\"COBOL/STALE.cbl\">"
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/></file></coverage>", "UTF-8");
+		report.touch(System.currentTimeMillis() + 3600000);
+		FreeStyleBuild run = completedBuild();
+
+		TaskListener listener = StreamTaskListener.fromStdout();
+		CountingChannel channel = new CountingChannel();
+		for (String testId : Arrays.asList("T1", "T2"))
+		{
+			CodeCoverageBuilder config = new CodeCoverageBuilder("12345", "67890", "",
+					"cc.sources=/src\ncc.repos=USER.CC.REPOSIT\ncc.test=" + testId);
+			config.setMergeWithExistingReport(true);
+			new StubCliScanner(config, channel).perform(run, workspace, new Launcher.LocalLauncher(listener, channel), listener);
+		}
+
+		List<String> programs = new ArrayList<>();
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(report.read()))
+		{
+			while (reader.next(program))
+			{
+				programs.add(program.getPath());
+			}
+		}
+		assertThat(programs, is(Arrays.asList("COBOL/T1.cbl", "COBOL/T2.cbl")));
+		assertThat("Expected the second step to replace the summary of the first.",
+				run.getActions(CodeCoverageSummaryAction.class).size(), is(1));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageScanner#indexTests(hudson.model.Run, hudson.FilePath, java.io.PrintStream)}.
+	 * <p>
+	 * Verifies that the coverage of a test ID is added to the job's test impact index and that no temporary copy of its store
+	 * is left in the build directory.
+	 */
+	@Test
+	public void testPerformIndexesTests() throws Exception
+	{
+		FilePath workspace = m_jenkinsRule.getInstance().getRootPath().child("indexWorkspace");
+		FreeStyleBuild run = completedBuild();
+
+		TaskListener listener = StreamTaskListener.fromStdout();
+		CountingChannel channel = new CountingChannel();
+		CodeCoverageBuilder config = new CodeCoverageBuilder("12345", "67890", "",
+				"cc.sources=/src\ncc.repos=USER.CC.REPOSIT\ncc.test=T1");
+		new StubCliScanner(config, channel).perform(run, workspace, new Launcher.LocalLauncher(listener, channel), listener);
+
+		File index = new File(run.getParent().getRootDir(), CodeCoverageConstants.TEST_INDEX_FILE_NAME);
+		assertThat("Expected the test impact index to be written.", index.isFile(), is(true));
+		try (TestImpactIndex tests = TestImpactIndex.open(index))
+		{
+			assertThat(tests.getTests(tests.indexOf("COBOL/T1.cbl")), is(Collections.singletonList("T1")));
+		}
+		String[] copies = run.getRootDir().list((dir, name) -> name.startsWith(CodeCoverageConstants.TEST_STORE_FILE_NAME));
+		assertThat("Expected no temporary store copies to be left.", copies.length, is(0));
+	}
+
+	/**
+	 * Installs a CLI version file for the scans of a test and returns a completed build to run them for.
+	 */
+	private FreeStyleBuild completedBuild() throws Exception
+	{
+		installCli();
+		return m_jenkinsRule.buildAndAssertSuccess(m_jenkinsRule.createFreeStyleProject());
+	}
+
+	/**
+	 * Installs a CLI version file for the scans of a test.
+	 */
+	private void installCli() throws Exception
+	{
+		FilePath cliDirectory = m_jenkinsRule.getInstance().getRootPath().child("stubCLI");
+		cliDirectory.child(CommonConstants.VERSION_FILE).write(CodeCoverageConstants.CC_MINIMUM_CLI_VERSION, "UTF-8");
+		configureCliLocation(cliDirectory);
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageScanner#addAnalysisPropertiesFile(hudson.util.ArgumentListBuilder, java.util.Properties, hudson.FilePath, java.io.PrintStream)}.
+	 */
+	@Test
+	public void testAddAnalysisPropertiesFile() throws Exception
+	{
+		StringBuilder sources = new StringBuilder();
+		for (int i = 0; i < 1000; i++)
+		{
+			sources.append(i == 0 ? "" : ",").append("C:\\Source Folders\\Application ").append(i);
+		}
+		Properties analysisProperties = new Properties();
+		analysisProperties.setProperty("cc.sources", sources.toString());
+		analysisProperties.setProperty("cc.repos", "USER.CC.REPOSIT");
+		analysisProperties.setProperty("cc.ddio.overrides", "");
+
+		FilePath argumentFile = m_jenkinsRule.getInstance().getRootPath().child("argumentFileData")
+				.child(CodeCoverageConstants.ARGUMENT_FILE_NAME);
+		ArgumentListBuilder args = new ArgumentListBuilder();
+		CodeCoverageScanner.addAnalysisPropertiesFile(args, analysisProperties, argumentFile, new PrintStream(System.out));
+
+		assertThat("Expected only the argument file to be passed.", args.toList().size(), is(2));
+		assertThat(args.toList().get(0), is("-" + CodeCoverageConstants.ARGUMENT_FILE_PARM));
+
+		Properties fileProperties = new Properties();
+		try (InputStream in = argumentFile.read())
+		{
+			fileProperties.load(in);
+		}
+		assertThat("Expected the values to be read back unchanged, without blank ones.", fileProperties.size(), is(2));
+		assertThat(fileProperties.getProperty("cc.sources"), is(sources.toString()));
+		assertThat(fileProperties.getProperty("cc.repos"), is("USER.CC.REPOSIT"));
+	}
+
+	/**
+	 * Tests that, unless the argument file is selected, the analysis properties are passed on the command line exactly as
+	 * before, however long they are.
+	 */
+	@Test
+	public void testAddAnalysisPropertiesArgumentsDefault() throws Exception
+	{
+		Properties analysisProperties = longAnalysisProperties();
+		FilePath argumentFile = m_jenkinsRule.getInstance().getRootPath().child("defaultArgumentsData")
+				.child(CodeCoverageConstants.ARGUMENT_FILE_NAME);
+		ArgumentListBuilder expected = new ArgumentListBuilder();
+		CodeCoverageScanner.addAnalysisProperties(expected, analysisProperties, new PrintStream(System.out));
+
+		ArgumentListBuilder args = new ArgumentListBuilder();
+		new CodeCoverageScanner(new CodeCoverageBuilder("12345", "67890", "", "")).addAnalysisPropertiesArguments(args,
+				argumentFile, analysisProperties, new PrintStream(System.out));
+
+		assertThat(args.toString(), is(expected.toString()));
+		assertThat(args.toList(), is(expected.toList()));
+		assertThat("Expected no argument file to be written.", argumentFile.exists(), is(false));
+	}
+
+	/**
+	 * Tests that a selected argument file is used whatever the CLI version, the properties going in the file and only its path
+	 * on the command line.
+	 */
+	@Test
+	public void testAddAnalysisPropertiesArgumentsSelected() throws Exception
+	{
+		Properties analysisProperties = longAnalysisProperties();
+		FilePath argumentFile = m_jenkinsRule.getInstance().getRootPath().child("selectedArgumentsData")
+				.child(CodeCoverageConstants.ARGUMENT_FILE_NAME);
+		CodeCoverageBuilder config = new CodeCoverageBuilder("12345", "67890", "", "");
+		config.setUseArgumentFile(true);
+		CodeCoverageScanner scanner = new CodeCoverageScanner(config);
+
+		ArgumentListBuilder args = new ArgumentListBuilder();
+		scanner.addAnalysisPropertiesArguments(args, argumentFile, analysisProperties, new PrintStream(System.out));
+		assertThat(args.toList(),
+				is(Arrays.asList("-" + CodeCoverageConstants.ARGUMENT_FILE_PARM,
+						ArgumentUtils.escapeForScript(argumentFile.getRemote()))));
+		assertThat(argumentFile.exists(), is(true));
+	}
+
+	/**
+	 * Gets analysis properties too long to pass comfortably on the command line.
+	 */
+	private static Properties longAnalysisProperties()
+	{
+		StringBuilder sources = new StringBuilder();
+		for (int i = 0; i < 1000; i++)
+		{
+			sources.append(i == 0 ? "" : ",").append("C:\\Source Folders\\Application ").append(i);
+		}
+		Properties analysisProperties = new Properties();
+		analysisProperties.setProperty("cc.sources", sources.toString());
+		analysisProperties.setProperty("cc.repos", "USER.CC.REPOSIT");
+		analysisProperties.setProperty("cc.ddio.overrides", "");
+		return analysisProperties;
+	}
+
+	/**
+	 * Points the Topaz CLI location of the global configuration at the given directory.
+	 */
+	private static void configureCliLocation(FilePath cliDirectory) throws Exception
+	{
+		JSONObject json = new JSONObject();
+		json.put("hostConn", new JSONArray());
+		json.put("topazCLILocationLinux", cliDirectory.getRemote());
+		json.put("topazCLILocationWindows", cliDirectory.getRemote());
+		CpwrGlobalConfiguration.get().configure(Stapler.getCurrentRequest(), json);
+	}
+
+	/**
+	 * A channel that runs the calls made through it in this JVM and counts them.
+	 * <p>
+	 * Unlike a <code>LocalChannel</code>, it is kept by <code>FilePath</code>, so file operations are counted too.
+	 */
+	private static final class CountingChannel implements VirtualChannel
+	{
+		private final AtomicInteger m_callCount = new AtomicInteger();
+		private final AtomicInteger m_preflightCount = new AtomicInteger();
+
+		@Override
+		public <V, T extends Throwable> V call(Callable<V, T> callable) throws T
+		{
+			m_callCount.incrementAndGet();
+			if (callable instanceof RemotePreflight)
+			{
+				m_preflightCount.incrementAndGet();
+			}
+			return callable.call();
+		}
+
+		@Override
+		public <V, T extends Throwable> Future<V> callAsync(Callable<V, T> callable)
+		{
+			try
+			{
+				return new AsyncFutureImpl<V>(call(callable));
+			}
+			catch (Throwable t)
+			{
+				return new AsyncFutureImpl<V>(t);
+			}
+		}
+
+		@Override
+		public void close()
+		{
+		}
+
+		@Override
+		public void join()
+		{
+		}
+
+		@Override
+		public void join(long timeout)
+		{
+		}
+
+		@Override
+		public <T> T export(Class<T> type, T instance)
+		{
+			return instance;
+		}
+
+		@Override
+		public void syncLocalIO()
+		{
+		}
+
+		int getCallCount()
+		{
+			return m_callCount.get();
+		}
+
+		int getPreflightCount()
+		{
+			return m_preflightCount.get();
+		}
+	}
+
+	/**
+	 * A scanner that writes a report in place of running the CLI, and records the channel calls made before the first CLI
+	 * run and the number of CLI runs at the same time.
+	 * <p>
+	 * The report of an extraction holds one program named after its test ID. An extraction whose test ID is
+	 * <code>NOREPORT</code> exits successfully without writing a report, and one whose test ID is <code>TIMEOUT</code> is
+	 * stopped by the timeout while writing its second program.
+	 */
+	private static final class StubCliScanner extends CodeCoverageScanner
+	{
+		private static final String NO_REPORT = "NOREPORT";
+		private static final String TIMEOUT = "TIMEOUT";
+
+		private final CountingChannel m_channel;
+		private final AtomicInteger m_cliRuns = new AtomicInteger();
+		private final AtomicInteger m_running = new AtomicInteger();
+		private final AtomicInteger m_maxRunning = new AtomicInteger();
+		private final AtomicInteger m_callsBeforeCli = new AtomicInteger(-1);
+		private final List<String> m_sources = Collections.synchronizedList(new ArrayList<String>());
+
+		StubCliScanner(CodeCoverageBuilder config, CountingChannel channel)
+		{
+			super(config);
+			m_channel = channel;
+		}
+
+		@Override
+		protected ArgumentListBuilder buildArguments(RemotePreflight.Result preflight, Run<?, ?> run,
+				VirtualChannel channel, String targetFolder, String topazCliWorkspace, Properties analysisProperties,
+				PrintStream logger)
+		{
+			// the CLI data directory is not escaped, and is in the target folder
+			ArgumentListBuilder args = new ArgumentListBuilder(preflight.getCliScriptFile());
+			args.add(CommonConstants.DATA_PARM, topazCliWorkspace);
+			m_sources.add(analysisProperties.getProperty(CodeCoverageConstants.SOURCES_PARM, ""));
+			args.add("-cc.test", analysisProperties.getProperty("cc.test", ""));
+			return args;
+		}
+
+		@Override
+		protected int runCliWithRetries(Launcher launcher, ArgumentListBuilder args, EnvVars env, FilePath workDir,
+				OutputStream out) throws IOException, InterruptedException
+		{
+			m_callsBeforeCli.compareAndSet(-1, m_channel.getCallCount());
+			m_cliRuns.incrementAndGet();
+			m_maxRunning.accumulateAndGet(m_running.incrementAndGet(), Math::max);
+			try
+			{
+				Thread.sleep(200);
+
+				List<String> argList = args.toList();
+				String testId = argList.get(argList.size() - 1);
+				if (testId.equals(NO_REPORT))
+				{
+					return 0;
+				}
+
+				Path dataDirectory = Paths.get(argList.get(argList.indexOf(CommonConstants.DATA_PARM) + 1));
+				Path report = dataDirectory.getParent().resolve(CodeCoverageConstants.COVERAGE_FOLDER)
+						.resolve(CodeCoverageConstants.COVERAGE_FILE_NAME);
+				Files.createDirectories(report.getParent());
+				if (testId.equals(TIMEOUT))
+				{
+					// the CLI was stopped while writing its second program
+					Files.write(report, ("<coverage version=\"1\">" //
+							+ "<file path=\"COBOL/" + TIMEOUT + ".cbl\">" //
+							+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+							+ "</file>" //
+							+ "<file path=\"COBOL/CUT.cbl\">" //
+							+ "<lineToCover lineNumber=\"1\" cov").getBytes(StandardCharsets.UTF_8));
+					throw new ExtractionTimeoutException(1);
+				}
+
+				Files.write(report, ("<coverage version=\"1\">" //
+						+ "<file path=\"COBOL/" + (testId.isEmpty() ? "PGMA" : testId) + ".cbl\">" //
+						+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+						+ "<lineToCover lineNumber=\"2\" covered=\"false\"/>" //
+						+ "</file>" //
+						+ "</coverage>").getBytes(StandardCharsets.UTF_8));
+				return 0;
+			}
+			finally
+			{
+				m_running.decrementAndGet();
+			}
+		}
+
+		int getCliRuns()
+		{
+			return m_cliRuns.get();
+		}
+
+		int getMaxRunning()
+		{
+			return m_maxRunning.get();
+		}
+
+		int getCallsBeforeCli()
+		{
+			return m_callsBeforeCli.get();
+		}
+
+		List<String> getSources()
+		{
+			return m_sources;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import hudson.FilePath;
+
+/**
+ * CodeCoverageSingleFlight unit tests.
+ */
+@SuppressWarnings("nls")
+public class CodeCoverageSingleFlightTest
+{
+	// Constants
+	private static final String REPORT = "<coverage version=\"1\"/>";
+
+	// Member Variables
+	@Rule
+	public TemporaryFolder m_folder = new TemporaryFolder();
+
+	/**
+	 * Tests that a follower waits for the leader and copies its report.
+	 */
+	@Test
+	public void testFollowerCopiesReport() throws Exception
+	{
+		CodeCoverageSingleFlight.Ticket leader = CodeCoverageSingleFlight.join("key1", "build #1");
+		CodeCoverageSingleFlight.Ticket follower = CodeCoverageSingleFlight.join("key1", "build #2");
+		assertThat(leader.isLeader(), is(true));
+		assertThat(follower.isLeader(), is(false));
+		assertThat(follower.getLeader(), is("build #1"));
+
+		File followerReport = new File(m_folder.newFolder("follower"), "Coverage/CodeCoverage.xml");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try
+		{
+			Future<Boolean> copied = executor.submit(() -> follower.await(new FilePath(followerReport)));
+
+			File leaderReport = m_folder.newFile("CodeCoverage.xml");
+			Files.write(leaderReport.toPath(), REPORT.getBytes(StandardCharsets.UTF_8));
+			leader.complete(new FilePath(leaderReport), System.out);
+
+			assertThat("Expected the follower to copy the leader's report.", copied.get(), is(true));
+			assertThat(new String(Files.readAllBytes(followerReport.toPath()), StandardCharsets.UTF_8), is(REPORT));
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		assertThat("Expected a new extraction to get a new leader.", CodeCoverageSingleFlight.join("key1", "build #3").isLeader(), is(true));
+	}
+
+	/**
+	 * Tests that a follower can be told when the leader lands instead of waiting for it, and that a follower that leaves
+	 * before then no longer needs the leader's report.
+	 */
+	@Test
+	public void testFollowerLanded() throws Exception
+	{
+		CodeCoverageSingleFlight.Ticket leader = CodeCoverageSingleFlight.join("key4", "build #1");
+		CodeCoverageSingleFlight.Ticket follower = CodeCoverageSingleFlight.join("key4", "build #2");
+		CodeCoverageSingleFlight.Ticket leaving = CodeCoverageSingleFlight.join("key4", "build #3");
+		assertThat(follower.landed().isDone(), is(false));
+		leaving.leave();
+
+		File leaderReport = m_folder.newFile("Landed.xml");
+		Files.write(leaderReport.toPath(), REPORT.getBytes(StandardCharsets.UTF_8));
+		leader.complete(new FilePath(leaderReport), System.out);
+		assertThat("Expected the follower to be told that the leader landed.", follower.landed().isDone(), is(true));
+
+		File followerReport = new File(m_folder.newFolder("landed"), "CodeCoverage.xml");
+		assertThat(follower.await(new FilePath(followerReport)), is(true));
+		assertThat(new String(Files.readAllBytes(followerReport.toPath()), StandardCharsets.UTF_8), is(REPORT));
+	}
+
+	/**
+	 * Tests that a leader without followers does not snapshot its report.
+	 */
+	@Test
+	public void testCompleteWithoutFollowers() throws InterruptedException
+	{
+		CodeCoverageSingleFlight.Ticket leader = CodeCoverageSingleFlight.join("key3", "build #1");
+
+		// the report is never read, so its absence is not reported
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		leader.complete(new FilePath(new File(m_folder.getRoot(), "Missing.xml")), new PrintStream(out, true));
+		assertThat(out.size(), is(0));
+		assertThat(CodeCoverageSingleFlight.join("key3", "build #2").isLeader(), is(true));
+	}
+
+	/**
+	 * Tests that the followers of a failed leader are told to run the extraction themselves.
+	 */
+	@Test
+	public void testLeaderAbandons() throws IOException, InterruptedException
+	{
+		CodeCoverageSingleFlight.Ticket leader = CodeCoverageSingleFlight.join("key2", "build #1");
+		CodeCoverageSingleFlight.Ticket follower = CodeCoverageSingleFlight.join("key2", "build #2");
+		leader.abandon();
+
+		File followerReport = new File(m_folder.getRoot(), "CodeCoverage.xml");
+		assertThat(follower.await(new FilePath(followerReport)), is(false));
+		assertThat(followerReport.exists(), is(false));
+		assertThat(CodeCoverageSingleFlight.join("key2", "build #2").isLeader(), is(true));
+	}
+}
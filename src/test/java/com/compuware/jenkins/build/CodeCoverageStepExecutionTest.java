@@ -0,0 +1,66 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import hudson.util.ArgumentListBuilder;
+
+/**
+ * CodeCoverageStepExecution unit tests.
+ */
+@SuppressWarnings("nls")
+public class CodeCoverageStepExecutionTest
+{
+	/**
+	 * Test method for
+	 * {@link com.compuware.jenkins.build.CodeCoverageStepExecution#script(hudson.util.ArgumentListBuilder, boolean, java.util.Map)}.
+	 */
+	@Test
+	public void testShellScript()
+	{
+		ArgumentListBuilder args = new ArgumentListBuilder("/opt/cli/CodeCoverageCLI.sh", "-pass");
+		args.addMasked("se'cret");
+		args.add("-cc.sources", "/ws/it's here");
+		Map<String, String> env = new HashMap<>();
+
+		assertThat(CodeCoverageStepExecution.script(args, true, env),
+				is("#!/bin/sh\n'/opt/cli/CodeCoverageCLI.sh' '-pass' \"$CC_SECRET_2\" '-cc.sources' '/ws/it'\\''s here'\n"));
+		assertThat("Expected the masked argument to be passed in the environment.", env.get("CC_SECRET_2"), is("se'cret"));
+	}
+
+	/**
+	 * Test method for
+	 * {@link com.compuware.jenkins.build.CodeCoverageStepExecution#script(hudson.util.ArgumentListBuilder, boolean, java.util.Map)}.
+	 */
+	@Test
+	public void testBatchScript()
+	{
+		ArgumentListBuilder args = new ArgumentListBuilder("C:\\Program Files\\CLI\\CodeCoverageCLI.bat", "-pass");
+		args.addMasked("secret");
+		args.add("-cc.sources", "\"C:\\ws\\COBOL\"", "-cc.test", "100%");
+		Map<String, String> env = new HashMap<>();
+
+		assertThat(CodeCoverageStepExecution.script(args, false, env),
+				is("@echo off\r\ncall \"C:\\Program Files\\CLI\\CodeCoverageCLI.bat\" -pass \"%CC_SECRET_2%\" -cc.sources"
+						+ " \"C:\\ws\\COBOL\" -cc.test 100%%\r\nexit /b %ERRORLEVEL%\r\n"));
+		assertThat(env.get("CC_SECRET_2"), is("secret"));
+	}
+}
@@ -0,0 +1,250 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.RestartableJenkinsRule;
+import org.kohsuke.stapler.Stapler;
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.cloudbees.plugins.credentials.impl.UsernamePasswordCredentialsImpl;
+import com.compuware.jenkins.build.utils.CodeCoverageConstants;
+import com.compuware.jenkins.common.configuration.CpwrGlobalConfiguration;
+import com.compuware.jenkins.common.utils.CommonConstants;
+import hudson.Functions;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * CodeCoverageStep unit tests.
+ * <p>
+ * The Pipeline tests run the step against a fake CLI script, which writes a report with one program into its target folder.
+ * The script waits while a <code>hold</code> file exists, and fails in a retryable way once if a <code>fail</code> file
+ * exists.
+ */
+@SuppressWarnings("nls")
+public class CodeCoverageStepTest
+{
+	// Constants
+	private static final String CONNECTION_ID = "1234";
+	private static final String CREDENTIALS_ID = "67890";
+
+	// Member Variables
+	@Rule
+	public RestartableJenkinsRule m_story = new RestartableJenkinsRule();
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageStep#toBuilder()}.
+	 * <p>
+	 * Verifies that the build step the scanner runs with reads the options of the step rather than a copy of them.
+	 */
+	@Test
+	public void testToBuilder()
+	{
+		CodeCoverageStep step = new CodeCoverageStep(" 12345 ", "67890", "", "cc.sources=/src");
+		step.setMaxParallelExtractions(3);
+		step.setTimeoutMinutes(10);
+		step.setCompareWithBuild(" lastSuccessfulBuild ");
+
+		CodeCoverageBuilder builder = step.toBuilder();
+		assertThat(builder.getConnectionId(), is("12345"));
+		assertThat(builder.getMaxParallelExtractions(), is(3));
+		assertThat(builder.getTimeoutMinutes(), is(10));
+		assertThat(builder.getCompareWithBuild(), is("lastSuccessfulBuild"));
+
+		step.setShardCount(2);
+		assertThat("Expected the options to be shared with the step.", builder.getShardCount(), is(2));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageStepExecution#start()}.
+	 * <p>
+	 * Verifies that the step runs the CLI and completes with the report summarized.
+	 */
+	@Test
+	public void testStepCompletes()
+	{
+		m_story.then(r -> {
+			configure(r);
+			WorkflowJob job = pipeline(r, "single", "", "");
+			WorkflowRun run = r.assertBuildStatusSuccess(job.scheduleBuild2(0));
+			r.assertLogContains("exited with value = 0", run);
+			assertThat(run.getAction(CodeCoverageSummaryAction.class), is(notNullValue()));
+		});
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageStepExecution#start()}.
+	 * <p>
+	 * Verifies that each extraction of a fan-out runs as its own CLI run, and that their reports are merged.
+	 */
+	@Test
+	public void testStepFanOutCompletes()
+	{
+		m_story.then(r -> {
+			configure(r);
+			WorkflowJob job = pipeline(r, "fanOut", "\\ncc.test=T1;T2;T3", ", maxParallelExtractions: 2");
+			WorkflowRun run = r.assertBuildStatusSuccess(job.scheduleBuild2(0));
+			r.assertLogContains("Running 3 extractions, 2 at a time", run);
+			r.assertLogContains("Merged 3 coverage reports", run);
+			assertThat(run.getAction(CodeCoverageSummaryAction.class), is(notNullValue()));
+		});
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageStepExecution#onResume()}.
+	 * <p>
+	 * Verifies that a CLI run still running when Jenkins restarts is polled again, and the step completes.
+	 */
+	@Test
+	public void testStepResumesRunningCli()
+	{
+		m_story.then(r -> {
+			configure(r);
+			Files.createFile(marker(r, "hold").toPath());
+			WorkflowJob job = pipeline(r, "resume", "", "");
+			WorkflowRun run = job.scheduleBuild2(0).waitForStart();
+			waitFor(marker(r, "started"));
+			assertThat(run.isBuilding(), is(true));
+		});
+		m_story.then(r -> {
+			WorkflowRun run = r.jenkins.getItemByFullName("resume", WorkflowJob.class).getBuildByNumber(1);
+			Files.delete(marker(r, "hold").toPath());
+			r.assertBuildStatusSuccess(r.waitForCompletion(run));
+			r.assertLogNotContains("preparing the extraction again", run);
+			assertThat(run.getAction(CodeCoverageSummaryAction.class), is(notNullValue()));
+		});
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageStepExecution#onResume()}.
+	 * <p>
+	 * Verifies that a step restarted while it waits to retry a failed CLI run prepares the extraction again and completes,
+	 * rather than failing.
+	 */
+	@Test
+	public void testStepResumesRetryBackoff()
+	{
+		m_story.then(r -> {
+			configure(r);
+			Files.createFile(marker(r, "fail").toPath());
+			WorkflowJob job = pipeline(r, "retry", "", ", maxRetries: 1");
+			WorkflowRun run = job.scheduleBuild2(0).waitForStart();
+			r.waitForMessage("which is retryable; retrying in", run);
+		});
+		m_story.then(r -> {
+			WorkflowRun run = r.jenkins.getItemByFullName("retry", WorkflowJob.class).getBuildByNumber(1);
+			r.assertBuildStatusSuccess(r.waitForCompletion(run));
+			r.assertLogContains("Jenkins restarted before every Code Coverage CLI run was launched; preparing the extraction again",
+					run);
+			assertThat(run.getAction(CodeCoverageSummaryAction.class), is(notNullValue()));
+		});
+	}
+
+	/**
+	 * Configures the host connection, its credentials and the fake CLI.
+	 */
+	private static void configure(JenkinsRule r) throws Exception
+	{
+		Assume.assumeFalse("The fake CLI is a shell script", Functions.isWindows());
+
+		File cliDirectory = new File(r.jenkins.getRootDir(), "pipelineCLI");
+		Files.createDirectories(cliDirectory.toPath());
+		Files.write(new File(cliDirectory, CommonConstants.VERSION_FILE).toPath(),
+				CodeCoverageConstants.CC_MINIMUM_CLI_VERSION.getBytes(StandardCharsets.UTF_8));
+		File cli = new File(cliDirectory, CodeCoverageConstants.CODE_COVERAGE_CLI_SH);
+		Files.write(cli.toPath(), ("#!/bin/sh\n" //
+				+ "target=\n" //
+				+ "while [ $# -gt 0 ]; do\n" //
+				+ "  if [ \"$1\" = '" + CommonConstants.TARGET_FOLDER_PARM + "' ]; then target=$(echo \"$2\" | tr -d '\"'); fi\n" //
+				+ "  shift\n" //
+				+ "done\n" //
+				+ "touch '" + marker(r, "started") + "'\n" //
+				+ "while [ -f '" + marker(r, "hold") + "' ]; do sleep 1; done\n" //
+				+ "if [ -f '" + marker(r, "fail") + "' ]; then rm '" + marker(r, "fail") + "'; echo 'host is busy'; exit 1; fi\n" //
+				+ "mkdir -p \"$target/Coverage\"\n" //
+				+ "echo '<coverage version=\"1\"><file path=\"COBOL/PGMA.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/><lineToCover lineNumber=\"2\" covered=\"false\"/>" //
+				+ "</file></coverage>' > \"$target/Coverage/CodeCoverage.xml\"\n").getBytes(StandardCharsets.UTF_8));
+		assertThat(cli.setExecutable(true), is(true));
+
+		JSONObject hostConnection = new JSONObject();
+		hostConnection.put("description", "TestConnection");
+		hostConnection.put("hostPort", "cw01:30947");
+		hostConnection.put("protocol", "None");
+		hostConnection.put("codePage", "1047");
+		hostConnection.put("timeout", "123");
+		hostConnection.put("connectionId", CONNECTION_ID);
+		hostConnection.put("cesUrl", "https://expectedcesurl/");
+
+		JSONArray hostConnections = new JSONArray();
+		hostConnections.add(hostConnection);
+
+		JSONObject json = new JSONObject();
+		json.put("hostConn", hostConnections);
+		json.put("topazCLILocationLinux", cliDirectory.getAbsolutePath());
+		json.put("topazCLILocationWindows", cliDirectory.getAbsolutePath());
+		CpwrGlobalConfiguration.get().configure(Stapler.getCurrentRequest(), json);
+
+		SystemCredentialsProvider.getInstance().getCredentials()
+				.add(new UsernamePasswordCredentialsImpl(CredentialsScope.GLOBAL, CREDENTIALS_ID, null, "xdevreg", "********"));
+		SystemCredentialsProvider.getInstance().save();
+	}
+
+	/**
+	 * Creates a Pipeline job that runs the step on the controller, with the given analysis properties added to the required
+	 * ones and the given step options.
+	 */
+	private static WorkflowJob pipeline(JenkinsRule r, String name, String analysisProperties, String options)
+			throws Exception
+	{
+		WorkflowJob job = r.createProject(WorkflowJob.class, name);
+		job.setDefinition(new CpsFlowDefinition("node { retrieveCodeCoverage connectionId: '" + CONNECTION_ID
+				+ "', credentialsId: '" + CREDENTIALS_ID + "', analysisPropertiesPath: '', "
+				+ "analysisProperties: 'cc.sources=/src\\ncc.repos=USER.CC.REPOSIT" + analysisProperties + "'" + options + " }",
+				true));
+		return job;
+	}
+
+	private static File marker(JenkinsRule r, String name)
+	{
+		return new File(r.jenkins.getRootDir(), name);
+	}
+
+	private static void waitFor(File file) throws InterruptedException
+	{
+		long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+		while (!file.exists())
+		{
+			assertThat("Expected " + file + " to be written by the CLI.", System.currentTimeMillis() < deadline, is(true));
+			Thread.sleep(100);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import com.compuware.jenkins.build.utils.CoverageSummary;
+import com.compuware.jenkins.build.utils.PhaseTimer;
+import hudson.model.FreeStyleBuild;
+
+/**
+ * CodeCoverageTimingAction unit tests.
+ */
+@SuppressWarnings("nls")
+public class CodeCoverageTimingActionTest
+{
+	// Member Variables
+	@Rule
+	public JenkinsRule m_jenkinsRule = new JenkinsRule();
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.CodeCoverageTimingAction#record(hudson.model.Run, com.compuware.jenkins.build.utils.PhaseTimer, com.compuware.jenkins.build.utils.CoverageSummary)}.
+	 * <p>
+	 * Verifies that a build with two scans keeps a single action with the phase times added up.
+	 */
+	@Test
+	public void testRecordTwice() throws Exception
+	{
+		FreeStyleBuild run = m_jenkinsRule.buildAndAssertSuccess(m_jenkinsRule.createFreeStyleProject());
+
+		PhaseTimer first = new PhaseTimer();
+		first.add("preflight", 2000000);
+		first.add("cliRun", 5000000);
+		CoverageSummary summary = new CoverageSummary();
+		summary.add("PGMA", 1, 2);
+		CodeCoverageTimingAction.record(run, first, summary);
+
+		PhaseTimer second = new PhaseTimer();
+		second.add("preflight", 3000000);
+		second.add("resultCache", 1000000);
+		CodeCoverageTimingAction.record(run, second, null);
+
+		List<CodeCoverageTimingAction> actions = run.getActions(CodeCoverageTimingAction.class);
+		assertThat("Expected a single timing action.", actions.size(), is(1));
+
+		List<CodeCoverageTimingAction.Phase> phases = actions.get(0).getPhases();
+		assertThat(phases.size(), is(3));
+		assertThat(phases.get(0).getName(), is("preflight"));
+		assertThat(phases.get(0).getMillis(), is(5L));
+		assertThat(phases.get(1).getName(), is("cliRun"));
+		assertThat(phases.get(1).getMillis(), is(5L));
+		assertThat(phases.get(2).getName(), is("resultCache"));
+		assertThat("Expected the report of the scan that read one to be kept.", actions.get(0).getProgramCount(), is(1));
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * RemoteCoverageMerge unit tests.
+ */
+@SuppressWarnings("nls")
+public class RemoteCoverageMergeTest
+{
+	// Member Variables
+	@Rule
+	public TemporaryFolder m_folder = new TemporaryFolder();
+
+	/**
+	 * Tests that reports matched by paths and patterns are merged, and a missing report is skipped.
+	 */
+	@Test
+	public void testInvokeSkipsMissing() throws IOException
+	{
+		File dir = m_folder.getRoot();
+		report(dir, "CoverageParts/0/Coverage/CodeCoverage.xml", "COBOL/PGMA.cbl");
+		report(dir, "CoverageParts/1/Coverage/CodeCoverage.xml", "COBOL/PGMB.cbl");
+		report(dir, "Previous.xml", "COBOL/PGMC.cbl");
+
+		int programs = new RemoteCoverageMerge(
+				Arrays.asList("CoverageParts/*/Coverage/CodeCoverage.xml", "Previous.xml", "Missing.xml"),
+				"Coverage/CodeCoverage.xml").invoke(dir, null);
+		assertThat(programs, is(3));
+		assertThat(new File(dir, "Coverage/CodeCoverage.xml").isFile(), is(true));
+	}
+
+	/**
+	 * Tests that a required report that is missing fails the merge and is named in the error.
+	 */
+	@Test
+	public void testInvokeRequiredMissing() throws IOException
+	{
+		File dir = m_folder.getRoot();
+		report(dir, "CoverageParts/0/Coverage/CodeCoverage.xml", "COBOL/PGMA.cbl");
+
+		try
+		{
+			new RemoteCoverageMerge(
+					Arrays.asList("CoverageParts/0/Coverage/CodeCoverage.xml", "CoverageParts/1/Coverage/CodeCoverage.xml"),
+					"Coverage/CodeCoverage.xml", true).invoke(dir, null);
+			throw new AssertionError("Expected the merge to fail.");
+		}
+		catch (IOException e)
+		{
+			assertThat(e.getMessage(), containsString("CoverageParts/1/Coverage/CodeCoverage.xml"));
+		}
+		assertThat("Expected no merged report to be written.", new File(dir, "Coverage/CodeCoverage.xml").exists(),
+				is(false));
+	}
+
+	private static void report(File dir, String path, String program) throws IOException
+	{
+		File report = new File(dir, path);
+		Files.createDirectories(report.getParentFile().toPath());
+		Files.write(report.toPath(), ("<coverage version=\"1\">" //
+				+ "<file path=\"" + program + "\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "</coverage>").getBytes(StandardCharsets.UTF_8));
+	}
+}
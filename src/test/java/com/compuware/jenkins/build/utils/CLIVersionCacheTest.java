@@ -0,0 +1,145 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import com.compuware.jenkins.common.utils.CommonConstants;
+
+/**
+ * CLIVersionCache unit tests.
+ */
+@SuppressWarnings("nls")
+public class CLIVersionCacheTest
+{
+	// Constants
+	private static final String MINIMUM_VERSION = "18.2.3";
+	private static final long MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+	// Member Variables
+	@Rule
+	public TemporaryFolder m_folder = new TemporaryFolder();
+
+	private final AtomicInteger m_reads = new AtomicInteger();
+	private final CLIVersionCache.VersionReader m_reader = (directory, minimum) -> {
+		m_reads.incrementAndGet();
+		return new String(Files.readAllBytes(new File(directory, CommonConstants.VERSION_FILE).toPath()),
+				StandardCharsets.UTF_8);
+	};
+
+	/**
+	 * Tests that the version is read once and then returned from the cache.
+	 */
+	@Test
+	public void testHit() throws IOException, InterruptedException
+	{
+		File cliDirectory = installCli("20.1.1");
+
+		CLIVersionCache.Lookup lookup = CLIVersionCache.getCLIVersion(cliDirectory, MINIMUM_VERSION, m_reader, 0, MAX_AGE_NANOS);
+		assertThat(lookup.getVersion(), is("20.1.1"));
+		assertThat(lookup.isHit(), is(false));
+
+		lookup = CLIVersionCache.getCLIVersion(cliDirectory, MINIMUM_VERSION, m_reader, 1, MAX_AGE_NANOS);
+		assertThat(lookup.getVersion(), is("20.1.1"));
+		assertThat(lookup.isHit(), is(true));
+		assertThat("Expected the version file to be read once.", m_reads.get(), is(1));
+	}
+
+	/**
+	 * Tests that an upgrade that changes the version file is noticed by the next lookup, however recent the cached entry.
+	 */
+	@Test
+	public void testInvalidation() throws IOException, InterruptedException
+	{
+		File cliDirectory = installCli("20.1.1");
+		CLIVersionCache.getCLIVersion(cliDirectory, MINIMUM_VERSION, m_reader, 0, MAX_AGE_NANOS);
+
+		File versionFile = new File(cliDirectory, CommonConstants.VERSION_FILE);
+		long lastModified = versionFile.lastModified();
+		Files.write(versionFile.toPath(), "20.4.1".getBytes(StandardCharsets.UTF_8));
+		assertThat(versionFile.setLastModified(lastModified + 2000), is(true));
+
+		CLIVersionCache.Lookup lookup = CLIVersionCache.getCLIVersion(cliDirectory, MINIMUM_VERSION, m_reader, 1,
+				MAX_AGE_NANOS);
+		assertThat(lookup.getVersion(), is("20.4.1"));
+		assertThat(lookup.isHit(), is(false));
+		assertThat(m_reads.get(), is(2));
+	}
+
+	/**
+	 * Tests that a change to the other files of the installation does not invalidate the cached version.
+	 */
+	@Test
+	public void testOtherFileChanged() throws IOException, InterruptedException
+	{
+		File cliDirectory = installCli("20.1.1");
+		CLIVersionCache.getCLIVersion(cliDirectory, MINIMUM_VERSION, m_reader, 0, MAX_AGE_NANOS);
+
+		File other = new File(cliDirectory, "CodeCoverageCLI.sh");
+		Files.write(other.toPath(), "#!/bin/sh\n".getBytes(StandardCharsets.UTF_8));
+		assertThat(other.setLastModified(System.currentTimeMillis() + 2000), is(true));
+
+		assertThat(CLIVersionCache.getCLIVersion(cliDirectory, MINIMUM_VERSION, m_reader, 1, MAX_AGE_NANOS).isHit(), is(true));
+	}
+
+	/**
+	 * Tests that an entry older than the maximum age is read again.
+	 */
+	@Test
+	public void testExpiry() throws IOException, InterruptedException
+	{
+		File cliDirectory = installCli("20.1.1");
+		CLIVersionCache.getCLIVersion(cliDirectory, MINIMUM_VERSION, m_reader, 0, MAX_AGE_NANOS);
+
+		assertThat(CLIVersionCache.getCLIVersion(cliDirectory, MINIMUM_VERSION, m_reader, MAX_AGE_NANOS - 1, MAX_AGE_NANOS)
+				.isHit(), is(true));
+		assertThat(CLIVersionCache.getCLIVersion(cliDirectory, MINIMUM_VERSION, m_reader, MAX_AGE_NANOS, MAX_AGE_NANOS)
+				.isHit(), is(false));
+		assertThat(m_reads.get(), is(2));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.CLIVersionCache#isAtLeast(java.lang.String, java.lang.String)}.
+	 */
+	@Test
+	public void testIsAtLeast()
+	{
+		assertThat(CLIVersionCache.isAtLeast("20.06.01", "20.6.1"), is(true));
+		assertThat(CLIVersionCache.isAtLeast("20.10.1", "20.6.1"), is(true));
+		assertThat(CLIVersionCache.isAtLeast("20.6", "20.6.1"), is(false));
+		assertThat(CLIVersionCache.isAtLeast("20.6.1.12", "20.6.1"), is(true));
+		assertThat(CLIVersionCache.isAtLeast("19.4.1", "20.6.1"), is(false));
+		assertThat(CLIVersionCache.isAtLeast("", "20.6.1"), is(false));
+		assertThat(CLIVersionCache.isAtLeast(null, "20.6.1"), is(false));
+	}
+
+	private File installCli(String version) throws IOException
+	{
+		File cliDirectory = m_folder.newFolder("cli");
+		Files.write(new File(cliDirectory, CommonConstants.VERSION_FILE).toPath(), version.getBytes(StandardCharsets.UTF_8));
+		return cliDirectory;
+	}
+}
@@ -0,0 +1,337 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * CliDaemonPool unit tests, using a stub daemon that speaks the daemon protocol.
+ */
+@SuppressWarnings("nls")
+public class CliDaemonPoolTest
+{
+	// Constants
+	private static final String KEY = "connection";
+	private static final long IDLE_MILLIS = 60000;
+
+	/**
+	 * Stops the daemons started by a test.
+	 */
+	@After
+	public void tearDown()
+	{
+		CliDaemonPool.shutdown();
+	}
+
+	/**
+	 * Tests that a second extraction reuses the running daemon.
+	 */
+	@Test
+	public void testExecuteReusesDaemon() throws IOException, InterruptedException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PrintStream logger = new PrintStream(out, true, StandardCharsets.UTF_8.name());
+
+		int exitValue = CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, Arrays.asList("CodeCoverageCLI.sh", "-cc.test", "a b\tc"), logger);
+		assertThat(exitValue, is(0));
+		exitValue = CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, Arrays.asList("CodeCoverageCLI.sh"), logger);
+		assertThat(exitValue, is(0));
+
+		String log = out.toString(StandardCharsets.UTF_8.name());
+		assertThat("Expected the arguments to be decoded by the daemon.", log, containsString("request 1: [CodeCoverageCLI.sh, -cc.test, a b\tc]"));
+		assertThat("Expected the second extraction to use the same daemon.", log, containsString("request 2: [CodeCoverageCLI.sh]"));
+		assertThat(log, containsString("Reusing CLI daemon for " + KEY));
+	}
+
+	/**
+	 * Tests that the CLI exit value reported by the daemon is returned.
+	 */
+	@Test
+	public void testExecuteExitValue() throws IOException, InterruptedException
+	{
+		PrintStream logger = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8.name());
+		int exitValue = CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, Arrays.asList("CodeCoverageCLI.sh", "-fail"), logger);
+		assertThat(exitValue, is(3));
+	}
+
+	/**
+	 * Tests that an idle daemon is stopped and a new one is started for the next extraction.
+	 */
+	@Test
+	public void testIdleDaemonRecycled() throws IOException, InterruptedException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PrintStream logger = new PrintStream(out, true, StandardCharsets.UTF_8.name());
+
+		CliDaemonPool.execute(KEY, stubCommand(), 100, Arrays.asList("CodeCoverageCLI.sh"), logger);
+		Thread.sleep(1000);
+		CliDaemonPool.execute(KEY, stubCommand(), 100, Arrays.asList("CodeCoverageCLI.sh"), logger);
+
+		String log = out.toString(StandardCharsets.UTF_8.name());
+		assertThat("Expected the idle daemon to be replaced.", log.indexOf("request 2"), is(-1));
+	}
+
+	/**
+	 * Tests that a daemon dying during an extraction fails it and is replaced for the next one.
+	 */
+	@Test
+	public void testDaemonCrash() throws IOException, InterruptedException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PrintStream logger = new PrintStream(out, true, StandardCharsets.UTF_8.name());
+
+		try
+		{
+			CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, Arrays.asList("CodeCoverageCLI.sh", "-crash"), logger);
+			fail("Expected the extraction to fail.");
+		}
+		catch (IOException e)
+		{
+			assertThat(e.getMessage(), containsString("exited unexpectedly"));
+		}
+
+		int exitValue = CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, Arrays.asList("CodeCoverageCLI.sh"), logger);
+		assertThat(exitValue, is(0));
+		assertThat(out.toString(StandardCharsets.UTF_8.name()), containsString("request 1: [CodeCoverageCLI.sh]"));
+	}
+
+	/**
+	 * Tests that a daemon that does not finish an extraction in time is stopped and replaced for the next one.
+	 */
+	@Test
+	public void testExecuteTimeout() throws IOException, InterruptedException, TimeoutException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PrintStream logger = new PrintStream(out, true, StandardCharsets.UTF_8.name());
+
+		try
+		{
+			CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, 500, Arrays.asList("CodeCoverageCLI.sh", "-hang"), logger);
+			fail("Expected the extraction to time out.");
+		}
+		catch (TimeoutException e)
+		{
+			assertThat(e.getMessage(), containsString("500 ms"));
+		}
+
+		int exitValue = CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, 500, Arrays.asList("CodeCoverageCLI.sh"), logger);
+		assertThat(exitValue, is(0));
+		assertThat(out.toString(StandardCharsets.UTF_8.name()), containsString("request 1: [CodeCoverageCLI.sh]"));
+	}
+
+	/**
+	 * Tests that interrupting an extraction stops waiting for a daemon that writes nothing more, and the daemon is replaced
+	 * for the next one.
+	 */
+	@Test
+	public void testExecuteInterrupted() throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PrintStream logger = new PrintStream(out, true, StandardCharsets.UTF_8.name());
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try
+		{
+			Future<Integer> extraction = executor.submit(
+					() -> CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, Arrays.asList("CodeCoverageCLI.sh", "-hang"), logger));
+			Thread.sleep(1000);
+			executor.shutdownNow();
+
+			try
+			{
+				extraction.get(5, TimeUnit.SECONDS);
+				fail("Expected the extraction to be interrupted.");
+			}
+			catch (ExecutionException e)
+			{
+				assertThat(e.getCause() instanceof InterruptedException, is(true));
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		int exitValue = CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, Arrays.asList("CodeCoverageCLI.sh"), logger);
+		assertThat(exitValue, is(0));
+		assertThat(out.toString(StandardCharsets.UTF_8.name()), containsString("request 1: [CodeCoverageCLI.sh]"));
+	}
+
+	/**
+	 * Tests that an extraction waiting for a daemon busy with another extraction times out, can be interrupted, and leaves
+	 * that extraction running.
+	 */
+	@Test
+	public void testExecuteWaitingForBusyDaemon() throws Exception
+	{
+		PrintStream logger = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8.name());
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try
+		{
+			Future<Integer> busy = executor.submit(
+					() -> CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, Arrays.asList("CodeCoverageCLI.sh", "-hang"), logger));
+			Thread.sleep(1000);
+
+			try
+			{
+				CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, 500, Arrays.asList("CodeCoverageCLI.sh"), logger);
+				fail("Expected the extraction to time out waiting for the daemon.");
+			}
+			catch (TimeoutException e)
+			{
+				assertThat(e.getMessage(), containsString("busy"));
+			}
+
+			Future<Integer> waiting = executor.submit(
+					() -> CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, Arrays.asList("CodeCoverageCLI.sh"), logger));
+			Thread.sleep(500);
+			waiting.cancel(true);
+			try
+			{
+				waiting.get(5, TimeUnit.SECONDS);
+				fail("Expected the waiting extraction to be cancelled.");
+			}
+			catch (CancellationException e)
+			{
+				// expected
+			}
+
+			assertThat("Expected the busy extraction to keep running.", busy.isDone(), is(false));
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Tests that a daemon whose command changed is only stopped once the extraction running on it finishes.
+	 */
+	@Test
+	public void testCommandChangeRetiresDaemon() throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PrintStream logger = new PrintStream(out, true, StandardCharsets.UTF_8.name());
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try
+		{
+			Future<Integer> running = executor.submit(() -> CliDaemonPool.execute(KEY, stubCommand(), IDLE_MILLIS, 3000,
+					Arrays.asList("CodeCoverageCLI.sh", "-hang"), logger));
+			Thread.sleep(1000);
+
+			List<String> changedCommand = new ArrayList<>(stubCommand());
+			changedCommand.add(1, "-Dchanged=true");
+			int exitValue = CliDaemonPool.execute(KEY, changedCommand, IDLE_MILLIS, Arrays.asList("CodeCoverageCLI.sh"), logger);
+			assertThat(exitValue, is(0));
+			assertThat("Expected the retired daemon to keep running its extraction.", running.isDone(), is(false));
+
+			try
+			{
+				running.get(10, TimeUnit.SECONDS);
+				fail("Expected the running extraction to time out rather than fail.");
+			}
+			catch (ExecutionException e)
+			{
+				assertThat(e.getCause() instanceof TimeoutException, is(true));
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		String log = out.toString(StandardCharsets.UTF_8.name());
+		assertThat(log, containsString("request 1: [CodeCoverageCLI.sh]"));
+	}
+
+	private static List<String> stubCommand()
+	{
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		return Arrays.asList(java, "-cp", System.getProperty("java.class.path"), StubDaemon.class.getName());
+	}
+
+	/**
+	 * A stub CLI daemon that echoes each request's decoded arguments.
+	 * <p>
+	 * An extraction with a <code>-fail</code> argument exits with 3; one with a <code>-crash</code> argument stops the daemon;
+	 * one with a <code>-hang</code> argument never finishes.
+	 */
+	public static final class StubDaemon
+	{
+		/**
+		 * Serves requests until standard input is closed.
+		 *
+		 * @param args
+		 *            not used
+		 */
+		public static void main(String[] args) throws IOException, InterruptedException
+		{
+			BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+			int requests = 0;
+			String line;
+			while ((line = in.readLine()) != null)
+			{
+				String[] fields = line.split("\t", -1);
+				String[] cliArgs = new String[fields.length - 1];
+				for (int i = 1; i < fields.length; i++)
+				{
+					cliArgs[i - 1] = URLDecoder.decode(fields[i], StandardCharsets.UTF_8.name());
+				}
+
+				List<String> cliArgList = Arrays.asList(cliArgs);
+				if (cliArgList.contains("-crash"))
+				{
+					System.exit(1);
+				}
+				if (cliArgList.contains("-hang"))
+				{
+					Thread.sleep(Long.MAX_VALUE);
+				}
+
+				requests++;
+				System.out.println("request " + requests + ": " + cliArgList);
+				System.out.println(CliDaemonPool.EXIT_MARKER + ' ' + (cliArgList.contains("-fail") ? 3 : 0));
+				System.out.flush();
+			}
+		}
+	}
+}
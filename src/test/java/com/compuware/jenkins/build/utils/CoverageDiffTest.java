@@ -0,0 +1,152 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * CoverageDiff unit tests.
+ */
+@SuppressWarnings("nls")
+public class CoverageDiffTest
+{
+	// Member Variables
+	@Rule
+	public TemporaryFolder m_folder = new TemporaryFolder();
+
+	/**
+	 * Test method for
+	 * {@link com.compuware.jenkins.build.utils.CoverageDiff#compare(com.compuware.jenkins.build.utils.CoverageStore, com.compuware.jenkins.build.utils.CoverageStore)}.
+	 */
+	@Test
+	public void testCompare() throws IOException
+	{
+		File baseline = store("baseline.ccs", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/GONE.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/PGMA.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"2\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"3\" covered=\"false\"/>" //
+				+ "<lineToCover lineNumber=\"4\" covered=\"false\"/>" //
+				+ "<lineToCover lineNumber=\"5\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/SAME.cbl\">" //
+				+ "<lineToCover lineNumber=\"7\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+		File current = store("current.ccs", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/NEW.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"2\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/PGMA.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"false\"/>" //
+				+ "<lineToCover lineNumber=\"2\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"3\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"4\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/SAME.cbl\">" //
+				+ "<lineToCover lineNumber=\"7\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+
+		try (CoverageStore currentStore = CoverageStore.open(current); CoverageStore baselineStore = CoverageStore.open(baseline))
+		{
+			CoverageDiff diff = CoverageDiff.compare(currentStore, baselineStore);
+			assertThat(diff.getNewlyCovered(), is(3L));
+			assertThat(diff.getNewlyUncovered(), is(1L));
+
+			List<CoverageDiff.ProgramDiff> programs = diff.getPrograms();
+			assertThat(programs.size(), is(3));
+			assertThat(programs.get(0).getPath(), is("COBOL/GONE.cbl"));
+			assertThat(programs.get(0).getStatus(), is(CoverageDiff.Status.REMOVED));
+			assertThat(programs.get(1).getPath(), is("COBOL/NEW.cbl"));
+			assertThat(programs.get(1).getStatus(), is(CoverageDiff.Status.ADDED));
+			assertThat(programs.get(1).getNewlyCoveredCount(), is(1));
+
+			// line 5 is no longer a line to cover, so it is not newly uncovered
+			CoverageDiff.ProgramDiff pgma = programs.get(2);
+			assertThat(pgma.getStatus(), is(CoverageDiff.Status.CHANGED));
+			BitSet lines = new BitSet();
+			lines.set(3, 5);
+			assertThat(pgma.getNewlyCovered(), is(lines));
+			lines.clear();
+			lines.set(1);
+			assertThat(pgma.getNewlyUncovered(), is(lines));
+
+			StringWriter json = new StringWriter();
+			diff.write(json);
+			assertThat(json.toString(), is("{\"newlyCovered\":3,\"newlyUncovered\":1,\"programs\":[\n" //
+					+ "{\"path\":\"COBOL/GONE.cbl\",\"status\":\"removed\",\"newlyCovered\":[],\"newlyUncovered\":[]},\n" //
+					+ "{\"path\":\"COBOL/NEW.cbl\",\"status\":\"added\",\"newlyCovered\":[[1,1]],\"newlyUncovered\":[]},\n" //
+					+ "{\"path\":\"COBOL/PGMA.cbl\",\"status\":\"changed\",\"newlyCovered\":[[3,4]],\"newlyUncovered\":[[1,1]]}]}\n"));
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link com.compuware.jenkins.build.utils.CoverageDiff#compare(com.compuware.jenkins.build.utils.CoverageStore, com.compuware.jenkins.build.utils.CoverageStore)}.
+	 */
+	@Test
+	public void testCompareSame() throws IOException
+	{
+		String report = "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/PGMA.cbl\">" //
+				+ "<lineToCover lineNumber=\"100\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"300\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "</coverage>";
+		try (CoverageStore current = CoverageStore.open(store("current.ccs", report));
+				CoverageStore baseline = CoverageStore.open(store("baseline.ccs", report)))
+		{
+			assertThat(current.isSameCoverage(0, baseline, 0), is(true));
+			CoverageDiff diff = CoverageDiff.compare(current, baseline);
+			assertThat(diff.getPrograms().isEmpty(), is(true));
+			assertThat(diff.getNewlyCovered(), is(0L));
+		}
+	}
+
+	private File store(String name, String report) throws IOException
+	{
+		File file = new File(m_folder.getRoot(), name);
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(
+				new ByteArrayInputStream(report.getBytes(StandardCharsets.UTF_8)));
+				CoverageStoreWriter writer = new CoverageStoreWriter(file))
+		{
+			while (reader.next(program))
+			{
+				writer.add(program);
+			}
+		}
+
+		return file;
+	}
+}
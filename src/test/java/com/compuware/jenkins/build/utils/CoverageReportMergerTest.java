@@ -0,0 +1,245 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * CoverageReportMerger unit tests.
+ */
+@SuppressWarnings("nls")
+public class CoverageReportMergerTest
+{
+	// Member Variables
+	@Rule
+	public TemporaryFolder m_folder = new TemporaryFolder();
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.CoverageReportMerger#merge(java.util.List, java.io.File)}.
+	 */
+	@Test
+	public void testMerge() throws IOException
+	{
+		// programs out of path order, and a program listed twice in one report
+		File first = report("first.xml", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/PGMB.cbl\">" //
+				+ "<lineToCover lineNumber=\"5\" covered=\"false\"/>" //
+				+ "<lineToCover lineNumber=\"2\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/PGMA.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"false\" branchesToCover=\"2\" coveredBranches=\"1\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/PGMB.cbl\">" //
+				+ "<lineToCover lineNumber=\"7\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+		File second = report("second.xml", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/PGMC.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/PGMA.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\" branchesToCover=\"2\" coveredBranches=\"2\"/>" //
+				+ "<lineToCover lineNumber=\"3\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/PGMB.cbl\">" //
+				+ "<lineToCover lineNumber=\"5\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+
+		// merge into one of the inputs
+		assertThat(CoverageReportMerger.merge(Arrays.asList(first, second), first), is(3));
+
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(new FileInputStream(first)))
+		{
+			assertThat(reader.next(program), is(true));
+			assertThat(program.getPath(), is("COBOL/PGMA.cbl"));
+			assertThat(program.getLineCount(), is(2));
+			assertThat("Expected a line covered in any report to be covered.", program.isCovered(0), is(true));
+			assertThat(program.getBranchesToCover(0), is(2));
+			assertThat(program.getCoveredBranches(0), is(2));
+			assertThat(program.getLineNumber(1), is(3));
+
+			assertThat(reader.next(program), is(true));
+			assertThat(program.getPath(), is("COBOL/PGMB.cbl"));
+			assertThat(program.getLineCount(), is(3));
+			assertThat(program.getLineNumber(0), is(2));
+			assertThat(program.getLineNumber(1), is(5));
+			assertThat(program.isCovered(1), is(true));
+			assertThat(program.getLineNumber(2), is(7));
+
+			assertThat(reader.next(program), is(true));
+			assertThat(program.getPath(), is("COBOL/PGMC.cbl"));
+
+			assertThat(reader.next(program), is(false));
+		}
+
+		assertThat("Expected the temporary files to be deleted.", m_folder.getRoot().list().length, is(2));
+	}
+
+	/**
+	 * Test method for
+	 * {@link com.compuware.jenkins.build.utils.CoverageReportMerger#overlay(java.io.File, java.io.File, java.util.Set, java.io.File)}.
+	 */
+	@Test
+	public void testOverlay() throws IOException
+	{
+		File report = report("report.xml", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/PGMB.cbl\">" //
+				+ "<lineToCover lineNumber=\"5\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+		File baseline = report("baseline.xml", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/PGMC.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/PGMB.cbl\">" //
+				+ "<lineToCover lineNumber=\"5\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"6\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/PGMA.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "<file path=\"ASM/PGMC.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+
+		assertThat(CoverageReportMerger.overlay(report, baseline, Collections.singleton("./COBOL/PGMC.cbl"), report), is(3));
+
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(new FileInputStream(report)))
+		{
+			assertThat(reader.next(program), is(true));
+			assertThat("Expected a program with the name of a dropped program in another folder to be kept.", program.getPath(),
+					is("ASM/PGMC.cbl"));
+
+			assertThat(reader.next(program), is(true));
+			assertThat("Expected an unchanged program to be copied forward.", program.getPath(), is("COBOL/PGMA.cbl"));
+			assertThat(program.isCovered(0), is(true));
+
+			assertThat(reader.next(program), is(true));
+			assertThat(program.getPath(), is("COBOL/PGMB.cbl"));
+			assertThat("Expected the baseline lines of a changed program to be replaced.", program.getLineCount(), is(1));
+			assertThat(program.isCovered(0), is(false));
+
+			assertThat("Expected a dropped program to be left out.", reader.next(program), is(false));
+		}
+	}
+
+	/**
+	 * Tests that the complete programs of a report cut short are salvaged into a valid report marked as partial.
+	 */
+	@Test
+	public void testSalvage() throws IOException
+	{
+		File report = report("report.xml", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/PGMA.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"2\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/PGMB.cbl\">" //
+				+ "<lineToCover lineNumber=\"5\" cov");
+
+		assertThat(CoverageReportMerger.salvage(report, report), is(1));
+
+		String salvaged = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+		assertThat("Expected the report to be marked as partial.", salvaged.contains(CoverageReportMerger.PARTIAL_REPORT_COMMENT),
+				is(true));
+
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(new FileInputStream(report)))
+		{
+			assertThat(reader.next(program), is(true));
+			assertThat(program.getPath(), is("COBOL/PGMA.cbl"));
+			assertThat(program.getLineCount(), is(2));
+			assertThat("Expected the incomplete program to be left out.", reader.next(program), is(false));
+		}
+
+		File missing = new File(m_folder.getRoot(), "missing.xml");
+		assertThat("Expected a missing report to salvage no programs.", CoverageReportMerger.salvage(missing, missing), is(0));
+		assertThat(missing.isFile(), is(true));
+	}
+
+	/**
+	 * Tests that a report whose name ends in <code>.gz</code> is decompressed as it is merged.
+	 */
+	@Test
+	public void testMergeCompressed() throws IOException
+	{
+		File plain = report("plain.xml", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/PGMA.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+		File compressed = m_folder.newFile("archived.xml.gz");
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed.toPath())))
+		{
+			out.write(("<coverage version=\"1\">" //
+					+ "<file path=\"COBOL/PGMA.cbl\">" //
+					+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+					+ "</file>" //
+					+ "<file path=\"COBOL/PGMB.cbl\">" //
+					+ "<lineToCover lineNumber=\"4\" covered=\"true\"/>" //
+					+ "</file>" //
+					+ "</coverage>").getBytes(StandardCharsets.UTF_8));
+		}
+
+		File merged = new File(m_folder.getRoot(), "merged.xml");
+		assertThat(CoverageReportMerger.merge(Arrays.asList(plain, compressed), merged), is(2));
+
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(CoverageReportMerger.open(merged)))
+		{
+			assertThat(reader.next(program), is(true));
+			assertThat(program.getPath(), is("COBOL/PGMA.cbl"));
+			assertThat(program.isCovered(0), is(true));
+			assertThat(reader.next(program), is(true));
+			assertThat(program.getPath(), is("COBOL/PGMB.cbl"));
+		}
+
+		try
+		{
+			CoverageReportMerger.open(report("broken.xml.gz", "<coverage/>")).close();
+			throw new AssertionError("Expected a report that is not in gzip format to be rejected.");
+		}
+		catch (IOException e)
+		{
+			// expected
+		}
+	}
+
+	private File report(String name, String content) throws IOException
+	{
+		File file = m_folder.newFile(name);
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
@@ -0,0 +1,196 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.BitSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * CoverageStore and CoverageStoreWriter unit tests.
+ */
+@SuppressWarnings("nls")
+public class CoverageStoreTest
+{
+	// Member Variables
+	@Rule
+	public TemporaryFolder m_folder = new TemporaryFolder();
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.CoverageStore#open(java.io.File)}.
+	 */
+	@Test
+	public void testWriteAndRead() throws IOException
+	{
+		// programs out of path order, a line listed twice, a line past the first bitmap word, and a program listed twice
+		File file = store("<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/PGMB.cbl\">" //
+				+ "<lineToCover lineNumber=\"70\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"200\" covered=\"false\" branchesToCover=\"2\" coveredBranches=\"1\"/>" //
+				+ "<lineToCover lineNumber=\"70\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/PGMA.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"3\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/EMPTY.cbl\"/>" //
+				+ "<file path=\"COBOL/PGMA.cbl\">" //
+				+ "<lineToCover lineNumber=\"9\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+
+		try (CoverageStore store = CoverageStore.open(file))
+		{
+			assertThat(store.getProgramCount(), is(3));
+			assertThat(store.getTotalLines(), is(4L));
+			assertThat(store.getCoveredLines(), is(2L));
+			assertThat(store.getPath(0), is("COBOL/EMPTY.cbl"));
+			assertThat(store.getPath(1), is("COBOL/PGMA.cbl"));
+			assertThat(store.getPath(2), is("COBOL/PGMB.cbl"));
+			assertThat(store.indexOf("COBOL/PGMC.cbl"), is(-1));
+			assertThat(store.indexOf("COBOL/AAA.cbl"), is(-1));
+
+			int empty = store.indexOf("COBOL/EMPTY.cbl");
+			assertThat(empty, is(0));
+			assertThat(store.getLineCount(empty), is(0));
+			assertThat(store.isLine(empty, 1), is(false));
+			assertThat(store.getLines(empty).isEmpty(), is(true));
+
+			// the first program listed wins
+			int pgma = store.indexOf("COBOL/PGMA.cbl");
+			assertThat(store.getLineCount(pgma), is(2));
+			assertThat(store.getCoveredCount(pgma), is(1));
+			assertThat(store.isLine(pgma, 9), is(false));
+			assertThat(store.isCovered(pgma, 1), is(true));
+			assertThat(store.isCovered(pgma, 3), is(false));
+			assertThat(store.isLine(pgma, 3), is(true));
+
+			int pgmb = store.indexOf("COBOL/PGMB.cbl");
+			assertThat(store.getLineCount(pgmb), is(2));
+			assertThat(store.getCoveredCount(pgmb), is(1));
+			assertThat(store.getBranchesToCover(pgmb), is(2));
+			assertThat(store.getCoveredBranches(pgmb), is(1));
+			assertThat(store.isCovered(pgmb, 70), is(true));
+			assertThat(store.isCovered(pgmb, 200), is(false));
+			assertThat(store.isLine(pgmb, 200), is(true));
+			assertThat(store.isLine(pgmb, 5), is(false));
+			assertThat(store.isLine(pgmb, 100000), is(false));
+
+			BitSet lines = new BitSet();
+			lines.set(70);
+			lines.set(200);
+			assertThat(store.getLines(pgmb), is(lines));
+			lines.clear(200);
+			assertThat(store.getCoveredLines(pgmb), is(lines));
+		}
+
+		// only the store is left behind
+		assertThat(m_folder.getRoot().list().length, is(1));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.CoverageStoreWriter#close()}.
+	 */
+	@Test
+	public void testSize() throws IOException
+	{
+		StringBuilder report = new StringBuilder("<coverage version=\"1\">");
+		for (int program = 0; program < 50; program++)
+		{
+			report.append("<file path=\"COBOL/PGM").append(program).append(".cbl\">");
+			for (int line = 1; line <= 500; line++)
+			{
+				report.append("<lineToCover lineNumber=\"").append(line).append("\" covered=\"").append(line % 3 == 0)
+						.append("\"/>");
+			}
+			report.append("</file>");
+		}
+		report.append("</coverage>");
+
+		File file = store(report.toString());
+		assertThat(file.length() * 20, lessThan((long) report.length()));
+
+		try (CoverageStore store = CoverageStore.open(file))
+		{
+			assertThat(store.getTotalLines(), is(25000L));
+			assertThat(store.getCoveredLines(), is(50L * 166));
+			assertThat(store.isCovered(store.indexOf("COBOL/PGM42.cbl"), 300), is(true));
+		}
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.CoverageStore#read(java.io.File)}.
+	 * <p>
+	 * Verifies that a store read onto the heap can be used after its file is deleted.
+	 */
+	@Test
+	public void testReadThenDelete() throws IOException
+	{
+		File file = store("<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/PGMA.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"3\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+
+		try (CoverageStore store = CoverageStore.read(file))
+		{
+			assertThat("Expected the store file to be deleted while the store is open.", file.delete(), is(true));
+			int pgma = store.indexOf("COBOL/PGMA.cbl");
+			assertThat(store.getLineCount(pgma), is(2));
+			assertThat(store.isCovered(pgma, 1), is(true));
+			assertThat(store.isCovered(pgma, 3), is(false));
+		}
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.CoverageStore#open(java.io.File)}.
+	 */
+	@Test(expected = IOException.class)
+	public void testOpenNotAStore() throws IOException
+	{
+		File file = m_folder.newFile("CodeCoverage.xml");
+		Files.write(file.toPath(), "<coverage version=\"1\"></coverage>".getBytes(StandardCharsets.UTF_8));
+		CoverageStore.open(file);
+	}
+
+	private File store(String report) throws IOException
+	{
+		File file = new File(m_folder.getRoot(), "CodeCoverage.ccs");
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(
+				new ByteArrayInputStream(report.getBytes(StandardCharsets.UTF_8)));
+				CoverageStoreWriter writer = new CoverageStoreWriter(file))
+		{
+			while (reader.next(program))
+			{
+				writer.add(program);
+			}
+		}
+
+		return file;
+	}
+}
@@ -0,0 +1,151 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * CoverageTrendIndex unit tests.
+ */
+@SuppressWarnings("nls")
+public class CoverageTrendIndexTest
+{
+	// Member Variables
+	@Rule
+	public TemporaryFolder m_folder = new TemporaryFolder();
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.CoverageTrendIndex#append(java.io.File, com.compuware.jenkins.build.utils.CoverageTrendIndex.Entry)}.
+	 */
+	@Test
+	public void testAppend() throws IOException
+	{
+		File index = new File(m_folder.getRoot(), "trend.idx");
+		assertThat(CoverageTrendIndex.read(index, 10).isEmpty(), is(true));
+
+		CoverageTrendIndex.append(index, new CoverageTrendIndex.Entry(1, 1000, 200, 50, 3, false));
+		CoverageTrendIndex.append(index, new CoverageTrendIndex.Entry(3, 3000, 200, 100, 3, true));
+		CoverageTrendIndex.append(index, new CoverageTrendIndex.Entry(2, 2000, 200, 80, 3, false));
+		// a second summary of the same build replaces the first
+		CoverageTrendIndex.append(index, new CoverageTrendIndex.Entry(2, 2000, 400, 300, 5, false));
+		assertThat(index.length(), is((long) CoverageTrendIndex.HEADER_SIZE + 3 * CoverageTrendIndex.RECORD_SIZE));
+
+		List<CoverageTrendIndex.Entry> entries = CoverageTrendIndex.read(index, 10);
+		assertThat(entries.size(), is(3));
+		assertThat(entries.get(0).getBuildNumber(), is(1));
+		assertThat(entries.get(0).getTimestamp(), is(1000L));
+		assertThat(entries.get(0).getPercentage(), is(25.0));
+		assertThat(entries.get(1).getBuildNumber(), is(2));
+		assertThat(entries.get(1).getTotalLines(), is(400L));
+		assertThat(entries.get(1).getCoveredLines(), is(300L));
+		assertThat(entries.get(1).getProgramCount(), is(5));
+		assertThat(entries.get(1).isPartial(), is(false));
+		assertThat(entries.get(2).getBuildNumber(), is(3));
+		assertThat(entries.get(2).isPartial(), is(true));
+
+		// a record left incomplete is ignored and then overwritten
+		try (FileOutputStream out = new FileOutputStream(index, true))
+		{
+			out.write(new byte[7]);
+		}
+		assertThat(CoverageTrendIndex.read(index, 10).size(), is(3));
+		CoverageTrendIndex.append(index, new CoverageTrendIndex.Entry(4, 4000, 200, 0, 3, false));
+		assertThat(index.length(), is((long) CoverageTrendIndex.HEADER_SIZE + 4 * CoverageTrendIndex.RECORD_SIZE));
+		assertThat(CoverageTrendIndex.read(index, 10).get(3).getPercentage(), is(0.0));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.CoverageTrendIndex#append(java.io.File, com.compuware.jenkins.build.utils.CoverageTrendIndex.Entry)}.
+	 * <p>
+	 * Verifies that builds recording in turn each replace their own record, however the records of other builds are
+	 * interleaved with theirs.
+	 */
+	@Test
+	public void testAppendInterleaved() throws IOException
+	{
+		File index = new File(m_folder.getRoot(), "trend.idx");
+		CoverageTrendIndex.append(index, new CoverageTrendIndex.Entry(1, 1000, 200, 50, 3, false));
+		CoverageTrendIndex.append(index, new CoverageTrendIndex.Entry(2, 2000, 200, 60, 3, false));
+		CoverageTrendIndex.append(index, new CoverageTrendIndex.Entry(1, 1000, 200, 70, 3, false));
+		CoverageTrendIndex.append(index, new CoverageTrendIndex.Entry(2, 2000, 200, 80, 3, false));
+		CoverageTrendIndex.append(index, new CoverageTrendIndex.Entry(1, 1000, 200, 90, 3, false));
+		assertThat(index.length(), is((long) CoverageTrendIndex.HEADER_SIZE + 2 * CoverageTrendIndex.RECORD_SIZE));
+
+		List<CoverageTrendIndex.Entry> entries = CoverageTrendIndex.read(index, 10);
+		assertThat(entries.size(), is(2));
+		assertThat(entries.get(0).getCoveredLines(), is(90L));
+		assertThat(entries.get(1).getCoveredLines(), is(80L));
+
+		// a record left incomplete is dropped when an earlier record is replaced
+		try (FileOutputStream out = new FileOutputStream(index, true))
+		{
+			out.write(new byte[7]);
+		}
+		CoverageTrendIndex.append(index, new CoverageTrendIndex.Entry(1, 1000, 200, 100, 3, false));
+		assertThat(index.length(), is((long) CoverageTrendIndex.HEADER_SIZE + 2 * CoverageTrendIndex.RECORD_SIZE));
+		assertThat(CoverageTrendIndex.read(index, 10).get(0).getCoveredLines(), is(100L));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.CoverageTrendIndex#read(java.io.File, int)}.
+	 */
+	@Test
+	public void testReadSampled() throws IOException
+	{
+		File index = new File(m_folder.getRoot(), "trend.idx");
+		for (int build = 1; build <= 1000; build++)
+		{
+			CoverageTrendIndex.append(index, new CoverageTrendIndex.Entry(build, build, 1000, build, 1, false));
+		}
+
+		List<CoverageTrendIndex.Entry> entries = CoverageTrendIndex.read(index, 100);
+		assertThat(entries.size(), is(100));
+		assertThat(entries.get(0).getBuildNumber(), is(1));
+		assertThat(entries.get(99).getBuildNumber(), is(1000));
+		for (int i = 1; i < entries.size(); i++)
+		{
+			assertThat(entries.get(i).getBuildNumber() > entries.get(i - 1).getBuildNumber(), is(true));
+		}
+
+		entries = CoverageTrendIndex.read(index, 1);
+		assertThat(entries.size(), is(1));
+		assertThat(entries.get(0).getBuildNumber(), is(1000));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.CoverageTrendIndex#read(java.io.File, int)}.
+	 */
+	@Test(expected = IOException.class)
+	public void testReadNotAnIndex() throws IOException
+	{
+		File index = m_folder.newFile("CodeCoverage.xml");
+		try (FileOutputStream out = new FileOutputStream(index))
+		{
+			out.write("<coverage version=\"1\"/>".getBytes(StandardCharsets.UTF_8));
+		}
+		CoverageTrendIndex.read(index, 10);
+	}
+}
@@ -0,0 +1,95 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+/**
+ * CoverageXmlReader unit tests.
+ */
+@SuppressWarnings("nls")
+public class CoverageXmlReaderTest
+{
+	// Constants
+	private static final String REPORT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //
+			+ "<coverage version=\"1\">\n" //
+			+ "  <file path=\"COBOL/PROGRAM1.cbl\">\n" //
+			+ "    <lineToCover lineNumber=\"12\" covered=\"true\"/>\n" //
+			+ "    <lineToCover lineNumber=\"14\" covered=\"false\" branchesToCover=\"2\" coveredBranches=\"1\"/>\n" //
+			+ "  </file>\n" //
+			+ "  <file path=\"COBOL/PROGRAM2.cbl\">\n" //
+			+ "    <lineToCover lineNumber=\"3\" covered=\"true\"/>\n" //
+			+ "  </file>\n" //
+			+ "</coverage>\n";
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.CoverageXmlReader#next(com.compuware.jenkins.build.utils.ProgramCoverage)}.
+	 */
+	@Test
+	public void testNext() throws IOException
+	{
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(new ByteArrayInputStream(REPORT.getBytes(StandardCharsets.UTF_8))))
+		{
+			assertThat("Expected the first program to be read.", reader.next(program), is(true));
+			assertThat(program.getPath(), is("COBOL/PROGRAM1.cbl"));
+			assertThat(program.getProgramName(), is("PROGRAM1"));
+			assertThat(program.getLineCount(), is(2));
+			assertThat(program.getCoveredCount(), is(1));
+			assertThat(program.getLineNumber(1), is(14));
+			assertThat(program.getBranchesToCover(1), is(2));
+			assertThat(program.getCoveredBranches(1), is(1));
+
+			assertThat("Expected the second program to be read.", reader.next(program), is(true));
+			assertThat(program.getProgramName(), is("PROGRAM2"));
+			assertThat(program.getLineCount(), is(1));
+			assertThat(program.getCoveredCount(), is(1));
+
+			assertThat("Expected the end of the report.", reader.next(program), is(false));
+		}
+	}
+
+	/**
+	 * Tests that a truncated report yields the complete programs before failing.
+	 */
+	@Test
+	public void testTruncatedReport() throws IOException
+	{
+		String truncated = REPORT.substring(0, REPORT.indexOf("<lineToCover lineNumber=\"3\""));
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(new ByteArrayInputStream(truncated.getBytes(StandardCharsets.UTF_8))))
+		{
+			assertThat("Expected the complete program to be read.", reader.next(program), is(true));
+			assertThat(program.getProgramName(), is("PROGRAM1"));
+
+			try
+			{
+				reader.next(program);
+				throw new AssertionError("Expected the truncated program to fail.");
+			}
+			catch (IOException e)
+			{
+				// expected
+			}
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import java.util.List;
+import java.util.Properties;
+import org.junit.Test;
+
+/**
+ * ExtractionFanOut unit tests.
+ */
+@SuppressWarnings("nls")
+public class ExtractionFanOutTest
+{
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.ExtractionFanOut#expand(java.util.Properties)}.
+	 */
+	@Test
+	public void testExpand()
+	{
+		Properties properties = new Properties();
+		properties.setProperty(CodeCoverageConstants.SYSTEM_PARM, "SYS1; SYS2");
+		properties.setProperty(CodeCoverageConstants.TEST_PARM, "T1;T2;");
+
+		List<Properties> extractions = ExtractionFanOut.expand(properties);
+		assertThat(extractions, hasSize(4));
+		assertThat(ExtractionFanOut.describe(extractions.get(0)), is("/SYS1/T1"));
+		assertThat(ExtractionFanOut.describe(extractions.get(3)), is("/SYS2/T2"));
+
+		properties.setProperty(CodeCoverageConstants.SYSTEM_PARM, "SYS1");
+		properties.setProperty(CodeCoverageConstants.TEST_PARM, "T1");
+		assertThat(ExtractionFanOut.expand(properties).get(0), is(sameInstance(properties)));
+	}
+
+	/**
+	 * Test method for
+	 * {@link com.compuware.jenkins.build.utils.ExtractionFanOut#shardSources(java.lang.String, int, int)}.
+	 */
+	@Test
+	public void testShardSources()
+	{
+		String sources = "A, B,,C,D,E";
+		assertThat(ExtractionFanOut.shardSources(sources, 2, 0), is("A,C,E"));
+		assertThat(ExtractionFanOut.shardSources(sources, 2, 1), is("B,D"));
+
+		assertThat(ExtractionFanOut.shardSources(sources, 10, 4), is("E"));
+		assertThat("Expected a shard past the last folder to have nothing to extract.",
+				ExtractionFanOut.shardSources(sources, 10, 5), is((String) null));
+
+		assertThat("Expected the first shard to extract everything when there are no folders.",
+				ExtractionFanOut.shardSources("", 3, 0), is(""));
+		assertThat(ExtractionFanOut.shardSources(null, 3, 1), is((String) null));
+	}
+}
@@ -0,0 +1,138 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Test;
+
+/**
+ * ExtractionThrottle unit tests.
+ */
+@SuppressWarnings("nls")
+public class ExtractionThrottleTest
+{
+	// Constants
+	private static final String CONNECTION_ID = "connection";
+
+	/**
+	 * Tests that waiting extractions are granted in the order they asked and log their queue position.
+	 */
+	@Test
+	public void testAcquireFifo() throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PrintStream logger = new PrintStream(out, true, StandardCharsets.UTF_8.name());
+		List<String> order = new CopyOnWriteArrayList<>();
+
+		ExtractionThrottle.Permit first = ExtractionThrottle.acquire(CONNECTION_ID, 1, logger);
+		assertThat(ExtractionThrottle.getRunning(CONNECTION_ID), is(1));
+
+		Thread second = startWaiter("second", order, logger);
+		awaitWaiting(1);
+		Thread third = startWaiter("third", order, logger);
+		awaitWaiting(2);
+
+		first.close();
+		second.join(10000);
+		third.join(10000);
+
+		assertThat(order, contains("second", "third"));
+		assertThat(ExtractionThrottle.getRunning(CONNECTION_ID), is(0));
+		assertThat(ExtractionThrottle.getWaiting(CONNECTION_ID), is(0));
+
+		String log = out.toString(StandardCharsets.UTF_8.name());
+		assertThat(log, containsString("position 1 of 1 in the queue"));
+		assertThat(log, containsString("position 2 of 2 in the queue"));
+	}
+
+	/**
+	 * Tests that a request is granted without a waiting thread once a slot is free, and that a withdrawn request gives up its
+	 * place in the queue.
+	 */
+	@Test
+	public void testRequest() throws Exception
+	{
+		PrintStream logger = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8.name());
+		ExtractionThrottle.Permit first = ExtractionThrottle.acquire(CONNECTION_ID, 1, logger);
+		CompletableFuture<ExtractionThrottle.Permit> second = ExtractionThrottle.request(CONNECTION_ID, 1, logger);
+		CompletableFuture<ExtractionThrottle.Permit> third = ExtractionThrottle.request(CONNECTION_ID, 1, logger);
+		assertThat(second.isDone(), is(false));
+		assertThat(ExtractionThrottle.getWaiting(CONNECTION_ID), is(2));
+
+		ExtractionThrottle.withdraw(second);
+		assertThat(ExtractionThrottle.getWaiting(CONNECTION_ID), is(1));
+
+		first.close();
+		assertThat("Expected the next request in line to be granted when the slot was freed.", third.isDone(), is(true));
+		assertThat(ExtractionThrottle.getRunning(CONNECTION_ID), is(1));
+
+		// withdrawing a granted request releases its permit
+		ExtractionThrottle.withdraw(third);
+		assertThat(ExtractionThrottle.getRunning(CONNECTION_ID), is(0));
+		assertThat(ExtractionThrottle.getWaiting(CONNECTION_ID), is(0));
+	}
+
+	/**
+	 * Tests that a connection without a limit is not throttled.
+	 */
+	@Test
+	public void testAcquireUnlimited() throws InterruptedException, UnsupportedEncodingException
+	{
+		PrintStream logger = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8.name());
+		try (ExtractionThrottle.Permit first = ExtractionThrottle.acquire(CONNECTION_ID, 0, logger);
+				ExtractionThrottle.Permit second = ExtractionThrottle.acquire(CONNECTION_ID, 0, logger))
+		{
+			assertThat(ExtractionThrottle.getRunning(CONNECTION_ID), is(0));
+		}
+	}
+
+	private static Thread startWaiter(String name, List<String> order, PrintStream logger)
+	{
+		Thread thread = new Thread(() -> {
+			try (ExtractionThrottle.Permit permit = ExtractionThrottle.acquire(CONNECTION_ID, 1, logger))
+			{
+				order.add(name);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}, name);
+		thread.start();
+		return thread;
+	}
+
+	private static void awaitWaiting(int waiting) throws InterruptedException
+	{
+		long deadline = System.currentTimeMillis() + 10000;
+		while (ExtractionThrottle.getWaiting(CONNECTION_ID) < waiting && System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(10);
+		}
+		assertThat(ExtractionThrottle.getWaiting(CONNECTION_ID), is(waiting));
+	}
+}
@@ -0,0 +1,100 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * IncrementalSources unit tests.
+ */
+@SuppressWarnings("nls")
+public class IncrementalSourcesTest
+{
+	@Rule
+	public TemporaryFolder m_folder = new TemporaryFolder();
+
+	/**
+	 * Test method for
+	 * {@link com.compuware.jenkins.build.utils.IncrementalSources#narrow(java.lang.String, java.util.Collection, java.lang.String, boolean)}.
+	 */
+	@Test
+	public void testNarrow()
+	{
+		String sources = "COBOL, ./Copybooks/,/ws/job/ASM";
+
+		assertThat(IncrementalSources.narrow(sources,
+				Arrays.asList("COBOL/PGMA.cbl", "COBOL/sub/PGMB.cbl", "COBOL/PGMC.cbl", "README.md", "ASM/PGMD.asm"), "/ws/job",
+				false), is("COBOL,COBOL/sub,/ws/job/ASM"));
+		assertThat("Expected no folders when no changed file is in a source folder.",
+				IncrementalSources.narrow(sources, Arrays.asList("Jenkinsfile", "COBOLX/PGMA.cbl"), "/ws/job", false), is(""));
+		assertThat(IncrementalSources.narrow(sources, Collections.<String> emptyList(), "/ws/job", false), is(""));
+	}
+
+	/**
+	 * Test method for
+	 * {@link com.compuware.jenkins.build.utils.IncrementalSources#narrow(java.lang.String, java.util.Collection, java.lang.String, boolean)}.
+	 */
+	@Test
+	public void testNarrowWindows()
+	{
+		assertThat(IncrementalSources.narrow("C:\\ws\\job\\Cobol", Arrays.asList("COBOL/Sub/PGMA.cbl"), "c:\\WS\\job", true),
+				is("C:\\ws\\job\\Cobol\\Sub"));
+		assertThat(IncrementalSources.narrow("Cobol", Arrays.asList("COBOL/PGMA.cbl"), "C:\\ws", false), is(""));
+	}
+
+	/**
+	 * Test method for
+	 * {@link com.compuware.jenkins.build.utils.IncrementalSources#hasSubfolders(java.lang.String, java.io.File)}.
+	 */
+	@Test
+	public void testHasSubfolders() throws IOException
+	{
+		File workspace = m_folder.newFolder("ws");
+		new File(workspace, "COBOL").mkdirs();
+		new File(workspace, "COBOL/PGMA.cbl").createNewFile();
+		new File(workspace, "ASM/sub").mkdirs();
+
+		assertThat("Expected a flat source folder not to be narrowed.", IncrementalSources.hasSubfolders("./COBOL/", workspace),
+				is(false));
+		assertThat(IncrementalSources.hasSubfolders("COBOL, Missing", workspace), is(false));
+		assertThat(IncrementalSources.hasSubfolders("COBOL," + new File(workspace, "ASM").getPath(), workspace), is(true));
+		assertThat(IncrementalSources.hasSubfolders("", workspace), is(false));
+	}
+
+	/**
+	 * Test method for
+	 * {@link com.compuware.jenkins.build.utils.IncrementalSources#isSamePath(java.lang.String, java.lang.String)}.
+	 */
+	@Test
+	public void testIsSamePath()
+	{
+		assertThat(IncrementalSources.isSamePath("COBOL/PGMA.cbl", "./COBOL/PGMA.cbl"), is(true));
+		assertThat(IncrementalSources.isSamePath("C:\\ws\\job\\COBOL\\PGMA.cbl", "COBOL/PGMA.cbl"), is(true));
+		assertThat("Expected a program with the same name in another folder not to match.",
+				IncrementalSources.isSamePath("B/PGMA.cbl", "A/PGMA.cbl"), is(false));
+		assertThat(IncrementalSources.isSamePath("XCOBOL/PGMA.cbl", "COBOL/PGMA.cbl"), is(false));
+		assertThat(IncrementalSources.isSamePath("COBOL/PGMA.cbl", ""), is(false));
+	}
+}
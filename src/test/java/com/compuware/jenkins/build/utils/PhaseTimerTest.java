@@ -0,0 +1,101 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * PhaseTimer unit tests.
+ */
+@SuppressWarnings("nls")
+public class PhaseTimerTest
+{
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.PhaseTimer#add(java.lang.String, long)}.
+	 */
+	@Test
+	public void testAdd()
+	{
+		PhaseTimer timer = new PhaseTimer();
+		timer.add("preflight", 5);
+		timer.add("cliRun", 100);
+		timer.add("preflight", 7);
+
+		assertThat("Expected phases in the order they were first recorded.", timer.getNames(),
+				is(new String[] { "preflight", "cliRun" }));
+		assertThat("Expected the time of a phase recorded twice to be added up.", timer.getNanos()[0], is(12L));
+		assertThat(timer.getNanos()[1], is(100L));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.PhaseTimer#start(java.lang.String)}.
+	 */
+	@Test
+	public void testStart() throws InterruptedException
+	{
+		PhaseTimer timer = new PhaseTimer();
+		try (PhaseTimer.Phase phase = timer.start("merge"))
+		{
+			assertThat("Expected a phase to be recorded only when it is closed.", timer.getNames().length, is(0));
+			Thread.sleep(50);
+		}
+
+		assertThat(timer.getNames(), is(new String[] { "merge" }));
+		assertThat(timer.getNanos()[0] >= TimeUnit.MILLISECONDS.toNanos(50), is(true));
+	}
+
+	/**
+	 * Tests that time recorded from several threads at once is all kept.
+	 */
+	@Test
+	public void testConcurrentAdd() throws Exception
+	{
+		PhaseTimer timer = new PhaseTimer();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try
+		{
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++)
+			{
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 1000; j++)
+					{
+						timer.add("cliRun", 1);
+					}
+				}));
+			}
+			for (Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		assertThat(timer.getNanos()[0], is(4000L));
+	}
+}
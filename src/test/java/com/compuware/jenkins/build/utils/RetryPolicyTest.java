@@ -0,0 +1,80 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * RetryPolicy unit tests.
+ */
+@SuppressWarnings("nls")
+public class RetryPolicyTest
+{
+	/**
+	 * Tests that failures are retryable by exit value or by output, and only while retries are left.
+	 */
+	@Test
+	public void testShouldRetry()
+	{
+		RetryPolicy policy = new RetryPolicy(2, "8, 12 x", CodeCoverageConstants.DEFAULT_RETRYABLE_OUTPUT_PATTERNS, 1000, 8000);
+
+		assertThat("Expected a retryable exit value to be retried.", policy.shouldRetry(1, 12, false), is(true));
+		assertThat("Expected retryable output to be retried.", policy.shouldRetry(2, 1, true), is(true));
+		assertThat("Expected other failures not to be retried.", policy.shouldRetry(1, 1, false), is(false));
+		assertThat("Expected success not to be retried.", policy.shouldRetry(1, 0, true), is(false));
+		assertThat("Expected no retry once the retries are used up.", policy.shouldRetry(3, 12, true), is(false));
+	}
+
+	/**
+	 * Tests that output lines are matched by pattern without regard to case, and that an invalid pattern is matched literally.
+	 */
+	@Test
+	public void testIsRetryableOutput()
+	{
+		RetryPolicy policy = new RetryPolicy(1, "", "host (is )?busy\r\n\r\nRC=[12\n", 1000, 8000);
+
+		assertThat(policy.isRetryableOutput("ERROR: The HOST IS BUSY, try later"), is(true));
+		assertThat(policy.isRetryableOutput("Connection failed with RC=[12"), is(true));
+		assertThat(policy.isRetryableOutput("Extraction complete"), is(false));
+		assertThat("Expected blank lines to match nothing.", new RetryPolicy(1, null, null, 0, 0).isRetryableOutput("x"),
+				is(false));
+	}
+
+	/**
+	 * Tests that the delay doubles with each attempt up to the maximum, with up to half of it random.
+	 */
+	@Test
+	public void testDelayMillis()
+	{
+		RetryPolicy policy = new RetryPolicy(5, "", "", 1000, 8000);
+		Random random = new Random(42);
+
+		for (int i = 0; i < 100; i++)
+		{
+			assertThat(policy.delayMillis(1, random), allOf(greaterThanOrEqualTo(500L), lessThanOrEqualTo(1000L)));
+			assertThat(policy.delayMillis(3, random), allOf(greaterThanOrEqualTo(2000L), lessThanOrEqualTo(4000L)));
+			assertThat("Expected the delay to be capped.", policy.delayMillis(10, random),
+					allOf(greaterThanOrEqualTo(4000L), lessThanOrEqualTo(8000L)));
+		}
+	}
+}
@@ -0,0 +1,311 @@
+/**
+ * The MIT License (MIT)
+ *
+ * (c) Copyright 2026 BMC Software, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy,
+ * modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following conditions: The above copyright notice and this permission notice
+ * shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.compuware.jenkins.build.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * TestImpactIndex unit tests.
+ */
+@SuppressWarnings("nls")
+public class TestImpactIndexTest
+{
+	// Member Variables
+	@Rule
+	public TemporaryFolder m_folder = new TemporaryFolder();
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.TestImpactIndex#update(java.io.File, java.util.Map)}.
+	 */
+	@Test
+	public void testUpdate() throws IOException
+	{
+		File index = new File(m_folder.getRoot(), "tests.idx");
+		update(index, "T1", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/A.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"2\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"3\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/B.cbl\">" //
+				+ "<lineToCover lineNumber=\"10\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+		update(index, "T2", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/A.cbl\">" //
+				+ "<lineToCover lineNumber=\"3\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/C.cbl\">" //
+				+ "<lineToCover lineNumber=\"5\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+		// a test extracted in two parts covers the lines of both
+		update(index, "T3", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/A.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"2\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "</coverage>", "<coverage version=\"1\">" //
+						+ "<file path=\"COBOL/A.cbl\">" //
+						+ "<lineToCover lineNumber=\"2\" covered=\"true\"/>" //
+						+ "</file>" //
+						+ "<file path=\"COBOL/B.cbl\">" //
+						+ "<lineToCover lineNumber=\"10\" covered=\"true\"/>" //
+						+ "</file>" //
+						+ "</coverage>");
+
+		try (TestImpactIndex tests = TestImpactIndex.open(index))
+		{
+			assertThat(tests.getTestCount(), is(3));
+			assertThat(tests.getProgramCount(), is(3));
+			int program = tests.indexOf("COBOL/A.cbl");
+			assertThat(tests.getTests(program), is(Arrays.asList("T1", "T2", "T3")));
+			assertThat(tests.getCoveredLines(program, "T3"), is(lines(1, 2)));
+			assertThat(tests.getCoveredLines(program, "T2"), is(lines(3)));
+			assertThat(tests.getTests(tests.indexOf("COBOL/C.cbl")), is(Arrays.asList("T2")));
+			assertThat(tests.indexOf("COBOL/D.cbl"), is(-1));
+		}
+
+		// programs a test reported replace its postings; programs it did not report keep them
+		update(index, "T1", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/A.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+		try (TestImpactIndex tests = TestImpactIndex.open(index))
+		{
+			assertThat(tests.getTests(tests.indexOf("COBOL/A.cbl")), is(Arrays.asList("T2", "T3")));
+			assertThat(tests.getTests(tests.indexOf("COBOL/B.cbl")), is(Arrays.asList("T1", "T3")));
+		}
+
+		// a test that no longer covers anything, and a program no test covers, are dropped
+		update(index, "T2", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/A.cbl\">" //
+				+ "<lineToCover lineNumber=\"3\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/C.cbl\">" //
+				+ "<lineToCover lineNumber=\"5\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+		try (TestImpactIndex tests = TestImpactIndex.open(index))
+		{
+			assertThat(tests.getTestCount(), is(2));
+			assertThat(tests.getProgramCount(), is(2));
+			assertThat(tests.getTests(tests.indexOf("COBOL/A.cbl")), is(Arrays.asList("T3")));
+			assertThat(tests.indexOf("COBOL/C.cbl"), is(-1));
+		}
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.TestImpactIndex#update(java.io.File, java.util.Map)} with an
+	 * index that cannot be read.
+	 */
+	@Test
+	public void testUpdateUnreadable() throws IOException
+	{
+		File index = new File(m_folder.getRoot(), "tests.idx");
+		Files.write(index.toPath(), "not an index".getBytes(StandardCharsets.UTF_8));
+		update(index, "T1", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/A.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+
+		try (TestImpactIndex tests = TestImpactIndex.open(index))
+		{
+			assertThat(tests.getTestCount(), is(1));
+			assertThat(tests.getTestId(0), is("T1"));
+		}
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.TestImpactIndex#select(java.util.Map)}.
+	 */
+	@Test
+	public void testSelect() throws IOException
+	{
+		File index = new File(m_folder.getRoot(), "tests.idx");
+		update(index, "T1", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/A.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"2\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"300\" covered=\"false\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/B.cbl\">" //
+				+ "<lineToCover lineNumber=\"10\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+		update(index, "T2", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/A.cbl\">" //
+				+ "<lineToCover lineNumber=\"300\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "<file path=\"COBOL/C.cbl\">" //
+				+ "<lineToCover lineNumber=\"5\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+		update(index, "T3", "<coverage version=\"1\">" //
+				+ "<file path=\"COBOL/A.cbl\">" //
+				+ "<lineToCover lineNumber=\"1\" covered=\"true\"/>" //
+				+ "<lineToCover lineNumber=\"2\" covered=\"true\"/>" //
+				+ "</file>" //
+				+ "</coverage>");
+
+		try (TestImpactIndex tests = TestImpactIndex.open(index))
+		{
+			Map<String, BitSet> changes = new LinkedHashMap<>();
+			changes.put("COBOL/A.cbl", lines(1, 2, 300));
+			assertThat(tests.select(changes).getTests(), is(Arrays.asList("T1", "T2")));
+			assertThat(tests.select(changes).isComplete(), is(true));
+
+			changes.clear();
+			changes.put("COBOL/A.cbl", lines(2));
+			assertThat(tests.select(changes).getTests(), is(Arrays.asList("T1")));
+
+			changes.put("COBOL/B.cbl", null);
+			assertThat(tests.select(changes).getTests(), is(Arrays.asList("T1")));
+
+			// a path relative to another folder is matched by the program name
+			changes.clear();
+			changes.put("repo/COBOL/C.cbl", null);
+			assertThat(tests.select(changes).getTests(), is(Arrays.asList("T2")));
+
+			// lines and programs no test covered select nothing, and are returned as uncovered
+			changes.clear();
+			changes.put("COBOL/A.cbl", lines(2, 7));
+			changes.put("COBOL/D.cbl", null);
+			TestImpactIndex.Selection selection = tests.select(changes);
+			assertThat(selection.getTests(), is(Arrays.asList("T1")));
+			assertThat(selection.isComplete(), is(false));
+			Map<String, BitSet> uncovered = new LinkedHashMap<>();
+			uncovered.put("COBOL/A.cbl", lines(7));
+			uncovered.put("COBOL/D.cbl", null);
+			assertThat(selection.getUncovered(), is(uncovered));
+
+			changes.clear();
+			changes.put("COBOL/A.cbl", lines(7));
+			assertThat(tests.select(changes).getTests(), is(Collections.<String> emptyList()));
+			assertThat(tests.select(changes).getUncovered().keySet(), is(Collections.singleton("COBOL/A.cbl")));
+		}
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.TestImpactIndex#parseChanges(java.lang.String)}.
+	 */
+	@Test
+	public void testParseChanges()
+	{
+		Map<String, BitSet> changes = TestImpactIndex.parseChanges("COBOL/A.cbl:12-14, 20\n\nCOBOL/B.cbl;C:\\src\\C.cbl\r\n"
+				+ "COBOL/A.cbl:30");
+		assertThat(changes.keySet(), is(new LinkedHashSet<>(Arrays.asList("COBOL/A.cbl", "COBOL/B.cbl", "C:\\src\\C.cbl"))));
+		assertThat(changes.get("COBOL/A.cbl"), is(lines(12, 13, 14, 20, 30)));
+		assertThat(changes.get("COBOL/B.cbl"), is((BitSet) null));
+
+		// a whole program outweighs its lines
+		changes = TestImpactIndex.parseChanges("COBOL/A.cbl:12;COBOL/A.cbl");
+		assertThat(changes.get("COBOL/A.cbl"), is((BitSet) null));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.TestImpactIndex#formatChanges(java.util.Map)}.
+	 */
+	@Test
+	public void testFormatChanges()
+	{
+		String text = "COBOL/A.cbl:12-14,20,30; COBOL/B.cbl";
+		assertThat(TestImpactIndex.formatChanges(TestImpactIndex.parseChanges(text)), is(text));
+		assertThat(TestImpactIndex.formatChanges(new LinkedHashMap<String, BitSet>()), is(""));
+	}
+
+	/**
+	 * Test method for {@link com.compuware.jenkins.build.utils.TestImpactIndex#parseChanges(java.lang.String)} with a range
+	 * that is not valid.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testParseChangesInvalidRange()
+	{
+		TestImpactIndex.parseChanges("COBOL/A.cbl:14-12");
+	}
+
+	private void update(File index, String testId, String... reports) throws IOException
+	{
+		List<CoverageStore> stores = new ArrayList<>();
+		try
+		{
+			for (int i = 0; i < reports.length; i++)
+			{
+				stores.add(CoverageStore.open(store(testId + '-' + i + ".ccs", reports[i])));
+			}
+
+			Map<String, List<CoverageStore>> coverage = new HashMap<>();
+			coverage.put(testId, stores);
+			TestImpactIndex.update(index, coverage);
+		}
+		finally
+		{
+			for (CoverageStore store : stores)
+			{
+				store.close();
+			}
+		}
+	}
+
+	private File store(String name, String report) throws IOException
+	{
+		File file = new File(m_folder.getRoot(), name);
+		ProgramCoverage program = new ProgramCoverage();
+		try (CoverageXmlReader reader = new CoverageXmlReader(
+				new ByteArrayInputStream(report.getBytes(StandardCharsets.UTF_8)));
+				CoverageStoreWriter writer = new CoverageStoreWriter(file))
+		{
+			while (reader.next(program))
+			{
+				writer.add(program);
+			}
+		}
+
+		return file;
+	}
+
+	private static BitSet lines(int... lines)
+	{
+		BitSet bits = new BitSet();
+		for (int line : lines)
+		{
+			bits.set(line);
+		}
+
+		return bits;
+	}
+}